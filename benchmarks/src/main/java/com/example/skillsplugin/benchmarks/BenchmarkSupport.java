@@ -0,0 +1,95 @@
+package com.example.skillsplugin.benchmarks;
+
+import com.example.skillsplugin.skills.Skill;
+import com.example.skillsplugin.skills.SkillProfile;
+import com.example.skillsplugin.skills.SkillType;
+import org.bukkit.Server;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.reflect.Proxy;
+import java.util.Random;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Shared fixtures for the benchmarks, which run without a server.
+ */
+final class BenchmarkSupport {
+
+    private static final Logger SILENT = Logger.getLogger("SkillsPluginBenchmarks");
+
+    static {
+        SILENT.setLevel(Level.OFF);
+        SILENT.setUseParentHandlers(false);
+    }
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Creates a plugin with a silent logger and no data folder.
+     * Every other method returns null, false or 0.
+     *
+     * @return The plugin
+     */
+    static Plugin plugin() {
+        return plugin(null, SILENT);
+    }
+
+    /**
+     * Creates a plugin running on the given server and logging to the given logger.
+     * Every other method returns null, false or 0.
+     *
+     * @param server The server returned by getServer, or null
+     * @param logger The logger returned by getLogger
+     * @return The plugin
+     */
+    static Plugin plugin(Server server, Logger logger) {
+        return (Plugin) Proxy.newProxyInstance(Plugin.class.getClassLoader(), new Class<?>[] {Plugin.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getLogger")) {
+                        return logger;
+                    }
+                    if (method.getName().equals("getServer")) {
+                        return server;
+                    }
+                    Class<?> type = method.getReturnType();
+                    if (type == boolean.class) {
+                        return false;
+                    }
+                    if (type.isPrimitive() && type != void.class) {
+                        return type == long.class ? 0L : type == double.class ? 0.0
+                                : type == float.class ? 0.0f : 0;
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Creates a profile with every built-in skill at a random level, seeded for repeatable runs.
+     *
+     * @param random The random source
+     * @return The profile
+     */
+    static SkillProfile randomProfile(Random random) {
+        return randomProfile(random, new UUID(random.nextLong(), random.nextLong()));
+    }
+
+    /**
+     * Creates a profile for the given player with every built-in skill at a random level.
+     *
+     * @param random The random source
+     * @param playerId The player's UUID
+     * @return The profile
+     */
+    static SkillProfile randomProfile(Random random, UUID playerId) {
+        SkillProfile profile = new SkillProfile(playerId);
+        for (SkillType skillType : SkillType.values()) {
+            if (skillType.isBuiltIn()) {
+                profile.addSkill(new Skill(skillType, 1 + random.nextInt(100), random.nextInt(1000)));
+            }
+        }
+        return profile;
+    }
+}
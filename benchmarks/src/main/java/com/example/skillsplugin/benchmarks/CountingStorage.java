@@ -0,0 +1,88 @@
+package com.example.skillsplugin.benchmarks;
+
+import com.example.skillsplugin.data.DataStorage;
+import com.example.skillsplugin.data.DataStorageException;
+import com.example.skillsplugin.skills.SkillProfile;
+
+import java.io.File;
+import java.util.Spliterator;
+import java.util.UUID;
+
+/**
+ * Wraps JSON storage to time every save and load and add up the bytes each save writes.
+ * Saves run on the scheduler's async threads, so the recorders are shared between threads.
+ */
+final class CountingStorage implements DataStorage {
+
+    private final DataStorage delegate;
+    private final File directory;
+    private final boolean sharded;
+    private final LatencyRecorder saves = new LatencyRecorder("storage save");
+    private final LatencyRecorder loads = new LatencyRecorder("storage load");
+
+    /**
+     * @param delegate The JSON storage doing the work
+     * @param directory The storage's data folder, used to size written files
+     * @param sharded Whether the storage uses the sharded layout
+     */
+    CountingStorage(DataStorage delegate, File directory, boolean sharded) {
+        this.delegate = delegate;
+        this.directory = directory;
+        this.sharded = sharded;
+    }
+
+    LatencyRecorder getSaves() {
+        return saves;
+    }
+
+    LatencyRecorder getLoads() {
+        return loads;
+    }
+
+    @Override
+    public void save(UUID playerId, SkillProfile profile) throws DataStorageException {
+        long start = System.nanoTime();
+        delegate.save(playerId, profile);
+        saves.record(System.nanoTime() - start, 0);
+        saves.addBytes(fileFor(playerId).length());
+    }
+
+    @Override
+    public SkillProfile load(UUID playerId) throws DataStorageException {
+        long start = System.nanoTime();
+        SkillProfile profile = delegate.load(playerId);
+        loads.record(System.nanoTime() - start, 0);
+        if (profile != null) {
+            loads.addBytes(fileFor(playerId).length());
+        }
+        return profile;
+    }
+
+    @Override
+    public boolean exists(UUID playerId) {
+        return delegate.exists(playerId);
+    }
+
+    @Override
+    public void initialize() throws DataStorageException {
+        delegate.initialize();
+    }
+
+    @Override
+    public UUID[] getAllPlayerIds() throws DataStorageException {
+        return delegate.getAllPlayerIds();
+    }
+
+    @Override
+    public Spliterator<SkillProfile> profileSpliterator() throws DataStorageException {
+        return delegate.profileSpliterator();
+    }
+
+    private File fileFor(UUID playerId) {
+        String name = playerId.toString();
+        if (!sharded) {
+            return new File(directory, name + ".json");
+        }
+        return new File(new File(new File(directory, name.substring(0, 2)), name.substring(2, 4)), name + ".json");
+    }
+}
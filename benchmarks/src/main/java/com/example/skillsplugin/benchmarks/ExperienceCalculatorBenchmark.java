@@ -0,0 +1,119 @@
+package com.example.skillsplugin.benchmarks;
+
+import com.example.skillsplugin.config.ConfigManager;
+import com.example.skillsplugin.skills.EnchantmentXpTable;
+import com.example.skillsplugin.skills.ExperienceCalculator;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.EntityType;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.MerchantRecipe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * XP lookups run on every block break, kill, catch, enchant and trade.
+ * Each benchmark cycles through a mix of sources that give XP and sources that don't,
+ * using the built-in values and the default config snapshot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExperienceCalculatorBenchmark {
+
+    // Power of two so the cycling index is a mask
+    private static final int MIX_SIZE = 8;
+
+    private ExperienceCalculator calculator;
+    private Material[] blocks;
+    private Material[] logs;
+    private Material[] crops;
+    private EntityType[] mobs;
+    private ItemStack[] catches;
+    private MerchantRecipe[] trades;
+    private Map<Enchantment, Integer> enchants;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        calculator = new ExperienceCalculator(new ConfigManager(null));
+        blocks = new Material[] {Material.STONE, Material.DIAMOND_ORE, Material.COAL_ORE, Material.DIRT,
+                Material.IRON_ORE, Material.STONE, Material.ANCIENT_DEBRIS, Material.GRASS_BLOCK};
+        logs = new Material[] {Material.OAK_LOG, Material.BIRCH_LOG, Material.STONE, Material.SPRUCE_LOG,
+                Material.JUNGLE_LOG, Material.DARK_OAK_LOG, Material.DIRT, Material.CHERRY_LOG};
+        crops = new Material[] {Material.WHEAT, Material.CARROTS, Material.POTATOES, Material.BEETROOTS,
+                Material.MELON, Material.PUMPKIN, Material.STONE, Material.NETHER_WART};
+        mobs = new EntityType[] {EntityType.ZOMBIE, EntityType.SKELETON, EntityType.CREEPER, EntityType.SPIDER,
+                EntityType.ENDERMAN, EntityType.ZOMBIE, EntityType.PLAYER, EntityType.WITHER};
+        catches = new ItemStack[MIX_SIZE];
+        Material[] fish = {Material.COD, Material.SALMON, Material.TROPICAL_FISH, Material.PUFFERFISH,
+                Material.ENCHANTED_BOOK, Material.BOWL, Material.COD, Material.NAME_TAG};
+        for (int i = 0; i < MIX_SIZE; i++) {
+            catches[i] = new ItemStack(fish[i]);
+        }
+        trades = new MerchantRecipe[MIX_SIZE];
+        Material[] results = {Material.EMERALD, Material.BREAD, Material.DIAMOND_SWORD, Material.ENCHANTED_BOOK,
+                Material.IRON_INGOT, Material.EMERALD, Material.REDSTONE, Material.BOOK};
+        for (int i = 0; i < MIX_SIZE; i++) {
+            trades[i] = new MerchantRecipe(new ItemStack(results[i], 1 + i % 3), 12);
+        }
+        enchants = new HashMap<>();
+        enchants.put(Enchantment.DIG_SPEED, 4);
+        enchants.put(Enchantment.DURABILITY, 3);
+    }
+
+    private int next() {
+        index = (index + 1) & (MIX_SIZE - 1);
+        return index;
+    }
+
+    @Benchmark
+    public double miningXP() {
+        return calculator.calculateMiningXP(blocks[next()]);
+    }
+
+    @Benchmark
+    public double woodcuttingXP() {
+        return calculator.calculateWoodcuttingXP(logs[next()]);
+    }
+
+    @Benchmark
+    public double farmingXP() {
+        return calculator.calculateFarmingXP(crops[next()]);
+    }
+
+    @Benchmark
+    public double combatXP() {
+        return calculator.calculateCombatXP(mobs[next()]);
+    }
+
+    @Benchmark
+    public double fishingXP() {
+        return calculator.calculateFishingXP(catches[next()]);
+    }
+
+    @Benchmark
+    public double enchantingXP() {
+        return calculator.calculateEnchantingXP(EnchantmentXpTable.Source.TABLE, enchants);
+    }
+
+    @Benchmark
+    public double tradingXP() {
+        return calculator.calculateTradingXP(trades[next()]);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.skillsplugin.benchmarks;
+
+import com.example.skillsplugin.data.DataStorageException;
+import com.example.skillsplugin.data.JsonDataStorage;
+import com.example.skillsplugin.skills.SkillProfile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * JsonDataStorage save and load of one profile, including the temp file, backup and renames
+ * behind every save, in a flat and a sharded data folder. Results depend heavily on the disk.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonDataStorageBenchmark {
+
+    @Param({"false", "true"})
+    public boolean sharded;
+
+    private File directory;
+    private JsonDataStorage storage;
+    private SkillProfile profile;
+    private UUID playerId;
+
+    @Setup
+    public void setUp() throws IOException, DataStorageException {
+        directory = Files.createTempDirectory("skills-benchmark").toFile();
+        storage = new JsonDataStorage(directory, sharded);
+        storage.initialize();
+        profile = BenchmarkSupport.randomProfile(new Random(42));
+        playerId = profile.getPlayerId();
+        storage.save(playerId, profile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory.toPath())) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public void save() throws DataStorageException {
+        storage.save(playerId, profile);
+    }
+
+    @Benchmark
+    public SkillProfile load() throws DataStorageException {
+        return storage.load(playerId);
+    }
+
+    @Benchmark
+    public SkillProfile roundTrip() throws DataStorageException {
+        storage.save(playerId, profile);
+        return storage.load(playerId);
+    }
+}
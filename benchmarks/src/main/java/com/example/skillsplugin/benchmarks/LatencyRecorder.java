@@ -0,0 +1,99 @@
+package com.example.skillsplugin.benchmarks;
+
+import java.util.Arrays;
+
+/**
+ * Keeps every latency sample of one kind of work, with the bytes it allocated, so the load
+ * simulation can report exact percentiles rather than bucketed estimates.
+ */
+final class LatencyRecorder {
+
+    private final String name;
+    private long[] samples = new long[1024];
+    private int count;
+    private long allocatedBytes;
+    private long bytes;
+
+    LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Records one sample.
+     *
+     * @param nanos How long the work took
+     * @param allocated The bytes allocated by the work, or 0 if not measured
+     */
+    synchronized void record(long nanos, long allocated) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+        allocatedBytes += allocated;
+    }
+
+    /**
+     * Adds to the byte volume moved by the recorded work, such as the size of a written file.
+     *
+     * @param volume The bytes moved
+     */
+    synchronized void addBytes(long volume) {
+        bytes += volume;
+    }
+
+    synchronized int getCount() {
+        return count;
+    }
+
+    synchronized long getBytes() {
+        return bytes;
+    }
+
+    synchronized double getAllocatedBytesPerSample() {
+        return count == 0 ? 0.0 : (double) allocatedBytes / count;
+    }
+
+    synchronized long getTotalNanos() {
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += samples[i];
+        }
+        return total;
+    }
+
+    /**
+     * Gets the recorded latencies in ascending order.
+     *
+     * @return A sorted copy of the samples
+     */
+    synchronized long[] sortedSamples() {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Gets a nearest-rank percentile from sorted samples.
+     *
+     * @param sorted The samples in ascending order
+     * @param percentile The percentile, from 0 to 100
+     * @return The sample at that percentile, or 0 if there are none
+     */
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    synchronized void reset() {
+        count = 0;
+        allocatedBytes = 0;
+        bytes = 0;
+    }
+}
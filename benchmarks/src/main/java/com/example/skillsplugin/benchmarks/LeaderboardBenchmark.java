@@ -0,0 +1,112 @@
+package com.example.skillsplugin.benchmarks;
+
+import com.example.skillsplugin.data.DataStorage;
+import com.example.skillsplugin.data.PlayerDataManager;
+import com.example.skillsplugin.skills.SkillProfile;
+import com.example.skillsplugin.skills.SkillType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * PlayerDataManager.getTopPlayers over 1k, 10k and 100k stored profiles, both from the
+ * in-memory leaderboard (after reconciling with storage) and by scanning storage before it is
+ * ready. Profiles are held in memory, so the scan measures ranking rather than disk reads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class LeaderboardBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int profiles;
+
+    private PlayerDataManager readyManager;
+    private PlayerDataManager scanningManager;
+
+    @Setup
+    public void setUp() {
+        InMemoryStorage storage = new InMemoryStorage(profiles);
+        readyManager = new PlayerDataManager(BenchmarkSupport.plugin(), storage);
+        readyManager.reconcileLeaderboard();
+        scanningManager = new PlayerDataManager(BenchmarkSupport.plugin(), storage);
+    }
+
+    @Benchmark
+    public PlayerDataManager.LeaderboardEntry[] getTopPlayersReady() {
+        return readyManager.getTopPlayers(SkillType.MINING, 10);
+    }
+
+    @Benchmark
+    public PlayerDataManager.LeaderboardEntry[] getTopPlayersScan() {
+        return scanningManager.getTopPlayers(SkillType.MINING, 10);
+    }
+
+    /**
+     * Read-only storage holding generated profiles.
+     */
+    private static final class InMemoryStorage implements DataStorage {
+        private final Map<UUID, SkillProfile> profiles = new HashMap<>();
+
+        private InMemoryStorage(int count) {
+            Random random = new Random(42);
+            for (int i = 0; i < count; i++) {
+                SkillProfile profile = BenchmarkSupport.randomProfile(random);
+                profiles.put(profile.getPlayerId(), profile);
+            }
+        }
+
+        @Override
+        public void save(UUID playerId, SkillProfile profile) {
+            profiles.put(playerId, profile);
+        }
+
+        @Override
+        public SkillProfile load(UUID playerId) {
+            return profiles.get(playerId);
+        }
+
+        @Override
+        public boolean exists(UUID playerId) {
+            return profiles.containsKey(playerId);
+        }
+
+        @Override
+        public void initialize() {
+        }
+
+        @Override
+        public UUID[] getAllPlayerIds() {
+            return profiles.keySet().toArray(new UUID[0]);
+        }
+
+        @Override
+        public Spliterator<SkillProfile> profileSpliterator() {
+            return profiles.values().spliterator();
+        }
+
+        @Override
+        public void forEachProfile(Consumer<? super SkillProfile> visitor) {
+            profiles.values().forEach(visitor);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.skillsplugin.benchmarks;
+
+import com.example.skillsplugin.config.ConfigManager;
+import com.example.skillsplugin.skills.LevelFormula;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LevelFormula.getRequiredExperience, called for every XP award and progress display,
+ * reading its parameters from the config snapshot as it does on a server.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LevelFormulaBenchmark {
+
+    @Param({"1", "50", "500"})
+    public int level;
+
+    private LevelFormula formula;
+
+    @Setup
+    public void setUp() {
+        formula = new LevelFormula(new ConfigManager(null));
+    }
+
+    @Benchmark
+    public double getRequiredExperience() {
+        return formula.getRequiredExperience(level);
+    }
+}
@@ -0,0 +1,717 @@
+package com.example.skillsplugin.benchmarks;
+
+import com.example.skillsplugin.config.ConfigManager;
+import com.example.skillsplugin.data.DataStorageException;
+import com.example.skillsplugin.data.JsonDataStorage;
+import com.example.skillsplugin.data.PlayerDataManager;
+import com.example.skillsplugin.events.PlayerConnectionListener;
+import com.example.skillsplugin.events.SkillEventListener;
+import com.example.skillsplugin.skills.BonusManager;
+import com.example.skillsplugin.skills.BoosterManager;
+import com.example.skillsplugin.skills.ExperienceCalculator;
+import com.example.skillsplugin.skills.ExperienceRateLimiter;
+import com.example.skillsplugin.ui.UIManager;
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.BaseComponent;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.Ageable;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.event.player.PlayerFishEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.MerchantInventory;
+import org.bukkit.inventory.MerchantRecipe;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Offline load test of the event path. Wires SkillEventListener, its listener modules and
+ * PlayerConnectionListener to JSON storage as the plugin does, then drives them through a
+ * {@link SimulatedServer} with N players who break blocks, kill mobs, fish and trade at rates
+ * set by their play style, while players leave and others join. Reports latency percentiles and
+ * allocated bytes per event, main-thread time per tick, and how much the storage reads and writes.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.skillsplugin.benchmarks.LoadSimulation --players 200
+ * </pre>
+ */
+public final class LoadSimulation {
+
+    private static final int TICKS_PER_SECOND = 20;
+
+    private final Options options;
+    private final Random random;
+    private final SimulatedServer server = new SimulatedServer();
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final CountingLogHandler logHandler = new CountingLogHandler();
+    private final World world;
+    private final Player.Spigot spigot = new Player.Spigot() {
+        @Override
+        public void sendMessage(ChatMessageType position, BaseComponent... components) {
+        }
+    };
+    private final List<LatencyRecorder> recorders = new ArrayList<>();
+    private final LatencyRecorder joins = recorder("join");
+    private final LatencyRecorder quits = recorder("quit");
+    private final LatencyRecorder blockBreaks = recorder("block break");
+    private final LatencyRecorder kills = recorder("entity death");
+    private final LatencyRecorder catches = recorder("fish caught");
+    private final LatencyRecorder trades = recorder("trade click");
+    private final LatencyRecorder scheduledTasks = recorder("scheduled tasks");
+    private final LatencyRecorder ticks = new LatencyRecorder("tick");
+    private final List<SimulatedPlayer> online = new ArrayList<>();
+    private final List<SimulatedPlayer> offline = new ArrayList<>();
+    private final Ageable matureCrop;
+    private final Ageable growingCrop;
+    private final BlockData plainBlock;
+    private CountingStorage storage;
+    private PlayerDataManager playerDataManager;
+    private boolean allocationTracking;
+    private long allocationOverhead;
+    private long tickNanos;
+
+    private LoadSimulation(Options options) {
+        this.options = options;
+        this.random = new Random(options.seed);
+        UUID worldId = new UUID(random.nextLong(), random.nextLong());
+        this.world = SimulatedServer.fake(World.class, (name, args) -> {
+            switch (name) {
+                case "getUID":
+                    return worldId;
+                case "getName":
+                    return "world";
+                default:
+                    return SimulatedServer.DEFAULT;
+            }
+        });
+        this.matureCrop = crop(7);
+        this.growingCrop = crop(3);
+        this.plainBlock = SimulatedServer.fake(BlockData.class, (name, args) -> SimulatedServer.DEFAULT);
+    }
+
+    /**
+     * Runs the simulation and prints the report.
+     *
+     * @param args Options, see {@link Options#USAGE}
+     * @throws Exception If the simulation cannot be set up
+     */
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        if (options == null) {
+            System.out.println(Options.USAGE);
+            return;
+        }
+        Path directory = Files.createTempDirectory("skills-load");
+        try {
+            new LoadSimulation(options).run(directory.toFile(), System.out);
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    private void run(File directory, PrintStream out) throws DataStorageException, InterruptedException {
+        setUp(directory);
+
+        int totalTicks = options.warmupTicks + options.ticks;
+        long wallStart = 0;
+        for (int tick = 0; tick < totalTicks; tick++) {
+            if (tick == options.warmupTicks) {
+                server.awaitAsyncTasks();
+                resetStats();
+                wallStart = System.nanoTime();
+            }
+            runTick();
+        }
+        long wallNanos = System.nanoTime() - wallStart;
+
+        server.awaitAsyncTasks();
+        report(out, wallNanos);
+
+        // Leave like a stopping server would, outside the measured window
+        for (SimulatedPlayer player : new ArrayList<>(online)) {
+            quit(player);
+        }
+        server.awaitAsyncTasks();
+        server.shutdown();
+    }
+
+    private void setUp(File directory) throws DataStorageException {
+        if (threads.isThreadAllocatedMemorySupported()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+            allocationTracking = true;
+            long before = threads.getCurrentThreadAllocatedBytes();
+            allocationOverhead = threads.getCurrentThreadAllocatedBytes() - before;
+        }
+
+        server.install();
+        Logger logger = Logger.getLogger("SkillsPluginLoad");
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.WARNING);
+        logger.addHandler(logHandler);
+        Plugin plugin = BenchmarkSupport.plugin(server.getServer(), logger);
+
+        ConfigManager configManager = new ConfigManager(null);
+        JsonDataStorage jsonStorage = new JsonDataStorage(directory, options.sharded);
+        jsonStorage.initialize();
+        storage = new CountingStorage(jsonStorage, directory, options.sharded);
+
+        // Most of the pool has played before and has a profile on disk
+        int poolSize = Math.max(options.players * 2, options.players + 1);
+        for (int i = 0; i < poolSize; i++) {
+            SimulatedPlayer player = new SimulatedPlayer(i, Archetype.pick(random));
+            if (random.nextDouble() < options.returningShare) {
+                jsonStorage.save(player.id, BenchmarkSupport.randomProfile(random, player.id));
+            }
+            offline.add(player);
+        }
+
+        playerDataManager = new PlayerDataManager(plugin, storage);
+        ExperienceCalculator experienceCalculator = new ExperienceCalculator(configManager);
+        BonusManager bonusManager = new BonusManager(playerDataManager, configManager, options.seed);
+        UIManager uiManager = new UIManager(plugin);
+        uiManager.setConfigManager(configManager);
+
+        SkillEventListener skillEventListener = new SkillEventListener(
+                playerDataManager, experienceCalculator, uiManager, bonusManager, logger);
+        if (configManager.isRateLimitEnabled()) {
+            skillEventListener.setRateLimiter(new ExperienceRateLimiter(configManager));
+        }
+        skillEventListener.setBoosterManager(new BoosterManager());
+        server.getServer().getPluginManager().registerEvents(skillEventListener, plugin);
+        skillEventListener.registerModules(plugin, configManager);
+        server.getServer().getPluginManager().registerEvents(
+                new PlayerConnectionListener(playerDataManager, uiManager, logger), plugin);
+
+        Collections.shuffle(offline, random);
+        for (int i = 0; i < options.players; i++) {
+            join(offline.get(offline.size() - 1));
+        }
+    }
+
+    private void runTick() {
+        tickNanos = 0;
+
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        server.tick();
+        long elapsed = System.nanoTime() - start;
+        scheduledTasks.record(elapsed, allocatedBytes() - allocated - allocationOverhead);
+        tickNanos += elapsed;
+
+        // Sessions end at random; someone else logs in to keep the server at its player count
+        double quitChance = 1.0 / (options.sessionMinutes * 60 * TICKS_PER_SECOND);
+        for (int i = online.size() - 1; i >= 0; i--) {
+            if (random.nextDouble() < quitChance) {
+                quit(online.get(i));
+                join(offline.get(random.nextInt(offline.size())));
+            }
+        }
+
+        for (int i = 0; i < online.size(); i++) {
+            SimulatedPlayer player = online.get(i);
+            Archetype archetype = player.archetype;
+            if (random.nextDouble() < archetype.breakChance) {
+                dispatch(blockBreaks, new BlockBreakEvent(block(player, archetype), player.bukkit));
+            }
+            if (random.nextDouble() < archetype.killChance) {
+                dispatch(kills, new EntityDeathEvent(mob(player), new ArrayList<>()));
+            }
+            if (random.nextDouble() < archetype.fishChance) {
+                dispatch(catches, new PlayerFishEvent(player.bukkit, caughtItem(), null, PlayerFishEvent.State.CAUGHT_FISH));
+            }
+            if (random.nextDouble() < archetype.tradeChance) {
+                dispatch(trades, new InventoryClickEvent(player.tradeView, InventoryType.SlotType.RESULT, 2,
+                        ClickType.LEFT, InventoryAction.PICKUP_ALL));
+            }
+        }
+
+        ticks.record(tickNanos, 0);
+    }
+
+    private void join(SimulatedPlayer player) {
+        offline.remove(player);
+        online.add(player);
+        player.online = true;
+        server.addOnlinePlayer(player.bukkit);
+        dispatch(joins, new PlayerJoinEvent(player.bukkit, player.name + " joined the game"));
+    }
+
+    private void quit(SimulatedPlayer player) {
+        dispatch(quits, new PlayerQuitEvent(player.bukkit, player.name + " left the game"));
+        player.online = false;
+        server.removeOnlinePlayer(player.bukkit);
+        online.remove(player);
+        offline.add(player);
+    }
+
+    private void dispatch(LatencyRecorder recorder, Event event) {
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        server.callEvent(event);
+        long elapsed = System.nanoTime() - start;
+        recorder.record(elapsed, allocatedBytes() - allocated - allocationOverhead);
+        tickNanos += elapsed;
+    }
+
+    private long allocatedBytes() {
+        return allocationTracking ? threads.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    private void resetStats() {
+        for (LatencyRecorder recorder : recorders) {
+            recorder.reset();
+        }
+        ticks.reset();
+        storage.getSaves().reset();
+        storage.getLoads().reset();
+        logHandler.reset();
+    }
+
+    private Block block(SimulatedPlayer player, Archetype archetype) {
+        Material material = archetype.blocks[random.nextInt(archetype.blocks.length)];
+        BlockData data = material == Material.WHEAT || material == Material.CARROTS
+                ? (random.nextDouble() < 0.8 ? matureCrop : growingCrop) : plainBlock;
+        int x = player.x + random.nextInt(32) - 16;
+        int y = 16 + random.nextInt(64);
+        int z = player.z + random.nextInt(32) - 16;
+        List<ItemStack> drops = Collections.singletonList(new ItemStack(material));
+        return SimulatedServer.fake(Block.class, (name, args) -> {
+            switch (name) {
+                case "getType":
+                    return material;
+                case "getBlockData":
+                    return data;
+                case "getWorld":
+                    return world;
+                case "getLocation":
+                    return new Location(world, x, y, z);
+                case "getX":
+                    return x;
+                case "getY":
+                    return y;
+                case "getZ":
+                    return z;
+                case "getDrops":
+                    return drops;
+                default:
+                    return SimulatedServer.DEFAULT;
+            }
+        });
+    }
+
+    private LivingEntity mob(SimulatedPlayer player) {
+        EntityType type = MOBS[random.nextInt(MOBS.length)];
+        return SimulatedServer.fake(LivingEntity.class, (name, args) -> {
+            switch (name) {
+                case "getKiller":
+                    return player.bukkit;
+                case "getType":
+                    return type;
+                case "getWorld":
+                    return world;
+                default:
+                    return SimulatedServer.DEFAULT;
+            }
+        });
+    }
+
+    private Item caughtItem() {
+        ItemStack[] stack = {new ItemStack(CATCHES[random.nextInt(CATCHES.length)])};
+        return SimulatedServer.fake(Item.class, (name, args) -> {
+            switch (name) {
+                case "getItemStack":
+                    return stack[0];
+                case "setItemStack":
+                    stack[0] = (ItemStack) args[0];
+                    return null;
+                default:
+                    return SimulatedServer.DEFAULT;
+            }
+        });
+    }
+
+    private Ageable crop(int age) {
+        return SimulatedServer.fake(Ageable.class, (name, args) -> {
+            switch (name) {
+                case "getAge":
+                    return age;
+                case "getMaximumAge":
+                    return 7;
+                default:
+                    return SimulatedServer.DEFAULT;
+            }
+        });
+    }
+
+    private LatencyRecorder recorder(String name) {
+        LatencyRecorder recorder = new LatencyRecorder(name);
+        recorders.add(recorder);
+        return recorder;
+    }
+
+    private void report(PrintStream out, long wallNanos) {
+        double simulatedSeconds = (double) options.ticks / TICKS_PER_SECOND;
+        out.printf("Load simulation: %d players, %d ticks (%.0f s simulated) after %d warmup ticks, %s storage, seed %d%n",
+                options.players, options.ticks, simulatedSeconds, options.warmupTicks,
+                options.sharded ? "sharded" : "flat", options.seed);
+        out.printf("Ran in %.1f s wall time, %d handlers registered%n%n", wallNanos / 1e9, server.getHandlerCount());
+
+        out.printf("%-16s %9s %9s %9s %9s %9s %9s %9s %12s%n",
+                "event", "count", "per sec", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us", "alloc B/evt");
+        for (LatencyRecorder recorder : recorders) {
+            long[] sorted = recorder.sortedSamples();
+            out.printf("%-16s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %12.0f%n",
+                    recorder.getName(), sorted.length, sorted.length / simulatedSeconds,
+                    micros(LatencyRecorder.percentile(sorted, 50)), micros(LatencyRecorder.percentile(sorted, 90)),
+                    micros(LatencyRecorder.percentile(sorted, 99)), micros(LatencyRecorder.percentile(sorted, 99.9)),
+                    micros(LatencyRecorder.percentile(sorted, 100)), recorder.getAllocatedBytesPerSample());
+        }
+
+        long[] tickTimes = ticks.sortedSamples();
+        out.printf("%nMain-thread time per tick (of a 50 ms budget): p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                millis(LatencyRecorder.percentile(tickTimes, 50)), millis(LatencyRecorder.percentile(tickTimes, 99)),
+                millis(LatencyRecorder.percentile(tickTimes, 100)));
+
+        LatencyRecorder saves = storage.getSaves();
+        LatencyRecorder loads = storage.getLoads();
+        long[] saveTimes = saves.sortedSamples();
+        long[] loadTimes = loads.sortedSamples();
+        out.printf("%nStorage writes: %d saves, %.1f KiB written (%.0f B per save, %.1f KiB/s), save p50 %.2f us, p99 %.2f us (async)%n",
+                saveTimes.length, saves.getBytes() / 1024.0,
+                saveTimes.length == 0 ? 0.0 : (double) saves.getBytes() / saveTimes.length,
+                saves.getBytes() / 1024.0 / simulatedSeconds,
+                micros(LatencyRecorder.percentile(saveTimes, 50)), micros(LatencyRecorder.percentile(saveTimes, 99)));
+        out.printf("Storage reads:  %d loads, %.1f KiB read, load p50 %.2f us, p99 %.2f us (on join, main thread)%n",
+                loadTimes.length, loads.getBytes() / 1024.0,
+                micros(LatencyRecorder.percentile(loadTimes, 50)), micros(LatencyRecorder.percentile(loadTimes, 99)));
+        out.printf("%nProfiles cached: %d, handler exceptions: %d, warnings logged: %d%n",
+                playerDataManager.getCacheSize(), server.getHandlerFailures(), logHandler.getCount());
+        if (logHandler.getFirstMessage() != null) {
+            out.println("First warning: " + logHandler.getFirstMessage());
+        }
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1_000.0;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final EntityType[] MOBS = {
+        EntityType.ZOMBIE, EntityType.ZOMBIE, EntityType.SKELETON, EntityType.SKELETON,
+        EntityType.CREEPER, EntityType.SPIDER, EntityType.COW
+    };
+
+    private static final Material[] CATCHES = {
+        Material.COD, Material.COD, Material.COD, Material.SALMON, Material.SALMON, Material.PUFFERFISH
+    };
+
+    /**
+     * Play styles, with the chance per tick of each action. Every player has one for the run.
+     */
+    private enum Archetype {
+        MINER(25, 0.25, 0.002, 0, 0, Material.STONE, Material.STONE, Material.STONE, Material.DEEPSLATE,
+                Material.DEEPSLATE, Material.COAL_ORE, Material.IRON_ORE, Material.DIRT, Material.DIAMOND_ORE),
+        LUMBERJACK(10, 0.15, 0.001, 0, 0, Material.OAK_LOG, Material.OAK_LOG, Material.BIRCH_LOG, Material.DIRT),
+        FARMER(10, 0.2, 0.001, 0, 0, Material.WHEAT, Material.WHEAT, Material.CARROTS, Material.GRASS_BLOCK),
+        FIGHTER(15, 0.02, 0.05, 0, 0, Material.DIRT, Material.GRASS_BLOCK, Material.STONE),
+        FISHER(10, 0.005, 0, 0.005, 0, Material.DIRT),
+        TRADER(5, 0.01, 0, 0, 0.02, Material.DIRT, Material.STONE),
+        IDLE(25, 0, 0, 0, 0, Material.DIRT);
+
+        private final int weight;
+        private final double breakChance;
+        private final double killChance;
+        private final double fishChance;
+        private final double tradeChance;
+        private final Material[] blocks;
+
+        Archetype(int weight, double breakChance, double killChance, double fishChance, double tradeChance,
+                  Material... blocks) {
+            this.weight = weight;
+            this.breakChance = breakChance;
+            this.killChance = killChance;
+            this.fishChance = fishChance;
+            this.tradeChance = tradeChance;
+            this.blocks = blocks;
+        }
+
+        private static Archetype pick(Random random) {
+            int total = 0;
+            for (Archetype archetype : values()) {
+                total += archetype.weight;
+            }
+            int roll = random.nextInt(total);
+            for (Archetype archetype : values()) {
+                roll -= archetype.weight;
+                if (roll < 0) {
+                    return archetype;
+                }
+            }
+            return IDLE;
+        }
+    }
+
+    /**
+     * One player in the pool, online or not, with the fakes the events refer to.
+     */
+    private final class SimulatedPlayer {
+        private final UUID id;
+        private final String name;
+        private final Archetype archetype;
+        private final int x;
+        private final int z;
+        private final Player bukkit;
+        private final InventoryView tradeView;
+        private String displayName;
+        private boolean online;
+
+        private SimulatedPlayer(int index, Archetype archetype) {
+            this.id = new UUID(random.nextLong(), random.nextLong());
+            this.name = "Player" + index;
+            this.displayName = name;
+            this.archetype = archetype;
+            this.x = random.nextInt(4000) - 2000;
+            this.z = random.nextInt(4000) - 2000;
+            Location location = new Location(world, x, 64, z);
+            ItemStack[] storageContents = new ItemStack[36];
+            ItemStack tool = new ItemStack(Material.DIAMOND_PICKAXE);
+            PlayerInventory inventory = SimulatedServer.fake(PlayerInventory.class, (method, args) -> {
+                switch (method) {
+                    case "getItemInMainHand":
+                        return tool;
+                    case "getStorageContents":
+                        return storageContents;
+                    case "getSize":
+                        return storageContents.length;
+                    default:
+                        return SimulatedServer.DEFAULT;
+                }
+            });
+            this.bukkit = SimulatedServer.fake(Player.class, (method, args) -> {
+                switch (method) {
+                    case "getUniqueId":
+                        return id;
+                    case "getName":
+                        return name;
+                    case "getDisplayName":
+                    case "getPlayerListName":
+                        return displayName;
+                    case "setDisplayName":
+                        displayName = (String) args[0];
+                        return null;
+                    case "isOnline":
+                    case "isValid":
+                        return online;
+                    case "getInventory":
+                        return inventory;
+                    case "spigot":
+                        return spigot;
+                    case "getLocation":
+                        return location;
+                    case "getWorld":
+                        return world;
+                    case "getType":
+                        return EntityType.PLAYER;
+                    case "getGameMode":
+                        return GameMode.SURVIVAL;
+                    case "getLevel":
+                        return 30;
+                    default:
+                        return SimulatedServer.DEFAULT;
+                }
+            });
+            this.tradeView = tradeView(bukkit, inventory);
+        }
+    }
+
+    /**
+     * A villager trade screen with an emerald-for-wheat trade selected and paid for.
+     */
+    private static InventoryView tradeView(Player player, PlayerInventory bottom) {
+        MerchantRecipe recipe = new MerchantRecipe(new ItemStack(Material.EMERALD), 12);
+        recipe.addIngredient(new ItemStack(Material.WHEAT, 20));
+        ItemStack[] slots = {new ItemStack(Material.WHEAT, 64), null, new ItemStack(Material.EMERALD)};
+        MerchantInventory top = SimulatedServer.fake(MerchantInventory.class, (name, args) -> {
+            switch (name) {
+                case "getType":
+                    return InventoryType.MERCHANT;
+                case "getSelectedRecipe":
+                    return recipe;
+                case "getItem":
+                    return slots[(Integer) args[0]];
+                case "getSize":
+                    return slots.length;
+                default:
+                    return SimulatedServer.DEFAULT;
+            }
+        });
+        return new InventoryView() {
+            @Override
+            public Inventory getTopInventory() {
+                return top;
+            }
+
+            @Override
+            public Inventory getBottomInventory() {
+                return bottom;
+            }
+
+            @Override
+            public HumanEntity getPlayer() {
+                return player;
+            }
+
+            @Override
+            public InventoryType getType() {
+                return InventoryType.MERCHANT;
+            }
+
+            @Override
+            public String getTitle() {
+                return "Villager";
+            }
+
+            @Override
+            public String getOriginalTitle() {
+                return "Villager";
+            }
+
+            @Override
+            public void setTitle(String title) {
+            }
+        };
+    }
+
+    /**
+     * Counts the warnings and errors the plugin logs, so a run that only exercised error
+     * handling is easy to spot.
+     */
+    private static final class CountingLogHandler extends Handler {
+        private int count;
+        private String firstMessage;
+
+        @Override
+        public synchronized void publish(LogRecord record) {
+            if (count++ == 0) {
+                firstMessage = record.getLevel() + " " + record.getMessage()
+                        + (record.getThrown() != null ? ": " + record.getThrown() : "");
+            }
+        }
+
+        synchronized int getCount() {
+            return count;
+        }
+
+        synchronized String getFirstMessage() {
+            return firstMessage;
+        }
+
+        synchronized void reset() {
+            count = 0;
+            firstMessage = null;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Command-line options.
+     */
+    private static final class Options {
+        private static final String USAGE = "Options: --players N (100), --ticks N (12000), --warmup N (2400),"
+                + " --session-minutes N (15), --returning SHARE (0.8), --seed N (42), --sharded";
+
+        private int players = 100;
+        private int ticks = 12_000;
+        private int warmupTicks = 2_400;
+        private double sessionMinutes = 15;
+        private double returningShare = 0.8;
+        private long seed = 42;
+        private boolean sharded;
+
+        private static Options parse(String[] args) {
+            Options options = new Options();
+            try {
+                for (int i = 0; i < args.length; i++) {
+                    switch (args[i]) {
+                        case "--players":
+                            options.players = Integer.parseInt(args[++i]);
+                            break;
+                        case "--ticks":
+                            options.ticks = Integer.parseInt(args[++i]);
+                            break;
+                        case "--warmup":
+                            options.warmupTicks = Integer.parseInt(args[++i]);
+                            break;
+                        case "--session-minutes":
+                            options.sessionMinutes = Double.parseDouble(args[++i]);
+                            break;
+                        case "--returning":
+                            options.returningShare = Double.parseDouble(args[++i]);
+                            break;
+                        case "--seed":
+                            options.seed = Long.parseLong(args[++i]);
+                            break;
+                        case "--sharded":
+                            options.sharded = true;
+                            break;
+                        default:
+                            return null;
+                    }
+                }
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                return null;
+            }
+            return options.players > 0 && options.ticks > 0 && options.warmupTicks >= 0
+                    && options.sessionMinutes > 0 ? options : null;
+        }
+    }
+}
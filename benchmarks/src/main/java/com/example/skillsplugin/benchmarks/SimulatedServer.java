@@ -0,0 +1,383 @@
+package com.example.skillsplugin.benchmarks;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.boss.BossBar;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Just enough of a server to run the plugin's listeners offline: an event bus that calls
+ * registered handlers in priority order the way Bukkit does, a scheduler whose sync tasks run
+ * when the simulation advances a tick and whose async tasks run on a thread pool, and the online
+ * player list. Installed as the {@link Bukkit} server, so code using the static API works too.
+ */
+final class SimulatedServer {
+
+    /**
+     * Returned by an {@link Answer} to fall back to null, false or 0.
+     */
+    static final Object DEFAULT = new Object();
+
+    private final Thread mainThread = Thread.currentThread();
+    private final Logger logger = Logger.getLogger("SimulatedServer");
+    private final Server server;
+    private final PluginManager pluginManager;
+    private final BukkitScheduler scheduler;
+    private final List<RegisteredHandler> handlers = new ArrayList<>();
+    private final Map<Class<?>, RegisteredHandler[]> handlersByEvent = new HashMap<>();
+    private final Map<UUID, Player> onlinePlayers = new LinkedHashMap<>();
+    private final Map<Integer, ScheduledTask> syncTasks = new LinkedHashMap<>();
+    private final AtomicInteger nextTaskId = new AtomicInteger(1);
+    private final AtomicInteger pendingAsyncTasks = new AtomicInteger();
+    private final ExecutorService asyncPool = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "Simulated Scheduler Async");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long currentTick;
+    private int handlerFailures;
+
+    SimulatedServer() {
+        logger.setLevel(Level.OFF);
+        logger.setUseParentHandlers(false);
+        pluginManager = fake(PluginManager.class, (name, args) -> {
+            switch (name) {
+                case "registerEvents":
+                    registerEvents((Listener) args[0]);
+                    return null;
+                case "callEvent":
+                    callEvent((Event) args[0]);
+                    return null;
+                default:
+                    return DEFAULT;
+            }
+        });
+        scheduler = fake(BukkitScheduler.class, this::answerScheduler);
+        server = fake(Server.class, (name, args) -> {
+            switch (name) {
+                case "getName":
+                    return "SimulatedServer";
+                case "getVersion":
+                case "getBukkitVersion":
+                    return "offline";
+                case "getLogger":
+                    return logger;
+                case "getPluginManager":
+                    return pluginManager;
+                case "getScheduler":
+                    return scheduler;
+                case "getOnlinePlayers":
+                    return Collections.unmodifiableCollection(onlinePlayers.values());
+                case "getPlayer":
+                    return args[0] instanceof UUID ? onlinePlayers.get(args[0]) : null;
+                case "isPrimaryThread":
+                    return Thread.currentThread() == mainThread;
+                case "createBossBar":
+                    return fake(BossBar.class, (method, ignored) -> DEFAULT);
+                case "getItemFactory":
+                    return fake(method(name).getReturnType(), (method, ignored) -> DEFAULT);
+                default:
+                    return DEFAULT;
+            }
+        });
+    }
+
+    /**
+     * Makes this the server behind the static {@link Bukkit} API. Bukkit allows this once per JVM.
+     */
+    void install() {
+        Bukkit.setServer(server);
+    }
+
+    Server getServer() {
+        return server;
+    }
+
+    void addOnlinePlayer(Player player) {
+        onlinePlayers.put(player.getUniqueId(), player);
+    }
+
+    void removeOnlinePlayer(Player player) {
+        onlinePlayers.remove(player.getUniqueId());
+    }
+
+    int getHandlerCount() {
+        return handlers.size();
+    }
+
+    int getHandlerFailures() {
+        return handlerFailures;
+    }
+
+    /**
+     * Calls every handler registered for the event, lowest priority first, skipping handlers that
+     * ignore cancelled events once the event is cancelled.
+     *
+     * @param event The event
+     */
+    void callEvent(Event event) {
+        RegisteredHandler[] matching = handlersByEvent.computeIfAbsent(event.getClass(), this::findHandlers);
+        for (RegisteredHandler handler : matching) {
+            if (handler.ignoreCancelled && event instanceof Cancellable && ((Cancellable) event).isCancelled()) {
+                continue;
+            }
+            try {
+                handler.method.invoke(handler.listener, event);
+            } catch (InvocationTargetException e) {
+                if (handlerFailures++ == 0) {
+                    System.err.println("Handler " + handler.method + " threw:");
+                    e.getCause().printStackTrace();
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Advances one tick and runs the sync tasks due on it.
+     */
+    void tick() {
+        currentTick++;
+        List<ScheduledTask> due = new ArrayList<>();
+        for (ScheduledTask task : syncTasks.values()) {
+            if (task.nextTick <= currentTick) {
+                due.add(task);
+            }
+        }
+        for (ScheduledTask task : due) {
+            if (!syncTasks.containsKey(task.id)) {
+                continue; // Cancelled by a task that ran earlier this tick
+            }
+            task.runnable.run();
+            if (task.period <= 0) {
+                syncTasks.remove(task.id);
+            } else {
+                task.nextTick = currentTick + task.period;
+            }
+        }
+    }
+
+    /**
+     * Waits for every async task submitted so far, and any they submit, to finish.
+     *
+     * @throws InterruptedException If interrupted while waiting
+     */
+    void awaitAsyncTasks() throws InterruptedException {
+        while (pendingAsyncTasks.get() > 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    void shutdown() throws InterruptedException {
+        asyncPool.shutdown();
+        asyncPool.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void registerEvents(Listener listener) {
+        for (Method method : listener.getClass().getMethods()) {
+            EventHandler annotation = method.getAnnotation(EventHandler.class);
+            if (annotation == null || method.getParameterCount() != 1
+                    || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                continue;
+            }
+            handlers.add(new RegisteredHandler(listener, method, annotation));
+        }
+        handlers.sort(Comparator.comparingInt(handler -> handler.priority));
+        handlersByEvent.clear();
+    }
+
+    private RegisteredHandler[] findHandlers(Class<?> eventType) {
+        List<RegisteredHandler> matching = new ArrayList<>();
+        for (RegisteredHandler handler : handlers) {
+            if (handler.method.getParameterTypes()[0].isAssignableFrom(eventType)) {
+                matching.add(handler);
+            }
+        }
+        return matching.toArray(new RegisteredHandler[0]);
+    }
+
+    private Object answerScheduler(String name, Object[] args) {
+        switch (name) {
+            case "runTaskAsynchronously":
+                return submitAsync((Runnable) args[1]);
+            case "runTask":
+                return scheduleSync((Runnable) args[1], 1, 0);
+            case "runTaskLater":
+                return scheduleSync((Runnable) args[1], (Long) args[2], 0);
+            case "runTaskTimer":
+                return scheduleSync((Runnable) args[1], (Long) args[2], (Long) args[3]);
+            case "scheduleSyncRepeatingTask":
+                return scheduleSync((Runnable) args[1], (Long) args[2], (Long) args[3]).getTaskId();
+            case "cancelTask":
+                syncTasks.remove((Integer) args[0]);
+                return null;
+            default:
+                throw new UnsupportedOperationException("Simulated scheduler does not support " + name);
+        }
+    }
+
+    private BukkitTask scheduleSync(Runnable runnable, long delay, long period) {
+        ScheduledTask task = new ScheduledTask(nextTaskId.getAndIncrement(), runnable, currentTick + Math.max(1, delay), period);
+        syncTasks.put(task.id, task);
+        return task(task.id, true);
+    }
+
+    private BukkitTask submitAsync(Runnable runnable) {
+        int id = nextTaskId.getAndIncrement();
+        pendingAsyncTasks.incrementAndGet();
+        asyncPool.execute(() -> {
+            try {
+                runnable.run();
+            } finally {
+                pendingAsyncTasks.decrementAndGet();
+            }
+        });
+        return task(id, false);
+    }
+
+    private BukkitTask task(int id, boolean sync) {
+        return fake(BukkitTask.class, (name, args) -> {
+            switch (name) {
+                case "getTaskId":
+                    return id;
+                case "isSync":
+                    return sync;
+                case "isCancelled":
+                    return sync && !syncTasks.containsKey(id);
+                case "cancel":
+                    syncTasks.remove(id);
+                    return null;
+                default:
+                    return DEFAULT;
+            }
+        });
+    }
+
+    private static Method method(String name) {
+        for (Method method : Server.class.getMethods()) {
+            if (method.getName().equals(name)) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    /**
+     * Answers a call on a fake by method name.
+     */
+    interface Answer {
+        /**
+         * @param name The method called
+         * @param args The arguments, or null for none
+         * @return The result, or {@link #DEFAULT} for null, false or 0
+         */
+        Object answer(String name, Object[] args);
+    }
+
+    /**
+     * Creates a fake implementing one interface. Equality is identity and unanswered calls
+     * return null, false or 0.
+     *
+     * @param type The interface
+     * @param answer The answers to calls
+     * @param <T> The interface type
+     * @return The fake
+     */
+    static <T> T fake(Class<T> type, Answer answer) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (method.getDeclaringClass() == Object.class) {
+                        switch (name) {
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                return type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                        }
+                    }
+                    Object result = answer.answer(name, args);
+                    return result == DEFAULT ? defaultValue(method.getReturnType()) : result;
+                }));
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0.0;
+        }
+        if (type == float.class) {
+            return 0.0f;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        return type == char.class ? (char) 0 : 0;
+    }
+
+    private static final class RegisteredHandler {
+        private final Listener listener;
+        private final Method method;
+        private final int priority;
+        private final boolean ignoreCancelled;
+
+        private RegisteredHandler(Listener listener, Method method, EventHandler annotation) {
+            this.listener = listener;
+            this.method = method;
+            this.priority = annotation.priority().ordinal();
+            this.ignoreCancelled = annotation.ignoreCancelled();
+        }
+    }
+
+    private static final class ScheduledTask {
+        private final int id;
+        private final Runnable runnable;
+        private final long period;
+        private long nextTick;
+
+        private ScheduledTask(int id, Runnable runnable, long nextTick, long period) {
+            this.id = id;
+            this.runnable = runnable;
+            this.nextTick = nextTick;
+            this.period = period;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.skillsplugin.benchmarks;
+
+import com.example.skillsplugin.config.ConfigManager;
+import com.example.skillsplugin.skills.LevelFormula;
+import com.example.skillsplugin.skills.Skill;
+import com.example.skillsplugin.skills.SkillType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Skill.addExperience at low, mid and high levels, for an ordinary award and for one big
+ * enough to cross five levels at once. Each call starts from the same level and XP.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SkillBenchmark {
+
+    @Param({"1", "50", "500"})
+    public int level;
+
+    private Skill skill;
+    private double fiveLevels;
+
+    @Setup
+    public void setUp() {
+        LevelFormula formula = new LevelFormula(new ConfigManager(null));
+        skill = new Skill(SkillType.MINING, level, 0.0, formula);
+        for (int i = 0; i < 5; i++) {
+            fiveLevels += formula.getRequiredExperience(level + i);
+        }
+    }
+
+    @Benchmark
+    public boolean addExperience() {
+        skill.setLevel(level);
+        skill.setExperience(0.0);
+        return skill.addExperience(10.0);
+    }
+
+    @Benchmark
+    public boolean addExperienceFiveLevelUps() {
+        skill.setLevel(level);
+        skill.setExperience(0.0);
+        return skill.addExperience(fiveLevels);
+    }
+}
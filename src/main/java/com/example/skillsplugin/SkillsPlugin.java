@@ -2,19 +2,31 @@ package com.example.skillsplugin;
 
 import com.example.skillsplugin.commands.SkillsCommand;
 import com.example.skillsplugin.config.ConfigManager;
+import com.example.skillsplugin.config.ConfigWatcher;
 import com.example.skillsplugin.data.DataStorage;
 import com.example.skillsplugin.data.DataStorageException;
 import com.example.skillsplugin.data.JsonDataStorage;
+import com.example.skillsplugin.data.PlacedBlockTracker;
 import com.example.skillsplugin.data.PlayerDataManager;
+import com.example.skillsplugin.events.PlacedBlockListener;
 import com.example.skillsplugin.events.PlayerConnectionListener;
 import com.example.skillsplugin.events.SkillEventListener;
+import com.example.skillsplugin.metrics.MetricsRegistry;
+import com.example.skillsplugin.skills.BonusDropAggregator;
 import com.example.skillsplugin.skills.BonusManager;
+import com.example.skillsplugin.skills.BoosterManager;
 import com.example.skillsplugin.skills.ExperienceCalculator;
+import com.example.skillsplugin.skills.ExperienceRateLimiter;
 import com.example.skillsplugin.skills.LevelFormula;
+import com.example.skillsplugin.skills.SkillType;
 import com.example.skillsplugin.ui.UIManager;
+import org.bukkit.Chunk;
+import org.bukkit.World;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.List;
 import java.util.logging.Level;
 
 /**
@@ -24,16 +36,22 @@ import java.util.logging.Level;
 public class SkillsPlugin extends JavaPlugin {
     
     private ConfigManager configManager;
+    private ConfigWatcher configWatcher;
+    private MetricsRegistry metrics;
     private DataStorage dataStorage;
     private PlayerDataManager playerDataManager;
     private ExperienceCalculator experienceCalculator;
     private LevelFormula levelFormula;
     private BonusManager bonusManager;
+    private BonusDropAggregator bonusDropAggregator;
+    private BoosterManager boosterManager;
     private UIManager uiManager;
+    private PlacedBlockTracker placedBlockTracker;
     private SkillEventListener skillEventListener;
     private PlayerConnectionListener playerConnectionListener;
     private SkillsCommand skillsCommand;
     private int autoSaveTaskId = -1;
+    private int boosterTaskId = -1;
 
     @Override
     public void onEnable() {
@@ -44,7 +62,10 @@ public class SkillsPlugin extends JavaPlugin {
             try {
                 configManager = new ConfigManager(this);
                 configManager.loadConfig();
-                getLogger().log(Level.INFO, "Configuration manager initialized successfully");
+                // Every component below sizes its per-skill data from the registry
+                SkillType.freeze();
+                metrics = new MetricsRegistry(configManager.isMetricsEnabled());
+                getLogger().log(Level.INFO, "Configuration manager initialized successfully (" + SkillType.count() + " skills)");
             } catch (Exception e) {
                 getLogger().log(Level.SEVERE, "Failed to initialize configuration manager", e);
                 getLogger().log(Level.SEVERE, "Plugin will be disabled due to configuration failure");
@@ -55,9 +76,15 @@ public class SkillsPlugin extends JavaPlugin {
             // Initialize data storage
             try {
                 File dataDirectory = new File(getDataFolder(), "playerdata");
-                dataStorage = new JsonDataStorage(dataDirectory);
+                JsonDataStorage jsonStorage = new JsonDataStorage(dataDirectory, configManager.isShardedStorage());
+                jsonStorage.setMetrics(metrics);
+                dataStorage = jsonStorage;
                 dataStorage.initialize();
                 getLogger().log(Level.INFO, "Data storage initialized successfully");
+                
+                if (jsonStorage.isSharded()) {
+                    migrateToShards(jsonStorage);
+                }
             } catch (DataStorageException e) {
                 getLogger().log(Level.SEVERE, "Failed to initialize data storage", e);
                 getLogger().log(Level.SEVERE, "Plugin will be disabled due to data storage failure");
@@ -68,6 +95,11 @@ public class SkillsPlugin extends JavaPlugin {
             // Initialize player data manager
             try {
                 playerDataManager = new PlayerDataManager(this, dataStorage);
+                playerDataManager.setMetrics(metrics);
+                playerDataManager.getRetryQueue().replayDeadLetters();
+                playerDataManager.loadLeaderboardSnapshot(getLeaderboardSnapshotFile());
+                playerDataManager.loadWindowedSnapshot(getWindowedSnapshotFile());
+                reconcileLeaderboard();
                 getLogger().log(Level.INFO, "Player data manager initialized successfully");
             } catch (Exception e) {
                 getLogger().log(Level.SEVERE, "Failed to initialize player data manager", e);
@@ -101,6 +133,8 @@ public class SkillsPlugin extends JavaPlugin {
             // Initialize bonus manager
             try {
                 bonusManager = new BonusManager(playerDataManager, configManager);
+                bonusDropAggregator = new BonusDropAggregator(this, configManager);
+                bonusManager.setDropAggregator(bonusDropAggregator);
                 getLogger().log(Level.INFO, "Bonus manager initialized successfully");
             } catch (Exception e) {
                 getLogger().log(Level.SEVERE, "Failed to initialize bonus manager", e);
@@ -109,6 +143,15 @@ public class SkillsPlugin extends JavaPlugin {
                 return;
             }
             
+            // Initialize XP boosters
+            try {
+                boosterManager = new BoosterManager();
+                int restored = boosterManager.loadSnapshot(getBoosterSnapshotFile());
+                getLogger().log(Level.INFO, "Booster manager initialized successfully (" + restored + " boosters restored)");
+            } catch (Exception e) {
+                getLogger().log(Level.WARNING, "Failed to restore XP boosters, starting with none", e);
+            }
+            
             // Initialize UI manager
             try {
                 uiManager = new UIManager(this);
@@ -121,6 +164,25 @@ public class SkillsPlugin extends JavaPlugin {
                 return;
             }
             
+            // Initialize placed block tracking
+            if (configManager.isTrackPlacedBlocks()) {
+                try {
+                    placedBlockTracker = new PlacedBlockTracker(this, new File(getDataFolder(), "placed"));
+                    for (World world : getServer().getWorlds()) {
+                        for (Chunk chunk : world.getLoadedChunks()) {
+                            placedBlockTracker.loadChunk(world.getUID(), chunk.getX(), chunk.getZ());
+                        }
+                    }
+                    getServer().getPluginManager().registerEvents(
+                        new PlacedBlockListener(placedBlockTracker, experienceCalculator, getLogger()), this);
+                    getLogger().log(Level.INFO, "Placed block tracking initialized (" + placedBlockTracker.getLoadedChunkCount() + " chunks loaded)");
+                } catch (Exception e) {
+                    getLogger().log(Level.SEVERE, "Failed to initialize placed block tracking", e);
+                    getLogger().log(Level.WARNING, "Plugin will continue without placed block tracking");
+                    placedBlockTracker = null;
+                }
+            }
+            
             // Register event listeners
             try {
                 skillEventListener = new SkillEventListener(
@@ -128,9 +190,16 @@ public class SkillsPlugin extends JavaPlugin {
                     experienceCalculator, 
                     uiManager, 
                     bonusManager,
+                    placedBlockTracker,
                     getLogger()
                 );
+                updateRateLimiter();
+                skillEventListener.setBoosterManager(boosterManager);
+                skillEventListener.setMetrics(metrics);
                 getServer().getPluginManager().registerEvents(skillEventListener, this);
+                // Only the modules for enabled skills and bonuses listen for events
+                List<String> modules = skillEventListener.registerModules(this, configManager);
+                getLogger().log(Level.INFO, "Skill listener modules registered: " + modules);
                 
                 playerConnectionListener = new PlayerConnectionListener(
                     playerDataManager,
@@ -170,6 +239,7 @@ public class SkillsPlugin extends JavaPlugin {
                         try {
                             getLogger().log(Level.INFO, "Running auto-save for all player profiles...");
                             playerDataManager.saveAllProfiles();
+                            saveLeaderboardSnapshotAsync();
                             getLogger().log(Level.INFO, "Auto-save completed successfully");
                         } catch (Exception e) {
                             getLogger().log(Level.SEVERE, "Error during auto-save", e);
@@ -181,6 +251,24 @@ public class SkillsPlugin extends JavaPlugin {
                 getLogger().log(Level.WARNING, "Failed to start auto-save task - data will only be saved on player quit and server shutdown", e);
             }
             
+            // Start booster expiry task (every second); one task serves every booster
+            try {
+                BoosterManager boosters = boosterManager;
+                boosterTaskId = getServer().getScheduler().scheduleSyncRepeatingTask(this, new Runnable() {
+                    @Override
+                    public void run() {
+                        for (BoosterManager.Booster booster : boosters.expire()) {
+                            getLogger().log(Level.INFO, "XP booster #" + booster.getId() + " (" + booster.getMultiplier() + "x) has expired");
+                        }
+                    }
+                }, 20L, 20L);
+            } catch (Exception e) {
+                getLogger().log(Level.WARNING, "Failed to start booster expiry task - boosters will not expire until restart", e);
+            }
+            
+            // Start watching config.yml if auto-reload is enabled
+            updateConfigWatcher();
+            
             getLogger().log(Level.INFO, "SkillsPlugin has been enabled successfully!");
             
         } catch (Exception e) {
@@ -195,6 +283,20 @@ public class SkillsPlugin extends JavaPlugin {
         try {
             getLogger().log(Level.INFO, "SkillsPlugin is disabling...");
             
+            // Stop watching config.yml
+            if (configWatcher != null) {
+                configWatcher.stop();
+            }
+            
+            // Unregister skill modules, restoring discounted villager prices
+            if (skillEventListener != null) {
+                try {
+                    skillEventListener.unregisterModules();
+                } catch (Exception e) {
+                    getLogger().log(Level.WARNING, "Error unregistering skill listener modules", e);
+                }
+            }
+            
             // Cancel auto-save task
             if (autoSaveTaskId != -1) {
                 try {
@@ -205,11 +307,39 @@ public class SkillsPlugin extends JavaPlugin {
                 }
             }
             
+            // Spawn bonus drops still waiting for the end-of-tick flush
+            if (bonusDropAggregator != null) {
+                try {
+                    bonusDropAggregator.flush();
+                } catch (Exception e) {
+                    getLogger().log(Level.WARNING, "Error spawning pending bonus drops", e);
+                }
+            }
+            
+            // Cancel booster expiry task and save active boosters
+            if (boosterTaskId != -1) {
+                try {
+                    getServer().getScheduler().cancelTask(boosterTaskId);
+                } catch (Exception e) {
+                    getLogger().log(Level.WARNING, "Error cancelling booster expiry task", e);
+                }
+            }
+            if (boosterManager != null) {
+                try {
+                    boosterManager.saveSnapshot(getBoosterSnapshotFile());
+                } catch (Exception e) {
+                    getLogger().log(Level.SEVERE, "Error occurred while saving XP boosters during shutdown", e);
+                }
+            }
+            
             // Save all cached player profiles
             if (playerDataManager != null) {
                 try {
                     getLogger().log(Level.INFO, "Saving all player profiles...");
                     playerDataManager.saveAllProfiles();
+                    playerDataManager.getRetryQueue().flush();
+                    playerDataManager.saveLeaderboardSnapshot(getLeaderboardSnapshotFile());
+                    playerDataManager.saveWindowedSnapshot(getWindowedSnapshotFile());
                     getLogger().log(Level.INFO, "All player profiles saved successfully");
                 } catch (Exception e) {
                     getLogger().log(Level.SEVERE, "Error occurred while saving player profiles during shutdown", e);
@@ -219,6 +349,15 @@ public class SkillsPlugin extends JavaPlugin {
                 getLogger().log(Level.WARNING, "Player data manager was null during shutdown - no profiles to save");
             }
             
+            // Save placed blocks
+            if (placedBlockTracker != null) {
+                try {
+                    placedBlockTracker.saveAll(false);
+                } catch (Exception e) {
+                    getLogger().log(Level.SEVERE, "Error occurred while saving placed blocks during shutdown", e);
+                }
+            }
+            
             // Cleanup boss bars
             if (uiManager != null) {
                 try {
@@ -234,12 +373,17 @@ public class SkillsPlugin extends JavaPlugin {
             
             // Clear references to help with garbage collection
             configManager = null;
+            configWatcher = null;
+            metrics = null;
             dataStorage = null;
             playerDataManager = null;
             experienceCalculator = null;
             levelFormula = null;
             bonusManager = null;
+            bonusDropAggregator = null;
+            boosterManager = null;
             uiManager = null;
+            placedBlockTracker = null;
             skillEventListener = null;
             playerConnectionListener = null;
             skillsCommand = null;
@@ -252,6 +396,159 @@ public class SkillsPlugin extends JavaPlugin {
         }
     }
     
+    /**
+     * Applies a configuration that was just reloaded to the components that cache settings:
+     * bonus tables, metrics, the XP rate limiter and the registered listener modules.
+     * Must be called on the main thread after ConfigManager has published the new configuration.
+     */
+    public void onConfigReloaded() {
+        if (bonusManager != null) {
+            bonusManager.reload();
+        }
+        if (metrics != null) {
+            metrics.setEnabled(configManager.isMetricsEnabled());
+        }
+        if (skillEventListener != null) {
+            updateRateLimiter();
+            List<String> modules = skillEventListener.registerModules(this, configManager);
+            getLogger().log(Level.INFO, "Skill listener modules re-registered: " + modules);
+        }
+        updateConfigWatcher();
+    }
+    
+    /**
+     * Creates, reconfigures or removes the XP rate limiter to match the anti-exploit settings.
+     * An existing limiter keeps its players' recent XP across reloads.
+     */
+    private void updateRateLimiter() {
+        ExperienceRateLimiter rateLimiter = skillEventListener.getAwarder().getRateLimiter();
+        if (!configManager.isRateLimitEnabled()) {
+            skillEventListener.setRateLimiter(null);
+        } else if (rateLimiter == null) {
+            skillEventListener.setRateLimiter(new ExperienceRateLimiter(configManager));
+        } else {
+            rateLimiter.reconfigure(configManager);
+        }
+    }
+    
+    /**
+     * Starts or stops the config.yml watcher to match the auto-reload setting.
+     */
+    private void updateConfigWatcher() {
+        if (configManager == null) {
+            return;
+        }
+        if (!configManager.isAutoReloadEnabled()) {
+            if (configWatcher != null) {
+                configWatcher.stop();
+                configWatcher = null;
+                getLogger().log(Level.INFO, "Config auto-reload stopped");
+            }
+            return;
+        }
+        if (configWatcher != null) {
+            return;
+        }
+        try {
+            configWatcher = new ConfigWatcher(configManager, new File(getDataFolder(), "config.yml"),
+                configManager.getAutoReloadDebounceMillis(), getLogger(), new Runnable() {
+                    @Override
+                    public void run() {
+                        // Parsing happened off-thread; components are updated on the next tick
+                        if (isEnabled()) {
+                            getServer().getScheduler().runTask(SkillsPlugin.this, SkillsPlugin.this::onConfigReloaded);
+                        }
+                    }
+                });
+            configWatcher.start();
+            getLogger().log(Level.INFO, "Config auto-reload enabled (debounce " + configManager.getAutoReloadDebounceMillis() + "ms)");
+        } catch (IOException e) {
+            getLogger().log(Level.WARNING, "Failed to watch config.yml - changes will need /skills reload", e);
+            configWatcher = null;
+        }
+    }
+    
+    /**
+     * Gets the file holding the leaderboard warm-start snapshot.
+     */
+    private File getLeaderboardSnapshotFile() {
+        return new File(getDataFolder(), "leaderboard.dat");
+    }
+    
+    /**
+     * Gets the file holding the active XP boosters.
+     */
+    private File getBoosterSnapshotFile() {
+        return new File(getDataFolder(), "boosters.dat");
+    }
+    
+    /**
+     * Gets the file holding the daily XP buckets behind the windowed leaderboards.
+     */
+    private File getWindowedSnapshotFile() {
+        return new File(getDataFolder(), "xphistory.dat");
+    }
+    
+    /**
+     * Reconciles the leaderboard with stored profiles off the main thread.
+     */
+    private void reconcileLeaderboard() {
+        PlayerDataManager manager = playerDataManager;
+        getServer().getScheduler().runTaskAsynchronously(this, new Runnable() {
+            @Override
+            public void run() {
+                long start = System.currentTimeMillis();
+                int changed = manager.reconcileLeaderboard();
+                getLogger().log(Level.INFO, "Leaderboard reconciled with storage (" + changed + " players updated) in "
+                    + (System.currentTimeMillis() - start) + "ms");
+            }
+        });
+    }
+    
+    /**
+     * Writes the leaderboard, XP history and booster snapshots off the main thread.
+     */
+    private void saveLeaderboardSnapshotAsync() {
+        PlayerDataManager manager = playerDataManager;
+        BoosterManager boosters = boosterManager;
+        getServer().getScheduler().runTaskAsynchronously(this, new Runnable() {
+            @Override
+            public void run() {
+                manager.saveLeaderboardSnapshot(getLeaderboardSnapshotFile());
+                manager.saveWindowedSnapshot(getWindowedSnapshotFile());
+                if (boosters != null) {
+                    try {
+                        boosters.saveSnapshot(getBoosterSnapshotFile());
+                    } catch (IOException e) {
+                        getLogger().log(Level.WARNING, "Failed to save XP boosters", e);
+                    }
+                }
+            }
+        });
+    }
+    
+    /**
+     * Moves flat-layout player files into their shard directories off the main thread.
+     * Profiles not yet moved keep loading from the flat layout while this runs.
+     * 
+     * @param storage The sharded JSON storage
+     */
+    private void migrateToShards(JsonDataStorage storage) {
+        getServer().getScheduler().runTaskAsynchronously(this, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    int migrated = storage.migrateToShards();
+                    if (migrated > 0) {
+                        getLogger().log(Level.INFO, "Migrated " + migrated + " player files to the sharded layout");
+                    }
+                } catch (DataStorageException e) {
+                    getLogger().log(Level.SEVERE, "Failed to migrate player files to the sharded layout", e);
+                }
+            }
+        });
+    }
+    
     /**
      * Gets the configuration manager instance.
      * 
@@ -288,6 +585,24 @@ public class SkillsPlugin extends JavaPlugin {
         return bonusManager;
     }
     
+    /**
+     * Gets the XP booster manager instance.
+     * 
+     * @return The booster manager instance
+     */
+    public BoosterManager getBoosterManager() {
+        return boosterManager;
+    }
+    
+    /**
+     * Gets the metrics registry behind /skills admin stats.
+     * 
+     * @return The metrics registry
+     */
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+    
     /**
      * Gets the UI manager instance.
      * 
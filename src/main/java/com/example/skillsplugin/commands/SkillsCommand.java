@@ -2,6 +2,11 @@ package com.example.skillsplugin.commands;
 
 import com.example.skillsplugin.SkillsPlugin;
 import com.example.skillsplugin.data.PlayerDataManager;
+import com.example.skillsplugin.data.WindowedLeaderboard;
+import com.example.skillsplugin.metrics.Counter;
+import com.example.skillsplugin.metrics.LatencyHistogram;
+import com.example.skillsplugin.metrics.MetricsRegistry;
+import com.example.skillsplugin.skills.BoosterManager;
 import com.example.skillsplugin.skills.Skill;
 import com.example.skillsplugin.skills.SkillProfile;
 import com.example.skillsplugin.skills.SkillType;
@@ -16,6 +21,7 @@ import org.bukkit.entity.Player;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -78,9 +84,9 @@ public class SkillsCommand implements CommandExecutor, TabCompleter {
                 return handleDisplay(player, args[1]);
             }
             
-            // Handle /skills top <skillname>
+            // Handle /skills top <skillname> [day|week|season]
             if (args.length >= 2 && args[0].equalsIgnoreCase("top")) {
-                return handleTop(player, args[1]);
+                return handleTop(player, args[1], args.length >= 3 ? args[2] : null);
             }
             
             // Get player's skill profile
@@ -170,6 +176,7 @@ public class SkillsCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(ChatColor.GRAY + "  /skills <skillname>" + ChatColor.WHITE + " - View details for a specific skill");
         sender.sendMessage(ChatColor.GRAY + "  /skills <player> <skillname>" + ChatColor.WHITE + " - View another player's specific skill");
         sender.sendMessage(ChatColor.GRAY + "  /skills top <skillname>" + ChatColor.WHITE + " - View top 10 players for a skill");
+        sender.sendMessage(ChatColor.GRAY + "  /skills top <skillname> <day|week|season>" + ChatColor.WHITE + " - View top XP earners over the last 1, 7 or 28 days");
         sender.sendMessage(ChatColor.GRAY + "  /skills display <skillname>" + ChatColor.WHITE + " - Display skill level in your name");
         sender.sendMessage(ChatColor.GRAY + "  /skills display off" + ChatColor.WHITE + " - Remove skill display from your name");
         sender.sendMessage(ChatColor.GRAY + "  /skills help" + ChatColor.WHITE + " - Show this help message");
@@ -180,6 +187,8 @@ public class SkillsCommand implements CommandExecutor, TabCompleter {
             sender.sendMessage(ChatColor.GRAY + "  /skills admin set <player> <skill> <level>" + ChatColor.WHITE + " - Set a player's skill level");
             sender.sendMessage(ChatColor.GRAY + "  /skills admin add <player> <skill> <xp>" + ChatColor.WHITE + " - Give XP to a player");
             sender.sendMessage(ChatColor.GRAY + "  /skills admin reset <player> [skill]" + ChatColor.WHITE + " - Reset player's skills");
+            sender.sendMessage(ChatColor.GRAY + "  /skills admin booster <list|global|skill|player|remove>" + ChatColor.WHITE + " - Manage timed XP boosters");
+            sender.sendMessage(ChatColor.GRAY + "  /skills admin stats [reset]" + ChatColor.WHITE + " - Show or clear performance metrics");
             sender.sendMessage("");
         }
         
@@ -210,6 +219,7 @@ public class SkillsCommand implements CommandExecutor, TabCompleter {
         
         try {
             plugin.getConfigManager().reloadConfig();
+            plugin.onConfigReloaded();
             sender.sendMessage(ChatColor.GREEN + "Configuration reloaded successfully!");
             return true;
         } catch (Exception e) {
@@ -285,20 +295,36 @@ public class SkillsCommand implements CommandExecutor, TabCompleter {
     }
     
     /**
-     * Handles the /skills top <skillname> subcommand.
-     * Displays the top 10 players for a specific skill.
+     * Handles the /skills top <skillname> [day|week|season] subcommand.
+     * Displays the top 10 players for a specific skill, either by lifetime level
+     * or by XP gained within a rolling time window.
      * 
      * @param player The player executing the command
      * @param skillArg The skill name
+     * @param windowArg The time window name, or null for the lifetime leaderboard
      * @return true if the command was handled successfully
      */
-    private boolean handleTop(Player player, String skillArg) {
+    private boolean handleTop(Player player, String skillArg, String windowArg) {
         try {
             // Parse skill type
             String skillName = skillArg.toUpperCase();
             try {
                 SkillType skillType = SkillType.valueOf(skillName);
                 
+                if (windowArg != null) {
+                    WindowedLeaderboard.Window window = WindowedLeaderboard.Window.fromName(windowArg);
+                    if (window == null) {
+                        player.sendMessage(ChatColor.RED + "Unknown time window: " + windowArg);
+                        player.sendMessage(ChatColor.GRAY + "Available windows: day, week, season");
+                        return true;
+                    }
+                    
+                    // Get top 10 players by XP gained in the window
+                    PlayerDataManager.LeaderboardEntry[] entries = playerDataManager.getTopPlayers(skillType, window, 10);
+                    uiManager.sendWindowedLeaderboard(player, skillType, window, entries);
+                    return true;
+                }
+                
                 // Get top 10 players
                 PlayerDataManager.LeaderboardEntry[] entries = playerDataManager.getTopPlayers(skillType, 10);
                 
@@ -402,6 +428,8 @@ public class SkillsCommand implements CommandExecutor, TabCompleter {
             sender.sendMessage(ChatColor.GRAY + "/skills admin set <player> <skill> <level>");
             sender.sendMessage(ChatColor.GRAY + "/skills admin add <player> <skill> <xp>");
             sender.sendMessage(ChatColor.GRAY + "/skills admin reset <player> [skill]");
+            sender.sendMessage(ChatColor.GRAY + "/skills admin booster <list|global|skill|player|remove> ...");
+            sender.sendMessage(ChatColor.GRAY + "/skills admin stats [reset]");
             return true;
         }
         
@@ -414,6 +442,10 @@ public class SkillsCommand implements CommandExecutor, TabCompleter {
                 return handleAdminAdd(sender, args);
             case "reset":
                 return handleAdminReset(sender, args);
+            case "booster":
+                return handleAdminBooster(sender, args);
+            case "stats":
+                return handleAdminStats(sender, args);
             default:
                 sender.sendMessage(ChatColor.RED + "Unknown admin command: " + subCommand);
                 return true;
@@ -505,6 +537,205 @@ public class SkillsCommand implements CommandExecutor, TabCompleter {
         }
     }
     
+    /**
+     * Handles /skills admin booster command.
+     */
+    private boolean handleAdminBooster(CommandSender sender, String[] args) {
+        BoosterManager boosterManager = plugin.getBoosterManager();
+        if (boosterManager == null) {
+            sender.sendMessage(ChatColor.RED + "XP boosters are not available.");
+            return true;
+        }
+        
+        String action = args.length > 2 ? args[2].toLowerCase() : "";
+        try {
+            switch (action) {
+                case "list":
+                    List<BoosterManager.Booster> boosters = boosterManager.getActiveBoosters();
+                    if (boosters.isEmpty()) {
+                        sender.sendMessage(ChatColor.GRAY + "No active XP boosters.");
+                        return true;
+                    }
+                    sender.sendMessage(ChatColor.GOLD + "Active XP boosters:");
+                    long now = System.currentTimeMillis();
+                    for (BoosterManager.Booster booster : boosters) {
+                        sender.sendMessage(ChatColor.GRAY + "  #" + booster.getId() + " " + describeBooster(booster)
+                            + ChatColor.WHITE + " " + booster.getMultiplier() + "x"
+                            + ChatColor.GRAY + " (" + Math.max(0, (booster.getExpiresAt() - now) / 60000L) + " min left)");
+                    }
+                    return true;
+                case "global":
+                    if (args.length < 5) {
+                        sender.sendMessage(ChatColor.RED + "Usage: /skills admin booster global <multiplier> <minutes>");
+                        return true;
+                    }
+                    reportBooster(sender, boosterManager.addGlobal(parseMultiplier(args[3]), parseMinutes(args[4])));
+                    return true;
+                case "skill":
+                    if (args.length < 6) {
+                        sender.sendMessage(ChatColor.RED + "Usage: /skills admin booster skill <skill> <multiplier> <minutes>");
+                        return true;
+                    }
+                    SkillType skillType = SkillType.valueOf(args[3].toUpperCase());
+                    reportBooster(sender, boosterManager.addSkill(skillType, parseMultiplier(args[4]), parseMinutes(args[5])));
+                    return true;
+                case "player":
+                    if (args.length < 7) {
+                        sender.sendMessage(ChatColor.RED + "Usage: /skills admin booster player <player> <skill|all> <multiplier> <minutes>");
+                        return true;
+                    }
+                    Player target = plugin.getServer().getPlayer(args[3]);
+                    if (target == null) {
+                        sender.sendMessage(ChatColor.RED + "Player not found: " + args[3]);
+                        return true;
+                    }
+                    SkillType playerSkill = args[4].equalsIgnoreCase("all") ? null : SkillType.valueOf(args[4].toUpperCase());
+                    BoosterManager.Booster booster = boosterManager.addPlayer(
+                        target.getUniqueId(), playerSkill, parseMultiplier(args[5]), parseMinutes(args[6]));
+                    reportBooster(sender, booster);
+                    target.sendMessage(ChatColor.GOLD + "You received a " + booster.getMultiplier() + "x "
+                        + (playerSkill != null ? playerSkill.name() + " " : "") + "XP booster!");
+                    return true;
+                case "remove":
+                    if (args.length < 4) {
+                        sender.sendMessage(ChatColor.RED + "Usage: /skills admin booster remove <id>");
+                        return true;
+                    }
+                    if (boosterManager.remove(Integer.parseInt(args[3]))) {
+                        sender.sendMessage(ChatColor.GREEN + "Removed XP booster #" + args[3]);
+                    } else {
+                        sender.sendMessage(ChatColor.RED + "No active XP booster #" + args[3]);
+                    }
+                    return true;
+                default:
+                    sender.sendMessage(ChatColor.RED + "Usage: /skills admin booster <list|global|skill|player|remove> ...");
+                    return true;
+            }
+        } catch (NumberFormatException e) {
+            sender.sendMessage(ChatColor.RED + "Invalid multiplier, duration or ID.");
+            return true;
+        } catch (IllegalArgumentException e) {
+            sender.sendMessage(ChatColor.RED + e.getMessage());
+            return true;
+        }
+    }
+    
+    /**
+     * Parses a booster multiplier, rejecting NaN, infinity and values above the booster limit.
+     */
+    private double parseMultiplier(String arg) {
+        double multiplier = Double.parseDouble(arg);
+        if (!BoosterManager.isValidMultiplier(multiplier)) {
+            throw new IllegalArgumentException("Multiplier must be a number above 0 and at most " + BoosterManager.MAX_MULTIPLIER);
+        }
+        return multiplier;
+    }
+    
+    /**
+     * Parses a booster duration in minutes into milliseconds.
+     */
+    private long parseMinutes(String arg) {
+        long minutes = Long.parseLong(arg);
+        long maxMinutes = BoosterManager.MAX_DURATION_MILLIS / 60000L;
+        if (minutes <= 0 || minutes > maxMinutes) {
+            // Also keeps minutes * 60000 from overflowing into an already expired booster
+            throw new IllegalArgumentException("Duration must be between 1 and " + maxMinutes + " minutes");
+        }
+        return minutes * 60000L;
+    }
+    
+    /**
+     * Confirms a newly added booster to the sender.
+     */
+    private void reportBooster(CommandSender sender, BoosterManager.Booster booster) {
+        sender.sendMessage(ChatColor.GREEN + "Added XP booster #" + booster.getId() + ": " + describeBooster(booster)
+            + " " + booster.getMultiplier() + "x");
+    }
+    
+    /**
+     * Describes who and what a booster applies to.
+     */
+    private String describeBooster(BoosterManager.Booster booster) {
+        String skill = booster.getSkillType() != null ? booster.getSkillType().name() : "all skills";
+        if (booster.getScope() != BoosterManager.Scope.PLAYER) {
+            return "everyone, " + skill;
+        }
+        Player player = plugin.getServer().getPlayer(booster.getPlayerId());
+        return (player != null ? player.getName() : booster.getPlayerId().toString()) + ", " + skill;
+    }
+    
+    /**
+     * Handles /skills admin stats command: shows the metrics registry, or clears it with "reset".
+     */
+    private boolean handleAdminStats(CommandSender sender, String[] args) {
+        MetricsRegistry metrics = plugin.getMetrics();
+        if (metrics == null) {
+            sender.sendMessage(ChatColor.RED + "Metrics are not available.");
+            return true;
+        }
+        
+        if (args.length > 2) {
+            if (!args[2].equalsIgnoreCase("reset")) {
+                sender.sendMessage(ChatColor.RED + "Usage: /skills admin stats [reset]");
+                return true;
+            }
+            metrics.reset();
+            sender.sendMessage(ChatColor.GREEN + "Metrics reset.");
+            return true;
+        }
+        
+        long minutes = Math.max(0, (System.currentTimeMillis() - metrics.getResetAtMillis()) / 60000L);
+        sender.sendMessage(ChatColor.GOLD + "=== Skills Metrics ===" + ChatColor.GRAY + " (" + minutes + " min since reset)");
+        if (!metrics.isEnabled()) {
+            sender.sendMessage(ChatColor.YELLOW + "Metrics are disabled. Set metrics.enabled: true in config.yml and reload.");
+        }
+        
+        Map<String, Counter> counters = metrics.getCounters();
+        if (!counters.isEmpty()) {
+            sender.sendMessage(ChatColor.GOLD + "Counters:");
+            for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+                sender.sendMessage(ChatColor.GRAY + "  " + entry.getKey() + ": " + ChatColor.WHITE + entry.getValue().get());
+            }
+            Counter hits = counters.get("profile.cache.hit");
+            Counter misses = counters.get("profile.cache.miss");
+            if (hits != null && misses != null && hits.get() + misses.get() > 0) {
+                double hitRate = 100.0 * hits.get() / (hits.get() + misses.get());
+                sender.sendMessage(ChatColor.GRAY + "  profile cache hit rate: " + ChatColor.WHITE + String.format("%.1f%%", hitRate));
+            }
+        }
+        
+        boolean header = false;
+        for (Map.Entry<String, LatencyHistogram> entry : metrics.getHistograms().entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+            if (!header) {
+                sender.sendMessage(ChatColor.GOLD + "Timings" + ChatColor.GRAY + " (count, mean, p50, p99, max):");
+                header = true;
+            }
+            sender.sendMessage(ChatColor.GRAY + "  " + entry.getKey() + ": " + ChatColor.WHITE + histogram.getCount()
+                + ", " + formatNanos(histogram.getMeanNanos())
+                + ", " + formatNanos(histogram.getPercentileNanos(50))
+                + ", " + formatNanos(histogram.getPercentileNanos(99))
+                + ", " + formatNanos(histogram.getMaxNanos()));
+        }
+        if (counters.isEmpty() && !header) {
+            sender.sendMessage(ChatColor.GRAY + "Nothing recorded yet.");
+        }
+        return true;
+    }
+    
+    /**
+     * Formats a latency in microseconds below one millisecond and in milliseconds above.
+     */
+    private String formatNanos(long nanos) {
+        if (nanos < 1_000_000L) {
+            return (nanos / 1_000L) + "\u00b5s";
+        }
+        return String.format("%.1fms", nanos / 1_000_000.0);
+    }
+    
     /**
      * Handles /skills admin reset command.
      */
@@ -617,6 +848,8 @@ public class SkillsCommand implements CommandExecutor, TabCompleter {
                     completions.add("set");
                     completions.add("add");
                     completions.add("reset");
+                    completions.add("booster");
+                    completions.add("stats");
                 }
                 
                 String input = args[1].toLowerCase();
@@ -625,6 +858,24 @@ public class SkillsCommand implements CommandExecutor, TabCompleter {
                         .collect(Collectors.toList());
             }
             
+            // Third argument for /skills admin booster <action>
+            if (args.length == 3 && args[0].equalsIgnoreCase("admin") && args[1].equalsIgnoreCase("booster")) {
+                completions.addAll(Arrays.asList("list", "global", "skill", "player", "remove"));
+                
+                String input = args[2].toLowerCase();
+                return completions.stream()
+                        .filter(s -> s.startsWith(input))
+                        .collect(Collectors.toList());
+            }
+            
+            // Third argument for /skills admin stats [reset]
+            if (args.length == 3 && args[0].equalsIgnoreCase("admin") && args[1].equalsIgnoreCase("stats")) {
+                if ("reset".startsWith(args[2].toLowerCase())) {
+                    completions.add("reset");
+                }
+                return completions;
+            }
+            
             // Third argument for /skills admin <subcommand> <player>
             if (args.length == 3 && args[0].equalsIgnoreCase("admin")) {
                 for (Player p : plugin.getServer().getOnlinePlayers()) {
@@ -697,6 +948,18 @@ public class SkillsCommand implements CommandExecutor, TabCompleter {
                         .collect(Collectors.toList());
             }
             
+            // Third argument for /skills top <skillname> <window>
+            if (args.length == 3 && args[0].equalsIgnoreCase("top")) {
+                completions.add("day");
+                completions.add("week");
+                completions.add("season");
+                
+                String input = args[2].toLowerCase();
+                return completions.stream()
+                        .filter(s -> s.startsWith(input))
+                        .collect(Collectors.toList());
+            }
+            
             // No completions for additional arguments
             return completions;
             
@@ -1,42 +1,43 @@
 package com.example.skillsplugin.config;
 
 import com.example.skillsplugin.SkillsPlugin;
+import com.example.skillsplugin.skills.BonusDropAggregator;
+import com.example.skillsplugin.skills.EnchantmentXpTable;
 import com.example.skillsplugin.skills.SkillType;
+import com.example.skillsplugin.skills.XpTable;
+import org.bukkit.ChatColor;
+import org.bukkit.Keyed;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Tag;
+import org.bukkit.boss.BarColor;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.EntityType;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
 
 /**
  * Manages plugin configuration loading, parsing, and reloading
+ * Every load builds a complete {@link ConfigSnapshot} and publishes it in one volatile write,
+ * so readers never see a half-applied reload and never need a lock
+ * Components that copy values out of the snapshot (BonusManager's level tables, the XP rate
+ * limiter) must be refreshed from {@link SkillsPlugin#onConfigReloaded()}, or they keep the old values
  */
 public class ConfigManager {
     
     private final SkillsPlugin plugin;
-    private FileConfiguration config;
-    
-    // Cached configuration values for performance
-    private Map<SkillType, Double> experienceMultipliers;
-    private double baseXP;
-    private double exponent;
-    private boolean bonusesEnabled;
-    private Map<String, Double> bonusSettings;
-    private int bossBarDuration;
-    private boolean showXPGainMessages;
-    private List<String> enabledSkills;
-    private String storageType;
-    
-    // Additional cached values for hot paths
-    private Map<SkillType, Boolean> skillEnabledCache;
-    private long bossBarDurationTicks; // Pre-calculated ticks for boss bar duration
+    private volatile FileConfiguration config;
+    private volatile ConfigSnapshot snapshot;
     
     public ConfigManager(SkillsPlugin plugin) {
         this.plugin = plugin;
-        this.experienceMultipliers = new HashMap<>();
-        this.bonusSettings = new HashMap<>();
-        this.skillEnabledCache = new HashMap<>();
+        this.snapshot = ConfigSnapshot.defaults();
     }
     
     /**
@@ -44,7 +45,7 @@ public class ConfigManager {
      * Creates default config if it doesn't exist
      * Falls back to default values if config loading fails
      */
-    public void loadConfig() {
+    public synchronized void loadConfig() {
         try {
             // Save default config if it doesn't exist
             plugin.saveDefaultConfig();
@@ -68,7 +69,7 @@ public class ConfigManager {
      * Reloads the configuration from disk
      * Falls back to previous values if reload fails
      */
-    public void reloadConfig() {
+    public synchronized void reloadConfig() {
         try {
             plugin.reloadConfig();
             config = plugin.getConfig();
@@ -76,18 +77,33 @@ public class ConfigManager {
             plugin.getLogger().log(Level.INFO, "Configuration reloaded successfully");
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to reload configuration, keeping previous values", e);
-            // Keep existing cached values - don't reinitialize to defaults
+            // Keep the previous snapshot - don't reinitialize to defaults
         }
     }
     
     /**
-     * Parses configuration values and caches them
+     * Parses a configuration that was already loaded, e.g. off the main thread, and publishes it
+     * Loads and reloads are serialized; readers keep using the previous snapshot until this returns
+     * 
+     * @param newConfig The freshly loaded configuration
+     */
+    public synchronized void applyConfig(FileConfiguration newConfig) {
+        config = newConfig;
+        parseConfig();
+    }
+    
+    /**
+     * Parses configuration values into a new snapshot and publishes it
      * Uses default values for any missing or invalid configuration entries
      */
     private void parseConfig() {
         try {
+            // Register config-declared skills before anything is sized per skill
+            registerCustomSkills();
+            
+            ConfigSnapshot.Builder builder = new ConfigSnapshot.Builder();
+            
             // Parse experience multipliers
-            experienceMultipliers.clear();
             for (SkillType skillType : SkillType.values()) {
                 try {
                     String path = "experience." + skillType.name().toLowerCase();
@@ -97,112 +113,197 @@ public class ConfigManager {
                         plugin.getLogger().log(Level.WARNING, "Invalid experience multiplier for " + skillType + ": " + multiplier + ", using default 1.0");
                         multiplier = 1.0;
                     }
-                    experienceMultipliers.put(skillType, multiplier);
+                    builder.experienceMultipliers[skillType.ordinal()] = multiplier;
                 } catch (Exception e) {
                     plugin.getLogger().log(Level.WARNING, "Error parsing experience multiplier for " + skillType + ", using default 1.0", e);
-                    experienceMultipliers.put(skillType, 1.0);
+                    builder.experienceMultipliers[skillType.ordinal()] = 1.0;
                 }
             }
             
+            // Compile config-defined XP sources
+            try {
+                parseXpTables(builder);
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Error parsing xp-sources, using built-in XP values", e);
+                builder.setDefaultXpTables();
+            }
+            
             // Parse leveling formula settings
             try {
-                baseXP = config.getDouble("leveling.base-xp", 100.0);
-                if (baseXP <= 0) {
-                    plugin.getLogger().log(Level.WARNING, "Invalid base XP value: " + baseXP + ", using default 100.0");
-                    baseXP = 100.0;
+                builder.baseXP = config.getDouble("leveling.base-xp", 100.0);
+                if (builder.baseXP <= 0) {
+                    plugin.getLogger().log(Level.WARNING, "Invalid base XP value: " + builder.baseXP + ", using default 100.0");
+                    builder.baseXP = 100.0;
                 }
             } catch (Exception e) {
                 plugin.getLogger().log(Level.WARNING, "Error parsing base XP, using default 100.0", e);
-                baseXP = 100.0;
+                builder.baseXP = 100.0;
             }
             
             try {
-                exponent = config.getDouble("leveling.exponent", 1.5);
-                if (exponent <= 0) {
-                    plugin.getLogger().log(Level.WARNING, "Invalid exponent value: " + exponent + ", using default 1.5");
-                    exponent = 1.5;
+                builder.exponent = config.getDouble("leveling.exponent", 1.5);
+                if (builder.exponent <= 0) {
+                    plugin.getLogger().log(Level.WARNING, "Invalid exponent value: " + builder.exponent + ", using default 1.5");
+                    builder.exponent = 1.5;
                 }
             } catch (Exception e) {
                 plugin.getLogger().log(Level.WARNING, "Error parsing exponent, using default 1.5", e);
-                exponent = 1.5;
+                builder.exponent = 1.5;
             }
             
             // Parse bonus settings
             try {
-                bonusesEnabled = config.getBoolean("bonuses.enabled", true);
+                builder.bonusesEnabled = config.getBoolean("bonuses.enabled", true);
             } catch (Exception e) {
                 plugin.getLogger().log(Level.WARNING, "Error parsing bonuses.enabled, using default true", e);
-                bonusesEnabled = true;
+                builder.bonusesEnabled = true;
             }
             
-            bonusSettings.clear();
-            parseBonusSetting("mining.double-drop-chance-per-level", 0.5);
-            parseBonusSetting("woodcutting.double-drop-chance-per-level", 0.5);
-            parseBonusSetting("combat.damage-bonus-per-level", 0.5);
-            parseBonusSetting("farming.double-crop-chance-per-level", 0.5);
-            parseBonusSetting("fishing.treasure-chance-per-level", 0.3);
-            parseBonusSetting("enchanting.cost-reduction-per-level", 0.5);
-            parseBonusSetting("trading.discount-per-level", 0.3);
+            builder.miningDoubleDropChance = parseBonusSetting("mining.double-drop-chance-per-level", 0.5);
+            builder.woodcuttingDoubleDropChance = parseBonusSetting("woodcutting.double-drop-chance-per-level", 0.5);
+            builder.combatDamageBonus = parseBonusSetting("combat.damage-bonus-per-level", 0.5);
+            builder.farmingDoubleCropChance = parseBonusSetting("farming.double-crop-chance-per-level", 0.5);
+            builder.fishingTreasureChance = parseBonusSetting("fishing.treasure-chance-per-level", 0.3);
+            builder.enchantingCostReduction = parseBonusSetting("enchanting.cost-reduction-per-level", 0.5);
+            builder.tradingDiscount = parseBonusSetting("trading.discount-per-level", 0.3);
+            
+            try {
+                String policyName = config.getString("bonuses.drop-policy", "MERGE");
+                builder.bonusDropPolicy = BonusDropAggregator.Policy.fromName(policyName);
+                if (builder.bonusDropPolicy == null) {
+                    plugin.getLogger().log(Level.WARNING, "Invalid bonus drop policy: " + policyName + ", using default MERGE");
+                    builder.bonusDropPolicy = BonusDropAggregator.Policy.MERGE;
+                }
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Error parsing bonuses.drop-policy, using default MERGE", e);
+                builder.bonusDropPolicy = BonusDropAggregator.Policy.MERGE;
+            }
             
             // Parse UI settings
             try {
-                bossBarDuration = config.getInt("ui.boss-bar-duration", 5);
-                if (bossBarDuration <= 0) {
-                    plugin.getLogger().log(Level.WARNING, "Invalid boss bar duration: " + bossBarDuration + ", using default 5");
-                    bossBarDuration = 5;
+                builder.bossBarDuration = config.getInt("ui.boss-bar-duration", 5);
+                if (builder.bossBarDuration <= 0) {
+                    plugin.getLogger().log(Level.WARNING, "Invalid boss bar duration: " + builder.bossBarDuration + ", using default 5");
+                    builder.bossBarDuration = 5;
                 }
-                // Pre-calculate ticks for performance (1 second = 20 ticks)
-                bossBarDurationTicks = bossBarDuration * 20L;
             } catch (Exception e) {
                 plugin.getLogger().log(Level.WARNING, "Error parsing boss bar duration, using default 5", e);
-                bossBarDuration = 5;
-                bossBarDurationTicks = 100L;
+                builder.bossBarDuration = 5;
             }
             
             try {
-                showXPGainMessages = config.getBoolean("ui.show-xp-gain-messages", true);
+                builder.showXPGainMessages = config.getBoolean("ui.show-xp-gain-messages", true);
             } catch (Exception e) {
                 plugin.getLogger().log(Level.WARNING, "Error parsing show-xp-gain-messages, using default true", e);
-                showXPGainMessages = true;
+                builder.showXPGainMessages = true;
+            }
+            
+            try {
+                builder.soundsEnabled = config.getBoolean("ui.sounds.enabled", true);
+                builder.levelUpSound = config.getString("ui.sounds.level-up", "ENTITY_PLAYER_LEVELUP");
+                builder.xpGainSound = config.getString("ui.sounds.xp-gain", "none");
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Error parsing sound settings, using defaults", e);
+                builder.soundsEnabled = true;
+                builder.levelUpSound = "ENTITY_PLAYER_LEVELUP";
+                builder.xpGainSound = "none";
             }
             
             // Parse enabled skills
             try {
-                enabledSkills = config.getStringList("enabled-skills");
-                if (enabledSkills.isEmpty()) {
+                List<String> enabledSkills = config.getStringList("enabled-skills");
+                builder.enabledSkills.clear();
+                if (enabledSkills == null || enabledSkills.isEmpty()) {
                     // Default to all skills if not specified
-                    for (SkillType skillType : SkillType.values()) {
-                        enabledSkills.add(skillType.name());
-                    }
-                }
-                
-                // Build skill enabled cache for O(1) lookups
-                skillEnabledCache.clear();
-                for (SkillType skillType : SkillType.values()) {
-                    skillEnabledCache.put(skillType, enabledSkills.contains(skillType.name()));
+                    builder.setAllSkillsEnabled();
+                } else {
+                    builder.enabledSkills.addAll(enabledSkills);
                 }
             } catch (Exception e) {
                 plugin.getLogger().log(Level.WARNING, "Error parsing enabled skills, enabling all skills by default", e);
-                enabledSkills.clear();
-                skillEnabledCache.clear();
-                for (SkillType skillType : SkillType.values()) {
-                    enabledSkills.add(skillType.name());
-                    skillEnabledCache.put(skillType, true);
-                }
+                builder.setAllSkillsEnabled();
             }
             
             // Parse storage type
             try {
-                storageType = config.getString("storage.type", "JSON");
-                if (storageType == null || storageType.isEmpty()) {
+                builder.storageType = config.getString("storage.type", "JSON");
+                if (builder.storageType == null || builder.storageType.isEmpty()) {
                     plugin.getLogger().log(Level.WARNING, "Invalid storage type, using default JSON");
-                    storageType = "JSON";
+                    builder.storageType = "JSON";
                 }
             } catch (Exception e) {
                 plugin.getLogger().log(Level.WARNING, "Error parsing storage type, using default JSON", e);
-                storageType = "JSON";
+                builder.storageType = "JSON";
+            }
+            
+            // Parse storage layout
+            try {
+                builder.shardedStorage = config.getBoolean("storage.sharded", false);
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Error parsing storage layout, using flat layout", e);
+                builder.shardedStorage = false;
+            }
+            
+            // Parse anti-exploit settings
+            try {
+                builder.trackPlacedBlocks = config.getBoolean("anti-exploit.track-placed-blocks", true);
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Error parsing placed block tracking, using default true", e);
+                builder.trackPlacedBlocks = true;
+            }
+            
+            // Parse config auto-reload
+            try {
+                builder.autoReloadEnabled = config.getBoolean("auto-reload.enabled", false);
+                builder.autoReloadDebounceMillis = config.getLong("auto-reload.debounce-millis", 500L);
+                if (builder.autoReloadDebounceMillis < 0) {
+                    plugin.getLogger().log(Level.WARNING, "Invalid auto-reload debounce: " + builder.autoReloadDebounceMillis + ", using default 500");
+                    builder.autoReloadDebounceMillis = 500L;
+                }
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Error parsing auto-reload settings, auto-reload disabled", e);
+                builder.autoReloadEnabled = false;
+                builder.autoReloadDebounceMillis = 500L;
+            }
+            
+            // Parse performance metrics
+            try {
+                builder.metricsEnabled = config.getBoolean("metrics.enabled", false);
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Error parsing metrics settings, metrics disabled", e);
+                builder.metricsEnabled = false;
             }
             
+            // Parse XP rate limiting
+            try {
+                builder.rateLimitEnabled = config.getBoolean("anti-exploit.rate-limit.enabled", true);
+                builder.rateLimitWindowSeconds = config.getDouble("anti-exploit.rate-limit.window-seconds", 60.0);
+                if (builder.rateLimitWindowSeconds <= 0) {
+                    plugin.getLogger().log(Level.WARNING, "Invalid rate limit window: " + builder.rateLimitWindowSeconds + ", using default 60");
+                    builder.rateLimitWindowSeconds = 60.0;
+                }
+                builder.rateLimitMinimumMultiplier = config.getDouble("anti-exploit.rate-limit.minimum-multiplier", 0.1);
+                if (builder.rateLimitMinimumMultiplier < 0 || builder.rateLimitMinimumMultiplier > 1) {
+                    plugin.getLogger().log(Level.WARNING, "Invalid rate limit minimum multiplier: " + builder.rateLimitMinimumMultiplier + ", using default 0.1");
+                    builder.rateLimitMinimumMultiplier = 0.1;
+                }
+                for (SkillType skillType : SkillType.values()) {
+                    double defaultThreshold = ConfigSnapshot.getDefaultRateLimitThreshold(skillType);
+                    double threshold = config.getDouble("anti-exploit.rate-limit.thresholds." + skillType.name().toLowerCase(), defaultThreshold);
+                    if (threshold < 0) {
+                        plugin.getLogger().log(Level.WARNING, "Invalid rate limit threshold for " + skillType + ": " + threshold + ", using default " + defaultThreshold);
+                        threshold = defaultThreshold;
+                    }
+                    builder.rateLimitThresholds[skillType.ordinal()] = threshold;
+                }
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Error parsing XP rate limit settings, using defaults", e);
+                builder.setDefaultRateLimits();
+            }
+            
+            // Publish every value at once
+            snapshot = builder.build();
+            
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Critical error parsing configuration, falling back to defaults", e);
             initializeDefaults();
@@ -212,7 +313,7 @@ public class ConfigManager {
     /**
      * Parses a single bonus setting with error handling
      */
-    private void parseBonusSetting(String key, double defaultValue) {
+    private double parseBonusSetting(String key, double defaultValue) {
         try {
             String configPath = "bonuses." + key;
             double value = config.getDouble(configPath, defaultValue);
@@ -220,128 +321,397 @@ public class ConfigManager {
                 plugin.getLogger().log(Level.WARNING, "Invalid bonus setting for " + key + ": " + value + ", using default " + defaultValue);
                 value = defaultValue;
             }
-            bonusSettings.put(key, value);
+            return value;
         } catch (Exception e) {
             plugin.getLogger().log(Level.WARNING, "Error parsing bonus setting " + key + ", using default " + defaultValue, e);
-            bonusSettings.put(key, defaultValue);
+            return defaultValue;
         }
     }
     
     /**
-     * Initializes all configuration values to their defaults
-     * Used as a fallback when configuration loading fails completely
+     * Compiles the xp-sources section into per-skill tables
+     * Each table is indexed by Material or EntityType ordinal for constant-time lookups
      */
-    private void initializeDefaults() {
-        plugin.getLogger().log(Level.INFO, "Initializing default configuration values");
+    private void parseXpTables(ConfigSnapshot.Builder builder) {
+        List<SkillType> blockSkills = new ArrayList<>();
+        List<SkillType> entitySkills = new ArrayList<>();
         
-        // Default experience multipliers
-        experienceMultipliers.clear();
         for (SkillType skillType : SkillType.values()) {
-            experienceMultipliers.put(skillType, 1.0);
+            String path = "xp-sources." + skillType.name().toLowerCase();
+            XpTable<Material> blockTable = compileXpTable(path + ".blocks", Material.class, Tag.REGISTRY_BLOCKS);
+            XpTable<EntityType> entityTable = compileXpTable(path + ".entities", EntityType.class, Tag.REGISTRY_ENTITY_TYPES);
+            builder.blockXpTables[skillType.ordinal()] = blockTable;
+            builder.entityXpTables[skillType.ordinal()] = entityTable;
+            builder.itemXpTables[skillType.ordinal()] = compileXpTable(path + ".items", Material.class, Tag.REGISTRY_ITEMS);
+            
+            if (!skillType.isBuiltIn()) {
+                if (!blockTable.isEmpty()) {
+                    blockSkills.add(skillType);
+                }
+                if (!entityTable.isEmpty()) {
+                    entitySkills.add(skillType);
+                }
+            }
         }
         
-        // Default leveling formula
-        baseXP = 100.0;
-        exponent = 1.5;
-        
-        // Default bonus settings
-        bonusesEnabled = true;
-        bonusSettings.clear();
-        bonusSettings.put("mining.double-drop-chance-per-level", 0.5);
-        bonusSettings.put("woodcutting.double-drop-chance-per-level", 0.5);
-        bonusSettings.put("combat.damage-bonus-per-level", 0.5);
-        bonusSettings.put("farming.double-crop-chance-per-level", 0.5);
-        bonusSettings.put("fishing.treasure-chance-per-level", 0.3);
-        bonusSettings.put("enchanting.cost-reduction-per-level", 0.5);
-        bonusSettings.put("trading.discount-per-level", 0.3);
-        
-        // Default UI settings
-        bossBarDuration = 5;
-        bossBarDurationTicks = 100L;
-        showXPGainMessages = true;
-        
-        // Default enabled skills (all)
-        enabledSkills.clear();
-        skillEnabledCache.clear();
-        for (SkillType skillType : SkillType.values()) {
-            enabledSkills.add(skillType.name());
-            skillEnabledCache.put(skillType, true);
+        builder.customBlockSkills = blockSkills.toArray(new SkillType[0]);
+        builder.customEntitySkills = entitySkills.toArray(new SkillType[0]);
+        builder.enchantmentXpTable = compileEnchantmentXpTable("xp-sources.enchanting");
+    }
+    
+    /**
+     * Compiles the Enchanting XP per enchantment level, shared by the table, anvil and grindstone
+     */
+    private EnchantmentXpTable compileEnchantmentXpTable(String path) {
+        Map<String, Double> entries = null;
+        ConfigurationSection section = config.getConfigurationSection(path + ".enchantments");
+        if (section != null) {
+            entries = new LinkedHashMap<>();
+            for (String key : section.getKeys(false)) {
+                entries.put(key, section.getDouble(key, -1.0));
+            }
+        }
+        double anvilMultiplier = parseSourceMultiplier(path + ".anvil-multiplier", EnchantmentXpTable.DEFAULT_ANVIL_MULTIPLIER);
+        double grindstoneMultiplier = parseSourceMultiplier(path + ".grindstone-multiplier", EnchantmentXpTable.DEFAULT_GRINDSTONE_MULTIPLIER);
+        return EnchantmentXpTable.compile(EnchantmentXpTable.registeredEnchantments(), entries, anvilMultiplier, grindstoneMultiplier,
+                (key, reason) -> plugin.getLogger().log(Level.WARNING, "Skipping " + path + ".enchantments." + key + ": " + reason));
+    }
+    
+    private double parseSourceMultiplier(String path, double defaultValue) {
+        double multiplier = config.getDouble(path, defaultValue);
+        if (multiplier < 0 || Double.isNaN(multiplier) || Double.isInfinite(multiplier)) {
+            plugin.getLogger().log(Level.WARNING, "Invalid " + path + ": " + multiplier + ", using default " + defaultValue);
+            return defaultValue;
+        }
+        return multiplier;
+    }
+    
+    private <E extends Enum<E> & Keyed> XpTable<E> compileXpTable(String path, Class<E> type, String tagRegistry) {
+        ConfigurationSection section = config.getConfigurationSection(path);
+        if (section == null) {
+            return XpTable.empty();
         }
         
-        // Default storage type
-        storageType = "JSON";
+        Map<String, Double> entries = new LinkedHashMap<>();
+        for (String key : section.getKeys(false)) {
+            entries.put(key, section.getDouble(key, -1.0));
+        }
+        return XpTable.compile(type, entries,
+                tagName -> resolveTag(tagRegistry, tagName, type),
+                (key, reason) -> plugin.getLogger().log(Level.WARNING, "Skipping " + path + "." + key + ": " + reason));
+    }
+    
+    private <E extends Keyed> Collection<E> resolveTag(String registry, String name, Class<E> type) {
+        NamespacedKey key = name.contains(":") ? NamespacedKey.fromString(name) : NamespacedKey.minecraft(name);
+        if (key == null) {
+            return null;
+        }
+        Tag<E> tag = plugin.getServer().getTag(registry, key, type);
+        return tag != null ? tag.getValues() : null;
+    }
+    
+    /**
+     * Registers the skills declared under custom-skills
+     * Skills added after the registry is frozen are reported and take effect on restart
+     */
+    private void registerCustomSkills() {
+        ConfigurationSection section = config.getConfigurationSection("custom-skills");
+        if (section == null) {
+            return;
+        }
         
+        for (String name : section.getKeys(false)) {
+            try {
+                ChatColor chatColor = parseEnum(ChatColor.class, section.getString(name + ".color"), ChatColor.WHITE);
+                BarColor barColor = parseEnum(BarColor.class, section.getString(name + ".bar-color"), BarColor.WHITE);
+                String icon = section.getString(name + ".icon", "⭐");
+                SkillType.register(name, chatColor, barColor, icon);
+            } catch (IllegalStateException e) {
+                plugin.getLogger().log(Level.WARNING, "New skill " + name + " will be available after a restart");
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Error registering custom skill " + name + ", skipping", e);
+            }
+        }
+    }
+    
+    private <E extends Enum<E>> E parseEnum(Class<E> type, String name, E defaultValue) {
+        if (name == null || name.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().log(Level.WARNING, "Invalid " + type.getSimpleName() + ": " + name + ", using default " + defaultValue);
+            return defaultValue;
+        }
+    }
+    
+    /**
+     * Initializes all configuration values to their defaults
+     * Used as a fallback when configuration loading fails completely
+     */
+    private void initializeDefaults() {
+        plugin.getLogger().log(Level.INFO, "Initializing default configuration values");
+        snapshot = ConfigSnapshot.defaults();
         plugin.getLogger().log(Level.INFO, "Default configuration values initialized");
     }
     
+    /**
+     * Gets the current configuration snapshot
+     * Read it once to get several values that are guaranteed to come from the same reload
+     */
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+    
     /**
      * Gets the experience multiplier for a specific skill
      */
     public double getExperienceMultiplier(SkillType skillType) {
-        return experienceMultipliers.getOrDefault(skillType, 1.0);
+        return snapshot.getExperienceMultiplier(skillType);
+    }
+    
+    /**
+     * Gets the configured block XP for a skill
+     */
+    public XpTable<Material> getBlockXpTable(SkillType skillType) {
+        return snapshot.getBlockXpTable(skillType);
+    }
+    
+    /**
+     * Gets the configured entity kill XP for a skill
+     */
+    public XpTable<EntityType> getEntityXpTable(SkillType skillType) {
+        return snapshot.getEntityXpTable(skillType);
+    }
+    
+    /**
+     * Gets the configured item XP for a skill (fishing catches, trade results)
+     */
+    public XpTable<Material> getItemXpTable(SkillType skillType) {
+        return snapshot.getItemXpTable(skillType);
+    }
+    
+    /**
+     * Gets the Enchanting XP per enchantment level for the table, anvil and grindstone
+     */
+    public EnchantmentXpTable getEnchantmentXpTable() {
+        return snapshot.getEnchantmentXpTable();
+    }
+    
+    /**
+     * Gets the custom skills that earn XP from breaking blocks
+     */
+    public SkillType[] getCustomBlockSkills() {
+        return snapshot.getCustomBlockSkills();
+    }
+    
+    /**
+     * Gets the custom skills that earn XP from killing entities
+     */
+    public SkillType[] getCustomEntitySkills() {
+        return snapshot.getCustomEntitySkills();
     }
     
     /**
      * Gets the base XP value for level calculations
      */
     public double getBaseXP() {
-        return baseXP;
+        return snapshot.getBaseXP();
     }
     
     /**
      * Gets the exponent for level calculations
      */
     public double getExponent() {
-        return exponent;
+        return snapshot.getExponent();
     }
     
     /**
      * Checks if bonuses are enabled
      */
     public boolean areBonusesEnabled() {
-        return bonusesEnabled;
+        return snapshot.areBonusesEnabled();
+    }
+    
+    /**
+     * Gets the mining double drop chance in percent per level
+     */
+    public double getMiningDoubleDropChance() {
+        return snapshot.getMiningDoubleDropChance();
+    }
+    
+    /**
+     * Gets the woodcutting double drop chance in percent per level
+     */
+    public double getWoodcuttingDoubleDropChance() {
+        return snapshot.getWoodcuttingDoubleDropChance();
+    }
+    
+    /**
+     * Gets the combat damage bonus in percent per level
+     */
+    public double getCombatDamageBonus() {
+        return snapshot.getCombatDamageBonus();
+    }
+    
+    /**
+     * Gets the farming double crop chance in percent per level
+     */
+    public double getFarmingDoubleCropChance() {
+        return snapshot.getFarmingDoubleCropChance();
     }
     
     /**
-     * Gets a bonus setting value
+     * Gets the fishing treasure chance in percent per level
+     */
+    public double getFishingTreasureChance() {
+        return snapshot.getFishingTreasureChance();
+    }
+    
+    /**
+     * Gets the enchanting cost reduction in percent per level
+     */
+    public double getEnchantingCostReduction() {
+        return snapshot.getEnchantingCostReduction();
+    }
+    
+    /**
+     * Gets the trading discount in percent per level
+     */
+    public double getTradingDiscount() {
+        return snapshot.getTradingDiscount();
+    }
+    
+    /**
+     * Gets a bonus setting by its path under "bonuses"
+     * Prefer the named getters; this only maps the path onto them
      */
     public double getBonusSetting(String key) {
-        return bonusSettings.getOrDefault(key, 0.0);
+        ConfigSnapshot current = snapshot;
+        switch (key) {
+            case "mining.double-drop-chance-per-level":
+                return current.getMiningDoubleDropChance();
+            case "woodcutting.double-drop-chance-per-level":
+                return current.getWoodcuttingDoubleDropChance();
+            case "combat.damage-bonus-per-level":
+                return current.getCombatDamageBonus();
+            case "farming.double-crop-chance-per-level":
+                return current.getFarmingDoubleCropChance();
+            case "fishing.treasure-chance-per-level":
+                return current.getFishingTreasureChance();
+            case "enchanting.cost-reduction-per-level":
+                return current.getEnchantingCostReduction();
+            case "trading.discount-per-level":
+                return current.getTradingDiscount();
+            default:
+                return 0.0;
+        }
+    }
+    
+    /**
+     * Gets how bonus drops are delivered to players
+     */
+    public BonusDropAggregator.Policy getBonusDropPolicy() {
+        return snapshot.getBonusDropPolicy();
     }
     
     /**
      * Gets the boss bar duration in seconds
      */
     public int getBossBarDuration() {
-        return bossBarDuration;
+        return snapshot.getBossBarDuration();
     }
     
     /**
      * Checks if XP gain messages should be shown
      */
     public boolean shouldShowXPGainMessages() {
-        return showXPGainMessages;
+        return snapshot.shouldShowXPGainMessages();
     }
     
     /**
-     * Checks if a skill is enabled (optimized with cache for O(1) lookup)
+     * Checks if a skill is enabled (array lookup by skill ordinal)
      */
     public boolean isSkillEnabled(SkillType skillType) {
-        return skillEnabledCache.getOrDefault(skillType, true);
+        return snapshot.isSkillEnabled(skillType);
     }
     
     /**
      * Gets the boss bar duration in ticks (pre-calculated for performance)
      */
     public long getBossBarDurationTicks() {
-        return bossBarDurationTicks;
+        return snapshot.getBossBarDurationTicks();
     }
     
     /**
      * Gets the storage type (JSON or SQLITE)
      */
     public String getStorageType() {
-        return storageType;
+        return snapshot.getStorageType();
+    }
+    
+    /**
+     * Checks if JSON storage should use the sharded directory layout
+     */
+    public boolean isShardedStorage() {
+        return snapshot.isShardedStorage();
+    }
+    
+    /**
+     * Checks if player-placed blocks should be tracked so breaking them awards no XP
+     */
+    public boolean isTrackPlacedBlocks() {
+        return snapshot.isTrackPlacedBlocks();
+    }
+    
+    /**
+     * Checks if diminishing returns should be applied to XP earned too quickly
+     */
+    public boolean isRateLimitEnabled() {
+        return snapshot.isRateLimitEnabled();
+    }
+    
+    /**
+     * Gets the time constant, in seconds, over which recent XP is summed for rate limiting
+     */
+    public double getRateLimitWindowSeconds() {
+        return snapshot.getRateLimitWindowSeconds();
+    }
+    
+    /**
+     * Gets the lowest multiplier rate limiting will ever apply
+     */
+    public double getRateLimitMinimumMultiplier() {
+        return snapshot.getRateLimitMinimumMultiplier();
+    }
+    
+    /**
+     * Gets the XP per window a skill may earn before diminishing returns start (0 = unlimited)
+     */
+    public double getRateLimitThreshold(SkillType skillType) {
+        return snapshot.getRateLimitThreshold(skillType);
+    }
+    
+    /**
+     * Checks if config.yml should be reloaded automatically when it changes on disk
+     */
+    public boolean isAutoReloadEnabled() {
+        return snapshot.isAutoReloadEnabled();
+    }
+    
+    /**
+     * Checks if handler, cache and storage timings should be collected for /skills admin stats
+     */
+    public boolean isMetricsEnabled() {
+        return snapshot.isMetricsEnabled();
+    }
+    
+    /**
+     * Gets how long config.yml must stay unchanged before an automatic reload, in milliseconds
+     */
+    public long getAutoReloadDebounceMillis() {
+        return snapshot.getAutoReloadDebounceMillis();
     }
     
     /**
@@ -355,32 +725,20 @@ public class ConfigManager {
      * Checks if sound effects are enabled
      */
     public boolean areSoundsEnabled() {
-        try {
-            return config.getBoolean("ui.sounds.enabled", true);
-        } catch (Exception e) {
-            return true;
-        }
+        return snapshot.areSoundsEnabled();
     }
     
     /**
      * Gets the level-up sound name
      */
     public String getLevelUpSound() {
-        try {
-            return config.getString("ui.sounds.level-up", "ENTITY_PLAYER_LEVELUP");
-        } catch (Exception e) {
-            return "ENTITY_PLAYER_LEVELUP";
-        }
+        return snapshot.getLevelUpSound();
     }
     
     /**
      * Gets the XP gain sound name
      */
     public String getXPGainSound() {
-        try {
-            return config.getString("ui.sounds.xp-gain", "none");
-        } catch (Exception e) {
-            return "none";
-        }
+        return snapshot.getXPGainSound();
     }
 }
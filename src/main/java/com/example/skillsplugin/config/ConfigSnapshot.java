@@ -0,0 +1,446 @@
+package com.example.skillsplugin.config;
+
+import com.example.skillsplugin.skills.BonusDropAggregator;
+import com.example.skillsplugin.skills.EnchantmentXpTable;
+import com.example.skillsplugin.skills.SkillType;
+import com.example.skillsplugin.skills.XpTable;
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable view of the parsed configuration.
+ * ConfigManager builds a complete snapshot on every load or reload and publishes it through
+ * a single volatile reference, so readers on any thread see either the old configuration or
+ * the new one, never a mix. Per-skill values are stored in arrays indexed by skill ordinal.
+ */
+public final class ConfigSnapshot {
+
+    private final double[] experienceMultipliers;
+    private final double baseXP;
+    private final double exponent;
+    private final boolean bonusesEnabled;
+    private final double miningDoubleDropChance;
+    private final double woodcuttingDoubleDropChance;
+    private final double combatDamageBonus;
+    private final double farmingDoubleCropChance;
+    private final double fishingTreasureChance;
+    private final double enchantingCostReduction;
+    private final double tradingDiscount;
+    private final BonusDropAggregator.Policy bonusDropPolicy;
+    private final int bossBarDuration;
+    private final long bossBarDurationTicks;
+    private final boolean showXPGainMessages;
+    private final boolean soundsEnabled;
+    private final String levelUpSound;
+    private final String xpGainSound;
+    private final List<String> enabledSkills;
+    private final boolean[] skillEnabled;
+    private final String storageType;
+    private final boolean shardedStorage;
+    private final boolean trackPlacedBlocks;
+    private final boolean autoReloadEnabled;
+    private final long autoReloadDebounceMillis;
+    private final boolean metricsEnabled;
+    private final boolean rateLimitEnabled;
+    private final double rateLimitWindowSeconds;
+    private final double rateLimitMinimumMultiplier;
+    private final double[] rateLimitThresholds;
+    private final XpTable<?>[] blockXpTables;
+    private final XpTable<?>[] entityXpTables;
+    private final XpTable<?>[] itemXpTables;
+    private final EnchantmentXpTable enchantmentXpTable;
+    private final SkillType[] customBlockSkills;
+    private final SkillType[] customEntitySkills;
+
+    private ConfigSnapshot(Builder builder) {
+        this.experienceMultipliers = builder.experienceMultipliers.clone();
+        this.baseXP = builder.baseXP;
+        this.exponent = builder.exponent;
+        this.bonusesEnabled = builder.bonusesEnabled;
+        this.miningDoubleDropChance = builder.miningDoubleDropChance;
+        this.woodcuttingDoubleDropChance = builder.woodcuttingDoubleDropChance;
+        this.combatDamageBonus = builder.combatDamageBonus;
+        this.farmingDoubleCropChance = builder.farmingDoubleCropChance;
+        this.fishingTreasureChance = builder.fishingTreasureChance;
+        this.enchantingCostReduction = builder.enchantingCostReduction;
+        this.tradingDiscount = builder.tradingDiscount;
+        this.bonusDropPolicy = builder.bonusDropPolicy;
+        this.bossBarDuration = builder.bossBarDuration;
+        this.bossBarDurationTicks = builder.bossBarDuration * 20L;
+        this.showXPGainMessages = builder.showXPGainMessages;
+        this.soundsEnabled = builder.soundsEnabled;
+        this.levelUpSound = builder.levelUpSound;
+        this.xpGainSound = builder.xpGainSound;
+        this.enabledSkills = Collections.unmodifiableList(new ArrayList<>(builder.enabledSkills));
+        this.skillEnabled = new boolean[builder.skillCount];
+        for (SkillType skillType : SkillType.values()) {
+            if (skillType.ordinal() < skillEnabled.length) {
+                skillEnabled[skillType.ordinal()] = enabledSkills.contains(skillType.name());
+            }
+        }
+        this.storageType = builder.storageType;
+        this.shardedStorage = builder.shardedStorage;
+        this.trackPlacedBlocks = builder.trackPlacedBlocks;
+        this.autoReloadEnabled = builder.autoReloadEnabled;
+        this.autoReloadDebounceMillis = builder.autoReloadDebounceMillis;
+        this.metricsEnabled = builder.metricsEnabled;
+        this.rateLimitEnabled = builder.rateLimitEnabled;
+        this.rateLimitWindowSeconds = builder.rateLimitWindowSeconds;
+        this.rateLimitMinimumMultiplier = builder.rateLimitMinimumMultiplier;
+        this.rateLimitThresholds = builder.rateLimitThresholds.clone();
+        this.blockXpTables = builder.blockXpTables.clone();
+        this.entityXpTables = builder.entityXpTables.clone();
+        this.itemXpTables = builder.itemXpTables.clone();
+        zeroDisabledSkills();
+        this.enchantmentXpTable = isSkillEnabled(SkillType.ENCHANTING) ? builder.enchantmentXpTable : EnchantmentXpTable.zero();
+        this.customBlockSkills = enabledOnly(builder.customBlockSkills);
+        this.customEntitySkills = enabledOnly(builder.customEntitySkills);
+    }
+
+    /**
+     * Replaces the XP tables of disabled skills with tables that give 0 for every source,
+     * so the calculators need no separate enablement check.
+     */
+    private void zeroDisabledSkills() {
+        XpTable<Material> zeroMaterials = null;
+        XpTable<EntityType> zeroEntities = null;
+        for (int i = 0; i < skillEnabled.length; i++) {
+            if (skillEnabled[i]) {
+                continue;
+            }
+            if (zeroMaterials == null) {
+                zeroMaterials = XpTable.zero(Material.class);
+                zeroEntities = XpTable.zero(EntityType.class);
+            }
+            blockXpTables[i] = zeroMaterials;
+            entityXpTables[i] = zeroEntities;
+            itemXpTables[i] = zeroMaterials;
+        }
+    }
+
+    private SkillType[] enabledOnly(SkillType[] skills) {
+        List<SkillType> enabled = new ArrayList<>(skills.length);
+        for (SkillType skillType : skills) {
+            if (isSkillEnabled(skillType)) {
+                enabled.add(skillType);
+            }
+        }
+        return enabled.toArray(new SkillType[0]);
+    }
+
+    /**
+     * Creates a snapshot holding the built-in defaults for every setting.
+     *
+     * @return The default snapshot
+     */
+    public static ConfigSnapshot defaults() {
+        return new Builder().build();
+    }
+
+    public double getExperienceMultiplier(SkillType skillType) {
+        int index = skillType.ordinal();
+        return index < experienceMultipliers.length ? experienceMultipliers[index] : 1.0;
+    }
+
+    public double getBaseXP() {
+        return baseXP;
+    }
+
+    public double getExponent() {
+        return exponent;
+    }
+
+    public boolean areBonusesEnabled() {
+        return bonusesEnabled;
+    }
+
+    /**
+     * @return The mining double drop chance in percent per level
+     */
+    public double getMiningDoubleDropChance() {
+        return miningDoubleDropChance;
+    }
+
+    /**
+     * @return The woodcutting double drop chance in percent per level
+     */
+    public double getWoodcuttingDoubleDropChance() {
+        return woodcuttingDoubleDropChance;
+    }
+
+    /**
+     * @return The combat damage bonus in percent per level
+     */
+    public double getCombatDamageBonus() {
+        return combatDamageBonus;
+    }
+
+    /**
+     * @return The farming double crop chance in percent per level
+     */
+    public double getFarmingDoubleCropChance() {
+        return farmingDoubleCropChance;
+    }
+
+    /**
+     * @return The fishing treasure chance in percent per level
+     */
+    public double getFishingTreasureChance() {
+        return fishingTreasureChance;
+    }
+
+    /**
+     * @return The enchanting cost reduction in percent per level
+     */
+    public double getEnchantingCostReduction() {
+        return enchantingCostReduction;
+    }
+
+    /**
+     * @return The trading discount in percent per level
+     */
+    public double getTradingDiscount() {
+        return tradingDiscount;
+    }
+
+    public BonusDropAggregator.Policy getBonusDropPolicy() {
+        return bonusDropPolicy;
+    }
+
+    public int getBossBarDuration() {
+        return bossBarDuration;
+    }
+
+    public long getBossBarDurationTicks() {
+        return bossBarDurationTicks;
+    }
+
+    public boolean shouldShowXPGainMessages() {
+        return showXPGainMessages;
+    }
+
+    public boolean areSoundsEnabled() {
+        return soundsEnabled;
+    }
+
+    public String getLevelUpSound() {
+        return levelUpSound;
+    }
+
+    public String getXPGainSound() {
+        return xpGainSound;
+    }
+
+    /**
+     * @return The enabled skill names as configured; unmodifiable
+     */
+    public List<String> getEnabledSkills() {
+        return enabledSkills;
+    }
+
+    /**
+     * Checks if a skill is enabled. Skills registered after this snapshot was built count as enabled.
+     */
+    public boolean isSkillEnabled(SkillType skillType) {
+        int index = skillType.ordinal();
+        return index >= skillEnabled.length || skillEnabled[index];
+    }
+
+    public String getStorageType() {
+        return storageType;
+    }
+
+    public boolean isShardedStorage() {
+        return shardedStorage;
+    }
+
+    public boolean isTrackPlacedBlocks() {
+        return trackPlacedBlocks;
+    }
+
+    public boolean isAutoReloadEnabled() {
+        return autoReloadEnabled;
+    }
+
+    public long getAutoReloadDebounceMillis() {
+        return autoReloadDebounceMillis;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    public boolean isRateLimitEnabled() {
+        return rateLimitEnabled;
+    }
+
+    public double getRateLimitWindowSeconds() {
+        return rateLimitWindowSeconds;
+    }
+
+    public double getRateLimitMinimumMultiplier() {
+        return rateLimitMinimumMultiplier;
+    }
+
+    public double getRateLimitThreshold(SkillType skillType) {
+        int index = skillType.ordinal();
+        return index < rateLimitThresholds.length ? rateLimitThresholds[index] : 0.0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public XpTable<Material> getBlockXpTable(SkillType skillType) {
+        return (XpTable<Material>) table(blockXpTables, skillType);
+    }
+
+    @SuppressWarnings("unchecked")
+    public XpTable<EntityType> getEntityXpTable(SkillType skillType) {
+        return (XpTable<EntityType>) table(entityXpTables, skillType);
+    }
+
+    @SuppressWarnings("unchecked")
+    public XpTable<Material> getItemXpTable(SkillType skillType) {
+        return (XpTable<Material>) table(itemXpTables, skillType);
+    }
+
+    /**
+     * @return The enchanting XP per enchantment level for every enchanting source
+     */
+    public EnchantmentXpTable getEnchantmentXpTable() {
+        return enchantmentXpTable;
+    }
+
+    private static XpTable<?> table(XpTable<?>[] tables, SkillType skillType) {
+        int index = skillType.ordinal();
+        return index < tables.length ? tables[index] : XpTable.empty();
+    }
+
+    /**
+     * @return The custom skills that earn XP from breaking blocks; callers must not modify the array
+     */
+    public SkillType[] getCustomBlockSkills() {
+        return customBlockSkills;
+    }
+
+    /**
+     * @return The custom skills that earn XP from killing entities; callers must not modify the array
+     */
+    public SkillType[] getCustomEntitySkills() {
+        return customEntitySkills;
+    }
+
+    /**
+     * Mutable staging area for a snapshot, pre-filled with the defaults.
+     * Only used by ConfigManager while parsing.
+     */
+    static final class Builder {
+        final int skillCount;
+        final double[] experienceMultipliers;
+        double baseXP = 100.0;
+        double exponent = 1.5;
+        boolean bonusesEnabled = true;
+        double miningDoubleDropChance;
+        double woodcuttingDoubleDropChance;
+        double combatDamageBonus;
+        double farmingDoubleCropChance;
+        double fishingTreasureChance;
+        double enchantingCostReduction;
+        double tradingDiscount;
+        BonusDropAggregator.Policy bonusDropPolicy = BonusDropAggregator.Policy.MERGE;
+        int bossBarDuration = 5;
+        boolean showXPGainMessages = true;
+        boolean soundsEnabled = true;
+        String levelUpSound = "ENTITY_PLAYER_LEVELUP";
+        String xpGainSound = "none";
+        final List<String> enabledSkills = new ArrayList<>();
+        String storageType = "JSON";
+        boolean shardedStorage = false;
+        boolean trackPlacedBlocks = true;
+        boolean autoReloadEnabled = false;
+        long autoReloadDebounceMillis = 500L;
+        boolean metricsEnabled = false;
+        boolean rateLimitEnabled;
+        double rateLimitWindowSeconds;
+        double rateLimitMinimumMultiplier;
+        final double[] rateLimitThresholds;
+        final XpTable<?>[] blockXpTables;
+        final XpTable<?>[] entityXpTables;
+        final XpTable<?>[] itemXpTables;
+        EnchantmentXpTable enchantmentXpTable;
+        SkillType[] customBlockSkills = new SkillType[0];
+        SkillType[] customEntitySkills = new SkillType[0];
+
+        Builder() {
+            this.skillCount = SkillType.count();
+            this.experienceMultipliers = new double[skillCount];
+            Arrays.fill(experienceMultipliers, 1.0);
+            setDefaultBonusSettings();
+            setAllSkillsEnabled();
+            this.rateLimitThresholds = new double[skillCount];
+            setDefaultRateLimits();
+            this.blockXpTables = new XpTable<?>[skillCount];
+            this.entityXpTables = new XpTable<?>[skillCount];
+            this.itemXpTables = new XpTable<?>[skillCount];
+            setDefaultXpTables();
+        }
+
+        void setDefaultBonusSettings() {
+            miningDoubleDropChance = 0.5;
+            woodcuttingDoubleDropChance = 0.5;
+            combatDamageBonus = 0.5;
+            farmingDoubleCropChance = 0.5;
+            fishingTreasureChance = 0.3;
+            enchantingCostReduction = 0.5;
+            tradingDiscount = 0.3;
+        }
+
+        void setAllSkillsEnabled() {
+            enabledSkills.clear();
+            for (SkillType skillType : SkillType.values()) {
+                enabledSkills.add(skillType.name());
+            }
+        }
+
+        void setDefaultRateLimits() {
+            rateLimitEnabled = true;
+            rateLimitWindowSeconds = 60.0;
+            rateLimitMinimumMultiplier = 0.1;
+            for (SkillType skillType : SkillType.values()) {
+                if (skillType.ordinal() < skillCount) {
+                    rateLimitThresholds[skillType.ordinal()] = getDefaultRateLimitThreshold(skillType);
+                }
+            }
+        }
+
+        void setDefaultXpTables() {
+            Arrays.fill(blockXpTables, XpTable.empty());
+            Arrays.fill(entityXpTables, XpTable.empty());
+            Arrays.fill(itemXpTables, XpTable.empty());
+            enchantmentXpTable = EnchantmentXpTable.defaults();
+            customBlockSkills = new SkillType[0];
+            customEntitySkills = new SkillType[0];
+        }
+
+        ConfigSnapshot build() {
+            return new ConfigSnapshot(this);
+        }
+    }
+
+    /**
+     * Gets the default XP per window a skill may earn before diminishing returns
+     * Only combat and fishing, the skills farms automate, are limited by default
+     */
+    static double getDefaultRateLimitThreshold(SkillType skillType) {
+        if (skillType == SkillType.COMBAT) {
+            return 400.0;
+        }
+        if (skillType == SkillType.FISHING) {
+            return 150.0;
+        }
+        return 0.0;
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.skillsplugin.config;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reloads config.yml automatically when it changes on disk.
+ * A daemon thread watches the plugin folder; once the file has been quiet for the debounce
+ * period it is read, parsed and validated on that thread and published through
+ * {@link ConfigManager#applyConfig}, so the server tick never waits on YAML parsing.
+ * A file that fails to parse is reported and the current configuration is kept.
+ */
+public class ConfigWatcher {
+
+    private final ConfigManager configManager;
+    private final File configFile;
+    private final long debounceMillis;
+    private final Logger logger;
+    private final Runnable onReloaded;
+
+    private WatchService watchService;
+    private Thread thread;
+    private byte[] lastContent;
+
+    /**
+     * Creates a new ConfigWatcher
+     *
+     * @param configManager The config manager to publish reloaded settings to
+     * @param configFile The config.yml file to watch
+     * @param debounceMillis How long the file must stay unchanged before it is reloaded
+     * @param logger Logger for reload and validation reports
+     * @param onReloaded Called on the watcher thread after a new configuration is published; may be null
+     */
+    public ConfigWatcher(ConfigManager configManager, File configFile, long debounceMillis,
+                         Logger logger, Runnable onReloaded) {
+        this.configManager = configManager;
+        this.configFile = configFile;
+        this.debounceMillis = debounceMillis;
+        this.logger = logger;
+        this.onReloaded = onReloaded;
+    }
+
+    /**
+     * Starts watching the config file. Does nothing if already running.
+     *
+     * @throws IOException If the folder cannot be watched
+     */
+    public synchronized void start() throws IOException {
+        if (thread != null) {
+            return;
+        }
+        Path folder = configFile.getAbsoluteFile().getParentFile().toPath();
+        lastContent = readContent();
+        watchService = FileSystems.getDefault().newWatchService();
+        folder.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        thread = new Thread(this::watchLoop, "SkillsPlugin-ConfigWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching. A reload already in progress is allowed to finish.
+     */
+    public synchronized void stop() {
+        if (thread == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Error closing config file watcher", e);
+        }
+        thread.interrupt();
+        thread = null;
+        watchService = null;
+    }
+
+    /**
+     * @return true if the watcher thread is running
+     */
+    public synchronized boolean isRunning() {
+        return thread != null;
+    }
+
+    private void watchLoop() {
+        WatchService service = watchService;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (!isConfigChange(service.take())) {
+                    continue;
+                }
+                // Editors often write a file in several steps; wait until it settles
+                WatchKey key;
+                while ((key = service.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    isConfigChange(key);
+                }
+                reloadNow();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    private boolean isConfigChange(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (context instanceof Path && ((Path) context).getFileName().toString().equals(configFile.getName())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    /**
+     * Reads, parses and publishes the config file if its content changed since the last load.
+     * Runs on the calling thread.
+     *
+     * @return true if a new configuration was published
+     */
+    boolean reloadNow() {
+        long start = System.nanoTime();
+        byte[] content = readContent();
+        if (content == null || Arrays.equals(content, lastContent)) {
+            return false;
+        }
+
+        YamlConfiguration yaml = new YamlConfiguration();
+        try {
+            yaml.loadFromString(new String(content, StandardCharsets.UTF_8));
+        } catch (InvalidConfigurationException e) {
+            logger.log(Level.WARNING, "config.yml has errors, keeping the current configuration: " + e.getMessage());
+            return false;
+        }
+        lastContent = content;
+
+        try {
+            configManager.applyConfig(yaml);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error applying reloaded config.yml", e);
+            return false;
+        }
+        logger.log(Level.INFO, "config.yml changed on disk, reloaded in "
+            + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+
+        if (onReloaded != null) {
+            onReloaded.run();
+        }
+        return true;
+    }
+
+    private byte[] readContent() {
+        try {
+            return Files.readAllBytes(configFile.toPath());
+        } catch (IOException e) {
+            // Missing or mid-write; the next change event will retry
+            return null;
+        }
+    }
+}
@@ -2,7 +2,13 @@ package com.example.skillsplugin.data;
 
 import com.example.skillsplugin.skills.SkillProfile;
 
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Spliterator;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Interface for data storage implementations.
@@ -50,4 +56,67 @@ public interface DataStorage {
      * @throws DataStorageException if the operation fails
      */
     UUID[] getAllPlayerIds() throws DataStorageException;
+    
+    /**
+     * Creates a spliterator over every stored profile.
+     * Profiles are loaded lazily as the spliterator advances, so a full pass only keeps the
+     * profile being visited in memory. Splitting hands out disjoint parts of the storage for
+     * parallel traversal. Profiles that fail to load are skipped.
+     * 
+     * The default implementation lists all player IDs up front; backends should override it
+     * with a streaming scan.
+     * 
+     * @return A spliterator over stored profiles
+     * @throws DataStorageException if the storage can't be enumerated
+     */
+    default Spliterator<SkillProfile> profileSpliterator() throws DataStorageException {
+        return Arrays.stream(getAllPlayerIds())
+                .map(playerId -> {
+                    try {
+                        return load(playerId);
+                    } catch (DataStorageException e) {
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull)
+                .spliterator();
+    }
+    
+    /**
+     * Visits every stored profile in turn on the calling thread.
+     * Intended for leaderboard rebuilds, migrations and bulk admin operations that must
+     * not load the whole player base at once. Profiles that fail to load are skipped.
+     * 
+     * @param visitor Called once for each stored profile
+     * @throws DataStorageException if the storage can't be enumerated
+     */
+    default void forEachProfile(Consumer<? super SkillProfile> visitor) throws DataStorageException {
+        profileSpliterator().forEachRemaining(visitor);
+    }
+    
+    /**
+     * Visits every stored profile that may have been saved at or after a point in time.
+     * The default implementation visits every profile; backends that can tell when a record
+     * was written without reading it should override this and skip older records.
+     * 
+     * @param since The earliest save time of interest, in epoch milliseconds
+     * @param visitor Called once for each profile that may have been saved since then
+     * @throws DataStorageException if the storage can't be enumerated
+     */
+    default void forEachProfileSavedSince(long since, Consumer<? super SkillProfile> visitor) throws DataStorageException {
+        forEachProfile(visitor);
+    }
+    
+    /**
+     * Streams every stored profile.
+     * Close the stream, e.g. with try-with-resources, when it may not be fully consumed,
+     * so a backend scanning files can release its directory handles.
+     * 
+     * @param parallel Whether the stream should be traversed in parallel
+     * @return A stream of stored profiles
+     * @throws DataStorageException if the storage can't be enumerated
+     */
+    default Stream<SkillProfile> streamProfiles(boolean parallel) throws DataStorageException {
+        return StreamSupport.stream(profileSpliterator(), parallel);
+    }
 }
@@ -1,10 +1,13 @@
 package com.example.skillsplugin.data;
 
+import com.example.skillsplugin.metrics.LatencyHistogram;
+import com.example.skillsplugin.metrics.MetricsRegistry;
 import com.example.skillsplugin.skills.Skill;
 import com.example.skillsplugin.skills.SkillProfile;
 import com.example.skillsplugin.skills.SkillType;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -12,30 +15,82 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * JSON-based implementation of DataStorage.
  * Stores player skill profiles as JSON files in the playerdata directory.
+ * 
+ * In sharded mode files are spread over a two-level prefix layout ({@code ab/cd/<uuid>.json})
+ * so no single directory grows to hundreds of thousands of entries. Profiles still in the
+ * flat layout are read transparently and moved into their shard on the next save or by
+ * {@link #migrateToShards()}, which is safe to run while the server is online.
  */
 public class JsonDataStorage implements DataStorage {
     
+    private static final int LOCK_STRIPES = 64;
+    private static final int SCAN_BATCH_SIZE = 256;
+    
     private final File dataDirectory;
+    private final boolean sharded;
     private final Gson gson;
+    private final Object[] locks;
+    private LatencyHistogram saveLatency = MetricsRegistry.DISABLED.histogram("storage.save");
+    private LatencyHistogram loadLatency = MetricsRegistry.DISABLED.histogram("storage.load");
     
     /**
-     * Creates a new JSON data storage instance.
+     * Creates a new JSON data storage instance using the flat layout.
      * 
      * @param dataDirectory The directory where player data files will be stored
      */
     public JsonDataStorage(File dataDirectory) {
+        this(dataDirectory, false);
+    }
+    
+    /**
+     * Creates a new JSON data storage instance.
+     * 
+     * @param dataDirectory The directory where player data files will be stored
+     * @param sharded Whether to store files in the two-level {@code ab/cd/} shard layout
+     */
+    public JsonDataStorage(File dataDirectory, boolean sharded) {
         this.dataDirectory = dataDirectory;
+        this.sharded = sharded;
         this.gson = new GsonBuilder()
                 .setPrettyPrinting()
                 .create();
+        this.locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+    
+    /**
+     * Sets the registry recording how long each save and load takes.
+     * 
+     * @param metrics The metrics registry
+     */
+    public void setMetrics(MetricsRegistry metrics) {
+        this.saveLatency = metrics.histogram("storage.save");
+        this.loadLatency = metrics.histogram("storage.load");
     }
     
     @Override
@@ -60,7 +115,37 @@ public class JsonDataStorage implements DataStorage {
             throw new DataStorageException("Cannot save profile: profile is null for player " + playerId);
         }
         
-        File playerFile = getPlayerFile(playerId);
+        long start = saveLatency.start();
+        try {
+            synchronized (getLock(playerId)) {
+                File playerFile = getPlayerFile(playerId);
+                File parent = playerFile.getParentFile();
+                if (sharded && !parent.isDirectory() && !parent.mkdirs() && !parent.isDirectory()) {
+                    throw new DataStorageException("Failed to create shard directory: " + parent.getAbsolutePath());
+                }
+                
+                writeProfile(playerId, profile, playerFile);
+                
+                if (sharded) {
+                    // The profile now lives in its shard; drop any leftover flat-layout copy
+                    deleteQuietly(getLegacyPlayerFile(playerId));
+                    deleteQuietly(new File(getLegacyPlayerFile(playerId).getAbsolutePath() + ".bak"));
+                }
+            }
+        } finally {
+            saveLatency.stop(start);
+        }
+    }
+    
+    /**
+     * Writes a profile to a file using a temporary file and backup so a crash never leaves it half-written.
+     * 
+     * @param playerId The player's UUID
+     * @param profile The skill profile to write
+     * @param playerFile The destination file
+     * @throws DataStorageException If writing fails
+     */
+    private void writeProfile(UUID playerId, SkillProfile profile, File playerFile) throws DataStorageException {
         File tempFile = new File(playerFile.getAbsolutePath() + ".tmp");
         File backupFile = new File(playerFile.getAbsolutePath() + ".bak");
         
@@ -71,15 +156,19 @@ public class JsonDataStorage implements DataStorage {
             
             // Add skills
             JsonObject skillsJson = new JsonObject();
-            for (Map.Entry<SkillType, Skill> entry : profile.getSkills().entrySet()) {
-                if (entry.getKey() == null || entry.getValue() == null) {
-                    continue; // Skip null entries
+            for (int id = 0; id < SkillType.count(); id++) {
+                Skill skill = profile.getSkill(SkillType.byId(id));
+                if (skill == null) {
+                    continue; // Skip missing skills
                 }
                 JsonObject skillJson = new JsonObject();
-                Skill skill = entry.getValue();
                 skillJson.addProperty("level", skill.getLevel());
                 skillJson.addProperty("experience", skill.getExperience());
-                skillsJson.add(entry.getKey().name(), skillJson);
+                skillsJson.add(skill.getType().name(), skillJson);
+            }
+            // Write back skills that are not registered right now exactly as they were read
+            for (Map.Entry<String, String> entry : profile.getUnknownSkills().entrySet()) {
+                skillsJson.add(entry.getKey(), JsonParser.parseString(entry.getValue()));
             }
             root.add("skills", skillsJson);
             
@@ -89,7 +178,8 @@ public class JsonDataStorage implements DataStorage {
             }
             
             // Add timestamp
-            root.addProperty("lastUpdated", System.currentTimeMillis());
+            long lastUpdated = System.currentTimeMillis();
+            root.addProperty("lastUpdated", lastUpdated);
             
             // Write to temporary file first
             try (FileWriter writer = new FileWriter(tempFile)) {
@@ -121,6 +211,8 @@ public class JsonDataStorage implements DataStorage {
                 backupFile.delete();
             }
             
+            profile.setLastUpdated(lastUpdated);
+            
         } catch (IOException e) {
             // Clean up temp file if it exists
             if (tempFile.exists()) {
@@ -142,30 +234,43 @@ public class JsonDataStorage implements DataStorage {
             throw new DataStorageException("Cannot load profile: playerId is null");
         }
         
-        File playerFile = getPlayerFile(playerId);
-        File backupFile = new File(playerFile.getAbsolutePath() + ".bak");
-        
-        if (!playerFile.exists()) {
-            // Check if backup exists
-            if (backupFile.exists()) {
-                return loadFromFile(playerId, backupFile, true);
-            }
-            return null;
-        }
-        
+        long start = loadLatency.start();
         try {
-            return loadFromFile(playerId, playerFile, false);
-        } catch (DataStorageException e) {
-            // Try loading from backup if main file fails
-            if (backupFile.exists()) {
+            // Choose between the shard and the flat file under the lock migration moves files with,
+            // so a load never sees the flat file vanish after deciding to read it
+            synchronized (getLock(playerId)) {
+                File playerFile = getPlayerFile(playerId);
+                if (sharded && !playerFile.exists() && !new File(playerFile.getAbsolutePath() + ".bak").exists()) {
+                    // Not migrated yet; read from the flat layout
+                    playerFile = getLegacyPlayerFile(playerId);
+                }
+                File backupFile = new File(playerFile.getAbsolutePath() + ".bak");
+                
+                if (!playerFile.exists()) {
+                    // Check if backup exists
+                    if (backupFile.exists()) {
+                        return loadFromFile(playerId, backupFile, true);
+                    }
+                    return null;
+                }
+                
                 try {
-                    return loadFromFile(playerId, backupFile, true);
-                } catch (DataStorageException backupError) {
-                    // Both files failed, throw original error
+                    return loadFromFile(playerId, playerFile, false);
+                } catch (DataStorageException e) {
+                    // Try loading from backup if main file fails
+                    if (backupFile.exists()) {
+                        try {
+                            return loadFromFile(playerId, backupFile, true);
+                        } catch (DataStorageException backupError) {
+                            // Both files failed, throw original error
+                            throw e;
+                        }
+                    }
                     throw e;
                 }
             }
-            throw e;
+        } finally {
+            loadLatency.stop(start);
         }
     }
     
@@ -229,8 +334,17 @@ public class JsonDataStorage implements DataStorage {
                 }
             }
             
+            // Keep skills that are not registered, such as a custom skill missing from config.yml
+            Map<String, String> unknownSkills = new LinkedHashMap<>();
+            for (Map.Entry<String, JsonElement> entry : skillsJson.entrySet()) {
+                if (!SkillType.isRegistered(entry.getKey())) {
+                    unknownSkills.put(entry.getKey(), entry.getValue().toString());
+                }
+            }
+            
             // Create profile
             SkillProfile profile = new SkillProfile(loadedPlayerId, skills);
+            profile.setUnknownSkills(unknownSkills);
             
             // Load displayed skill preference
             if (root.has("displayedSkill")) {
@@ -243,6 +357,15 @@ public class JsonDataStorage implements DataStorage {
                 }
             }
             
+            // Load persisted timestamp
+            if (root.has("lastUpdated")) {
+                try {
+                    profile.setLastUpdated(root.get("lastUpdated").getAsLong());
+                } catch (Exception e) {
+                    // Leave unset; the profile is treated as never persisted
+                }
+            }
+            
             return profile;
             
         } catch (IOException e) {
@@ -256,7 +379,12 @@ public class JsonDataStorage implements DataStorage {
     
     @Override
     public boolean exists(UUID playerId) {
-        return getPlayerFile(playerId).exists();
+        synchronized (getLock(playerId)) {
+            if (getPlayerFile(playerId).exists()) {
+                return true;
+            }
+            return sharded && getLegacyPlayerFile(playerId).exists();
+        }
     }
     
     /**
@@ -266,42 +394,405 @@ public class JsonDataStorage implements DataStorage {
      * @return The file where the player's data is stored
      */
     private File getPlayerFile(UUID playerId) {
+        if (!sharded) {
+            return getLegacyPlayerFile(playerId);
+        }
+        String name = playerId.toString();
+        File shard = new File(new File(dataDirectory, name.substring(0, 2)), name.substring(2, 4));
+        return new File(shard, name + ".json");
+    }
+    
+    /**
+     * Gets the flat-layout file for a specific player's data.
+     * 
+     * @param playerId The player's UUID
+     * @return The file directly inside the data directory
+     */
+    private File getLegacyPlayerFile(UUID playerId) {
         return new File(dataDirectory, playerId.toString() + ".json");
     }
     
+    /**
+     * Gets the lock guarding file moves for a player.
+     * Striped so that saves and migration of different players never contend.
+     */
+    private Object getLock(UUID playerId) {
+        return locks[(playerId.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+    
+    /**
+     * Checks whether this storage uses the sharded layout.
+     * 
+     * @return true if files are stored in {@code ab/cd/} shard directories
+     */
+    public boolean isSharded() {
+        return sharded;
+    }
+    
+    /**
+     * Moves every profile still in the flat layout into its shard directory.
+     * Safe to run asynchronously while the server is online: loads fall back to the flat
+     * file until it has been moved, and a file is never moved over a newer sharded save.
+     * 
+     * @return The number of profiles migrated
+     * @throws DataStorageException if the storage is not sharded or the directory can't be listed
+     */
+    public int migrateToShards() throws DataStorageException {
+        if (!sharded) {
+            throw new DataStorageException("Cannot migrate: storage is not using the sharded layout");
+        }
+        
+        UUID[] legacyIds = parsePlayerIds(dataDirectory);
+        int migrated = 0;
+        
+        for (UUID playerId : legacyIds) {
+            synchronized (getLock(playerId)) {
+                File legacyFile = getLegacyPlayerFile(playerId);
+                File legacyBackup = new File(legacyFile.getAbsolutePath() + ".bak");
+                File shardFile = getPlayerFile(playerId);
+                
+                if (!legacyFile.exists()) {
+                    continue;
+                }
+                
+                if (shardFile.exists()) {
+                    // A save already wrote the newer copy into the shard
+                    deleteQuietly(legacyFile);
+                    deleteQuietly(legacyBackup);
+                    continue;
+                }
+                
+                File parent = shardFile.getParentFile();
+                if (!parent.isDirectory() && !parent.mkdirs() && !parent.isDirectory()) {
+                    throw new DataStorageException("Failed to create shard directory: " + parent.getAbsolutePath());
+                }
+                
+                try {
+                    Files.move(legacyFile.toPath(), shardFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                    deleteQuietly(legacyBackup);
+                    migrated++;
+                } catch (IOException e) {
+                    throw new DataStorageException("Failed to migrate player data for " + playerId, e);
+                }
+            }
+        }
+        
+        return migrated;
+    }
+    
     @Override
     public UUID[] getAllPlayerIds() throws DataStorageException {
         try {
-            File[] files = dataDirectory.listFiles((dir, name) -> name.endsWith(".json") && !name.endsWith(".bak"));
-            
-            if (files == null || files.length == 0) {
-                return new UUID[0];
+            if (!sharded) {
+                return parsePlayerIds(dataDirectory);
             }
             
-            UUID[] playerIds = new UUID[files.length];
-            int validCount = 0;
-            
-            for (File file : files) {
-                try {
-                    String fileName = file.getName();
-                    String uuidString = fileName.substring(0, fileName.length() - 5); // Remove .json
-                    playerIds[validCount++] = UUID.fromString(uuidString);
-                } catch (IllegalArgumentException e) {
-                    // Skip invalid UUID files
-                }
+            File[] shards = dataDirectory.listFiles(file -> file.isDirectory() && isShardName(file.getName()));
+            UUID[] legacyIds = parsePlayerIds(dataDirectory);
+            if (shards == null || shards.length == 0) {
+                return legacyIds;
             }
             
-            // Return array with only valid UUIDs
-            if (validCount < playerIds.length) {
-                UUID[] result = new UUID[validCount];
-                System.arraycopy(playerIds, 0, result, 0, validCount);
-                return result;
-            }
+            // Enumerate the top-level shards in parallel; each holds up to 256 leaf directories
+            Set<UUID> playerIds = Arrays.stream(shards)
+                    .parallel()
+                    .flatMap(shard -> {
+                        File[] leaves = shard.listFiles(file -> file.isDirectory() && isShardName(file.getName()));
+                        return leaves == null ? Stream.empty() : Arrays.stream(leaves);
+                    })
+                    .flatMap(leaf -> Arrays.stream(parsePlayerIds(leaf)))
+                    .collect(Collectors.toCollection(ConcurrentHashMap::newKeySet));
+            
+            // Include profiles not migrated yet
+            playerIds.addAll(Arrays.asList(legacyIds));
             
-            return playerIds;
+            return playerIds.toArray(new UUID[0]);
             
         } catch (Exception e) {
             throw new DataStorageException("Failed to get all player IDs", e);
         }
     }
+    
+    /**
+     * Scans profile files lazily, one directory at a time.
+     * The flat-layout directory and each top-level shard are separate units of work, so
+     * sharded storage splits cleanly for parallel traversal. A directory listing stays open
+     * until it is exhausted; callers that may stop early should use {@link #forEachProfile}
+     * or close the stream from {@link #streamProfiles}.
+     */
+    @Override
+    public Spliterator<SkillProfile> profileSpliterator() throws DataStorageException {
+        return openSpliterator();
+    }
+    
+    @Override
+    public void forEachProfile(Consumer<? super SkillProfile> visitor) throws DataStorageException {
+        ProfileSpliterator spliterator = openSpliterator();
+        try {
+            spliterator.forEachRemaining(visitor);
+        } finally {
+            // The visitor may have thrown with a listing still open
+            spliterator.closeAll();
+        }
+    }
+    
+    /**
+     * Visits the profiles whose files were modified at or after a point in time.
+     * Older files are skipped from the directory listing's attributes without being read.
+     */
+    @Override
+    public void forEachProfileSavedSince(long since, Consumer<? super SkillProfile> visitor) throws DataStorageException {
+        ProfileSpliterator spliterator = openSpliterator(since);
+        try {
+            spliterator.forEachRemaining(visitor);
+        } finally {
+            spliterator.closeAll();
+        }
+    }
+    
+    @Override
+    public Stream<SkillProfile> streamProfiles(boolean parallel) throws DataStorageException {
+        ProfileSpliterator spliterator = openSpliterator();
+        return StreamSupport.stream(spliterator, parallel).onClose(spliterator::closeAll);
+    }
+    
+    private ProfileSpliterator openSpliterator() throws DataStorageException {
+        return openSpliterator(Long.MIN_VALUE);
+    }
+    
+    private ProfileSpliterator openSpliterator(long modifiedSince) throws DataStorageException {
+        if (!dataDirectory.isDirectory()) {
+            throw new DataStorageException("Data directory does not exist: " + dataDirectory.getAbsolutePath());
+        }
+        
+        List<Path> roots = new ArrayList<>();
+        roots.add(dataDirectory.toPath());
+        if (sharded) {
+            File[] shards = dataDirectory.listFiles(file -> file.isDirectory() && isShardName(file.getName()));
+            if (shards != null) {
+                for (File shard : shards) {
+                    roots.add(shard.toPath());
+                }
+            }
+        }
+        
+        return new ProfileSpliterator(roots.toArray(new Path[0]), 0, roots.size(), null, ConcurrentHashMap.newKeySet(), modifiedSince);
+    }
+    
+    /**
+     * Loads the profile stored in a scanned file.
+     * 
+     * @param file The profile file
+     * @return The profile, or null if the file should be skipped or can't be read
+     */
+    private SkillProfile loadScannedFile(Path file) {
+        UUID playerId;
+        try {
+            String fileName = file.getFileName().toString();
+            playerId = UUID.fromString(fileName.substring(0, fileName.length() - 5)); // Remove .json
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        
+        // A flat-layout file whose shard copy already exists is a leftover and was visited in the shard
+        if (sharded && dataDirectory.toPath().equals(file.getParent()) && getPlayerFile(playerId).exists()) {
+            return null;
+        }
+        
+        try {
+            return load(playerId);
+        } catch (DataStorageException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Lists the player UUIDs of the profile files directly inside a directory.
+     * 
+     * @param directory The directory to scan
+     * @return The UUIDs of valid profile files
+     */
+    private UUID[] parsePlayerIds(File directory) {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(".json") && !name.endsWith(".bak"));
+        
+        if (files == null || files.length == 0) {
+            return new UUID[0];
+        }
+        
+        UUID[] playerIds = new UUID[files.length];
+        int validCount = 0;
+        
+        for (File file : files) {
+            try {
+                String fileName = file.getName();
+                String uuidString = fileName.substring(0, fileName.length() - 5); // Remove .json
+                UUID playerId = UUID.fromString(uuidString);
+                playerIds[validCount++] = playerId;
+            } catch (IllegalArgumentException e) {
+                // Skip invalid UUID files
+            }
+        }
+        
+        // Return array with only valid UUIDs
+        if (validCount < playerIds.length) {
+            UUID[] result = new UUID[validCount];
+            System.arraycopy(playerIds, 0, result, 0, validCount);
+            return result;
+        }
+        
+        return playerIds;
+    }
+    
+    /**
+     * Checks whether a directory name is a two-character hex shard prefix.
+     */
+    private static boolean isShardName(String name) {
+        return name.length() == 2 && Character.digit(name.charAt(0), 16) >= 0 && Character.digit(name.charAt(1), 16) >= 0;
+    }
+    
+    /**
+     * Deletes a file if it exists, ignoring failures.
+     */
+    private static void deleteQuietly(File file) {
+        if (file.exists()) {
+            file.delete();
+        }
+    }
+    
+    /**
+     * Spliterator over profile files below a range of scan roots.
+     * Only one directory listing is open at a time; when a single root is left, splitting
+     * hands off fixed-size batches of file paths instead of directories. Batch spliterators
+     * have no roots and are not split further. A spliterator and everything split from it
+     * share one set of open listings, so {@link #closeAll()} releases them all.
+     */
+    private class ProfileSpliterator implements Spliterator<SkillProfile> {
+        private final Path[] roots;
+        private int index;
+        private final int fence;
+        private final Set<Stream<Path>> openListings;
+        private final long modifiedSince;
+        private Stream<Path> files;
+        private Iterator<Path> iterator;
+        
+        private ProfileSpliterator(Path[] roots, int index, int fence, Iterator<Path> iterator,
+                                   Set<Stream<Path>> openListings, long modifiedSince) {
+            this.roots = roots;
+            this.index = index;
+            this.fence = fence;
+            this.iterator = iterator;
+            this.openListings = openListings;
+            this.modifiedSince = modifiedSince;
+        }
+        
+        @Override
+        public boolean tryAdvance(Consumer<? super SkillProfile> action) {
+            Path file;
+            while ((file = nextFile()) != null) {
+                SkillProfile profile = loadScannedFile(file);
+                if (profile != null) {
+                    action.accept(profile);
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        @Override
+        public Spliterator<SkillProfile> trySplit() {
+            if (roots == null) {
+                // Batches are small enough to process as one unit
+                return null;
+            }
+            if (fence - index > 1) {
+                int mid = (index + fence) >>> 1;
+                ProfileSpliterator prefix = new ProfileSpliterator(roots, index, mid, null, openListings, modifiedSince);
+                index = mid;
+                return prefix;
+            }
+            
+            // Down to one root: split off a batch of paths from the open listing
+            if (iterator == null && index < fence) {
+                open(roots[index++]);
+            }
+            List<Path> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+            try {
+                while (iterator != null && iterator.hasNext() && batch.size() < SCAN_BATCH_SIZE) {
+                    batch.add(iterator.next());
+                }
+            } catch (UncheckedIOException e) {
+                close();
+            }
+            return batch.isEmpty() ? null : new ProfileSpliterator(null, 0, 0, batch.iterator(), openListings, modifiedSince);
+        }
+        
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+        
+        @Override
+        public int characteristics() {
+            // Not DISTINCT: during migration a profile can be listed in both layouts
+            return NONNULL;
+        }
+        
+        /**
+         * Gets the next profile file, opening the next root once the current listing is exhausted.
+         */
+        private Path nextFile() {
+            while (true) {
+                try {
+                    if (iterator != null && iterator.hasNext()) {
+                        return iterator.next();
+                    }
+                } catch (UncheckedIOException e) {
+                    // Directory vanished or became unreadable mid-scan; move on to the next root
+                }
+                close();
+                if (index >= fence) {
+                    return null;
+                }
+                open(roots[index++]);
+            }
+        }
+        
+        /**
+         * Opens a lazy listing of the profile files below a root.
+         * The flat-layout root is scanned one level deep, a top-level shard two levels deep.
+         * Files last modified before {@code modifiedSince} are left out.
+         */
+        private void open(Path root) {
+            int depth = root.equals(dataDirectory.toPath()) ? 1 : 2;
+            try {
+                files = Files.find(root, depth, (path, attributes) ->
+                        attributes.isRegularFile() && path.getFileName().toString().endsWith(".json")
+                        && attributes.lastModifiedTime().toMillis() >= modifiedSince);
+                openListings.add(files);
+                iterator = files.iterator();
+            } catch (IOException e) {
+                // Skip roots that can't be listed
+                iterator = null;
+            }
+        }
+        
+        private void close() {
+            if (files != null) {
+                openListings.remove(files);
+                files.close();
+                files = null;
+            }
+            iterator = null;
+        }
+        
+        /**
+         * Closes every listing still open by this spliterator or any split from it.
+         */
+        private void closeAll() {
+            for (Stream<Path> listing : openListings) {
+                listing.close();
+            }
+            openListings.clear();
+        }
+    }
 }
@@ -0,0 +1,328 @@
+package com.example.skillsplugin.data;
+
+import com.example.skillsplugin.skills.Skill;
+import com.example.skillsplugin.skills.SkillProfile;
+import com.example.skillsplugin.skills.SkillType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory per-skill ranking of every known player.
+ * Each skill keeps its entries ordered by level and XP so the top of a leaderboard
+ * is read without touching storage. Entries carry the lastUpdated stamp of the data
+ * they came from, and an update never replaces an entry with older data.
+ *
+ * The ranking can be written to a compact binary snapshot and read back with a single
+ * sequential read, so leaderboards are available right after startup while the stored
+ * profiles are reconciled in the background. The snapshot records when it was taken, so
+ * reconciliation only needs the profiles saved after that.
+ */
+public class Leaderboard {
+
+    private static final int SNAPSHOT_MAGIC = 0x534B4C42; // "SKLB"
+    private static final int SNAPSHOT_VERSION = 2;
+
+    // Sort by level (descending), then by XP (descending); player ID keeps ties distinct
+    private static final Comparator<Ranked> RANK_ORDER = (a, b) -> {
+        int levelCompare = Integer.compare(b.level, a.level);
+        if (levelCompare != 0) {
+            return levelCompare;
+        }
+        int xpCompare = Double.compare(b.experience, a.experience);
+        if (xpCompare != 0) {
+            return xpCompare;
+        }
+        return a.playerId.compareTo(b.playerId);
+    };
+
+    private final Map<SkillType, SkillRanking> rankings;
+    private volatile boolean ready;
+    private volatile long snapshotTime;
+
+    /**
+     * Creates an empty leaderboard.
+     */
+    public Leaderboard() {
+        this.rankings = new TreeMap<>();
+        for (SkillType type : SkillType.values()) {
+            rankings.put(type, new SkillRanking());
+        }
+    }
+
+    /**
+     * Records every skill of a profile.
+     * Ignored for any skill whose current entry comes from newer data.
+     *
+     * @param profile The profile to record
+     * @param lastUpdated When the profile data was current, in epoch milliseconds
+     * @return true if any entry changed
+     */
+    public boolean update(SkillProfile profile, long lastUpdated) {
+        UUID playerId = profile.getPlayerId();
+        boolean changed = false;
+        for (int id = 0; id < SkillType.count(); id++) {
+            SkillType type = SkillType.byId(id);
+            Skill skill = profile.getSkill(type);
+            if (skill == null) {
+                continue;
+            }
+            changed |= rankings.get(type).update(new Ranked(playerId, skill.getLevel(), skill.getExperience(), lastUpdated));
+        }
+        return changed;
+    }
+
+    /**
+     * Gets the lastUpdated stamp of a player's entry.
+     *
+     * @param playerId The UUID of the player
+     * @param skillType The skill type
+     * @return The stamp in epoch milliseconds, or -1 if the player has no entry
+     */
+    public long getLastUpdated(UUID playerId, SkillType skillType) {
+        Ranked ranked = rankings.get(skillType).byPlayer.get(playerId);
+        return ranked != null ? ranked.lastUpdated : -1L;
+    }
+
+    /**
+     * Gets the highest ranked players for a skill.
+     *
+     * @param skillType The skill type
+     * @param limit Maximum number of entries to return
+     * @return Entries sorted by level (descending) and XP (descending)
+     */
+    public PlayerDataManager.LeaderboardEntry[] getTop(SkillType skillType, int limit) {
+        if (limit <= 0) {
+            return new PlayerDataManager.LeaderboardEntry[0];
+        }
+
+        NavigableSet<Ranked> ordered = rankings.get(skillType).ordered;
+        PlayerDataManager.LeaderboardEntry[] buffer = new PlayerDataManager.LeaderboardEntry[limit];
+        int count = 0;
+        Iterator<Ranked> iterator = ordered.iterator();
+        while (count < limit && iterator.hasNext()) {
+            Ranked ranked = iterator.next();
+            buffer[count++] = new PlayerDataManager.LeaderboardEntry(ranked.playerId, ranked.level, ranked.experience);
+        }
+
+        if (count == limit) {
+            return buffer;
+        }
+        PlayerDataManager.LeaderboardEntry[] result = new PlayerDataManager.LeaderboardEntry[count];
+        System.arraycopy(buffer, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * Gets the number of players ranked for a skill.
+     *
+     * @param skillType The skill type
+     * @return The number of ranked players
+     */
+    public int size(SkillType skillType) {
+        return rankings.get(skillType).byPlayer.size();
+    }
+
+    /**
+     * Checks whether the leaderboard has been populated from a snapshot or a full scan.
+     *
+     * @return true if rankings can be served from memory
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Marks the leaderboard as populated.
+     */
+    public void markReady() {
+        this.ready = true;
+    }
+
+    /**
+     * Gets when the last loaded snapshot was taken.
+     *
+     * @return The snapshot time in epoch milliseconds, or 0 if no snapshot is loaded or it predates the stamp
+     */
+    public long getSnapshotTime() {
+        return snapshotTime;
+    }
+
+    /**
+     * Writes the rankings to a snapshot file.
+     * The snapshot is written to a temporary file first and moved into place.
+     *
+     * @param file The snapshot file
+     * @throws IOException if the snapshot can't be written
+     */
+    public synchronized void saveSnapshot(File file) throws IOException {
+        // Stamped before copying so every update the snapshot misses is newer than the stamp
+        long takenAt = System.currentTimeMillis();
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Failed to create directory: " + parent.getAbsolutePath());
+        }
+
+        File tempFile = new File(file.getAbsolutePath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(takenAt);
+            out.writeInt(rankings.size());
+
+            for (Map.Entry<SkillType, SkillRanking> entry : rankings.entrySet()) {
+                // Copy first so the count always matches the records written
+                Ranked[] records = entry.getValue().byPlayer.values().toArray(new Ranked[0]);
+                out.writeUTF(entry.getKey().name());
+                out.writeInt(records.length);
+                for (Ranked ranked : records) {
+                    out.writeLong(ranked.playerId.getMostSignificantBits());
+                    out.writeLong(ranked.playerId.getLeastSignificantBits());
+                    out.writeInt(ranked.level);
+                    out.writeDouble(ranked.experience);
+                    out.writeLong(ranked.lastUpdated);
+                }
+            }
+        } catch (IOException e) {
+            tempFile.delete();
+            throw e;
+        }
+
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads rankings from a snapshot file.
+     * Snapshot entries never replace entries built from newer data.
+     * Skills that no longer exist are skipped.
+     *
+     * @param file The snapshot file
+     * @return The number of entries read, or 0 if the file doesn't exist
+     * @throws IOException if the snapshot is unreadable or corrupt
+     */
+    public int loadSnapshot(File file) throws IOException {
+        if (!file.isFile()) {
+            return 0;
+        }
+
+        int loaded = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a leaderboard snapshot: " + file.getAbsolutePath());
+            }
+            int version = in.readInt();
+            if (version < 1 || version > SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported leaderboard snapshot version " + version);
+            }
+            // Version 1 has no stamp, so everything in storage must be reconciled
+            long takenAt = version >= 2 ? in.readLong() : 0L;
+
+            int skillCount = in.readInt();
+            for (int i = 0; i < skillCount; i++) {
+                String skillName = in.readUTF();
+                int count = in.readInt();
+                if (count < 0) {
+                    throw new IOException("Corrupt leaderboard snapshot: negative entry count for " + skillName);
+                }
+
+                SkillRanking ranking = null;
+                try {
+                    ranking = rankings.get(SkillType.valueOf(skillName));
+                } catch (IllegalArgumentException e) {
+                    // Skill was removed; read past its entries
+                }
+
+                for (int j = 0; j < count; j++) {
+                    UUID playerId = new UUID(in.readLong(), in.readLong());
+                    int level = in.readInt();
+                    double experience = in.readDouble();
+                    long lastUpdated = in.readLong();
+                    if (ranking != null) {
+                        ranking.update(new Ranked(playerId, level, experience, lastUpdated));
+                        loaded++;
+                    }
+                }
+            }
+            snapshotTime = takenAt;
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Removes all entries and marks the leaderboard as not ready.
+     */
+    public void clear() {
+        ready = false;
+        snapshotTime = 0L;
+        for (SkillRanking ranking : rankings.values()) {
+            ranking.clear();
+        }
+    }
+
+    /**
+     * Ordered entries for a single skill with an index by player.
+     */
+    private static class SkillRanking {
+        private final Map<UUID, Ranked> byPlayer = new ConcurrentHashMap<>();
+        private final NavigableSet<Ranked> ordered = new ConcurrentSkipListSet<>(RANK_ORDER);
+
+        private synchronized boolean update(Ranked ranked) {
+            Ranked previous = byPlayer.get(ranked.playerId);
+            if (previous != null) {
+                if (previous.lastUpdated > ranked.lastUpdated) {
+                    return false;
+                }
+                if (previous.level == ranked.level && previous.experience == ranked.experience) {
+                    // Same standing; only refresh the stamp
+                    byPlayer.put(ranked.playerId, ranked);
+                    ordered.remove(previous);
+                    ordered.add(ranked);
+                    return false;
+                }
+                ordered.remove(previous);
+            }
+            byPlayer.put(ranked.playerId, ranked);
+            ordered.add(ranked);
+            return true;
+        }
+
+        private synchronized void clear() {
+            byPlayer.clear();
+            ordered.clear();
+        }
+    }
+
+    /**
+     * A single player's standing in one skill.
+     */
+    private static class Ranked {
+        private final UUID playerId;
+        private final int level;
+        private final double experience;
+        private final long lastUpdated;
+
+        private Ranked(UUID playerId, int level, double experience, long lastUpdated) {
+            this.playerId = playerId;
+            this.level = level;
+            this.experience = experience;
+            this.lastUpdated = lastUpdated;
+        }
+    }
+}
@@ -0,0 +1,683 @@
+package com.example.skillsplugin.data;
+
+import org.bukkit.block.Block;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Remembers which blocks were placed by players so breaking them again awards no XP.
+ * Each loaded chunk holds one 4096-bit bitmap per 16-block-high section, allocated only
+ * for sections that contain a placed block, so a lookup is a map get plus a bit test.
+ *
+ * Bitmaps live in memory while their chunk is loaded and are written to binary sidecar
+ * files ({@code placed/<world>/r.<x>.<z>.dat}, one per 32x32 chunk region) when the chunk
+ * unloads or the world saves. Writes run on the async scheduler; a chunk that is reloaded
+ * before its write lands picks up the pending copy instead of reading stale data.
+ *
+ * Reads never touch the disk on the main thread either. A chunk that is not in memory starts
+ * as an overlay that only records changes made since, so a block in it counts as not placed
+ * until its region has been read. Chunks requested from the same region before the read runs
+ * share one pass over the file; the result is merged under the overlay on the main thread.
+ */
+public class PlacedBlockTracker {
+
+    private static final int REGION_MAGIC = 0x534B504C; // "SKPL"
+    private static final int REGION_VERSION = 1;
+    private static final int WORDS_PER_SECTION = 64; // 16 * 16 * 16 bits
+    private static final int LOCK_STRIPES = 16;
+
+    private final Plugin plugin;
+    private final File directory;
+    private final Map<ChunkKey, ChunkBits> loaded;
+    private final Map<ChunkKey, ChunkBits> pendingWrites;
+    private final Map<File, Set<ChunkKey>> pendingReads;
+    private final Object[] regionLocks;
+
+    /**
+     * Creates a new placed block tracker.
+     *
+     * @param plugin The plugin instance used for scheduling writes
+     * @param directory The directory holding the sidecar files
+     */
+    public PlacedBlockTracker(Plugin plugin, File directory) {
+        this.plugin = plugin;
+        this.directory = directory;
+        this.loaded = new ConcurrentHashMap<>();
+        this.pendingWrites = new ConcurrentHashMap<>();
+        this.pendingReads = new ConcurrentHashMap<>();
+        this.regionLocks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            regionLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * Checks if a block was placed by a player.
+     *
+     * @param block The block to check
+     * @return true if the block was player-placed
+     */
+    public boolean isPlaced(Block block) {
+        return isPlaced(block.getWorld().getUID(), block.getX(), block.getY(), block.getZ());
+    }
+
+    /**
+     * Checks if the block at a position was placed by a player.
+     *
+     * @param worldId The world UUID
+     * @param x The block X coordinate
+     * @param y The block Y coordinate
+     * @param z The block Z coordinate
+     * @return true if the block was player-placed
+     */
+    public boolean isPlaced(UUID worldId, int x, int y, int z) {
+        return getChunk(worldId, x >> 4, z >> 4).get(x, y, z);
+    }
+
+    /**
+     * Marks a block as placed by a player.
+     *
+     * @param block The placed block
+     */
+    public void markPlaced(Block block) {
+        markPlaced(block.getWorld().getUID(), block.getX(), block.getY(), block.getZ());
+    }
+
+    /**
+     * Marks the block at a position as placed by a player.
+     *
+     * @param worldId The world UUID
+     * @param x The block X coordinate
+     * @param y The block Y coordinate
+     * @param z The block Z coordinate
+     */
+    public void markPlaced(UUID worldId, int x, int y, int z) {
+        getChunk(worldId, x >> 4, z >> 4).set(x, y, z);
+    }
+
+    /**
+     * Clears a block's placed flag, typically because it was broken.
+     *
+     * @param block The block
+     * @return true if the block had been placed by a player
+     */
+    public boolean clear(Block block) {
+        return clear(block.getWorld().getUID(), block.getX(), block.getY(), block.getZ());
+    }
+
+    /**
+     * Clears the placed flag at a position.
+     *
+     * @param worldId The world UUID
+     * @param x The block X coordinate
+     * @param y The block Y coordinate
+     * @param z The block Z coordinate
+     * @return true if the block had been placed by a player
+     */
+    public boolean clear(UUID worldId, int x, int y, int z) {
+        return getChunk(worldId, x >> 4, z >> 4).clear(x, y, z);
+    }
+
+    /**
+     * Starts loading a chunk's bitmap from its sidecar file on the async scheduler.
+     * Should be called when the chunk loads; chunks touched before that are loaded on demand.
+     *
+     * @param worldId The world UUID
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     */
+    public void loadChunk(UUID worldId, int chunkX, int chunkZ) {
+        getChunk(worldId, chunkX, chunkZ);
+    }
+
+    /**
+     * Drops a chunk's bitmap from memory, writing it out first if it changed.
+     *
+     * @param worldId The world UUID
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     */
+    public void unloadChunk(UUID worldId, int chunkX, int chunkZ) {
+        ChunkKey key = new ChunkKey(worldId, chunkX, chunkZ);
+        ChunkBits bits = loaded.remove(key);
+        if (bits == null || !bits.dirty) {
+            return;
+        }
+
+        pendingWrites.put(key, bits);
+        Map<ChunkKey, ChunkBits> batch = new HashMap<>();
+        batch.put(key, bits);
+        write(batch);
+    }
+
+    /**
+     * Writes every changed chunk bitmap to disk.
+     *
+     * @param async Whether to write on the async scheduler
+     */
+    public void saveAll(boolean async) {
+        Map<ChunkKey, ChunkBits> batch = new HashMap<>();
+        for (Map.Entry<ChunkKey, ChunkBits> entry : loaded.entrySet()) {
+            ChunkBits bits = entry.getValue();
+            if (bits.dirty) {
+                bits.dirty = false;
+                ChunkBits copy = bits.copy();
+                pendingWrites.put(entry.getKey(), copy);
+                batch.put(entry.getKey(), copy);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        if (async && plugin.isEnabled()) {
+            write(batch);
+        } else {
+            writeNow(batch);
+        }
+    }
+
+    /**
+     * Gets the number of chunk bitmaps held in memory.
+     *
+     * @return The loaded chunk count
+     */
+    public int getLoadedChunkCount() {
+        return loaded.size();
+    }
+
+    /**
+     * Gets a chunk's bitmap, preferring a copy that is still waiting to be written.
+     * A chunk with neither starts as an overlay and its region is read in the background.
+     */
+    private ChunkBits getChunk(UUID worldId, int chunkX, int chunkZ) {
+        ChunkKey key = new ChunkKey(worldId, chunkX, chunkZ);
+        ChunkBits bits = loaded.get(key);
+        if (bits != null) {
+            return bits;
+        }
+
+        ChunkBits pending = pendingWrites.get(key);
+        if (pending != null) {
+            bits = pending.copy();
+            bits.dirty = true;
+        } else {
+            bits = ChunkBits.overlay();
+        }
+        ChunkBits existing = loaded.putIfAbsent(key, bits);
+        if (existing != null) {
+            return existing;
+        }
+        if (bits.isOverlay()) {
+            requestRead(key);
+        }
+        return bits;
+    }
+
+    /**
+     * Queues a chunk for reading from its region file.
+     * The first request for a region schedules one async pass that decodes every chunk
+     * queued for that region by the time it runs. If the scheduler is unavailable the
+     * chunk is read on the calling thread.
+     */
+    private void requestRead(ChunkKey key) {
+        File file = getRegionFile(key);
+        if (!plugin.isEnabled()) {
+            Set<ChunkKey> keys = new HashSet<>();
+            keys.add(key);
+            resolve(keys, readChunks(file, keys));
+            return;
+        }
+
+        boolean[] first = new boolean[1];
+        pendingReads.compute(file, (f, keys) -> {
+            if (keys == null) {
+                keys = new HashSet<>();
+                first[0] = true;
+            }
+            keys.add(key);
+            return keys;
+        });
+        if (first[0]) {
+            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> readAsync(file));
+        }
+    }
+
+    /**
+     * Reads the chunks queued for a region, then merges them on the main thread.
+     */
+    private void readAsync(File file) {
+        Set<ChunkKey> keys = pendingReads.remove(file);
+        if (keys == null) {
+            return;
+        }
+        Map<Integer, ChunkBits> chunks = readChunks(file, keys);
+        if (plugin.isEnabled()) {
+            plugin.getServer().getScheduler().runTask(plugin, () -> resolve(keys, chunks));
+        }
+        // Overlays left unresolved at shutdown are merged with the file when they are written
+    }
+
+    /**
+     * Decodes the given chunks of a region file, holding the region's lock.
+     */
+    private Map<Integer, ChunkBits> readChunks(File file, Set<ChunkKey> keys) {
+        Set<Integer> indices = new HashSet<>();
+        for (ChunkKey key : keys) {
+            indices.add(key.getRegionIndex());
+        }
+        synchronized (getRegionLock(file)) {
+            try {
+                return readRegion(file, indices);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Failed to read placed blocks from " + file.getPath(), e);
+                return new HashMap<>();
+            }
+        }
+    }
+
+    /**
+     * Merges chunks read from disk under the overlays still waiting for them.
+     * A chunk that was unloaded in the meantime is skipped; its overlay is merged when written.
+     */
+    private void resolve(Set<ChunkKey> keys, Map<Integer, ChunkBits> chunks) {
+        for (ChunkKey key : keys) {
+            ChunkBits bits = loaded.get(key);
+            if (bits != null && bits.isOverlay()) {
+                bits.resolve(chunks.get(key.getRegionIndex()));
+            }
+        }
+    }
+
+    /**
+     * Writes chunk bitmaps on the async scheduler, or immediately if it is unavailable.
+     */
+    private void write(Map<ChunkKey, ChunkBits> batch) {
+        if (!plugin.isEnabled()) {
+            writeNow(batch);
+            return;
+        }
+
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                writeNow(batch);
+            }
+        }.runTaskAsynchronously(plugin);
+    }
+
+    /**
+     * Writes chunk bitmaps into their region files on the calling thread.
+     * Only copies still registered in pendingWrites are written, so a write that lands
+     * late never replaces newer data.
+     */
+    private void writeNow(Map<ChunkKey, ChunkBits> batch) {
+        Map<File, Map<ChunkKey, ChunkBits>> byRegion = new HashMap<>();
+        for (Map.Entry<ChunkKey, ChunkBits> entry : batch.entrySet()) {
+            byRegion.computeIfAbsent(getRegionFile(entry.getKey()), file -> new HashMap<>())
+                    .put(entry.getKey(), entry.getValue());
+        }
+
+        for (Map.Entry<File, Map<ChunkKey, ChunkBits>> region : byRegion.entrySet()) {
+            File file = region.getKey();
+            synchronized (getRegionLock(file)) {
+                try {
+                    Map<Integer, ChunkBits> chunks = readRegion(file, null);
+                    for (Map.Entry<ChunkKey, ChunkBits> entry : region.getValue().entrySet()) {
+                        if (pendingWrites.get(entry.getKey()) != entry.getValue()) {
+                            continue; // Superseded by a newer write, which may already have landed
+                        }
+                        int index = entry.getKey().getRegionIndex();
+                        ChunkBits bits = entry.getValue();
+                        if (bits.isOverlay()) {
+                            bits = bits.applyTo(chunks.get(index));
+                        }
+                        if (bits.isEmpty()) {
+                            chunks.remove(index);
+                        } else {
+                            chunks.put(index, bits);
+                        }
+                    }
+                    writeRegion(file, chunks);
+                } catch (IOException e) {
+                    plugin.getLogger().log(Level.SEVERE, "Failed to write placed blocks to " + file.getPath(), e);
+                }
+            }
+            for (Map.Entry<ChunkKey, ChunkBits> entry : region.getValue().entrySet()) {
+                pendingWrites.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Reads chunk bitmaps from a region file.
+     *
+     * @param file The region file
+     * @param indices The chunks to decode, or null to decode all of them
+     * @return Decoded chunks by index within the region
+     */
+    private Map<Integer, ChunkBits> readRegion(File file, Set<Integer> indices) throws IOException {
+        Map<Integer, ChunkBits> chunks = new TreeMap<>();
+        if (!file.isFile()) {
+            return chunks;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != REGION_MAGIC) {
+                throw new IOException("Not a placed block file");
+            }
+            int version = in.readInt();
+            if (version != REGION_VERSION) {
+                throw new IOException("Unsupported placed block file version " + version);
+            }
+
+            int chunkCount = in.readInt();
+            int remaining = indices != null ? indices.size() : chunkCount;
+            for (int i = 0; i < chunkCount && remaining > 0; i++) {
+                int index = in.readUnsignedShort();
+                int sectionCount = in.readUnsignedShort();
+                if (indices != null && !indices.contains(index)) {
+                    in.skipBytes(sectionCount * (1 + WORDS_PER_SECTION * 8));
+                    continue;
+                }
+
+                ChunkBits bits = new ChunkBits();
+                for (int s = 0; s < sectionCount; s++) {
+                    long[] words = new long[WORDS_PER_SECTION];
+                    int sectionY = in.readByte();
+                    for (int w = 0; w < WORDS_PER_SECTION; w++) {
+                        words[w] = in.readLong();
+                    }
+                    bits.putSection(sectionY, words);
+                }
+                chunks.put(index, bits);
+                remaining--;
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Writes a region file through a temporary file, deleting it when no chunk has placed blocks.
+     */
+    private void writeRegion(File file, Map<Integer, ChunkBits> chunks) throws IOException {
+        if (chunks.isEmpty()) {
+            Files.deleteIfExists(file.toPath());
+            return;
+        }
+
+        File parent = file.getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Failed to create directory: " + parent.getAbsolutePath());
+        }
+
+        File tempFile = new File(file.getAbsolutePath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            out.writeInt(REGION_MAGIC);
+            out.writeInt(REGION_VERSION);
+            out.writeInt(chunks.size());
+            for (Map.Entry<Integer, ChunkBits> entry : chunks.entrySet()) {
+                List<Integer> sections = entry.getValue().getSectionYs();
+                out.writeShort(entry.getKey());
+                out.writeShort(sections.size());
+                for (int sectionY : sections) {
+                    out.writeByte(sectionY);
+                    for (long word : entry.getValue().getSection(sectionY)) {
+                        out.writeLong(word);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            tempFile.delete();
+            throw e;
+        }
+
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private File getRegionFile(ChunkKey key) {
+        File worldDirectory = new File(directory, key.worldId.toString());
+        return new File(worldDirectory, "r." + (key.chunkX >> 5) + "." + (key.chunkZ >> 5) + ".dat");
+    }
+
+    private Object getRegionLock(File file) {
+        return regionLocks[(file.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    /**
+     * Identifies a chunk within a world.
+     */
+    private static final class ChunkKey {
+        private final UUID worldId;
+        private final int chunkX;
+        private final int chunkZ;
+
+        private ChunkKey(UUID worldId, int chunkX, int chunkZ) {
+            this.worldId = worldId;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+
+        private int getRegionIndex() {
+            return ((chunkZ & 31) << 5) | (chunkX & 31);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ChunkKey)) {
+                return false;
+            }
+            ChunkKey other = (ChunkKey) o;
+            return chunkX == other.chunkX && chunkZ == other.chunkZ && worldId.equals(other.worldId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * worldId.hashCode() + chunkX) + chunkZ;
+        }
+    }
+
+    /**
+     * Placed-block bitmaps for one chunk, one 4096-bit section per 16 blocks of height.
+     * Sections are allocated on first use and released once empty.
+     *
+     * An overlay has not been read from disk yet: its sections hold blocks placed since,
+     * and {@code cleared} holds blocks cleared since, to be applied over the stored bits.
+     */
+    private static final class ChunkBits {
+        private static final long[][] NO_SECTIONS = new long[0][];
+
+        private long[][] sections = NO_SECTIONS;
+        private int minSection;
+        private ChunkBits cleared;
+        private volatile boolean dirty;
+
+        private static ChunkBits overlay() {
+            ChunkBits bits = new ChunkBits();
+            bits.cleared = new ChunkBits();
+            return bits;
+        }
+
+        private boolean isOverlay() {
+            return cleared != null;
+        }
+
+        private static int bitIndex(int x, int y, int z) {
+            return ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+        }
+
+        private boolean get(int x, int y, int z) {
+            int s = (y >> 4) - minSection;
+            if (s < 0 || s >= sections.length || sections[s] == null) {
+                return false;
+            }
+            int bit = bitIndex(x, y, z);
+            return (sections[s][bit >>> 6] & (1L << bit)) != 0;
+        }
+
+        private void set(int x, int y, int z) {
+            long[] words = getSection(y >> 4);
+            if (words == null) {
+                words = new long[WORDS_PER_SECTION];
+                putSection(y >> 4, words);
+            }
+            int bit = bitIndex(x, y, z);
+            words[bit >>> 6] |= 1L << bit;
+            dirty = true;
+            if (cleared != null) {
+                cleared.clear(x, y, z);
+            }
+        }
+
+        private boolean clear(int x, int y, int z) {
+            if (cleared != null && !cleared.get(x, y, z)) {
+                cleared.set(x, y, z);
+                dirty = true;
+            }
+            int sectionY = y >> 4;
+            long[] words = getSection(sectionY);
+            if (words == null) {
+                return false;
+            }
+            int bit = bitIndex(x, y, z);
+            long mask = 1L << bit;
+            if ((words[bit >>> 6] & mask) == 0) {
+                return false;
+            }
+            words[bit >>> 6] &= ~mask;
+            dirty = true;
+
+            for (long word : words) {
+                if (word != 0) {
+                    return true;
+                }
+            }
+            sections[sectionY - minSection] = null;
+            return true;
+        }
+
+        private long[] getSection(int sectionY) {
+            int s = sectionY - minSection;
+            return s >= 0 && s < sections.length ? sections[s] : null;
+        }
+
+        private void putSection(int sectionY, long[] words) {
+            if (sections.length == 0) {
+                minSection = sectionY;
+                sections = new long[1][];
+            } else if (sectionY < minSection) {
+                long[][] grown = new long[sections.length + (minSection - sectionY)][];
+                System.arraycopy(sections, 0, grown, minSection - sectionY, sections.length);
+                sections = grown;
+                minSection = sectionY;
+            } else if (sectionY - minSection >= sections.length) {
+                long[][] grown = new long[sectionY - minSection + 1][];
+                System.arraycopy(sections, 0, grown, 0, sections.length);
+                sections = grown;
+            }
+            sections[sectionY - minSection] = words;
+        }
+
+        private List<Integer> getSectionYs() {
+            List<Integer> result = new ArrayList<>();
+            for (int s = 0; s < sections.length; s++) {
+                if (sections[s] != null) {
+                    result.add(minSection + s);
+                }
+            }
+            return result;
+        }
+
+        private boolean isEmpty() {
+            for (long[] words : sections) {
+                if (words != null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Applies this overlay's changes over bits read from disk.
+         *
+         * @param stored The stored bits, or null if the chunk had none
+         * @return The merged bits
+         */
+        private ChunkBits applyTo(ChunkBits stored) {
+            ChunkBits merged = stored != null ? stored.copy() : new ChunkBits();
+            for (int sectionY : cleared.getSectionYs()) {
+                long[] words = merged.getSection(sectionY);
+                if (words != null) {
+                    long[] mask = cleared.getSection(sectionY);
+                    long remaining = 0;
+                    for (int w = 0; w < WORDS_PER_SECTION; w++) {
+                        words[w] &= ~mask[w];
+                        remaining |= words[w];
+                    }
+                    if (remaining == 0) {
+                        merged.sections[sectionY - merged.minSection] = null;
+                    }
+                }
+            }
+            for (int sectionY : getSectionYs()) {
+                long[] words = merged.getSection(sectionY);
+                if (words == null) {
+                    words = new long[WORDS_PER_SECTION];
+                    merged.putSection(sectionY, words);
+                }
+                long[] placed = getSection(sectionY);
+                for (int w = 0; w < WORDS_PER_SECTION; w++) {
+                    words[w] |= placed[w];
+                }
+            }
+            return merged;
+        }
+
+        /**
+         * Turns this overlay into the full bitmap once the stored bits have been read.
+         */
+        private void resolve(ChunkBits stored) {
+            ChunkBits merged = applyTo(stored);
+            sections = merged.sections;
+            minSection = merged.minSection;
+            cleared = null;
+        }
+
+        private ChunkBits copy() {
+            ChunkBits copy = new ChunkBits();
+            copy.cleared = cleared != null ? cleared.copy() : null;
+            copy.minSection = minSection;
+            copy.sections = new long[sections.length][];
+            for (int s = 0; s < sections.length; s++) {
+                if (sections[s] != null) {
+                    copy.sections[s] = sections[s].clone();
+                }
+            }
+            return copy;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.skillsplugin.data;
 
+import com.example.skillsplugin.metrics.Counter;
+import com.example.skillsplugin.metrics.LatencyHistogram;
+import com.example.skillsplugin.metrics.MetricsRegistry;
 import com.example.skillsplugin.skills.Skill;
 import com.example.skillsplugin.skills.SkillProfile;
 import com.example.skillsplugin.skills.SkillType;
@@ -7,20 +10,54 @@ import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitRunnable;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.logging.Level;
 
 /**
  * Manages player skill data with in-memory caching and async persistence.
  * Handles loading, saving, and updating player skill profiles.
+ * 
+ * Each cached profile moves through LOADING, ACTIVE and UNLOADING states. Every save
+ * request is stamped with a version; writes are serialized per player and a write older
+ * than the last one persisted is rejected. A profile removed while a save is still in
+ * flight stays in memory as UNLOADING until that save lands, so a quick rejoin reuses it
+ * instead of reading stale data from disk.
  */
 public class PlayerDataManager {
     
+    // Sort by level (descending), then by XP (descending)
+    private static final Comparator<LeaderboardEntry> LEADERBOARD_ORDER = (a, b) -> {
+        int levelCompare = Integer.compare(b.getLevel(), a.getLevel());
+        if (levelCompare != 0) {
+            return levelCompare;
+        }
+        return Double.compare(b.getExperience(), a.getExperience());
+    };
+    
+    // Files written this long before the leaderboard snapshot are still reconciled, covering
+    // a save whose leaderboard update raced the snapshot and coarse file timestamps
+    private static final long RECONCILE_MARGIN_MILLIS = 60_000L;
+    
     private final Plugin plugin;
     private final DataStorage dataStorage;
-    private final Map<UUID, SkillProfile> cache;
+    private final Map<UUID, ProfileEntry> cache;
+    private final SaveRetryQueue retryQueue;
+    private final Leaderboard leaderboard;
+    private final WindowedLeaderboard windowedLeaderboard;
+    private Counter profileHits;
+    private Counter profileMisses;
+    private Counter saveFailures;
+    private LatencyHistogram saveLatency;
+    private LatencyHistogram topPlayersLatency;
+    private LatencyHistogram windowedTopPlayersLatency;
     
     /**
      * Creates a new player data manager.
@@ -32,26 +69,97 @@ public class PlayerDataManager {
         this.plugin = plugin;
         this.dataStorage = dataStorage;
         this.cache = new ConcurrentHashMap<>();
+        this.retryQueue = new SaveRetryQueue(plugin, dataStorage);
+        this.retryQueue.setDeadLetterListener(this::onDeadLettered);
+        this.leaderboard = new Leaderboard();
+        this.windowedLeaderboard = new WindowedLeaderboard();
+        bindMetrics(MetricsRegistry.DISABLED);
+    }
+    
+    /**
+     * Sets the registry recording profile cache hits and misses, save and leaderboard timings.
+     * 
+     * @param metrics The metrics registry
+     */
+    public void setMetrics(MetricsRegistry metrics) {
+        bindMetrics(metrics);
+    }
+    
+    private void bindMetrics(MetricsRegistry metrics) {
+        profileHits = metrics.counter("profile.cache.hit");
+        profileMisses = metrics.counter("profile.cache.miss");
+        saveFailures = metrics.counter("profile.save.failed");
+        saveLatency = metrics.histogram("profile.save");
+        topPlayersLatency = metrics.histogram("leaderboard.top");
+        windowedTopPlayersLatency = metrics.histogram("leaderboard.top.windowed");
     }
     
     /**
      * Gets a player's skill profile with lazy loading.
      * If the profile is not in cache, it will be loaded from storage.
      * If the profile doesn't exist in storage, a new one will be created.
+     * A profile waiting for its final save after the player left stays UNLOADING;
+     * only {@link #activateProfile} brings it back.
      * 
      * @param playerId The UUID of the player
      * @return The player's skill profile
      */
     public SkillProfile getProfile(UUID playerId) {
-        // Check cache first
-        SkillProfile profile = cache.get(playerId);
-        if (profile != null) {
-            return profile;
+        return getProfile(playerId, false);
+    }
+    
+    /**
+     * Gets the profile of a joining player, reactivating it if it is still UNLOADING
+     * from their last session so the in-memory copy is reused.
+     * 
+     * @param playerId The UUID of the joining player
+     * @return The player's skill profile
+     */
+    public SkillProfile activateProfile(UUID playerId) {
+        return getProfile(playerId, true);
+    }
+    
+    private SkillProfile getProfile(UUID playerId, boolean joining) {
+        while (true) {
+            // Check cache first
+            ProfileEntry entry = cache.get(playerId);
+            if (entry == null) {
+                ProfileEntry created = new ProfileEntry();
+                entry = cache.putIfAbsent(playerId, created);
+                if (entry == null) {
+                    // This thread owns the load; other callers wait on the LOADING entry
+                    profileMisses.increment();
+                    load(playerId, created);
+                    return created.profile;
+                }
+            }
+            
+            SkillProfile profile = entry.awaitProfile();
+            if (joining ? entry.activate() : entry.isLive()) {
+                profileHits.increment();
+                return profile;
+            }
+            // The entry was evicted after its final save landed; load again
         }
-        
-        // Try to load from storage
+    }
+    
+    /**
+     * Loads a profile from storage into a LOADING cache entry and marks it ACTIVE.
+     * If the profile doesn't exist or can't be read, a new one is created.
+     * 
+     * @param playerId The UUID of the player
+     * @param entry The LOADING entry owned by the calling thread
+     */
+    private void load(UUID playerId, ProfileEntry entry) {
+        SkillProfile profile;
         try {
-            profile = dataStorage.load(playerId);
+            // A dead-lettered profile is newer than the copy its failed saves left in storage
+            profile = retryQueue.loadDeadLetter(playerId);
+            if (profile != null) {
+                plugin.getLogger().log(Level.WARNING, "Loaded dead-lettered skill profile for player: " + playerId);
+            } else {
+                profile = dataStorage.load(playerId);
+            }
             
             if (profile == null) {
                 // Create new profile for new player
@@ -61,43 +169,44 @@ public class PlayerDataManager {
                 plugin.getLogger().log(Level.INFO, "Loaded skill profile for player: " + playerId);
             }
             
-            // Add to cache
-            cache.put(playerId, profile);
-            
         } catch (DataStorageException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to load profile for player " + playerId + ", creating new profile", e);
             // Fallback: create new profile
             profile = new SkillProfile(playerId);
-            cache.put(playerId, profile);
+        } catch (RuntimeException e) {
+            // Never leave waiters blocked on a LOADING entry
+            cache.remove(playerId, entry);
+            entry.abandon();
+            throw e;
         }
         
-        return profile;
+        leaderboard.update(profile, profile.getLastUpdated());
+        entry.loaded(profile);
     }
     
     /**
      * Saves a player's skill profile asynchronously.
      * The profile is saved in a separate thread to avoid blocking the main thread.
-     * Implements retry logic with up to 3 attempts.
+     * Failed writes are retried up to 3 attempts through the retry queue.
      * Optimized to create a snapshot of the profile to avoid concurrent modification issues.
      * 
      * @param playerId The UUID of the player
      */
     public void saveProfile(UUID playerId) {
-        SkillProfile profile = cache.get(playerId);
-        if (profile == null) {
+        ProfileEntry entry = getLoadedEntry(playerId);
+        if (entry == null) {
             plugin.getLogger().log(Level.WARNING, "Attempted to save non-existent profile for player: " + playerId);
             return;
         }
         
-        // Create a reference to the profile for async saving
-        // The profile object is thread-safe due to ConcurrentHashMap usage
-        final SkillProfile profileToSave = profile;
+        // Stamp the request now so a later save always wins over this one
+        final long version = entry.nextVersion();
         
         // Save asynchronously with retry logic
         new BukkitRunnable() {
             @Override
             public void run() {
-                saveWithRetry(playerId, profileToSave, 3);
+                saveWithRetry(playerId, entry, version, 3);
             }
         }.runTaskAsynchronously(plugin);
     }
@@ -105,24 +214,24 @@ public class PlayerDataManager {
     /**
      * Saves a player's skill profile synchronously.
      * Should only be used during plugin shutdown or when async saving is not appropriate.
-     * Implements retry logic with up to 3 attempts.
+     * Failed writes are retried up to 3 attempts through the retry queue.
      * 
      * @param playerId The UUID of the player
      */
     public void saveProfileSync(UUID playerId) {
-        SkillProfile profile = cache.get(playerId);
-        if (profile == null) {
+        ProfileEntry entry = getLoadedEntry(playerId);
+        if (entry == null) {
             plugin.getLogger().log(Level.WARNING, "Attempted to save non-existent profile for player: " + playerId);
             return;
         }
         
-        saveWithRetry(playerId, profile, 3);
+        saveWithRetry(playerId, entry, entry.nextVersion(), 3);
     }
     
     /**
      * Saves all cached player profiles synchronously.
      * Used during plugin shutdown to ensure all data is persisted.
-     * Implements retry logic for each profile.
+     * Failed profiles are queued for retry rather than blocking the caller.
      * Optimized to process profiles efficiently during shutdown.
      */
     public void saveAllProfiles() {
@@ -137,10 +246,15 @@ public class PlayerDataManager {
         int failed = 0;
         
         // Create a snapshot of entries to avoid concurrent modification
-        Map.Entry<UUID, SkillProfile>[] entries = cache.entrySet().toArray(new Map.Entry[0]);
+        Map.Entry<UUID, ProfileEntry>[] entries = cache.entrySet().toArray(new Map.Entry[0]);
         
-        for (Map.Entry<UUID, SkillProfile> entry : entries) {
-            boolean success = saveWithRetry(entry.getKey(), entry.getValue(), 3);
+        for (Map.Entry<UUID, ProfileEntry> entry : entries) {
+            ProfileEntry profileEntry = entry.getValue();
+            if (profileEntry.getState() == ProfileState.LOADING) {
+                // Nothing to persist until the load completes
+                continue;
+            }
+            boolean success = saveWithRetry(entry.getKey(), profileEntry, profileEntry.nextVersion(), 3);
             if (success) {
                 saved++;
             } else {
@@ -148,51 +262,80 @@ public class PlayerDataManager {
             }
         }
         
-        plugin.getLogger().log(Level.INFO, "Saved " + saved + " profiles (" + failed + " failed)");
+        plugin.getLogger().log(Level.INFO, "Saved " + saved + " profiles (" + failed + " failed or queued for retry)");
     }
     
     /**
      * Saves a profile with retry logic.
-     * Attempts to save up to maxAttempts times with exponential backoff.
+     * Makes one attempt on the calling thread; failures are handed to the retry queue,
+     * which re-attempts on the async scheduler with jittered backoff instead of sleeping.
+     * Every attempt goes through the versioned write, so a retry overtaken by a newer save is dropped.
      * 
      * @param playerId The UUID of the player
-     * @param profile The skill profile to save
+     * @param entry The cache entry holding the profile
+     * @param version The version stamped on this save request
      * @param maxAttempts Maximum number of save attempts
-     * @return true if save was successful, false otherwise
-     */
-    private boolean saveWithRetry(UUID playerId, SkillProfile profile, int maxAttempts) {
-        int attempt = 0;
-        long backoffMs = 100; // Start with 100ms backoff
-        
-        while (attempt < maxAttempts) {
-            attempt++;
-            try {
-                dataStorage.save(playerId, profile);
-                if (attempt > 1) {
-                    plugin.getLogger().log(Level.INFO, "Successfully saved profile for player " + playerId + " on attempt " + attempt);
-                } else {
-                    plugin.getLogger().log(Level.FINE, "Saved skill profile for player: " + playerId);
-                }
-                return true;
-            } catch (DataStorageException e) {
-                if (attempt < maxAttempts) {
-                    plugin.getLogger().log(Level.WARNING, "Failed to save profile for player " + playerId + " (attempt " + attempt + "/" + maxAttempts + "), retrying in " + backoffMs + "ms...", e);
-                    try {
-                        Thread.sleep(backoffMs);
-                        backoffMs *= 2; // Exponential backoff
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        plugin.getLogger().log(Level.SEVERE, "Save retry interrupted for player " + playerId, ie);
-                        return false;
-                    }
-                } else {
-                    plugin.getLogger().log(Level.SEVERE, "Failed to save profile for player " + playerId + " after " + maxAttempts + " attempts. Data may be lost!", e);
-                    return false;
-                }
+     * @return true if save was successful, false if it was queued for retry or failed
+     */
+    private boolean saveWithRetry(UUID playerId, ProfileEntry entry, long version, int maxAttempts) {
+        long start = saveLatency.start();
+        boolean saved = retryQueue.save(playerId, entry.profile, () -> writeVersioned(playerId, entry, version), maxAttempts);
+        saveLatency.stop(start);
+        if (!saved) {
+            saveFailures.increment();
+        }
+        return saved;
+    }
+    
+    /**
+     * Writes a profile if its version is newer than the last version persisted.
+     * Writes for the same player are serialized, so an older save that finishes late
+     * can never overwrite a newer one. Completes a pending unload once the write lands.
+     * 
+     * @param playerId The UUID of the player
+     * @param entry The cache entry holding the profile
+     * @param version The version stamped on the save request
+     * @throws DataStorageException if the write fails
+     */
+    private void writeVersioned(UUID playerId, ProfileEntry entry, long version) throws DataStorageException {
+        synchronized (entry.writeLock) {
+            if (version <= entry.writtenVersion) {
+                plugin.getLogger().log(Level.FINE, "Rejected out-of-order save (version " + version
+                    + " <= " + entry.writtenVersion + ") for player: " + playerId);
+            } else {
+                dataStorage.save(playerId, entry.profile);
+                entry.writtenVersion = version;
+                leaderboard.update(entry.profile, entry.profile.getLastUpdated());
             }
         }
         
-        return false;
+        if (entry.completeUnload()) {
+            cache.remove(playerId, entry);
+            plugin.getLogger().log(Level.FINE, "Unloaded player after final save: " + playerId);
+        }
+    }
+    
+    /**
+     * Gets a cache entry whose profile has finished loading.
+     * 
+     * @param playerId The UUID of the player
+     * @return The entry, or null if the player is not cached
+     */
+    private ProfileEntry getLoadedEntry(UUID playerId) {
+        ProfileEntry entry = cache.get(playerId);
+        if (entry == null || entry.awaitProfile() == null) {
+            return null;
+        }
+        return entry;
+    }
+    
+    /**
+     * Gets the retry queue handling failed saves.
+     * 
+     * @return The save retry queue
+     */
+    public SaveRetryQueue getRetryQueue() {
+        return retryQueue;
     }
     
     /**
@@ -226,22 +369,52 @@ public class PlayerDataManager {
         // Track the last skill that gained XP
         profile.setLastSkillXP(skillType);
         
+        // Record into the daily buckets behind the windowed leaderboards
+        windowedLeaderboard.record(playerId, skillType, amount);
+        
         return new ExperienceResult(skillType, amount, levelsGained, leveledUp);
     }
     
     /**
      * Removes a player's profile from the cache.
      * Should be called when a player disconnects.
+     * If a save requested before this call has not been written yet, the profile is
+     * marked UNLOADING and evicted only after that save lands.
      * 
      * @param playerId The UUID of the player
      */
     public void removeFromCache(UUID playerId) {
-        cache.remove(playerId);
-        plugin.getLogger().log(Level.FINE, "Removed player from cache: " + playerId);
+        ProfileEntry entry = cache.get(playerId);
+        if (entry == null) {
+            return;
+        }
+        
+        if (entry.beginUnload()) {
+            cache.remove(playerId, entry);
+            plugin.getLogger().log(Level.FINE, "Removed player from cache: " + playerId);
+        } else {
+            plugin.getLogger().log(Level.FINE, "Deferred cache removal until pending save lands: " + playerId);
+        }
+    }
+    
+    /**
+     * Evicts an UNLOADING profile whose final save was dead-lettered, since no later
+     * save will complete the unload. The dead-lettered copy is loaded if the player rejoins.
+     * A newer save still waiting for a retry completes or dead-letters the unload itself.
+     * 
+     * @param playerId The UUID of the player
+     */
+    private void onDeadLettered(UUID playerId) {
+        ProfileEntry entry = cache.get(playerId);
+        if (entry != null && !retryQueue.hasPendingRetry(playerId) && entry.evictUnloading()) {
+            cache.remove(playerId, entry);
+            plugin.getLogger().log(Level.WARNING, "Unloaded player after final save was dead-lettered: " + playerId);
+        }
     }
     
     /**
      * Checks if a player's profile is currently cached.
+     * Profiles waiting for their final save while UNLOADING still count as cached.
      * 
      * @param playerId The UUID of the player
      * @return true if the profile is in cache, false otherwise
@@ -250,6 +423,17 @@ public class PlayerDataManager {
         return cache.containsKey(playerId);
     }
     
+    /**
+     * Gets the lifecycle state of a player's cached profile.
+     * 
+     * @param playerId The UUID of the player
+     * @return The profile state, or null if the player is not cached
+     */
+    public ProfileState getProfileState(UUID playerId) {
+        ProfileEntry entry = cache.get(playerId);
+        return entry != null ? entry.getState() : null;
+    }
+    
     /**
      * Gets the number of profiles currently in cache.
      * 
@@ -262,61 +446,228 @@ public class PlayerDataManager {
     /**
      * Gets the top players for a specific skill.
      * Returns a list of LeaderboardEntry objects sorted by level (descending) and XP (descending).
+     * Served from the in-memory leaderboard once it has been loaded from a snapshot or a full scan.
+     * Until then, stored profiles are streamed from storage and only the best {@code limit} entries
+     * are kept. Cached profiles are used in place of their stored copies since they hold the latest progress.
      * 
      * @param skillType The skill type to get leaderboard for
      * @param limit Maximum number of entries to return
      * @return Array of leaderboard entries
      */
     public LeaderboardEntry[] getTopPlayers(SkillType skillType, int limit) {
+        if (limit <= 0) {
+            return new LeaderboardEntry[0];
+        }
+        
+        long start = topPlayersLatency.start();
         try {
-            UUID[] allPlayerIds = dataStorage.getAllPlayerIds();
-            
-            if (allPlayerIds.length == 0) {
-                return new LeaderboardEntry[0];
+            if (leaderboard.isReady()) {
+                updateLeaderboardFromCache();
+                return leaderboard.getTop(skillType, limit);
             }
             
-            // Load all profiles and extract skill data
-            java.util.List<LeaderboardEntry> entries = new java.util.ArrayList<>();
+            // Min-heap on rank: the weakest kept entry sits on top and is evicted first
+            PriorityQueue<LeaderboardEntry> top = new PriorityQueue<>(limit + 1, LEADERBOARD_ORDER.reversed());
             
-            for (UUID playerId : allPlayerIds) {
-                try {
-                    SkillProfile profile = getProfile(playerId);
-                    if (profile != null) {
-                        Skill skill = profile.getSkill(skillType);
-                        if (skill != null) {
-                            entries.add(new LeaderboardEntry(
-                                playerId,
-                                skill.getLevel(),
-                                skill.getExperience()
-                            ));
-                        }
-                    }
-                } catch (Exception e) {
-                    plugin.getLogger().log(Level.WARNING, "Failed to load profile for leaderboard: " + playerId, e);
+            for (Map.Entry<UUID, ProfileEntry> entry : cache.entrySet()) {
+                SkillProfile profile = entry.getValue().profile;
+                if (profile != null) {
+                    offerTop(top, limit, profile, skillType);
                 }
             }
             
-            // Sort by level (descending), then by XP (descending)
-            entries.sort((a, b) -> {
-                int levelCompare = Integer.compare(b.getLevel(), a.getLevel());
-                if (levelCompare != 0) {
-                    return levelCompare;
+            dataStorage.forEachProfile(profile -> {
+                if (!cache.containsKey(profile.getPlayerId())) {
+                    offerTop(top, limit, profile, skillType);
                 }
-                return Double.compare(b.getExperience(), a.getExperience());
             });
             
-            // Limit results
-            int resultSize = Math.min(limit, entries.size());
-            LeaderboardEntry[] result = new LeaderboardEntry[resultSize];
-            for (int i = 0; i < resultSize; i++) {
-                result[i] = entries.get(i);
-            }
-            
+            LeaderboardEntry[] result = top.toArray(new LeaderboardEntry[0]);
+            Arrays.sort(result, LEADERBOARD_ORDER);
             return result;
             
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Error getting top players for " + skillType, e);
             return new LeaderboardEntry[0];
+        } finally {
+            topPlayersLatency.stop(start);
+        }
+    }
+    
+    /**
+     * Folds the live progress of cached players into the leaderboard.
+     */
+    private void updateLeaderboardFromCache() {
+        long now = System.currentTimeMillis();
+        for (ProfileEntry entry : cache.values()) {
+            SkillProfile profile = entry.profile;
+            if (profile != null) {
+                leaderboard.update(profile, now);
+            }
+        }
+    }
+    
+    /**
+     * Gets the players who gained the most XP in a skill within a rolling time window.
+     * Entries report the XP gained in the window as their experience; their level is 0.
+     * 
+     * @param skillType The skill type to get leaderboard for
+     * @param window The time window (last day, week or season)
+     * @param limit Maximum number of entries to return
+     * @return Array of leaderboard entries sorted by XP gained (descending)
+     */
+    public LeaderboardEntry[] getTopPlayers(SkillType skillType, WindowedLeaderboard.Window window, int limit) {
+        long start = windowedTopPlayersLatency.start();
+        try {
+            return windowedLeaderboard.getTop(window, skillType, limit);
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.SEVERE, "Error getting " + window + " top players for " + skillType, e);
+            return new LeaderboardEntry[0];
+        } finally {
+            windowedTopPlayersLatency.stop(start);
+        }
+    }
+    
+    /**
+     * Gets the windowed leaderboard tracking recent XP gains.
+     * 
+     * @return The windowed leaderboard
+     */
+    public WindowedLeaderboard getWindowedLeaderboard() {
+        return windowedLeaderboard;
+    }
+    
+    /**
+     * Restores the windowed leaderboard's daily XP buckets from a snapshot file.
+     * 
+     * @param file The snapshot file
+     * @return true if the snapshot was loaded
+     */
+    public boolean loadWindowedSnapshot(File file) {
+        try {
+            int loaded = windowedLeaderboard.loadSnapshot(file);
+            if (loaded > 0) {
+                plugin.getLogger().log(Level.INFO, "Loaded recent XP history for " + loaded + " player skills");
+            }
+            return loaded > 0;
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to load XP history snapshot, windowed leaderboards start empty", e);
+            return false;
+        }
+    }
+    
+    /**
+     * Writes the windowed leaderboard's daily XP buckets to a snapshot file.
+     * 
+     * @param file The snapshot file
+     */
+    public void saveWindowedSnapshot(File file) {
+        try {
+            windowedLeaderboard.saveSnapshot(file);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to save XP history snapshot", e);
+        }
+    }
+    
+    /**
+     * Gets the in-memory leaderboard.
+     * 
+     * @return The leaderboard
+     */
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+    
+    /**
+     * Warm-starts the leaderboard from a snapshot file with a single sequential read.
+     * The leaderboard is served immediately; call {@link #reconcileLeaderboard()} afterwards
+     * to pick up profiles saved after the snapshot was taken.
+     * 
+     * @param file The snapshot file
+     * @return true if the snapshot was loaded
+     */
+    public boolean loadLeaderboardSnapshot(File file) {
+        long start = System.nanoTime();
+        try {
+            int loaded = leaderboard.loadSnapshot(file);
+            if (loaded == 0) {
+                // Nothing to serve, so reconcile everything rather than trusting the stamp
+                leaderboard.clear();
+                return false;
+            }
+            leaderboard.markReady();
+            plugin.getLogger().log(Level.INFO, "Loaded " + loaded + " leaderboard entries from snapshot in "
+                + ((System.nanoTime() - start) / 1_000_000L) + "ms");
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to load leaderboard snapshot, leaderboards will be rebuilt", e);
+            leaderboard.clear();
+            return false;
+        }
+    }
+    
+    /**
+     * Writes the leaderboard to a snapshot file.
+     * Skipped until the leaderboard is complete so a partial ranking never replaces a good snapshot.
+     * 
+     * @param file The snapshot file
+     */
+    public void saveLeaderboardSnapshot(File file) {
+        if (!leaderboard.isReady()) {
+            return;
+        }
+        
+        try {
+            updateLeaderboardFromCache();
+            leaderboard.saveSnapshot(file);
+            plugin.getLogger().log(Level.FINE, "Saved leaderboard snapshot");
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to save leaderboard snapshot", e);
+        }
+    }
+    
+    /**
+     * Brings the leaderboard up to date with storage and marks it ready.
+     * Only profiles saved since the loaded snapshot was taken are read; without a snapshot
+     * every stored profile is. Entries are updated only when the profile's lastUpdated stamp
+     * is newer than the leaderboard's. Cached players are skipped since their live progress is newer.
+     * Intended to run asynchronously after startup.
+     * 
+     * @return The number of profiles whose standing changed
+     */
+    public int reconcileLeaderboard() {
+        long snapshotTime = leaderboard.getSnapshotTime();
+        long since = snapshotTime > 0 ? snapshotTime - RECONCILE_MARGIN_MILLIS : Long.MIN_VALUE;
+        int[] changed = new int[1];
+        try {
+            dataStorage.forEachProfileSavedSince(since, profile -> {
+                if (!cache.containsKey(profile.getPlayerId()) && leaderboard.update(profile, profile.getLastUpdated())) {
+                    changed[0]++;
+                }
+            });
+            leaderboard.markReady();
+        } catch (DataStorageException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to reconcile leaderboard with storage", e);
+        }
+        return changed[0];
+    }
+    
+    /**
+     * Offers a profile's skill to a bounded leaderboard heap.
+     * 
+     * @param top The heap of the best entries so far, weakest on top
+     * @param limit Maximum number of entries to keep
+     * @param profile The profile to rank
+     * @param skillType The skill being ranked
+     */
+    private void offerTop(PriorityQueue<LeaderboardEntry> top, int limit, SkillProfile profile, SkillType skillType) {
+        Skill skill = profile.getSkill(skillType);
+        if (skill == null) {
+            return;
+        }
+        top.offer(new LeaderboardEntry(profile.getPlayerId(), skill.getLevel(), skill.getExperience()));
+        if (top.size() > limit) {
+            top.poll();
         }
     }
     
@@ -329,6 +680,149 @@ public class PlayerDataManager {
         plugin.getLogger().log(Level.WARNING, "Player data cache cleared");
     }
     
+    /**
+     * Lifecycle state of a cached profile.
+     */
+    public enum ProfileState {
+        /** The profile is being read from storage. */
+        LOADING,
+        /** The profile is loaded and in use. */
+        ACTIVE,
+        /** The player left; the profile is kept until its final save lands. */
+        UNLOADING
+    }
+    
+    /**
+     * A cached profile together with its lifecycle state and save versions.
+     * State transitions are guarded by the entry's monitor; writes are serialized on writeLock
+     * so that slow disk I/O never blocks a rejoining player's state change.
+     */
+    private static class ProfileEntry {
+        private final Object writeLock = new Object();
+        private final CountDownLatch loadLatch = new CountDownLatch(1);
+        private volatile SkillProfile profile;
+        private ProfileState state = ProfileState.LOADING;
+        private boolean evicted;
+        private long requestedVersion;
+        private long unloadVersion;
+        private volatile long writtenVersion;
+        
+        /**
+         * Publishes the loaded profile and wakes any callers waiting on it.
+         */
+        private void loaded(SkillProfile loadedProfile) {
+            synchronized (this) {
+                profile = loadedProfile;
+                state = ProfileState.ACTIVE;
+            }
+            loadLatch.countDown();
+        }
+        
+        /**
+         * Evicts an entry whose load failed unexpectedly so waiting callers load again.
+         */
+        private void abandon() {
+            synchronized (this) {
+                evicted = true;
+            }
+            loadLatch.countDown();
+        }
+        
+        /**
+         * Waits until the profile has finished loading.
+         */
+        private SkillProfile awaitProfile() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    loadLatch.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return profile;
+        }
+        
+        /**
+         * Reactivates an UNLOADING profile for a rejoining player.
+         * 
+         * @return false if the entry has already been evicted
+         */
+        private synchronized boolean activate() {
+            if (evicted) {
+                return false;
+            }
+            state = ProfileState.ACTIVE;
+            return true;
+        }
+        
+        /**
+         * Checks that the entry is still cached, without changing its state.
+         */
+        private synchronized boolean isLive() {
+            return !evicted;
+        }
+        
+        /**
+         * Evicts the entry if it is UNLOADING, for a final save that will never land.
+         * 
+         * @return true if the entry should now be removed from the cache
+         */
+        private synchronized boolean evictUnloading() {
+            if (evicted || state != ProfileState.UNLOADING) {
+                return false;
+            }
+            evicted = true;
+            return true;
+        }
+        
+        /**
+         * Stamps a new save request.
+         */
+        private synchronized long nextVersion() {
+            return ++requestedVersion;
+        }
+        
+        /**
+         * Starts unloading the profile.
+         * 
+         * @return true if every requested save has landed and the entry can be evicted now
+         */
+        private synchronized boolean beginUnload() {
+            if (evicted) {
+                return false;
+            }
+            if (writtenVersion >= requestedVersion) {
+                evicted = true;
+                return true;
+            }
+            state = ProfileState.UNLOADING;
+            unloadVersion = requestedVersion;
+            return false;
+        }
+        
+        /**
+         * Finishes an unload once the save requested before it has been written.
+         * 
+         * @return true if the entry should now be evicted
+         */
+        private synchronized boolean completeUnload() {
+            if (evicted || state != ProfileState.UNLOADING || writtenVersion < unloadVersion) {
+                return false;
+            }
+            evicted = true;
+            return true;
+        }
+        
+        private synchronized ProfileState getState() {
+            return state;
+        }
+    }
+    
     /**
      * Result object containing information about an experience award.
      */
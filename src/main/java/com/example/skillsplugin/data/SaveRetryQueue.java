@@ -0,0 +1,387 @@
+package com.example.skillsplugin.data;
+
+import com.example.skillsplugin.skills.SkillProfile;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.io.File;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Retries failed profile saves without blocking the calling thread.
+ * Failed writes are re-scheduled on the Bukkit async scheduler with exponential
+ * backoff and jitter instead of sleeping. Profiles that still fail after the last
+ * attempt are written to a dead-letter directory and replayed on the next startup.
+ */
+public class SaveRetryQueue {
+
+    private static final long BASE_DELAY_TICKS = 2L; // 100ms
+    private static final long MAX_DELAY_TICKS = 200L; // 10 seconds
+    private static final String DEAD_LETTER_DIRECTORY = "deadletter";
+
+    private final Plugin plugin;
+    private final DataStorage dataStorage;
+    private final File deadLetterDirectory;
+    private final Map<UUID, PendingSave> pending;
+    private final Set<UUID> deadLettered;
+    private JsonDataStorage deadLetterStorage;
+    private volatile Consumer<UUID> deadLetterListener;
+
+    /**
+     * Creates a new save retry queue.
+     *
+     * @param plugin The plugin instance used for scheduling retries
+     * @param dataStorage The primary data storage
+     */
+    public SaveRetryQueue(Plugin plugin, DataStorage dataStorage) {
+        this.plugin = plugin;
+        this.dataStorage = dataStorage;
+        File dataFolder = plugin.getDataFolder();
+        this.deadLetterDirectory = dataFolder != null ? new File(dataFolder, DEAD_LETTER_DIRECTORY) : null;
+        this.pending = new ConcurrentHashMap<>();
+        this.deadLettered = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Attempts to save a profile once on the current thread.
+     * On failure the save is handed to the retry scheduler and this method returns immediately.
+     * If the scheduler is unavailable (plugin disabled or shutting down), the remaining
+     * attempts run back-to-back without delay before the profile is dead-lettered.
+     *
+     * @param playerId The UUID of the player
+     * @param profile The skill profile to save
+     * @param maxAttempts Maximum number of save attempts
+     * @return true if the first attempt succeeded, false if it was queued for retry or dead-lettered
+     */
+    public boolean save(UUID playerId, SkillProfile profile, int maxAttempts) {
+        return save(playerId, profile, () -> dataStorage.save(playerId, profile), maxAttempts);
+    }
+
+    /**
+     * Attempts a save operation once on the current thread, retrying it like {@link #save(UUID, SkillProfile, int)}.
+     * The operation is re-run on every attempt, which lets callers re-check preconditions
+     * such as write ordering before touching storage.
+     *
+     * @param playerId The UUID of the player
+     * @param profile The skill profile being saved, dead-lettered if every attempt fails
+     * @param operation The write to perform on each attempt
+     * @param maxAttempts Maximum number of save attempts
+     * @return true if the first attempt succeeded, false if it was queued for retry or dead-lettered
+     */
+    public boolean save(UUID playerId, SkillProfile profile, SaveOperation operation, int maxAttempts) {
+        PendingSave save = new PendingSave(profile, operation, 1, maxAttempts);
+        if (attempt(playerId, save)) {
+            return true;
+        }
+
+        if (!canSchedule()) {
+            while (save.attempt < maxAttempts) {
+                save = save.next();
+                if (attempt(playerId, save)) {
+                    return true;
+                }
+            }
+            deadLetter(playerId, profile, maxAttempts);
+            return false;
+        }
+
+        scheduleRetry(playerId, save.next());
+        return false;
+    }
+
+    /**
+     * Performs a single save attempt and logs the outcome.
+     *
+     * @return true if the save succeeded
+     */
+    private boolean attempt(UUID playerId, PendingSave save) {
+        int attempt = save.attempt;
+        int maxAttempts = save.maxAttempts;
+        try {
+            save.operation.execute();
+            pending.remove(playerId);
+            if (deadLettered.remove(playerId)) {
+                deleteDeadLetter(playerId);
+            }
+            if (attempt > 1) {
+                plugin.getLogger().log(Level.INFO, "Successfully saved profile for player " + playerId + " on attempt " + attempt);
+            } else {
+                plugin.getLogger().log(Level.FINE, "Saved skill profile for player: " + playerId);
+            }
+            return true;
+        } catch (DataStorageException e) {
+            if (attempt < maxAttempts) {
+                plugin.getLogger().log(Level.WARNING, "Failed to save profile for player " + playerId + " (attempt " + attempt + "/" + maxAttempts + "), will retry", e);
+            } else {
+                plugin.getLogger().log(Level.SEVERE, "Failed to save profile for player " + playerId + " after " + maxAttempts + " attempts", e);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Schedules the next attempt for a failed save on the async scheduler.
+     * A newer failure for the same player replaces the pending retry so only the latest profile is written.
+     */
+    private void scheduleRetry(UUID playerId, PendingSave retry) {
+        pending.put(playerId, retry);
+
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                // Skip if superseded by a newer retry or already flushed
+                if (!pending.remove(playerId, retry)) {
+                    return;
+                }
+                if (attempt(playerId, retry)) {
+                    return;
+                }
+                if (retry.attempt >= retry.maxAttempts) {
+                    deadLetter(playerId, retry.profile, retry.maxAttempts);
+                } else if (canSchedule()) {
+                    scheduleRetry(playerId, retry.next());
+                } else {
+                    deadLetter(playerId, retry.profile, retry.maxAttempts);
+                }
+            }
+        }.runTaskLaterAsynchronously(plugin, getRetryDelayTicks(retry.attempt));
+    }
+
+    /**
+     * Calculates the delay before an attempt using exponential backoff with jitter.
+     * Jitter spreads retries out so a burst of failures does not hit the disk again in lockstep.
+     *
+     * @param attempt The attempt number about to be made (2 for the first retry)
+     * @return The delay in ticks
+     */
+    static long getRetryDelayTicks(int attempt) {
+        int shift = Math.min(Math.max(attempt - 2, 0), 16);
+        long delay = Math.min(BASE_DELAY_TICKS << shift, MAX_DELAY_TICKS);
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+    }
+
+    /**
+     * Checks whether retries can be scheduled on the Bukkit scheduler.
+     */
+    private boolean canSchedule() {
+        return plugin.isEnabled();
+    }
+
+    /**
+     * Makes one final attempt for every pending retry and dead-letters anything that still fails.
+     * Should be called during shutdown, after which the scheduler no longer runs retries.
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        plugin.getLogger().log(Level.INFO, "Flushing " + pending.size() + " pending profile save retries...");
+        for (UUID playerId : pending.keySet().toArray(new UUID[0])) {
+            PendingSave retry = pending.remove(playerId);
+            if (retry == null) {
+                continue;
+            }
+            if (!attempt(playerId, retry.last())) {
+                deadLetter(playerId, retry.profile, retry.maxAttempts);
+            }
+        }
+    }
+
+    /**
+     * Writes a profile that could not be saved to the dead-letter directory.
+     */
+    private void deadLetter(UUID playerId, SkillProfile profile, int attempts) {
+        JsonDataStorage storage = getDeadLetterStorage();
+        if (storage == null) {
+            plugin.getLogger().log(Level.SEVERE, "No dead-letter storage available for player " + playerId + ". Data may be lost!");
+            return;
+        }
+
+        try {
+            storage.save(playerId, profile);
+            deadLettered.add(playerId);
+            plugin.getLogger().log(Level.SEVERE, "Profile for player " + playerId + " failed " + attempts + " save attempts and was written to " + deadLetterDirectory.getPath());
+            Consumer<UUID> listener = deadLetterListener;
+            if (listener != null) {
+                listener.accept(playerId);
+            }
+        } catch (DataStorageException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to dead-letter profile for player " + playerId + ". Data may be lost!", e);
+        }
+    }
+
+    /**
+     * Replays dead-lettered profiles into the primary storage.
+     * Successfully replayed entries are removed from the dead-letter directory.
+     *
+     * @return The number of profiles recovered
+     */
+    public int replayDeadLetters() {
+        if (deadLetterDirectory == null || !deadLetterDirectory.isDirectory()) {
+            return 0;
+        }
+
+        JsonDataStorage storage = getDeadLetterStorage();
+        if (storage == null) {
+            return 0;
+        }
+
+        int recovered = 0;
+        try {
+            for (UUID playerId : storage.getAllPlayerIds()) {
+                try {
+                    SkillProfile profile = storage.load(playerId);
+                    if (profile == null) {
+                        continue;
+                    }
+                    dataStorage.save(playerId, profile);
+                    deleteDeadLetter(playerId);
+                    recovered++;
+                } catch (DataStorageException e) {
+                    deadLettered.add(playerId);
+                    plugin.getLogger().log(Level.WARNING, "Failed to replay dead-lettered profile for player " + playerId, e);
+                }
+            }
+        } catch (DataStorageException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to list dead-lettered profiles", e);
+        }
+
+        if (recovered > 0) {
+            plugin.getLogger().log(Level.INFO, "Recovered " + recovered + " dead-lettered player profiles");
+        }
+        return recovered;
+    }
+
+    /**
+     * Gets the number of saves currently waiting for a retry.
+     *
+     * @return The pending retry count
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Checks if a newer save for a player is still waiting for a retry.
+     *
+     * @param playerId The UUID of the player
+     * @return true if a retry is pending
+     */
+    public boolean hasPendingRetry(UUID playerId) {
+        return pending.containsKey(playerId);
+    }
+
+    /**
+     * Checks if a player's profile is currently held in the dead-letter directory.
+     *
+     * @param playerId The UUID of the player
+     * @return true if the profile is dead-lettered
+     */
+    public boolean isDeadLettered(UUID playerId) {
+        return deadLettered.contains(playerId);
+    }
+
+    /**
+     * Sets a callback run after a profile has been written to the dead-letter directory.
+     * It may run on any thread.
+     *
+     * @param listener Called with the player's UUID, or null for none
+     */
+    public void setDeadLetterListener(Consumer<UUID> listener) {
+        this.deadLetterListener = listener;
+    }
+
+    /**
+     * Loads a player's dead-lettered profile, which is newer than the copy in the primary storage.
+     *
+     * @param playerId The UUID of the player
+     * @return The dead-lettered profile, or null if the player has none
+     * @throws DataStorageException if the dead-letter file can't be read
+     */
+    public SkillProfile loadDeadLetter(UUID playerId) throws DataStorageException {
+        if (!deadLettered.contains(playerId)) {
+            return null;
+        }
+        JsonDataStorage storage = getDeadLetterStorage();
+        return storage != null ? storage.load(playerId) : null;
+    }
+
+    /**
+     * Lazily creates the dead-letter storage so the directory only exists once something fails.
+     */
+    private synchronized JsonDataStorage getDeadLetterStorage() {
+        if (deadLetterDirectory == null) {
+            return null;
+        }
+        if (deadLetterStorage == null) {
+            try {
+                JsonDataStorage storage = new JsonDataStorage(deadLetterDirectory);
+                storage.initialize();
+                deadLetterStorage = storage;
+            } catch (DataStorageException e) {
+                plugin.getLogger().log(Level.SEVERE, "Failed to initialize dead-letter storage", e);
+                return null;
+            }
+        }
+        return deadLetterStorage;
+    }
+
+    /**
+     * Removes a player's dead-letter file once a newer save has succeeded.
+     */
+    private void deleteDeadLetter(UUID playerId) {
+        if (deadLetterDirectory == null) {
+            return;
+        }
+        File file = new File(deadLetterDirectory, playerId.toString() + ".json");
+        if (file.exists() && !file.delete()) {
+            plugin.getLogger().log(Level.WARNING, "Failed to delete dead-letter file for player " + playerId);
+        }
+    }
+
+    /**
+     * A single write attempted by the queue.
+     */
+    @FunctionalInterface
+    public interface SaveOperation {
+        /**
+         * Performs the write.
+         *
+         * @throws DataStorageException if the write fails and should be retried
+         */
+        void execute() throws DataStorageException;
+    }
+
+    /**
+     * A save waiting for its next attempt.
+     */
+    private static class PendingSave {
+        private final SkillProfile profile;
+        private final SaveOperation operation;
+        private final int attempt;
+        private final int maxAttempts;
+
+        private PendingSave(SkillProfile profile, SaveOperation operation, int attempt, int maxAttempts) {
+            this.profile = profile;
+            this.operation = operation;
+            this.attempt = attempt;
+            this.maxAttempts = maxAttempts;
+        }
+
+        private PendingSave next() {
+            return new PendingSave(profile, operation, attempt + 1, maxAttempts);
+        }
+
+        private PendingSave last() {
+            return new PendingSave(profile, operation, maxAttempts, maxAttempts);
+        }
+    }
+}
@@ -0,0 +1,527 @@
+package com.example.skillsplugin.data;
+
+import com.example.skillsplugin.skills.SkillType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Ranks players by XP gained within rolling time windows (last day, week or season).
+ * XP gains are recorded into a ring of per-day buckets for each (player, skill), stamped
+ * with the day of its newest bucket. A ring slides forward lazily the next time it is
+ * touched, so the day change costs nothing on the XP award path.
+ *
+ * Each (window, skill) keeps a bounded board of its top players, updated as XP comes in
+ * and re-validated when read. Only when a ranked player's XP leaves a window is the
+ * skill's board rebuilt from its rings, dropping rings with no XP left; storage is
+ * never rescanned.
+ */
+public class WindowedLeaderboard {
+
+    /**
+     * Rolling time windows that can be ranked.
+     */
+    public enum Window {
+        DAY(1),
+        WEEK(7),
+        SEASON(28);
+
+        private final int days;
+
+        Window(int days) {
+            this.days = days;
+        }
+
+        /**
+         * Gets the number of days covered by this window, including today.
+         *
+         * @return The window length in days
+         */
+        public int getDays() {
+            return days;
+        }
+
+        /**
+         * Parses a window from a command argument such as "week" or "weekly".
+         *
+         * @param name The window name
+         * @return The window, or null if the name is not recognised
+         */
+        public static Window fromName(String name) {
+            if (name == null) {
+                return null;
+            }
+            switch (name.toLowerCase()) {
+                case "day":
+                case "daily":
+                case "today":
+                    return DAY;
+                case "week":
+                case "weekly":
+                    return WEEK;
+                case "season":
+                case "seasonal":
+                    return SEASON;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private static final int RING_DAYS = Window.SEASON.getDays();
+    private static final int TOP_SIZE = 10;
+    private static final int SNAPSHOT_MAGIC = 0x534B5857; // "SKXW"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    // Sort by XP gained (descending); player ID keeps ties distinct
+    private static final Comparator<Standing> STANDING_ORDER = (a, b) -> {
+        int xpCompare = Double.compare(b.experience, a.experience);
+        if (xpCompare != 0) {
+            return xpCompare;
+        }
+        return a.ring.playerId.compareTo(b.ring.playerId);
+    };
+
+    private final LongSupplier dayClock;
+    private final Map<SkillType, Map<UUID, Buckets>> buckets;
+    private final Map<Window, Map<SkillType, Board>> boards;
+    private long currentDay;
+
+    /**
+     * Creates an empty windowed leaderboard using the server's local calendar days.
+     */
+    public WindowedLeaderboard() {
+        this(() -> LocalDate.now().toEpochDay());
+    }
+
+    /**
+     * Creates an empty windowed leaderboard with a custom day source.
+     *
+     * @param dayClock Supplies the current day number (e.g. epoch day)
+     */
+    WindowedLeaderboard(LongSupplier dayClock) {
+        this.dayClock = dayClock;
+        this.currentDay = dayClock.getAsLong();
+        this.buckets = new TreeMap<>();
+        this.boards = new EnumMap<>(Window.class);
+        for (SkillType type : SkillType.values()) {
+            buckets.put(type, new HashMap<>());
+        }
+        for (Window window : Window.values()) {
+            Map<SkillType, Board> bySkill = new TreeMap<>();
+            for (SkillType type : SkillType.values()) {
+                bySkill.put(type, new Board());
+            }
+            boards.put(window, bySkill);
+        }
+    }
+
+    /**
+     * Records XP gained by a player today.
+     * Only the player's own ring and the three bounded boards of the skill are touched.
+     *
+     * @param playerId The UUID of the player
+     * @param skillType The skill that gained XP
+     * @param amount The XP gained
+     */
+    public synchronized void record(UUID playerId, SkillType skillType, double amount) {
+        if (amount <= 0 || skillType == null) {
+            return;
+        }
+        long today = today();
+
+        Buckets ring = buckets.get(skillType).computeIfAbsent(playerId, id -> new Buckets(id, today));
+        advance(ring, today);
+        ring.slots[slot(today)] += amount;
+        for (Window window : Window.values()) {
+            ring.sums[window.ordinal()] += amount;
+            boards.get(window).get(skillType).offer(ring, ring.sums[window.ordinal()]);
+        }
+    }
+
+    /**
+     * Gets the players who gained the most XP in a skill within a window.
+     * Entries report the XP gained in the window as their experience; level is not tracked and is 0.
+     * At most the top 10 players are kept per window and skill.
+     *
+     * @param window The time window
+     * @param skillType The skill type
+     * @param limit Maximum number of entries to return
+     * @return Entries sorted by XP gained (descending)
+     */
+    public synchronized PlayerDataManager.LeaderboardEntry[] getTop(Window window, SkillType skillType, int limit) {
+        if (limit <= 0) {
+            return new PlayerDataManager.LeaderboardEntry[0];
+        }
+
+        long today = today();
+        Board board = boards.get(window).get(skillType);
+        if (!board.revalidate(window, today)) {
+            rebuild(skillType, today);
+        }
+
+        List<Standing> top = board.top;
+        PlayerDataManager.LeaderboardEntry[] result = new PlayerDataManager.LeaderboardEntry[Math.min(limit, top.size())];
+        for (int i = 0; i < result.length; i++) {
+            Standing standing = top.get(i);
+            result[i] = new PlayerDataManager.LeaderboardEntry(standing.ring.playerId, 0, standing.experience);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the XP a player gained in a skill within a window.
+     *
+     * @param playerId The UUID of the player
+     * @param skillType The skill type
+     * @param window The time window
+     * @return The XP gained, or 0 if none
+     */
+    public synchronized double getExperience(UUID playerId, SkillType skillType, Window window) {
+        Buckets ring = buckets.get(skillType).get(playerId);
+        if (ring == null) {
+            return 0.0;
+        }
+        advance(ring, today());
+        return ring.sums[window.ordinal()];
+    }
+
+    /**
+     * Gets the number of (player, skill) rings currently held in memory.
+     * Rings that have run out of XP are counted until they are next touched.
+     *
+     * @return The number of tracked rings
+     */
+    public synchronized int getTrackedCount() {
+        int count = 0;
+        for (Map<UUID, Buckets> bySkill : buckets.values()) {
+            count += bySkill.size();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the current day, never moving backwards if the clock does.
+     */
+    private long today() {
+        long today = dayClock.getAsLong();
+        if (today > currentDay) {
+            currentDay = today;
+        }
+        return currentDay;
+    }
+
+    /**
+     * Slides one ring forward to the given day, clearing the buckets of days that left it
+     * and recomputing its window sums. Rings are only advanced when they are touched.
+     */
+    private static void advance(Buckets ring, long today) {
+        if (today <= ring.lastDay) {
+            return;
+        }
+        if (today - ring.lastDay >= RING_DAYS) {
+            Arrays.fill(ring.slots, 0.0);
+        } else {
+            for (long day = ring.lastDay + 1; day <= today; day++) {
+                ring.slots[slot(day)] = 0.0;
+            }
+        }
+        ring.lastDay = today;
+        recomputeSums(ring);
+    }
+
+    /**
+     * Recomputes a ring's window sums for its current day.
+     *
+     * @return true if the ring still holds any XP
+     */
+    private static boolean recomputeSums(Buckets ring) {
+        double total = 0.0;
+        for (Window window : Window.values()) {
+            double sum = 0.0;
+            for (int i = 0; i < window.getDays(); i++) {
+                sum += ring.slots[slot(ring.lastDay - i)];
+            }
+            ring.sums[window.ordinal()] = sum;
+            total = Math.max(total, sum);
+        }
+        return total > 0.0;
+    }
+
+    /**
+     * Rebuilds the boards of one skill from its rings, dropping rings with no XP left.
+     * Only needed when a ranked player's XP has left a window, so their replacement may be
+     * a player the board no longer holds; this happens at most once per skill and day.
+     */
+    private void rebuild(SkillType skillType, long today) {
+        for (Window window : Window.values()) {
+            boards.get(window).get(skillType).reset();
+        }
+
+        Iterator<Buckets> iterator = buckets.get(skillType).values().iterator();
+        while (iterator.hasNext()) {
+            Buckets ring = iterator.next();
+            advance(ring, today);
+            if (ring.sums[Window.SEASON.ordinal()] <= 0.0) {
+                iterator.remove();
+                continue;
+            }
+            for (Window window : Window.values()) {
+                boards.get(window).get(skillType).offer(ring, ring.sums[window.ordinal()]);
+            }
+        }
+    }
+
+    private static int slot(long day) {
+        return (int) Math.floorMod(day, (long) RING_DAYS);
+    }
+
+    /**
+     * Writes all rings to a snapshot file so windows survive restarts.
+     *
+     * @param file The snapshot file
+     * @throws IOException if the snapshot can't be written
+     */
+    public synchronized void saveSnapshot(File file) throws IOException {
+        long today = today();
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Failed to create directory: " + parent.getAbsolutePath());
+        }
+
+        File tempFile = new File(file.getAbsolutePath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(today);
+            out.writeInt(RING_DAYS);
+            out.writeInt(buckets.size());
+
+            for (Map.Entry<SkillType, Map<UUID, Buckets>> entry : buckets.entrySet()) {
+                List<Buckets> rings = new ArrayList<>(entry.getValue().size());
+                for (Buckets ring : entry.getValue().values()) {
+                    advance(ring, today);
+                    if (ring.sums[Window.SEASON.ordinal()] > 0.0) {
+                        rings.add(ring);
+                    }
+                }
+
+                out.writeUTF(entry.getKey().name());
+                out.writeInt(rings.size());
+                for (Buckets ring : rings) {
+                    out.writeLong(ring.playerId.getMostSignificantBits());
+                    out.writeLong(ring.playerId.getLeastSignificantBits());
+                    // Oldest to newest so the ring length can change between versions
+                    for (int i = RING_DAYS - 1; i >= 0; i--) {
+                        out.writeDouble(ring.slots[slot(today - i)]);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            tempFile.delete();
+            throw e;
+        }
+
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Replaces all rings with the contents of a snapshot file.
+     * Rings roll forward to today as they are touched.
+     *
+     * @param file The snapshot file
+     * @return The number of rings read, or 0 if the file doesn't exist
+     * @throws IOException if the snapshot is unreadable or corrupt
+     */
+    public synchronized int loadSnapshot(File file) throws IOException {
+        if (!file.isFile()) {
+            return 0;
+        }
+
+        Map<SkillType, Map<UUID, double[]>> loaded = new TreeMap<>();
+        long snapshotDay;
+        int count = 0;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not an XP window snapshot: " + file.getAbsolutePath());
+            }
+            int version = in.readInt();
+            if (version != SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported XP window snapshot version " + version);
+            }
+            snapshotDay = in.readLong();
+            int ringDays = in.readInt();
+            if (ringDays <= 0) {
+                throw new IOException("Corrupt XP window snapshot: ring length " + ringDays);
+            }
+
+            int skillCount = in.readInt();
+            for (int i = 0; i < skillCount; i++) {
+                String skillName = in.readUTF();
+                int rings = in.readInt();
+                if (rings < 0) {
+                    throw new IOException("Corrupt XP window snapshot: negative ring count for " + skillName);
+                }
+
+                SkillType skillType = null;
+                try {
+                    skillType = SkillType.valueOf(skillName);
+                } catch (IllegalArgumentException e) {
+                    // Skill was removed; read past its rings
+                }
+
+                for (int j = 0; j < rings; j++) {
+                    UUID playerId = new UUID(in.readLong(), in.readLong());
+                    double[] slots = new double[RING_DAYS];
+                    for (int k = ringDays - 1; k >= 0; k--) {
+                        double value = in.readDouble();
+                        if (k < RING_DAYS) {
+                            slots[slot(snapshotDay - k)] = value;
+                        }
+                    }
+                    if (skillType != null) {
+                        loaded.computeIfAbsent(skillType, type -> new HashMap<>()).put(playerId, slots);
+                        count++;
+                    }
+                }
+            }
+        }
+
+        for (SkillType type : SkillType.values()) {
+            buckets.get(type).clear();
+        }
+
+        if (snapshotDay > currentDay) {
+            currentDay = snapshotDay;
+        }
+        for (Map.Entry<SkillType, Map<UUID, double[]>> entry : loaded.entrySet()) {
+            for (Map.Entry<UUID, double[]> ringEntry : entry.getValue().entrySet()) {
+                Buckets ring = new Buckets(ringEntry.getKey(), snapshotDay);
+                System.arraycopy(ringEntry.getValue(), 0, ring.slots, 0, RING_DAYS);
+                if (recomputeSums(ring)) {
+                    buckets.get(entry.getKey()).put(ring.playerId, ring);
+                }
+            }
+        }
+
+        // Boards are rebuilt from the restored rings the first time each is read
+        for (Map<SkillType, Board> bySkill : boards.values()) {
+            for (Board board : bySkill.values()) {
+                board.reset();
+                board.complete = false;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Per-day XP buckets for one (player, skill) pair with cached window sums.
+     * The newest bucket belongs to {@code lastDay}; older days sit behind it in the ring.
+     */
+    private static class Buckets {
+        private final UUID playerId;
+        private final double[] slots = new double[RING_DAYS];
+        private final double[] sums = new double[Window.values().length];
+        private long lastDay;
+
+        private Buckets(UUID playerId, long lastDay) {
+            this.playerId = playerId;
+            this.lastDay = lastDay;
+        }
+    }
+
+    /**
+     * The top players of one (window, skill) pair, at most {@link #TOP_SIZE} of them.
+     * While XP only grows the board stays exact: a player outside it can only overtake
+     * by gaining XP, which offers them to the board. Once a ranked player's XP leaves the
+     * window someone outside may rank higher, so the board is marked incomplete.
+     */
+    private static class Board {
+        private final List<Standing> top = new ArrayList<>(TOP_SIZE + 1);
+        private boolean complete = true;
+
+        /**
+         * Offers a ring at its current window sum, keeping only the best entries.
+         */
+        private void offer(Buckets ring, double experience) {
+            Standing existing = null;
+            for (Standing standing : top) {
+                if (standing.ring == ring) {
+                    existing = standing;
+                    break;
+                }
+            }
+
+            if (existing != null) {
+                if (experience < existing.experience) {
+                    complete = false;
+                }
+                existing.experience = experience;
+            } else if (experience > 0.0) {
+                top.add(new Standing(ring, experience));
+            }
+            top.sort(STANDING_ORDER);
+            while (top.size() > TOP_SIZE) {
+                top.remove(top.size() - 1);
+            }
+        }
+
+        /**
+         * Rolls every ranked ring forward and refreshes its XP.
+         *
+         * @return false if the board may be missing players and must be rebuilt
+         */
+        private boolean revalidate(Window window, long today) {
+            for (Standing standing : top) {
+                advance(standing.ring, today);
+                double experience = standing.ring.sums[window.ordinal()];
+                if (experience < standing.experience) {
+                    complete = false;
+                }
+                standing.experience = experience;
+            }
+            return complete;
+        }
+
+        private void reset() {
+            top.clear();
+            complete = true;
+        }
+    }
+
+    /**
+     * A player's XP total within one window, as held on a board.
+     */
+    private static class Standing {
+        private final Buckets ring;
+        private double experience;
+
+        private Standing(Buckets ring, double experience) {
+            this.ring = ring;
+            this.experience = experience;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.skillsplugin.events;
+
+import com.example.skillsplugin.data.PlacedBlockTracker;
+import com.example.skillsplugin.skills.BonusManager;
+import com.example.skillsplugin.skills.ExperienceCalculator;
+import com.example.skillsplugin.skills.SkillType;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.Ageable;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Awards Mining, Woodcutting, Farming and custom block skill XP for broken blocks.
+ * These skills share one listener because a block awards at most one built-in skill and
+ * its placed flag must be cleared exactly once. Registered while any of them is enabled.
+ */
+public class BlockBreakListener implements Listener {
+
+    private final ExperienceCalculator experienceCalculator;
+    private final BonusManager bonusManager;
+    private final PlacedBlockTracker placedBlockTracker;
+    private final ExperienceAwarder awarder;
+    private final Logger logger;
+
+    /**
+     * Creates a new block break listener.
+     *
+     * @param experienceCalculator The calculator for determining XP amounts
+     * @param bonusManager The bonus manager for applying skill bonuses
+     * @param placedBlockTracker The tracker of player-placed blocks, or null to award XP for every block
+     * @param awarder Awards the XP and shows feedback
+     * @param logger The logger for error handling
+     */
+    public BlockBreakListener(ExperienceCalculator experienceCalculator, BonusManager bonusManager,
+                              PlacedBlockTracker placedBlockTracker, ExperienceAwarder awarder, Logger logger) {
+        this.experienceCalculator = experienceCalculator;
+        this.bonusManager = bonusManager;
+        this.placedBlockTracker = placedBlockTracker;
+        this.awarder = awarder;
+        this.logger = logger;
+    }
+
+    /**
+     * Handles block break events for Mining, Woodcutting, and Farming skills.
+     * Awards XP based on the type of block broken and applies skill bonuses.
+     * Optimized with early returns and minimal object creation.
+     *
+     * @param event The block break event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        try {
+            Player player = event.getPlayer();
+            if (player == null) {
+                return; // Early return for invalid player
+            }
+
+            Block block = event.getBlock();
+            Material material = block.getType();
+
+            // Player-placed blocks give no Mining or Woodcutting XP; clearing also forgets the block
+            boolean placed = placedBlockTracker != null && placedBlockTracker.clear(block);
+
+            // Custom skills earn XP alongside the built-in skill for the same block
+            if (!placed) {
+                awardCustomSkillXP(player, experienceCalculator.getCustomBlockSkills(), material);
+            }
+
+            // Check for Mining XP (most common, check first)
+            double miningXP = experienceCalculator.calculateMiningXP(material);
+            if (miningXP > 0) {
+                if (placed) {
+                    return;
+                }
+                awarder.award(player, SkillType.MINING, miningXP);
+                bonusManager.applyMiningBonus(player, block);
+                return; // Only award one skill type per action
+            }
+
+            // Check for Woodcutting XP
+            double woodcuttingXP = experienceCalculator.calculateWoodcuttingXP(material);
+            if (woodcuttingXP > 0) {
+                if (placed) {
+                    return;
+                }
+                awarder.award(player, SkillType.WOODCUTTING, woodcuttingXP);
+                bonusManager.applyWoodcuttingBonus(player, block);
+                return;
+            }
+
+            // Check for Farming XP (only mature crops) - check maturity first to avoid calculation
+            if (isMatureCrop(block)) {
+                double farmingXP = experienceCalculator.calculateFarmingXP(material);
+                if (farmingXP > 0) {
+                    awarder.award(player, SkillType.FARMING, farmingXP);
+                    bonusManager.applyFarmingBonus(player, block);
+                }
+            }
+
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error handling block break event", e);
+        }
+    }
+
+    /**
+     * Awards XP to every custom skill configured for a broken block.
+     */
+    private void awardCustomSkillXP(Player player, SkillType[] skills, Material block) {
+        if (skills == null) {
+            return;
+        }
+        for (SkillType skillType : skills) {
+            double xp = experienceCalculator.calculateBlockXP(skillType, block);
+            if (xp > 0) {
+                awarder.award(player, skillType, xp);
+            }
+        }
+    }
+
+    /**
+     * Checks if a block is a mature crop ready for harvest.
+     *
+     * @param block The block to check
+     * @return true if the block is a mature crop, false otherwise
+     */
+    private boolean isMatureCrop(Block block) {
+        Material material = block.getType();
+        BlockData blockData = block.getBlockData();
+
+        // Check if block is an ageable crop
+        if (blockData instanceof Ageable) {
+            Ageable ageable = (Ageable) blockData;
+            // Only award XP if crop is fully grown
+            return ageable.getAge() == ageable.getMaximumAge();
+        }
+
+        // Special cases for non-ageable crops
+        switch (material) {
+            case MELON:
+            case PUMPKIN:
+            case SUGAR_CANE:
+            case CACTUS:
+            case BAMBOO:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
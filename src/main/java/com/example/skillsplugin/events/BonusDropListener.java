@@ -0,0 +1,45 @@
+package com.example.skillsplugin.events;
+
+import com.example.skillsplugin.skills.BonusManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockDropItemEvent;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Merges Mining and Woodcutting bonus drops into the items a broken block drops.
+ * Only registered while bonuses and at least one of those skills are enabled.
+ */
+public class BonusDropListener implements Listener {
+
+    private final BonusManager bonusManager;
+    private final Logger logger;
+
+    /**
+     * Creates a new bonus drop listener.
+     *
+     * @param bonusManager The bonus manager holding the pending bonus drops
+     * @param logger The logger for error handling
+     */
+    public BonusDropListener(BonusManager bonusManager, Logger logger) {
+        this.bonusManager = bonusManager;
+        this.logger = logger;
+    }
+
+    /**
+     * Merges Mining and Woodcutting bonus drops into the items a broken block drops.
+     *
+     * @param event The block drop item event
+     */
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onBlockDropItem(BlockDropItemEvent event) {
+        try {
+            bonusManager.mergeBonusDrops(event.getPlayer(), event.getBlock(), event.getItems());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error handling block drop item event", e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.skillsplugin.events;
+
+import com.example.skillsplugin.skills.BonusManager;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Applies the Combat damage bonus.
+ * Damage events fire constantly around mob farms, so this listener is only
+ * registered while both bonuses and the Combat skill are enabled.
+ */
+public class CombatBonusListener implements Listener {
+
+    private final BonusManager bonusManager;
+    private final Logger logger;
+
+    /**
+     * Creates a new combat bonus listener.
+     *
+     * @param bonusManager The bonus manager for the damage multiplier
+     * @param logger The logger for error handling
+     */
+    public CombatBonusListener(BonusManager bonusManager, Logger logger) {
+        this.bonusManager = bonusManager;
+        this.logger = logger;
+    }
+
+    /**
+     * Handles entity damage events for Combat skill bonus.
+     * Applies damage multiplier based on Combat skill level.
+     * Optimized with early return and minimal calculations.
+     *
+     * @param event The entity damage event
+     */
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onEntityDamage(EntityDamageByEntityEvent event) {
+        try {
+            // Early return if not player damage
+            if (!(event.getDamager() instanceof Player)) {
+                return;
+            }
+
+            Player player = (Player) event.getDamager();
+
+            // Apply combat damage multiplier
+            double multiplier = bonusManager.getCombatDamageMultiplier(player);
+
+            // Only modify damage if there's actually a bonus (avoid unnecessary setDamage calls)
+            if (multiplier != 1.0) {
+                event.setDamage(event.getDamage() * multiplier);
+            }
+
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error handling entity damage event", e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.skillsplugin.events;
+
+import com.example.skillsplugin.skills.ExperienceCalculator;
+import com.example.skillsplugin.skills.SkillType;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDeathEvent;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Awards Combat and custom entity skill XP for mobs killed by players.
+ * Registered while Combat is enabled or a custom skill has entity XP configured.
+ */
+public class CombatListener implements Listener {
+
+    private final ExperienceCalculator experienceCalculator;
+    private final ExperienceAwarder awarder;
+    private final Logger logger;
+
+    /**
+     * Creates a new combat listener.
+     *
+     * @param experienceCalculator The calculator for determining XP amounts
+     * @param awarder Awards the XP and shows feedback
+     * @param logger The logger for error handling
+     */
+    public CombatListener(ExperienceCalculator experienceCalculator, ExperienceAwarder awarder, Logger logger) {
+        this.experienceCalculator = experienceCalculator;
+        this.awarder = awarder;
+        this.logger = logger;
+    }
+
+    /**
+     * Handles entity death events for Combat skill.
+     * Awards XP when a player kills a mob.
+     * Optimized with early returns.
+     *
+     * @param event The entity death event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityDeath(EntityDeathEvent event) {
+        try {
+            // Early return if not killed by a player
+            Player killer = event.getEntity().getKiller();
+            if (killer == null) {
+                return;
+            }
+
+            // Custom skills earn XP alongside Combat for the same kill
+            SkillType[] customSkills = experienceCalculator.getCustomEntitySkills();
+            if (customSkills != null) {
+                for (SkillType skillType : customSkills) {
+                    double xp = experienceCalculator.calculateEntityXP(skillType, event.getEntityType());
+                    if (xp > 0) {
+                        awarder.award(killer, skillType, xp);
+                    }
+                }
+            }
+
+            // Calculate and award XP
+            double combatXP = experienceCalculator.calculateCombatXP(event.getEntityType());
+            if (combatXP > 0) {
+                awarder.award(killer, SkillType.COMBAT, combatXP);
+            }
+
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error handling entity death event", e);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.skillsplugin.events;
+
+import com.example.skillsplugin.skills.BonusManager;
+import com.example.skillsplugin.skills.EnchantmentXpTable;
+import com.example.skillsplugin.skills.ExperienceCalculator;
+import com.example.skillsplugin.skills.SkillType;
+import org.bukkit.GameMode;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.enchantment.EnchantItemEvent;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.AnvilInventory;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.EnchantmentStorageMeta;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Awards Enchanting XP and applies the enchanting cost reduction.
+ * XP comes from the enchantments a player works with: those added at an enchanting table,
+ * applied from the second item at an anvil, or removed at a grindstone, each weighted by the
+ * compiled {@link EnchantmentXpTable}. Only registered while the Enchanting skill is enabled.
+ */
+public class EnchantingListener implements Listener {
+
+    private final ExperienceCalculator experienceCalculator;
+    private final BonusManager bonusManager;
+    private final ExperienceAwarder awarder;
+    private final Logger logger;
+
+    /**
+     * Creates a new enchanting listener.
+     *
+     * @param experienceCalculator The calculator for determining XP amounts
+     * @param bonusManager The bonus manager for the cost reduction
+     * @param awarder Awards the XP and shows feedback
+     * @param logger The logger for error handling
+     */
+    public EnchantingListener(ExperienceCalculator experienceCalculator, BonusManager bonusManager,
+                              ExperienceAwarder awarder, Logger logger) {
+        this.experienceCalculator = experienceCalculator;
+        this.bonusManager = bonusManager;
+        this.awarder = awarder;
+        this.logger = logger;
+    }
+
+    /**
+     * Handles enchant item events for Enchanting skill.
+     * Awards XP for the enchantments added and applies cost reduction bonus.
+     * Optimized with early validation.
+     *
+     * @param event The enchant item event
+     */
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onEnchantItem(EnchantItemEvent event) {
+        try {
+            Player player = event.getEnchanter();
+            if (player == null) {
+                return;
+            }
+
+            int originalCost = event.getExpLevelCost();
+
+            // Apply enchanting cost reduction
+            int reducedCost = bonusManager.getEnchantingCostReduction(player, originalCost);
+            if (reducedCost != originalCost) {
+                event.setExpLevelCost(reducedCost);
+            }
+
+            // Calculate and award XP from the enchantments actually added
+            double enchantingXP = experienceCalculator.calculateEnchantingXP(
+                    EnchantmentXpTable.Source.TABLE, event.getEnchantsToAdd());
+            if (enchantingXP > 0) {
+                awarder.award(player, SkillType.ENCHANTING, enchantingXP);
+            }
+
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error handling enchant item event", e);
+        }
+    }
+
+    /**
+     * Handles inventory click events for anvil and grindstone Enchanting XP.
+     * Spigot has no event for taking an anvil or grindstone result, so it is detected from
+     * clicks on the result slot. An anvil awards the enchantments of the second item, which are
+     * the ones being applied; a grindstone awards the enchantments of both inputs it removes.
+     *
+     * @param event The inventory click event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent event) {
+        try {
+            // Pre-filter: every click outside an anvil's or grindstone's result slot ends here
+            Inventory inventory = event.getInventory();
+            InventoryType type = inventory.getType();
+            if ((type != InventoryType.ANVIL && type != InventoryType.GRINDSTONE)
+                    || event.getSlotType() != InventoryType.SlotType.RESULT) {
+                return;
+            }
+            if (!(event.getWhoClicked() instanceof Player)) {
+                return;
+            }
+
+            ItemStack result = event.getCurrentItem();
+            if (isEmpty(result)) {
+                return;
+            }
+
+            Player player = (Player) event.getWhoClicked();
+            if (!takesResult(event, player, result)) {
+                return;
+            }
+            double enchantingXP;
+            if (type == InventoryType.ANVIL) {
+                if (!canAffordRepair(player, inventory)) {
+                    return;
+                }
+                enchantingXP = experienceCalculator.calculateEnchantingXP(
+                        EnchantmentXpTable.Source.ANVIL, enchantments(inventory.getItem(1)));
+            } else {
+                enchantingXP = experienceCalculator.calculateEnchantingXP(
+                        EnchantmentXpTable.Source.GRINDSTONE, enchantments(inventory.getItem(0)))
+                        + experienceCalculator.calculateEnchantingXP(
+                        EnchantmentXpTable.Source.GRINDSTONE, enchantments(inventory.getItem(1)));
+            }
+
+            if (enchantingXP > 0) {
+                awarder.award(player, SkillType.ENCHANTING, enchantingXP);
+            }
+
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error handling inventory click event for enchanting", e);
+        }
+    }
+
+    /**
+     * Checks if a click actually takes the result, consuming the inputs. Creative middle-click
+     * clones the result without using it up, and a click whose result has nowhere to go leaves
+     * everything in place.
+     */
+    private boolean takesResult(InventoryClickEvent event, Player player, ItemStack result) {
+        ClickType click = event.getClick();
+        if (click == null) {
+            return false;
+        }
+        switch (click) {
+            case LEFT:
+            case RIGHT:
+            case DROP:
+            case CONTROL_DROP:
+                // The result can't be picked up onto or dropped with an item already held
+                return isEmpty(event.getCursor());
+            case SHIFT_LEFT:
+            case SHIFT_RIGHT:
+                return freeSpace(player.getInventory(), result) >= result.getAmount();
+            case NUMBER_KEY:
+                return isEmpty(player.getInventory().getItem(event.getHotbarButton()));
+            case SWAP_OFFHAND:
+                return isEmpty(player.getInventory().getItemInOffHand());
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Counts how many of an item fit into a player's storage slots.
+     */
+    private int freeSpace(PlayerInventory inventory, ItemStack item) {
+        int maxStackSize = item.getMaxStackSize();
+        int space = 0;
+        for (ItemStack stack : inventory.getStorageContents()) {
+            if (isEmpty(stack)) {
+                space += maxStackSize;
+            } else if (stack.isSimilar(item)) {
+                space += Math.max(0, maxStackSize - stack.getAmount());
+            }
+        }
+        return space;
+    }
+
+    /**
+     * Checks if a player has the levels to take an anvil result; creative players always do.
+     */
+    private boolean canAffordRepair(Player player, Inventory inventory) {
+        if (player.getGameMode() == GameMode.CREATIVE || !(inventory instanceof AnvilInventory)) {
+            return true;
+        }
+        return player.getLevel() >= ((AnvilInventory) inventory).getRepairCost();
+    }
+
+    /**
+     * Gets the enchantments on an item, or those stored in an enchanted book.
+     */
+    private Map<Enchantment, Integer> enchantments(ItemStack item) {
+        if (isEmpty(item)) {
+            return null;
+        }
+        if (item.getType() == Material.ENCHANTED_BOOK) {
+            ItemMeta meta = item.getItemMeta();
+            return meta instanceof EnchantmentStorageMeta ? ((EnchantmentStorageMeta) meta).getStoredEnchants() : null;
+        }
+        return item.getEnchantments();
+    }
+
+    private static boolean isEmpty(ItemStack item) {
+        return item == null || item.getType() == Material.AIR || item.getAmount() <= 0;
+    }
+}
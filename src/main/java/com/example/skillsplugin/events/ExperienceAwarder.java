@@ -0,0 +1,110 @@
+package com.example.skillsplugin.events;
+
+import com.example.skillsplugin.data.PlayerDataManager;
+import com.example.skillsplugin.skills.BoosterManager;
+import com.example.skillsplugin.skills.ExperienceRateLimiter;
+import com.example.skillsplugin.skills.SkillProfile;
+import com.example.skillsplugin.skills.SkillType;
+import com.example.skillsplugin.ui.UIManager;
+import org.bukkit.entity.Player;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Awards skill experience on behalf of the skill listeners.
+ * Applies rate limiting and boosters, then handles XP gain messages, level-up
+ * feedback and saving, so every listener awards XP the same way.
+ */
+public class ExperienceAwarder {
+
+    private final PlayerDataManager playerDataManager;
+    private final UIManager uiManager;
+    private final Logger logger;
+    private ExperienceRateLimiter rateLimiter;
+    private BoosterManager boosterManager;
+
+    /**
+     * Creates a new experience awarder.
+     *
+     * @param playerDataManager The player data manager for awarding XP
+     * @param uiManager The UI manager for player feedback
+     * @param logger The logger for level-up saves
+     */
+    public ExperienceAwarder(PlayerDataManager playerDataManager, UIManager uiManager, Logger logger) {
+        this.playerDataManager = playerDataManager;
+        this.uiManager = uiManager;
+        this.logger = logger;
+    }
+
+    /**
+     * Sets the rate limiter applied to every XP award.
+     *
+     * @param rateLimiter The rate limiter, or null to award XP at full rate
+     */
+    public void setRateLimiter(ExperienceRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * @return The rate limiter, or null if XP is awarded at full rate
+     */
+    public ExperienceRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Sets the booster manager whose multipliers apply to every XP award.
+     *
+     * @param boosterManager The booster manager, or null to ignore boosters
+     */
+    public void setBoosterManager(BoosterManager boosterManager) {
+        this.boosterManager = boosterManager;
+    }
+
+    /**
+     * @return The booster manager, or null if boosters are ignored
+     */
+    public BoosterManager getBoosterManager() {
+        return boosterManager;
+    }
+
+    /**
+     * Awards experience to a player and triggers UI feedback.
+     * Handles both XP gain messages and level-up notifications.
+     * Saves player data after level-ups to prevent data loss.
+     *
+     * @param player The player to award XP to
+     * @param skillType The skill type to award XP for
+     * @param amount The amount of XP to award
+     */
+    public void award(Player player, SkillType skillType, double amount) {
+        if (rateLimiter != null) {
+            amount = rateLimiter.apply(player.getUniqueId(), skillType, amount);
+        }
+        // Boost after rate limiting so boosters never push a player into diminishing returns
+        if (boosterManager != null) {
+            amount *= boosterManager.getMultiplier(player.getUniqueId(), skillType);
+        }
+
+        PlayerDataManager.ExperienceResult result =
+            playerDataManager.awardExperience(player, skillType, amount);
+
+        // Show XP gain message
+        uiManager.sendXPGainMessage(player, skillType, result.getExperienceGained());
+
+        // Show level-up boss bar if leveled up
+        if (result.isLeveledUp()) {
+            SkillProfile profile = playerDataManager.getProfile(player.getUniqueId());
+            int newLevel = profile.getSkill(skillType).getLevel();
+            uiManager.showLevelUpBossBar(player, skillType, newLevel);
+
+            // Update display name if this skill is currently displayed
+            uiManager.updateDisplayNameIfNeeded(player, profile, skillType);
+
+            // Save player data immediately after level-up to prevent data loss
+            playerDataManager.saveProfile(player.getUniqueId());
+            logger.log(Level.FINE, "Saved profile for player " + player.getName() + " after leveling up " + skillType);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.skillsplugin.events;
+
+import com.example.skillsplugin.skills.BonusManager;
+import com.example.skillsplugin.skills.ExperienceCalculator;
+import com.example.skillsplugin.skills.SkillType;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerFishEvent;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Awards Fishing XP and applies the treasure bonus.
+ * Only registered while the Fishing skill is enabled.
+ */
+public class FishingListener implements Listener {
+
+    private final ExperienceCalculator experienceCalculator;
+    private final BonusManager bonusManager;
+    private final ExperienceAwarder awarder;
+    private final Logger logger;
+
+    /**
+     * Creates a new fishing listener.
+     *
+     * @param experienceCalculator The calculator for determining XP amounts
+     * @param bonusManager The bonus manager for the treasure bonus
+     * @param awarder Awards the XP and shows feedback
+     * @param logger The logger for error handling
+     */
+    public FishingListener(ExperienceCalculator experienceCalculator, BonusManager bonusManager,
+                           ExperienceAwarder awarder, Logger logger) {
+        this.experienceCalculator = experienceCalculator;
+        this.bonusManager = bonusManager;
+        this.awarder = awarder;
+        this.logger = logger;
+    }
+
+    /**
+     * Handles player fish events for Fishing skill.
+     * Awards XP when a player successfully catches something and applies fishing bonus.
+     * Optimized with early returns and reduced object creation.
+     *
+     * @param event The player fish event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerFish(PlayerFishEvent event) {
+        try {
+            // Early return if not a successful catch
+            if (event.getState() != PlayerFishEvent.State.CAUGHT_FISH) {
+                return;
+            }
+
+            Player player = event.getPlayer();
+            if (player == null) {
+                return;
+            }
+
+            // Get the caught item from the entity
+            ItemStack caught = null;
+            if (event.getCaught() instanceof org.bukkit.entity.Item) {
+                org.bukkit.entity.Item itemEntity = (org.bukkit.entity.Item) event.getCaught();
+                caught = itemEntity.getItemStack();
+
+                // Apply fishing bonus (may upgrade to treasure)
+                ItemStack bonusItem = bonusManager.applyFishingBonus(player, caught);
+                if (bonusItem != null && !bonusItem.equals(caught)) {
+                    itemEntity.setItemStack(bonusItem);
+                }
+            }
+
+            // Calculate and award XP
+            double fishingXP = experienceCalculator.calculateFishingXP(caught);
+            if (fishingXP > 0) {
+                awarder.award(player, SkillType.FISHING, fishingXP);
+            }
+
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error handling player fish event", e);
+        }
+    }
+}
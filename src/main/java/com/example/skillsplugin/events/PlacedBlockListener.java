@@ -0,0 +1,255 @@
+package com.example.skillsplugin.events;
+
+import com.example.skillsplugin.data.PlacedBlockTracker;
+import com.example.skillsplugin.skills.ExperienceCalculator;
+import org.bukkit.Chunk;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBurnEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFadeEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.block.LeavesDecayEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldSaveEvent;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the placed block tracker in step with the world.
+ * Records blocks placed by players that would otherwise give Mining or Woodcutting XP,
+ * follows them when pistons move them, forgets them when the world removes them,
+ * and loads and saves the tracker with chunks.
+ */
+public class PlacedBlockListener implements Listener {
+
+    private final PlacedBlockTracker tracker;
+    private final ExperienceCalculator experienceCalculator;
+    private final Logger logger;
+
+    /**
+     * Creates a new placed block listener.
+     *
+     * @param tracker The placed block tracker
+     * @param experienceCalculator The calculator used to decide which blocks are worth tracking
+     * @param logger The logger for error handling
+     */
+    public PlacedBlockListener(PlacedBlockTracker tracker, ExperienceCalculator experienceCalculator, Logger logger) {
+        this.tracker = tracker;
+        this.experienceCalculator = experienceCalculator;
+        this.logger = logger;
+    }
+
+    /**
+     * Records a block placed by a player if breaking it would award XP.
+     *
+     * @param event The block place event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        try {
+            Block block = event.getBlockPlaced();
+            Material material = block.getType();
+            if (experienceCalculator.calculateMiningXP(material) > 0
+                    || experienceCalculator.calculateWoodcuttingXP(material) > 0) {
+                tracker.markPlaced(block);
+            }
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error handling block place event", e);
+        }
+    }
+
+    /**
+     * Moves placed flags along with blocks pushed by a piston.
+     *
+     * @param event The piston extend event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        try {
+            moveBlocks(event.getBlocks(), event.getDirection());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error handling piston extend event", e);
+        }
+    }
+
+    /**
+     * Moves placed flags along with blocks pulled by a sticky piston.
+     *
+     * @param event The piston retract event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        try {
+            moveBlocks(event.getBlocks(), event.getDirection());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error handling piston retract event", e);
+        }
+    }
+
+    /**
+     * Forgets placed blocks destroyed by an exploding block, such as a bed in the Nether.
+     *
+     * @param event The block explode event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        try {
+            clearBlocks(event.blockList());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error handling block explode event", e);
+        }
+    }
+
+    /**
+     * Forgets placed blocks destroyed by an exploding entity, such as TNT or a creeper.
+     *
+     * @param event The entity explode event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        try {
+            clearBlocks(event.blockList());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error handling entity explode event", e);
+        }
+    }
+
+    /**
+     * Forgets a placed block destroyed by fire.
+     *
+     * @param event The block burn event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBurn(BlockBurnEvent event) {
+        try {
+            tracker.clear(event.getBlock());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error handling block burn event", e);
+        }
+    }
+
+    /**
+     * Forgets placed leaves that decay.
+     *
+     * @param event The leaves decay event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onLeavesDecay(LeavesDecayEvent event) {
+        try {
+            tracker.clear(event.getBlock());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error handling leaves decay event", e);
+        }
+    }
+
+    /**
+     * Forgets a placed block that fades or melts away.
+     *
+     * @param event The block fade event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFade(BlockFadeEvent event) {
+        try {
+            tracker.clear(event.getBlock());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error handling block fade event", e);
+        }
+    }
+
+    /**
+     * Loads the placed blocks of a chunk as it loads.
+     *
+     * @param event The chunk load event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        try {
+            Chunk chunk = event.getChunk();
+            tracker.loadChunk(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error handling chunk load event", e);
+        }
+    }
+
+    /**
+     * Writes out and releases the placed blocks of a chunk as it unloads.
+     *
+     * @param event The chunk unload event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        try {
+            Chunk chunk = event.getChunk();
+            tracker.unloadChunk(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error handling chunk unload event", e);
+        }
+    }
+
+    /**
+     * Saves changed placed blocks whenever the world saves.
+     *
+     * @param event The world save event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldSave(WorldSaveEvent event) {
+        try {
+            tracker.saveAll(true);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error handling world save event", e);
+        }
+    }
+
+    /**
+     * Clears the placed flags of blocks removed from the world.
+     */
+    private void clearBlocks(List<Block> blocks) {
+        for (Block block : blocks) {
+            tracker.clear(block);
+        }
+    }
+
+    /**
+     * Moves placed flags one block in a direction.
+     * All flags are cleared before any are set so blocks moving into each other's
+     * old positions keep their own state.
+     */
+    private void moveBlocks(List<Block> blocks, BlockFace direction) {
+        if (blocks.isEmpty()) {
+            return;
+        }
+
+        boolean[] placed = new boolean[blocks.size()];
+        boolean any = false;
+        for (int i = 0; i < placed.length; i++) {
+            placed[i] = tracker.clear(blocks.get(i));
+            any |= placed[i];
+        }
+        if (!any) {
+            return;
+        }
+
+        UUID worldId = blocks.get(0).getWorld().getUID();
+        for (int i = 0; i < placed.length; i++) {
+            if (placed[i]) {
+                Block block = blocks.get(i);
+                tracker.markPlaced(worldId,
+                    block.getX() + direction.getModX(),
+                    block.getY() + direction.getModY(),
+                    block.getZ() + direction.getModZ());
+            }
+        }
+    }
+}
@@ -51,7 +51,7 @@ public class PlayerConnectionListener implements Listener {
         
         try {
             // Load or create player profile
-            SkillProfile profile = playerDataManager.getProfile(playerId);
+            SkillProfile profile = playerDataManager.activateProfile(playerId);
             
             // Check if this is a first-time player
             boolean isNewPlayer = !playerDataManager.isCached(playerId) && profile.isNew();
@@ -68,7 +68,7 @@ public class PlayerConnectionListener implements Listener {
             
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error loading profile for player " + player.getName() + " (" + playerId + ")", e);
-            // Profile will be created with defaults by PlayerDataManager.getProfile()
+            // Profile will be created with defaults by PlayerDataManager.activateProfile()
         }
     }
     
@@ -100,6 +100,7 @@ public class PlayerConnectionListener implements Listener {
         }
         
         // Remove from cache - always execute even if previous steps fail
+        // Eviction is deferred until the save above lands, so a quick rejoin keeps the in-memory profile
         try {
             playerDataManager.removeFromCache(playerId);
             logger.log(Level.FINE, "Removed player from cache: " + player.getName() + " (" + playerId + ")");
@@ -1,46 +1,53 @@
 package com.example.skillsplugin.events;
 
+import com.example.skillsplugin.config.ConfigManager;
+import com.example.skillsplugin.data.PlacedBlockTracker;
 import com.example.skillsplugin.data.PlayerDataManager;
+import com.example.skillsplugin.metrics.LatencyHistogram;
+import com.example.skillsplugin.metrics.MetricsRegistry;
 import com.example.skillsplugin.skills.BonusManager;
+import com.example.skillsplugin.skills.BoosterManager;
 import com.example.skillsplugin.skills.ExperienceCalculator;
-import com.example.skillsplugin.skills.SkillProfile;
+import com.example.skillsplugin.skills.ExperienceRateLimiter;
 import com.example.skillsplugin.skills.SkillType;
 import com.example.skillsplugin.ui.UIManager;
-import org.bukkit.Material;
-import org.bukkit.block.Block;
-import org.bukkit.block.data.Ageable;
-import org.bukkit.block.data.BlockData;
-import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
-import org.bukkit.event.block.BlockBreakEvent;
-import org.bukkit.event.enchantment.EnchantItemEvent;
-import org.bukkit.event.entity.EntityDamageByEntityEvent;
-import org.bukkit.event.entity.EntityDeathEvent;
-import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.event.inventory.InventoryType;
-import org.bukkit.event.player.PlayerFishEvent;
-import org.bukkit.inventory.Inventory;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.MerchantInventory;
-import org.bukkit.inventory.MerchantRecipe;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
 
-import java.util.logging.Level;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Logger;
 
 /**
- * Listens to Minecraft events and awards skill experience to players.
- * Handles all skill-related gameplay actions including mining, woodcutting,
- * combat, farming, fishing, enchanting, and trading.
+ * Entry point for skill event handling.
+ * Owns the per-skill listener modules and registers only those whose skill or bonus is
+ * enabled; itself it only handles player joins and quits, which every module relies on.
  */
 public class SkillEventListener implements Listener {
     
-    private final PlayerDataManager playerDataManager;
     private final ExperienceCalculator experienceCalculator;
-    private final UIManager uiManager;
     private final BonusManager bonusManager;
-    private final Logger logger;
+    private final ExperienceAwarder awarder;
+    private final BlockBreakListener blockBreakListener;
+    private final BonusDropListener bonusDropListener;
+    private final CombatListener combatListener;
+    private final CombatBonusListener combatBonusListener;
+    private final FishingListener fishingListener;
+    private final EnchantingListener enchantingListener;
+    private final TradingListener tradingListener;
+    private final TradingDiscountListener tradingDiscountListener;
+    private final List<Listener> registeredModules = new ArrayList<>();
+    private MetricsRegistry metrics = MetricsRegistry.DISABLED;
     
     /**
      * Creates a new skill event listener.
@@ -56,297 +63,225 @@ public class SkillEventListener implements Listener {
                              UIManager uiManager,
                              BonusManager bonusManager,
                              Logger logger) {
-        this.playerDataManager = playerDataManager;
+        this(playerDataManager, experienceCalculator, uiManager, bonusManager, null, logger);
+    }
+    
+    /**
+     * Creates a new skill event listener that ignores player-placed blocks.
+     * 
+     * @param playerDataManager The player data manager for awarding XP
+     * @param experienceCalculator The calculator for determining XP amounts
+     * @param uiManager The UI manager for player feedback
+     * @param bonusManager The bonus manager for applying skill bonuses
+     * @param placedBlockTracker The tracker of player-placed blocks, or null to award XP for every block
+     * @param logger The logger for error handling
+     */
+    public SkillEventListener(PlayerDataManager playerDataManager, 
+                             ExperienceCalculator experienceCalculator,
+                             UIManager uiManager,
+                             BonusManager bonusManager,
+                             PlacedBlockTracker placedBlockTracker,
+                             Logger logger) {
         this.experienceCalculator = experienceCalculator;
-        this.uiManager = uiManager;
         this.bonusManager = bonusManager;
-        this.logger = logger;
+        this.awarder = new ExperienceAwarder(playerDataManager, uiManager, logger);
+        this.blockBreakListener = new BlockBreakListener(experienceCalculator, bonusManager, placedBlockTracker, awarder, logger);
+        this.bonusDropListener = new BonusDropListener(bonusManager, logger);
+        this.combatListener = new CombatListener(experienceCalculator, awarder, logger);
+        this.combatBonusListener = new CombatBonusListener(bonusManager, logger);
+        this.fishingListener = new FishingListener(experienceCalculator, bonusManager, awarder, logger);
+        this.enchantingListener = new EnchantingListener(experienceCalculator, bonusManager, awarder, logger);
+        this.tradingListener = new TradingListener(experienceCalculator, awarder, logger);
+        this.tradingDiscountListener = new TradingDiscountListener(bonusManager, logger);
     }
     
     /**
-     * Handles block break events for Mining, Woodcutting, and Farming skills.
-     * Awards XP based on the type of block broken and applies skill bonuses.
-     * Optimized with early returns and minimal object creation.
+     * Sets the rate limiter applied to every XP award.
      * 
-     * @param event The block break event
+     * @param rateLimiter The rate limiter, or null to award XP at full rate
      */
-    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
-    public void onBlockBreak(BlockBreakEvent event) {
-        try {
-            Player player = event.getPlayer();
-            if (player == null) {
-                return; // Early return for invalid player
-            }
-            
-            Block block = event.getBlock();
-            Material material = block.getType();
-            
-            // Check for Mining XP (most common, check first)
-            double miningXP = experienceCalculator.calculateMiningXP(material);
-            if (miningXP > 0) {
-                awardExperienceAndNotify(player, SkillType.MINING, miningXP);
-                bonusManager.applyMiningBonus(player, block);
-                return; // Only award one skill type per action
-            }
-            
-            // Check for Woodcutting XP
-            double woodcuttingXP = experienceCalculator.calculateWoodcuttingXP(material);
-            if (woodcuttingXP > 0) {
-                awardExperienceAndNotify(player, SkillType.WOODCUTTING, woodcuttingXP);
-                bonusManager.applyWoodcuttingBonus(player, block);
-                return;
-            }
-            
-            // Check for Farming XP (only mature crops) - check maturity first to avoid calculation
-            if (isMatureCrop(block)) {
-                double farmingXP = experienceCalculator.calculateFarmingXP(material);
-                if (farmingXP > 0) {
-                    awardExperienceAndNotify(player, SkillType.FARMING, farmingXP);
-                    bonusManager.applyFarmingBonus(player, block);
-                }
-            }
-            
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Error handling block break event", e);
-        }
+    public void setRateLimiter(ExperienceRateLimiter rateLimiter) {
+        awarder.setRateLimiter(rateLimiter);
     }
     
     /**
-     * Handles entity damage events for Combat skill bonus.
-     * Applies damage multiplier based on Combat skill level.
-     * Optimized with early return and minimal calculations.
+     * Sets the booster manager whose multipliers apply to every XP award.
      * 
-     * @param event The entity damage event
+     * @param boosterManager The booster manager, or null to ignore boosters
      */
-    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
-    public void onEntityDamage(EntityDamageByEntityEvent event) {
-        try {
-            // Early return if not player damage
-            if (!(event.getDamager() instanceof Player)) {
-                return;
-            }
-            
-            Player player = (Player) event.getDamager();
-            
-            // Apply combat damage multiplier
-            double multiplier = bonusManager.getCombatDamageMultiplier(player);
-            
-            // Only modify damage if there's actually a bonus (avoid unnecessary setDamage calls)
-            if (multiplier != 1.0) {
-                event.setDamage(event.getDamage() * multiplier);
-            }
-            
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Error handling entity damage event", e);
-        }
+    public void setBoosterManager(BoosterManager boosterManager) {
+        awarder.setBoosterManager(boosterManager);
     }
     
     /**
-     * Handles entity death events for Combat skill.
-     * Awards XP when a player kills a mob.
-     * Optimized with early returns.
+     * Sets the registry that times each module's event handlers while metrics are enabled.
+     * Takes effect the next time the modules are registered.
      * 
-     * @param event The entity death event
+     * @param metrics The metrics registry
      */
-    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
-    public void onEntityDeath(EntityDeathEvent event) {
-        try {
-            // Early return if not killed by a player
-            Player killer = event.getEntity().getKiller();
-            if (killer == null) {
-                return;
-            }
-            
-            // Calculate and award XP
-            double combatXP = experienceCalculator.calculateCombatXP(event.getEntityType());
-            if (combatXP > 0) {
-                awardExperienceAndNotify(killer, SkillType.COMBAT, combatXP);
-            }
-            
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Error handling entity death event", e);
-        }
+    public void setMetrics(MetricsRegistry metrics) {
+        this.metrics = metrics;
     }
     
     /**
-     * Handles player fish events for Fishing skill.
-     * Awards XP when a player successfully catches something and applies fishing bonus.
-     * Optimized with early returns and reduced object creation.
+     * Gets the awarder shared by every listener module.
      * 
-     * @param event The player fish event
+     * @return The experience awarder
      */
-    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
-    public void onPlayerFish(PlayerFishEvent event) {
-        try {
-            // Early return if not a successful catch
-            if (event.getState() != PlayerFishEvent.State.CAUGHT_FISH) {
-                return;
-            }
-            
-            Player player = event.getPlayer();
-            if (player == null) {
-                return;
-            }
-            
-            // Get the caught item from the entity
-            ItemStack caught = null;
-            if (event.getCaught() instanceof org.bukkit.entity.Item) {
-                org.bukkit.entity.Item itemEntity = (org.bukkit.entity.Item) event.getCaught();
-                caught = itemEntity.getItemStack();
-                
-                // Apply fishing bonus (may upgrade to treasure)
-                ItemStack bonusItem = bonusManager.applyFishingBonus(player, caught);
-                if (bonusItem != null && !bonusItem.equals(caught)) {
-                    itemEntity.setItemStack(bonusItem);
-                }
-            }
-            
-            // Calculate and award XP
-            double fishingXP = experienceCalculator.calculateFishingXP(caught);
-            if (fishingXP > 0) {
-                awardExperienceAndNotify(player, SkillType.FISHING, fishingXP);
-            }
-            
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Error handling player fish event", e);
-        }
+    public ExperienceAwarder getAwarder() {
+        return awarder;
     }
     
     /**
-     * Handles enchant item events for Enchanting skill.
-     * Awards XP when a player enchants an item and applies cost reduction bonus.
-     * Optimized with early validation.
+     * Registers the listener modules for every enabled skill and bonus, replacing any
+     * modules registered before. Called on enable and again after each config reload,
+     * so disabled skills cost nothing on the events they would have handled.
      * 
-     * @param event The enchant item event
+     * @param plugin The plugin to register the modules for
+     * @param configManager The configuration deciding which modules are needed
+     * @return The names of the registered modules
      */
-    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
-    public void onEnchantItem(EnchantItemEvent event) {
-        try {
-            Player player = event.getEnchanter();
-            if (player == null) {
-                return;
-            }
-            
-            int originalCost = event.getExpLevelCost();
-            
-            // Apply enchanting cost reduction
-            int reducedCost = bonusManager.getEnchantingCostReduction(player, originalCost);
-            if (reducedCost != originalCost) {
-                event.setExpLevelCost(reducedCost);
-            }
-            
-            // Calculate and award XP
-            double enchantingXP = experienceCalculator.calculateEnchantingXP(originalCost);
-            if (enchantingXP > 0) {
-                awardExperienceAndNotify(player, SkillType.ENCHANTING, enchantingXP);
-            }
-            
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Error handling enchant item event", e);
+    public List<String> registerModules(Plugin plugin, ConfigManager configManager) {
+        unregisterModules();
+        
+        boolean bonuses = configManager.areBonusesEnabled();
+        boolean mining = configManager.isSkillEnabled(SkillType.MINING);
+        boolean woodcutting = configManager.isSkillEnabled(SkillType.WOODCUTTING);
+        boolean combat = configManager.isSkillEnabled(SkillType.COMBAT);
+        
+        List<String> names = new ArrayList<>();
+        if (mining || woodcutting || configManager.isSkillEnabled(SkillType.FARMING)
+                || experienceCalculator.getCustomBlockSkills().length > 0) {
+            registerModule(plugin, blockBreakListener, names);
+        }
+        if (bonuses && (mining || woodcutting)) {
+            registerModule(plugin, bonusDropListener, names);
+        }
+        if (combat || experienceCalculator.getCustomEntitySkills().length > 0) {
+            registerModule(plugin, combatListener, names);
+        }
+        if (bonuses && combat) {
+            registerModule(plugin, combatBonusListener, names);
+        }
+        if (configManager.isSkillEnabled(SkillType.FISHING)) {
+            registerModule(plugin, fishingListener, names);
+        }
+        if (configManager.isSkillEnabled(SkillType.ENCHANTING)) {
+            registerModule(plugin, enchantingListener, names);
+        }
+        boolean trading = configManager.isSkillEnabled(SkillType.TRADING);
+        if (trading) {
+            registerModule(plugin, tradingListener, names);
         }
+        if (bonuses && trading) {
+            registerModule(plugin, tradingDiscountListener, names);
+        }
+        return names;
+    }
+    
+    private void registerModule(Plugin plugin, Listener module, List<String> names) {
+        if (metrics.isEnabled()) {
+            registerTimedHandlers(plugin, module);
+        } else {
+            plugin.getServer().getPluginManager().registerEvents(module, plugin);
+        }
+        registeredModules.add(module);
+        names.add(module.getClass().getSimpleName());
     }
     
     /**
-     * Handles inventory click events for Trading skill.
-     * Awards XP when a player completes a trade with a villager.
-     * Optimized with early returns to minimize processing.
+     * Registers each of a module's event handlers through an executor that records its time
+     * in the "handler.&lt;module&gt;.&lt;method&gt;" histogram. Only used while metrics are
+     * enabled, so handlers registered with metrics off run exactly as Bukkit calls them.
      * 
-     * @param event The inventory click event
+     * @param plugin The plugin to register the handlers for
+     * @param module The listener module
      */
-    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
-    public void onInventoryClick(InventoryClickEvent event) {
-        try {
-            // Early return: Check if player is clicking the result slot (slot 2 in merchant inventory)
-            if (event.getRawSlot() != 2) {
-                return;
-            }
-            
-            // Early return: Check if this is a merchant/villager trade
-            Inventory inventory = event.getInventory();
-            if (!(inventory instanceof MerchantInventory)) {
-                return;
-            }
-            
-            // Early return: Ensure it's a player
-            if (!(event.getWhoClicked() instanceof Player)) {
-                return;
+    private void registerTimedHandlers(Plugin plugin, Listener module) {
+        for (Method method : module.getClass().getMethods()) {
+            EventHandler handler = method.getAnnotation(EventHandler.class);
+            if (handler == null || method.getParameterCount() != 1
+                    || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                continue;
             }
-            
-            Player player = (Player) event.getWhoClicked();
-            MerchantInventory merchantInventory = (MerchantInventory) inventory;
-            MerchantRecipe selectedRecipe = merchantInventory.getSelectedRecipe();
-            
-            // Award XP if a valid trade was made
-            if (selectedRecipe != null) {
-                double tradingXP = experienceCalculator.calculateTradingXP(selectedRecipe);
-                if (tradingXP > 0) {
-                    awardExperienceAndNotify(player, SkillType.TRADING, tradingXP);
-                }
-            }
-            
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Error handling inventory click event for trading", e);
+            Class<? extends Event> eventClass = method.getParameterTypes()[0].asSubclass(Event.class);
+            LatencyHistogram histogram = metrics.histogram(
+                "handler." + module.getClass().getSimpleName() + "." + method.getName());
+            plugin.getServer().getPluginManager().registerEvent(eventClass, module, handler.priority(),
+                new TimedExecutor(method, eventClass, histogram), plugin, handler.ignoreCancelled());
         }
     }
     
     /**
-     * Awards experience to a player and triggers UI feedback.
-     * Handles both XP gain messages and level-up notifications.
-     * Saves player data after level-ups to prevent data loss.
-     * 
-     * @param player The player to award XP to
-     * @param skillType The skill type to award XP for
-     * @param amount The amount of XP to award
+     * Unregisters every listener module registered by {@link #registerModules}
+     * and puts back any villager prices still lowered by the trading discount.
      */
-    private void awardExperienceAndNotify(Player player, SkillType skillType, double amount) {
-        PlayerDataManager.ExperienceResult result = 
-            playerDataManager.awardExperience(player, skillType, amount);
-        
-        // Show XP gain message
-        uiManager.sendXPGainMessage(player, skillType, result.getExperienceGained());
-        
-        // Show level-up boss bar if leveled up
-        if (result.isLeveledUp()) {
-            SkillProfile profile = playerDataManager.getProfile(player.getUniqueId());
-            int newLevel = profile.getSkill(skillType).getLevel();
-            uiManager.showLevelUpBossBar(player, skillType, newLevel);
-            
-            // Update display name if this skill is currently displayed
-            uiManager.updateDisplayNameIfNeeded(player, profile, skillType);
-            
-            // Save player data immediately after level-up to prevent data loss
-            playerDataManager.saveProfile(player.getUniqueId());
-            logger.log(Level.FINE, "Saved profile for player " + player.getName() + " after leveling up " + skillType);
+    public void unregisterModules() {
+        for (Listener module : registeredModules) {
+            HandlerList.unregisterAll(module);
         }
+        registeredModules.clear();
+        tradingDiscountListener.restoreAll();
+    }
+    
+    /**
+     * Drops any bonus state cached for a joining player so their freshly loaded profile is used.
+     * 
+     * @param event The player join event
+     */
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        bonusManager.invalidate(event.getPlayer().getUniqueId());
     }
     
     /**
-     * Checks if a block is a mature crop ready for harvest.
+     * Releases a leaving player's rate limiter slot, cached bonuses and booster multipliers.
      * 
-     * @param block The block to check
-     * @return true if the block is a mature crop, false otherwise
+     * @param event The player quit event
      */
-    private boolean isMatureCrop(Block block) {
-        Material material = block.getType();
-        BlockData blockData = block.getBlockData();
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        bonusManager.invalidate(event.getPlayer().getUniqueId());
+        ExperienceRateLimiter rateLimiter = awarder.getRateLimiter();
+        BoosterManager boosterManager = awarder.getBoosterManager();
+        if (rateLimiter != null) {
+            rateLimiter.release(event.getPlayer().getUniqueId());
+        }
+        if (boosterManager != null) {
+            boosterManager.forget(event.getPlayer().getUniqueId());
+        }
+    }
+    
+    /**
+     * Calls one event handler and records how long it took.
+     */
+    private static final class TimedExecutor implements EventExecutor {
+        private final Method method;
+        private final Class<? extends Event> eventClass;
+        private final LatencyHistogram histogram;
         
-        // Check if block is an ageable crop
-        if (blockData instanceof Ageable) {
-            Ageable ageable = (Ageable) blockData;
-            // Only award XP if crop is fully grown
-            return ageable.getAge() == ageable.getMaximumAge();
+        private TimedExecutor(Method method, Class<? extends Event> eventClass, LatencyHistogram histogram) {
+            this.method = method;
+            this.eventClass = eventClass;
+            this.histogram = histogram;
         }
         
-        // Special cases for non-ageable crops
-        switch (material) {
-            case MELON:
-            case PUMPKIN:
-            case SUGAR_CANE:
-            case CACTUS:
-            case BAMBOO:
-                return true;
-            default:
-                return false;
+        @Override
+        public void execute(Listener listener, Event event) throws EventException {
+            // Bukkit passes every event sharing the handler list, not only this type
+            if (!eventClass.isInstance(event)) {
+                return;
+            }
+            long start = histogram.start();
+            try {
+                method.invoke(listener, event);
+            } catch (InvocationTargetException e) {
+                throw new EventException(e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new EventException(e);
+            } finally {
+                histogram.stop(start);
+            }
         }
     }
 }
@@ -0,0 +1,229 @@
+package com.example.skillsplugin.events;
+
+import com.example.skillsplugin.skills.BonusManager;
+import org.bukkit.entity.AbstractVillager;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.Merchant;
+import org.bukkit.inventory.MerchantInventory;
+import org.bukkit.inventory.MerchantRecipe;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Applies the Trading discount to villager prices while a player has the trade screen open.
+ *
+ * When a merchant opens, each offer's special price is lowered by the player's discount of the
+ * offer's base price, the same mechanism vanilla uses for reputation and Hero of the Village, so
+ * the discount shows in the trade screen and every trade made through it. The price cuts are
+ * cached per (villager, discount tier) and the original special prices are restored on close.
+ * Nothing is computed or allocated per trade.
+ *
+ * Only registered while both bonuses and the Trading skill are enabled.
+ */
+public class TradingDiscountListener implements Listener {
+
+    // Villagers whose price cuts are remembered; the least recently traded with are dropped first
+    private static final int MAX_CACHED_MERCHANTS = 512;
+
+    private final BonusManager bonusManager;
+    private final Logger logger;
+    private final Map<DiscountKey, int[]> priceCuts;
+    private final Map<UUID, OpenTrade> openTrades;
+
+    /**
+     * Creates a new trading discount listener.
+     *
+     * @param bonusManager The bonus manager for the discount per Trading level
+     * @param logger The logger for error handling
+     */
+    public TradingDiscountListener(BonusManager bonusManager, Logger logger) {
+        this.bonusManager = bonusManager;
+        this.logger = logger;
+        this.priceCuts = new LinkedHashMap<DiscountKey, int[]>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<DiscountKey, int[]> eldest) {
+                return size() > MAX_CACHED_MERCHANTS;
+            }
+        };
+        this.openTrades = new HashMap<>();
+    }
+
+    /**
+     * Lowers a villager's prices for the player opening its trade screen.
+     *
+     * @param event The inventory open event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryOpen(InventoryOpenEvent event) {
+        try {
+            Inventory inventory = event.getInventory();
+            if (inventory.getType() != InventoryType.MERCHANT || !(inventory instanceof MerchantInventory)) {
+                return;
+            }
+            if (!(event.getPlayer() instanceof Player)) {
+                return;
+            }
+
+            // Plugin-created merchants have no identity to cache by and are left alone
+            Merchant merchant = ((MerchantInventory) inventory).getMerchant();
+            if (!(merchant instanceof AbstractVillager)) {
+                return;
+            }
+
+            Player player = (Player) event.getPlayer();
+            int tier = (int) Math.round((1.0 - bonusManager.getTradingDiscount(player)) * 100.0);
+            if (tier <= 0) {
+                return;
+            }
+
+            int[] cuts = getPriceCuts(((AbstractVillager) merchant).getUniqueId(), tier, merchant);
+            int[] originals = new int[cuts.length];
+            for (int i = 0; i < cuts.length; i++) {
+                MerchantRecipe recipe = merchant.getRecipe(i);
+                originals[i] = recipe.getSpecialPrice();
+                if (cuts[i] > 0) {
+                    recipe.setSpecialPrice(originals[i] - cuts[i]);
+                }
+            }
+
+            OpenTrade previous = openTrades.put(player.getUniqueId(), new OpenTrade(merchant, originals));
+            if (previous != null) {
+                previous.restore();
+            }
+
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error applying trading discount", e);
+        }
+    }
+
+    /**
+     * Restores a villager's prices when the player closes its trade screen.
+     *
+     * @param event The inventory close event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryClose(InventoryCloseEvent event) {
+        if (openTrades.isEmpty()) {
+            return;
+        }
+        try {
+            OpenTrade trade = openTrades.remove(event.getPlayer().getUniqueId());
+            if (trade != null) {
+                trade.restore();
+            }
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error restoring villager prices", e);
+        }
+    }
+
+    /**
+     * Restores the prices of every villager still being traded with.
+     * Called when the listener is unregistered so no discount outlives it.
+     */
+    public void restoreAll() {
+        for (OpenTrade trade : openTrades.values()) {
+            try {
+                trade.restore();
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Error restoring villager prices", e);
+            }
+        }
+        openTrades.clear();
+        priceCuts.clear();
+    }
+
+    /**
+     * @return The number of players currently trading at a discount
+     */
+    public int getOpenTradeCount() {
+        return openTrades.size();
+    }
+
+    /**
+     * Gets the price cut for each of a villager's offers at a discount tier, computing it only
+     * the first time or when the villager's offers changed (e.g. it levelled up).
+     */
+    private int[] getPriceCuts(UUID merchantId, int tier, Merchant merchant) {
+        DiscountKey key = new DiscountKey(merchantId, tier);
+        int recipeCount = merchant.getRecipeCount();
+        int[] cuts = priceCuts.get(key);
+        if (cuts != null && cuts.length == recipeCount) {
+            return cuts;
+        }
+
+        cuts = new int[recipeCount];
+        for (int i = 0; i < recipeCount; i++) {
+            List<ItemStack> ingredients = merchant.getRecipe(i).getIngredients();
+            if (!ingredients.isEmpty() && ingredients.get(0) != null) {
+                cuts[i] = ingredients.get(0).getAmount() * tier / 100;
+            }
+        }
+        priceCuts.put(key, cuts);
+        return cuts;
+    }
+
+    /**
+     * Cache key for a villager's price cuts at one discount tier (whole percent).
+     */
+    private static final class DiscountKey {
+        private final UUID merchantId;
+        private final int tier;
+
+        private DiscountKey(UUID merchantId, int tier) {
+            this.merchantId = merchantId;
+            this.tier = tier;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DiscountKey)) {
+                return false;
+            }
+            DiscountKey other = (DiscountKey) o;
+            return tier == other.tier && merchantId.equals(other.merchantId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(merchantId, tier);
+        }
+    }
+
+    /**
+     * A villager whose prices were lowered, with the special prices to put back.
+     */
+    private static final class OpenTrade {
+        private final Merchant merchant;
+        private final int[] originalSpecialPrices;
+
+        private OpenTrade(Merchant merchant, int[] originalSpecialPrices) {
+            this.merchant = merchant;
+            this.originalSpecialPrices = originalSpecialPrices;
+        }
+
+        private void restore() {
+            int count = Math.min(originalSpecialPrices.length, merchant.getRecipeCount());
+            for (int i = 0; i < count; i++) {
+                merchant.getRecipe(i).setSpecialPrice(originalSpecialPrices[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.skillsplugin.events;
+
+import com.example.skillsplugin.skills.ExperienceCalculator;
+import com.example.skillsplugin.skills.SkillType;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.MerchantInventory;
+import org.bukkit.inventory.MerchantRecipe;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Awards Trading XP for villager trades.
+ * Spigot has no trade-completed event, so trades are detected from clicks on a merchant's
+ * result slot. Inventory clicks are the busiest event on most servers: the inventory and slot
+ * type are checked before anything else, and the listener is only registered while Trading is enabled.
+ */
+public class TradingListener implements Listener {
+
+    private final ExperienceCalculator experienceCalculator;
+    private final ExperienceAwarder awarder;
+    private final Logger logger;
+
+    /**
+     * Creates a new trading listener.
+     *
+     * @param experienceCalculator The calculator for determining XP amounts
+     * @param awarder Awards the XP and shows feedback
+     * @param logger The logger for error handling
+     */
+    public TradingListener(ExperienceCalculator experienceCalculator, ExperienceAwarder awarder, Logger logger) {
+        this.experienceCalculator = experienceCalculator;
+        this.awarder = awarder;
+        this.logger = logger;
+    }
+
+    /**
+     * Handles inventory click events for Trading skill.
+     * Awards XP when a player takes the result of a villager trade; a shift-click that
+     * performs several trades at once is credited in a single award.
+     *
+     * @param event The inventory click event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent event) {
+        try {
+            // Pre-filter: every click outside a merchant's result slot ends here
+            Inventory inventory = event.getInventory();
+            if (inventory.getType() != InventoryType.MERCHANT || event.getSlotType() != InventoryType.SlotType.RESULT) {
+                return;
+            }
+            if (!(inventory instanceof MerchantInventory) || !(event.getWhoClicked() instanceof Player)) {
+                return;
+            }
+
+            // An empty result slot means the offered items don't pay for the trade
+            ItemStack result = event.getCurrentItem();
+            if (result == null || result.getType() == Material.AIR || result.getAmount() <= 0) {
+                return;
+            }
+
+            MerchantInventory merchantInventory = (MerchantInventory) inventory;
+            MerchantRecipe selectedRecipe = merchantInventory.getSelectedRecipe();
+            if (selectedRecipe == null) {
+                return;
+            }
+
+            Player player = (Player) event.getWhoClicked();
+            int trades = event.isShiftClick()
+                    ? countShiftClickTrades(player, merchantInventory, selectedRecipe, result)
+                    : (canTakeOntoCursor(event.getCursor(), result) ? 1 : 0);
+            if (trades <= 0) {
+                return;
+            }
+
+            double tradingXP = experienceCalculator.calculateTradingXP(selectedRecipe);
+            if (tradingXP > 0) {
+                awarder.award(player, SkillType.TRADING, tradingXP * trades);
+            }
+
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error handling inventory click event for trading", e);
+        }
+    }
+
+    /**
+     * Checks if a normal click can pick up the trade result with the item already on the cursor.
+     */
+    private boolean canTakeOntoCursor(ItemStack cursor, ItemStack result) {
+        if (cursor == null || cursor.getType() == Material.AIR) {
+            return true;
+        }
+        return cursor.isSimilar(result) && cursor.getAmount() + result.getAmount() <= cursor.getMaxStackSize();
+    }
+
+    /**
+     * Counts how many trades a shift-click will perform. The click repeats the trade until the
+     * offered items run out, the recipe reaches its use limit, or the player's inventory is full.
+     * The event fires before the trades happen, so the merchant slots still hold the full payment.
+     */
+    private int countShiftClickTrades(Player player, MerchantInventory inventory, MerchantRecipe recipe, ItemStack result) {
+        int trades = recipe.getMaxUses() - recipe.getUses();
+
+        List<ItemStack> ingredients = recipe.getIngredients();
+        for (int i = 0; i < ingredients.size() && i < 2 && trades > 0; i++) {
+            // The first ingredient's price includes discounts and demand
+            ItemStack required = i == 0 && recipe.getAdjustedIngredient1() != null
+                    ? recipe.getAdjustedIngredient1() : ingredients.get(i);
+            if (required == null || required.getType() == Material.AIR || required.getAmount() <= 0) {
+                continue;
+            }
+            ItemStack offered = inventory.getItem(i);
+            int available = offered != null && offered.getType() == required.getType() ? offered.getAmount() : 0;
+            trades = Math.min(trades, available / required.getAmount());
+        }
+
+        if (trades > 0) {
+            trades = Math.min(trades, freeSpace(player.getInventory(), result) / result.getAmount());
+        }
+        return trades;
+    }
+
+    /**
+     * Counts how many of an item fit into a player's storage slots.
+     */
+    private int freeSpace(PlayerInventory inventory, ItemStack item) {
+        int maxStackSize = item.getMaxStackSize();
+        int space = 0;
+        for (ItemStack stack : inventory.getStorageContents()) {
+            if (stack == null || stack.getType() == Material.AIR) {
+                space += maxStackSize;
+            } else if (stack.isSimilar(item)) {
+                space += Math.max(0, maxStackSize - stack.getAmount());
+            }
+        }
+        return space;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.skillsplugin.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free count that only moves while its registry is enabled.
+ */
+public class Counter {
+
+    private final MetricsRegistry registry;
+    private final LongAdder count = new LongAdder();
+
+    Counter(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Adds one, if metrics are enabled.
+     */
+    public void increment() {
+        if (registry.isEnabled()) {
+            count.increment();
+        }
+    }
+
+    /**
+     * Gets the current count.
+     *
+     * @return The count since creation or the last reset
+     */
+    public long get() {
+        return count.sum();
+    }
+
+    void reset() {
+        count.reset();
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.skillsplugin.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with fixed power-of-two buckets in microseconds: under 1 µs,
+ * then [1, 2), [2, 4) and so on up to about 4 seconds, with everything slower in the last
+ * bucket. Recording is one array increment plus a sum, and percentiles are reported as the
+ * upper bound of the bucket they fall in, so they are accurate to within a factor of two.
+ *
+ * Time work with {@link #start()} and {@link #stop(long)}; while the registry is disabled
+ * start does not read the clock and stop does nothing.
+ */
+public class LatencyHistogram {
+
+    /**
+     * Returned by {@link #start()} while metrics are disabled.
+     */
+    public static final long NOT_STARTED = Long.MIN_VALUE;
+
+    static final int BUCKET_COUNT = 24;
+
+    private final MetricsRegistry registry;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    LatencyHistogram(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Starts timing, if metrics are enabled.
+     *
+     * @return The start time to pass to {@link #stop(long)}, or {@link #NOT_STARTED}
+     */
+    public long start() {
+        return registry.isEnabled() ? System.nanoTime() : NOT_STARTED;
+    }
+
+    /**
+     * Records the time since {@link #start()}. Does nothing if timing was not started.
+     *
+     * @param startNanos The value returned by start
+     */
+    public void stop(long startNanos) {
+        if (startNanos != NOT_STARTED) {
+            record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos The latency in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.incrementAndGet(bucketFor(nanos));
+        totalNanos.add(nanos);
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * Gets the number of recorded latencies.
+     *
+     * @return The count
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Gets the mean latency.
+     *
+     * @return The mean in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getMeanNanos() {
+        long count = getCount();
+        return count == 0 ? 0 : totalNanos.sum() / count;
+    }
+
+    /**
+     * Gets the highest recorded latency.
+     *
+     * @return The maximum in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Gets an upper bound for a percentile: the top of the bucket holding it, or the
+     * maximum if that is lower.
+     *
+     * @param percentile The percentile, from 0 to 100
+     * @return The bound in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundNanos(i), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        totalNanos.reset();
+        maxNanos.set(0);
+    }
+
+    static int bucketFor(long nanos) {
+        long micros = nanos / 1_000;
+        return Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKET_COUNT - 1);
+    }
+
+    static long upperBoundNanos(int bucket) {
+        return bucket >= BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) * 1_000;
+    }
+}
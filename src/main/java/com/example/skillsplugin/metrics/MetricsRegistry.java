@@ -0,0 +1,117 @@
+package com.example.skillsplugin.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Named counters and latency histograms for the plugin's hot paths, shown by /skills admin stats.
+ * Components look up their metrics once and keep them in fields, so recording never touches the
+ * registry's maps. While the registry is disabled, every counter and histogram returns after a
+ * single volatile read and timers skip {@link System#nanoTime()} entirely.
+ *
+ * Recording is lock-free and safe from any thread, including async saves.
+ */
+public class MetricsRegistry {
+
+    /**
+     * A registry that is never enabled, used by components until a real registry is set.
+     */
+    public static final MetricsRegistry DISABLED = new MetricsRegistry(false);
+
+    private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+    private volatile boolean enabled;
+    private volatile long resetAtMillis = System.currentTimeMillis();
+
+    /**
+     * Creates a registry.
+     *
+     * @param enabled Whether metrics are recorded from the start
+     */
+    public MetricsRegistry(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Checks if metrics are being recorded.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts or stops recording. Values recorded so far are kept.
+     *
+     * @param enabled Whether to record metrics
+     * @throws IllegalStateException If called to enable {@link #DISABLED}
+     */
+    public void setEnabled(boolean enabled) {
+        if (enabled && this == DISABLED) {
+            throw new IllegalStateException("The shared disabled registry cannot be enabled");
+        }
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the counter with the given name, creating it on first use.
+     *
+     * @param name The counter name, e.g. "profile.cache.hit"
+     * @return The counter
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter(this));
+    }
+
+    /**
+     * Gets the latency histogram with the given name, creating it on first use.
+     *
+     * @param name The histogram name, e.g. "storage.save"
+     * @return The histogram
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram(this));
+    }
+
+    /**
+     * Gets every counter, sorted by name.
+     *
+     * @return An unmodifiable view of the counters
+     */
+    public Map<String, Counter> getCounters() {
+        return Collections.unmodifiableMap(counters);
+    }
+
+    /**
+     * Gets every latency histogram, sorted by name.
+     *
+     * @return An unmodifiable view of the histograms
+     */
+    public Map<String, LatencyHistogram> getHistograms() {
+        return Collections.unmodifiableMap(histograms);
+    }
+
+    /**
+     * Clears every counter and histogram. Values recorded while the reset runs may be lost.
+     */
+    public void reset() {
+        for (Counter counter : counters.values()) {
+            counter.reset();
+        }
+        for (LatencyHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+        resetAtMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Gets when the metrics were created or last reset.
+     *
+     * @return The time in epoch milliseconds
+     */
+    public long getResetAtMillis() {
+        return resetAtMillis;
+    }
+}
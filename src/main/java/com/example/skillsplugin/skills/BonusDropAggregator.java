@@ -0,0 +1,237 @@
+package com.example.skillsplugin.skills;
+
+import com.example.skillsplugin.config.ConfigManager;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Collects bonus drops during a tick and spawns them as few item entities as possible.
+ * Drops from blocks in the same 4x4x4 cell are merged by item type into full stacks and
+ * spawned together on the next tick at the first dropping block, so a burst of bonuses
+ * (a field harvested in one sweep, a vein of ores) creates one entity per stack instead
+ * of one per roll.
+ *
+ * The {@link Policy} comes from {@code bonuses.drop-policy} and is read on every drop,
+ * so a config reload takes effect immediately. Only call from the main server thread.
+ */
+public class BonusDropAggregator {
+
+    /**
+     * How bonus drops reach the player.
+     */
+    public enum Policy {
+        /** Merge drops per 4x4x4 cell and item type and spawn them once per tick */
+        MERGE,
+        /** Put drops straight into the player's inventory, merging anything that doesn't fit */
+        INVENTORY,
+        /** Spawn every drop immediately as its own item entity */
+        SPAWN;
+
+        /**
+         * Parses a policy name, ignoring case.
+         *
+         * @param name The policy name
+         * @return The policy, or null if the name is unknown
+         */
+        public static Policy fromName(String name) {
+            if (name == null) {
+                return null;
+            }
+            for (Policy policy : values()) {
+                if (policy.name().equalsIgnoreCase(name.trim())) {
+                    return policy;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Plugin plugin;
+    private final ConfigManager configManager;
+    private final Map<DropKey, PendingDrop> pending;
+    private boolean flushScheduled;
+
+    /**
+     * Creates a new bonus drop aggregator.
+     *
+     * @param plugin The plugin instance used to schedule the end-of-tick flush
+     * @param configManager The config manager for the drop policy
+     */
+    public BonusDropAggregator(Plugin plugin, ConfigManager configManager) {
+        this.plugin = plugin;
+        this.configManager = configManager;
+        this.pending = new LinkedHashMap<>();
+    }
+
+    /**
+     * Hands a bonus drop to the aggregator.
+     *
+     * @param player The player who earned the bonus
+     * @param location Where the drop would have spawned
+     * @param item The bonus item
+     */
+    public void drop(Player player, Location location, ItemStack item) {
+        if (item == null || item.getAmount() <= 0) {
+            return;
+        }
+
+        Policy policy = configManager.getBonusDropPolicy();
+        switch (policy != null ? policy : Policy.MERGE) {
+            case SPAWN:
+                spawn(location, item);
+                return;
+            case INVENTORY:
+                PlayerInventory inventory = player != null ? player.getInventory() : null;
+                if (inventory != null) {
+                    Map<Integer, ItemStack> leftover = inventory.addItem(item);
+                    if (leftover == null || leftover.isEmpty()) {
+                        return;
+                    }
+                    for (ItemStack overflow : leftover.values()) {
+                        queue(location, overflow);
+                    }
+                    return;
+                }
+                queue(location, item);
+                return;
+            case MERGE:
+            default:
+                queue(location, item);
+        }
+    }
+
+    /**
+     * Spawns every queued drop, merged into full stacks.
+     * Runs automatically one tick after the first queued drop.
+     */
+    public void flush() {
+        flushScheduled = false;
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<PendingDrop> drops = new ArrayList<>(pending.values());
+        pending.clear();
+        for (PendingDrop drop : drops) {
+            for (ItemStack stack : drop.stacks) {
+                int remaining = stack.getAmount();
+                int maxStackSize = Math.max(stack.getMaxStackSize(), 1);
+                while (remaining > 0) {
+                    ItemStack spawned = stack.clone();
+                    spawned.setAmount(Math.min(remaining, maxStackSize));
+                    spawn(drop.location, spawned);
+                    remaining -= spawned.getAmount();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of cells with drops waiting for the flush.
+     *
+     * @return The pending cell count
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Queues a drop for the next flush, merging it with similar items in the same cell.
+     */
+    private void queue(Location location, ItemStack item) {
+        if (!canSchedule()) {
+            spawn(location, item);
+            return;
+        }
+
+        PendingDrop drop = pending.computeIfAbsent(new DropKey(location), key -> new PendingDrop(location));
+        drop.add(item);
+
+        if (!flushScheduled) {
+            flushScheduled = true;
+            plugin.getServer().getScheduler().runTask(plugin, this::flush);
+        }
+    }
+
+    private boolean canSchedule() {
+        return plugin != null && plugin.isEnabled();
+    }
+
+    private void spawn(Location location, ItemStack item) {
+        World world = location.getWorld();
+        if (world != null) {
+            world.dropItemNaturally(location, item);
+        }
+    }
+
+    /**
+     * Identifies the 4x4x4 block cell a drop belongs to.
+     */
+    private static final class DropKey {
+        private static final int CELL_SHIFT = 2;
+
+        private final UUID worldId;
+        private final int x;
+        private final int y;
+        private final int z;
+
+        private DropKey(Location location) {
+            World world = location.getWorld();
+            this.worldId = world != null ? world.getUID() : null;
+            this.x = location.getBlockX() >> CELL_SHIFT;
+            this.y = location.getBlockY() >> CELL_SHIFT;
+            this.z = location.getBlockZ() >> CELL_SHIFT;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DropKey)) {
+                return false;
+            }
+            DropKey other = (DropKey) o;
+            return x == other.x && y == other.y && z == other.z && Objects.equals(worldId, other.worldId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * (31 * Objects.hashCode(worldId) + x) + y) + z;
+        }
+    }
+
+    /**
+     * Items queued in one cell, merged by type and spawned where the first of them dropped.
+     */
+    private static final class PendingDrop {
+        private final Location location;
+        private final List<ItemStack> stacks = new ArrayList<>(2);
+
+        private PendingDrop(Location location) {
+            this.location = location;
+        }
+
+        private void add(ItemStack item) {
+            for (ItemStack stack : stacks) {
+                if (stack.isSimilar(item)) {
+                    // Amounts may exceed the stack size here; flush splits them
+                    stack.setAmount(stack.getAmount() + item.getAmount());
+                    return;
+                }
+            }
+            stacks.add(item.clone());
+        }
+    }
+}
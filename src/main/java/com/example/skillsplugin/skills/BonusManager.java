@@ -5,21 +5,61 @@ import com.example.skillsplugin.data.PlayerDataManager;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
+import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.MerchantRecipe;
+import org.bukkit.inventory.PlayerInventory;
 
-import java.util.Random;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleUnaryOperator;
 
 /**
  * Manages skill-based bonuses that are applied during gameplay.
  * Each skill provides different bonuses that scale with the player's level.
+ * 
+ * Bonus values are precomputed per level when the configuration loads, and each
+ * online player's Skill objects are cached, so a bonus lookup is a field read and an
+ * array read instead of a profile lookup, a config lookup and clamping math.
+ * 
+ * Rolls use ThreadLocalRandom so concurrent callers never contend on a shared seed.
+ * A seeded instance instead gives each thread its own SplittableRandom split from the
+ * seed, making single-threaded runs such as tests and benchmarks reproducible.
  */
 public class BonusManager {
     
+    // Levels with a precomputed entry; higher levels fall back to the formula
+    private static final int TABLE_LEVELS = 1024;
+    
+    // Bonus drops not claimed by a BlockDropItemEvent within this time are discarded
+    private static final long PENDING_DROP_TIMEOUT_NANOS = 1_000_000_000L;
+    private static final int PENDING_DROP_PURGE_SIZE = 256;
+    
+    private static final Material[] TREASURES = {
+        Material.NAME_TAG,
+        Material.SADDLE,
+        Material.BOW,
+        Material.FISHING_ROD,
+        Material.BOOK,
+        Material.NAUTILUS_SHELL,
+        Material.LILY_PAD
+    };
+    
     private final PlayerDataManager playerDataManager;
     private final ConfigManager configManager;
-    private final Random random;
+    private final ThreadLocal<SplittableRandom> seededRandom;
+    private final Map<UUID, PlayerSkills> playerSkills;
+    private final Map<BlockKey, PendingDrops> pendingDrops;
+    private volatile BonusTables tables;
+    private BonusDropAggregator dropAggregator;
     
     /**
      * Creates a new bonus manager.
@@ -28,13 +68,69 @@ public class BonusManager {
      * @param configManager The config manager for bonus rates
      */
     public BonusManager(PlayerDataManager playerDataManager, ConfigManager configManager) {
+        this(playerDataManager, configManager, (SplittableRandom) null);
+    }
+    
+    /**
+     * Creates a new bonus manager whose rolls are reproducible from a seed.
+     * 
+     * @param playerDataManager The player data manager for accessing skill levels
+     * @param configManager The config manager for bonus rates
+     * @param seed The random seed
+     */
+    public BonusManager(PlayerDataManager playerDataManager, ConfigManager configManager, long seed) {
+        this(playerDataManager, configManager, new SplittableRandom(seed));
+    }
+    
+    private BonusManager(PlayerDataManager playerDataManager, ConfigManager configManager, SplittableRandom root) {
         this.playerDataManager = playerDataManager;
         this.configManager = configManager;
-        this.random = new Random();
+        if (root != null) {
+            this.seededRandom = ThreadLocal.withInitial(() -> {
+                synchronized (root) {
+                    return root.split();
+                }
+            });
+        } else {
+            this.seededRandom = null;
+        }
+        this.playerSkills = new ConcurrentHashMap<>();
+        this.pendingDrops = new ConcurrentHashMap<>();
+        this.tables = new BonusTables(configManager);
+    }
+    
+    /**
+     * Sets the aggregator that merges bonus drops before they are spawned.
+     * Without one, every bonus drop is spawned immediately.
+     * 
+     * @param dropAggregator The drop aggregator, or null to spawn drops directly
+     */
+    public void setDropAggregator(BonusDropAggregator dropAggregator) {
+        this.dropAggregator = dropAggregator;
+    }
+    
+    /**
+     * Rebuilds the per-level bonus tables from the current configuration.
+     * Should be called after the configuration is reloaded.
+     */
+    public void reload() {
+        this.tables = new BonusTables(configManager);
+    }
+    
+    /**
+     * Drops a player's cached skills.
+     * Should be called when the player joins or leaves so a newly loaded profile is picked up.
+     * 
+     * @param playerId The UUID of the player
+     */
+    public void invalidate(UUID playerId) {
+        playerSkills.remove(playerId);
     }
     
     /**
      * Applies Mining bonus: chance for double drops based on level.
+     * The bonus is an extra copy of the block's real drops for the player's tool (so Fortune
+     * and Silk Touch apply), added to the block's own drops by {@link #mergeBonusDrops}.
      * 
      * @param player The player mining
      * @param block The block being mined
@@ -44,24 +140,17 @@ public class BonusManager {
             return;
         }
         
-        SkillProfile profile = playerDataManager.getProfile(player.getUniqueId());
-        Skill miningSkill = profile.getSkill(SkillType.MINING);
-        
-        double chancePerLevel = configManager.getBonusSetting("mining.double-drop-chance-per-level");
-        double totalChance = miningSkill.getLevel() * chancePerLevel;
-        
-        // Cap at 100% chance
-        totalChance = Math.min(totalChance, 100.0);
+        double totalChance = tables.miningChance.get(getLevel(player, SkillType.MINING));
         
         // Roll for bonus drop
-        if (random.nextDouble() * 100 < totalChance) {
-            // Drop an extra copy of the block's drops
-            block.getWorld().dropItemNaturally(block.getLocation(), new ItemStack(block.getType()));
+        if (roll(totalChance)) {
+            queueBonusDrops(player, block);
         }
     }
     
     /**
      * Applies Woodcutting bonus: chance for extra log drops based on level.
+     * Like Mining, the bonus copies the block's real drops and is merged by {@link #mergeBonusDrops}.
      * 
      * @param player The player chopping wood
      * @param block The log block being chopped
@@ -71,22 +160,110 @@ public class BonusManager {
             return;
         }
         
-        SkillProfile profile = playerDataManager.getProfile(player.getUniqueId());
-        Skill woodcuttingSkill = profile.getSkill(SkillType.WOODCUTTING);
+        double totalChance = tables.woodcuttingChance.get(getLevel(player, SkillType.WOODCUTTING));
         
-        double chancePerLevel = configManager.getBonusSetting("woodcutting.double-drop-chance-per-level");
-        double totalChance = woodcuttingSkill.getLevel() * chancePerLevel;
+        // Roll for bonus drop
+        if (roll(totalChance)) {
+            queueBonusDrops(player, block);
+        }
+    }
+    
+    /**
+     * Adds a block's pending bonus drops to the items it is about to drop.
+     * Bonus stacks are merged into matching drops up to their stack size, so a bonus
+     * normally spawns no extra item entity; only overflow is dropped separately.
+     * Should be called from the BlockDropItemEvent that follows the bonus roll.
+     * 
+     * @param player The player who broke the block
+     * @param block The broken block
+     * @param items The item entities the block is dropping
+     */
+    public void mergeBonusDrops(Player player, Block block, List<Item> items) {
+        if (pendingDrops.isEmpty() || player == null) {
+            return;
+        }
         
-        // Cap at 100% chance
-        totalChance = Math.min(totalChance, 100.0);
+        PendingDrops pending = pendingDrops.remove(new BlockKey(block));
+        if (pending == null || !pending.playerId.equals(player.getUniqueId())
+                || System.nanoTime() - pending.createdNanos > PENDING_DROP_TIMEOUT_NANOS) {
+            return;
+        }
         
-        // Roll for bonus drop
-        if (random.nextDouble() * 100 < totalChance) {
-            // Drop an extra log
-            block.getWorld().dropItemNaturally(block.getLocation(), new ItemStack(block.getType()));
+        for (ItemStack bonus : pending.drops) {
+            int remaining = bonus.getAmount();
+            for (Item item : items) {
+                if (remaining <= 0) {
+                    break;
+                }
+                ItemStack stack = item.getItemStack();
+                int space = stack.getMaxStackSize() - stack.getAmount();
+                if (space > 0 && stack.isSimilar(bonus)) {
+                    int added = Math.min(space, remaining);
+                    stack.setAmount(stack.getAmount() + added);
+                    item.setItemStack(stack);
+                    remaining -= added;
+                }
+            }
+            
+            if (remaining > 0) {
+                ItemStack overflow = bonus.clone();
+                overflow.setAmount(remaining);
+                dropBonus(player, block, overflow);
+            }
+        }
+    }
+    
+    /**
+     * Hands a bonus item to the drop aggregator, or spawns it at the block if there is none.
+     */
+    private void dropBonus(Player player, Block block, ItemStack item) {
+        BonusDropAggregator aggregator = dropAggregator;
+        if (aggregator != null) {
+            aggregator.drop(player, block.getLocation(), item);
+        } else {
+            block.getWorld().dropItemNaturally(block.getLocation(), item);
+        }
+    }
+    
+    /**
+     * Records a copy of a block's drops for the player's tool, to be merged when the block drops its items.
+     */
+    private void queueBonusDrops(Player player, Block block) {
+        PlayerInventory inventory = player.getInventory();
+        ItemStack tool = inventory != null ? inventory.getItemInMainHand() : null;
+        Collection<ItemStack> drops = block.getDrops(tool, player);
+        if (drops == null || drops.isEmpty()) {
+            return; // Wrong tool; the block drops nothing to double
+        }
+        
+        long now = System.nanoTime();
+        if (pendingDrops.size() >= PENDING_DROP_PURGE_SIZE) {
+            purgePendingDrops(now);
+        }
+        pendingDrops.put(new BlockKey(block), new PendingDrops(player.getUniqueId(), drops, now));
+    }
+    
+    /**
+     * Discards bonus drops whose BlockDropItemEvent never came (e.g. drops were disabled).
+     */
+    private void purgePendingDrops(long now) {
+        Iterator<PendingDrops> iterator = pendingDrops.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().createdNanos > PENDING_DROP_TIMEOUT_NANOS) {
+                iterator.remove();
+            }
         }
     }
     
+    /**
+     * Gets the number of bonus drops waiting for their block to drop its items.
+     * 
+     * @return The pending bonus drop count
+     */
+    public int getPendingDropCount() {
+        return pendingDrops.size();
+    }
+    
     /**
      * Gets the Combat damage multiplier based on level.
      * 
@@ -98,14 +275,7 @@ public class BonusManager {
             return 1.0;
         }
         
-        SkillProfile profile = playerDataManager.getProfile(player.getUniqueId());
-        Skill combatSkill = profile.getSkill(SkillType.COMBAT);
-        
-        double bonusPerLevel = configManager.getBonusSetting("combat.damage-bonus-per-level");
-        double bonusPercent = combatSkill.getLevel() * bonusPerLevel;
-        
-        // Convert percentage to multiplier (e.g., 10% = 1.10)
-        return 1.0 + (bonusPercent / 100.0);
+        return tables.combatMultiplier.get(getLevel(player, SkillType.COMBAT));
     }
     
     /**
@@ -119,21 +289,14 @@ public class BonusManager {
             return;
         }
         
-        SkillProfile profile = playerDataManager.getProfile(player.getUniqueId());
-        Skill farmingSkill = profile.getSkill(SkillType.FARMING);
-        
-        double chancePerLevel = configManager.getBonusSetting("farming.double-crop-chance-per-level");
-        double totalChance = farmingSkill.getLevel() * chancePerLevel;
-        
-        // Cap at 100% chance
-        totalChance = Math.min(totalChance, 100.0);
+        double totalChance = tables.farmingChance.get(getLevel(player, SkillType.FARMING));
         
         // Roll for bonus drop
-        if (random.nextDouble() * 100 < totalChance) {
+        if (roll(totalChance)) {
             // Drop extra crops based on the crop type
             Material cropMaterial = getCropDropMaterial(block.getType());
             if (cropMaterial != null) {
-                block.getWorld().dropItemNaturally(block.getLocation(), new ItemStack(cropMaterial));
+                dropBonus(player, block, new ItemStack(cropMaterial));
             }
         }
     }
@@ -150,17 +313,10 @@ public class BonusManager {
             return caught;
         }
         
-        SkillProfile profile = playerDataManager.getProfile(player.getUniqueId());
-        Skill fishingSkill = profile.getSkill(SkillType.FISHING);
-        
-        double chancePerLevel = configManager.getBonusSetting("fishing.treasure-chance-per-level");
-        double totalChance = fishingSkill.getLevel() * chancePerLevel;
-        
-        // Cap at reasonable chance
-        totalChance = Math.min(totalChance, 50.0);
+        double totalChance = tables.fishingChance.get(getLevel(player, SkillType.FISHING));
         
         // Roll for treasure
-        if (random.nextDouble() * 100 < totalChance) {
+        if (roll(totalChance)) {
             // Return a treasure item
             return getTreasureItem();
         }
@@ -180,17 +336,8 @@ public class BonusManager {
             return baseCost;
         }
         
-        SkillProfile profile = playerDataManager.getProfile(player.getUniqueId());
-        Skill enchantingSkill = profile.getSkill(SkillType.ENCHANTING);
-        
-        double reductionPerLevel = configManager.getBonusSetting("enchanting.cost-reduction-per-level");
-        double totalReduction = enchantingSkill.getLevel() * reductionPerLevel;
-        
-        // Cap at 80% reduction
-        totalReduction = Math.min(totalReduction, 80.0);
-        
         // Calculate reduced cost
-        int reducedCost = (int) (baseCost * (1.0 - totalReduction / 100.0));
+        int reducedCost = (int) (baseCost * tables.enchantingCostMultiplier.get(getLevel(player, SkillType.ENCHANTING)));
         
         // Ensure minimum cost of 1
         return Math.max(reducedCost, 1);
@@ -207,17 +354,47 @@ public class BonusManager {
             return 1.0;
         }
         
-        SkillProfile profile = playerDataManager.getProfile(player.getUniqueId());
-        Skill tradingSkill = profile.getSkill(SkillType.TRADING);
-        
-        double discountPerLevel = configManager.getBonusSetting("trading.discount-per-level");
-        double totalDiscount = tradingSkill.getLevel() * discountPerLevel;
-        
-        // Cap at 50% discount
-        totalDiscount = Math.min(totalDiscount, 50.0);
-        
-        // Convert to multiplier (e.g., 10% discount = 0.90 multiplier)
-        return 1.0 - (totalDiscount / 100.0);
+        return tables.tradingMultiplier.get(getLevel(player, SkillType.TRADING));
+    }
+    
+    /**
+     * Rolls against a percentage chance.
+     * 
+     * @param chancePercent The chance of success, from 0 to 100
+     * @return true if the roll succeeded
+     */
+    private boolean roll(double chancePercent) {
+        if (chancePercent <= 0) {
+            return false;
+        }
+        double value = seededRandom != null ? seededRandom.get().nextDouble() : ThreadLocalRandom.current().nextDouble();
+        return value * 100 < chancePercent;
+    }
+    
+    /**
+     * Picks a random index below a bound.
+     */
+    private int nextInt(int bound) {
+        return seededRandom != null ? seededRandom.get().nextInt(bound) : ThreadLocalRandom.current().nextInt(bound);
+    }
+    
+    /**
+     * Gets a player's current level in a skill from the cached Skill objects.
+     * The Skill is read live, so level-ups and admin changes apply immediately.
+     * 
+     * @param player The player
+     * @param skillType The skill type
+     * @return The skill level, or 0 if the profile has no such skill
+     */
+    private int getLevel(Player player, SkillType skillType) {
+        UUID playerId = player.getUniqueId();
+        PlayerSkills cached = playerSkills.get(playerId);
+        if (cached == null) {
+            cached = new PlayerSkills(playerDataManager.getProfile(playerId));
+            playerSkills.put(playerId, cached);
+        }
+        Skill skill = cached.skills[skillType.ordinal()];
+        return skill != null ? skill.getLevel() : 0;
     }
     
     /**
@@ -263,17 +440,132 @@ public class BonusManager {
      * @return A treasure ItemStack
      */
     private ItemStack getTreasureItem() {
-        Material[] treasures = {
-            Material.NAME_TAG,
-            Material.SADDLE,
-            Material.BOW,
-            Material.FISHING_ROD,
-            Material.BOOK,
-            Material.NAUTILUS_SHELL,
-            Material.LILY_PAD
-        };
-        
-        Material treasure = treasures[random.nextInt(treasures.length)];
+        Material treasure = TREASURES[nextInt(TREASURES.length)];
         return new ItemStack(treasure);
     }
+    
+    /**
+     * Identifies a block position within a world.
+     */
+    private static final class BlockKey {
+        private final UUID worldId;
+        private final int x;
+        private final int y;
+        private final int z;
+        
+        private BlockKey(Block block) {
+            this.worldId = block.getWorld() != null ? block.getWorld().getUID() : null;
+            this.x = block.getX();
+            this.y = block.getY();
+            this.z = block.getZ();
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BlockKey)) {
+                return false;
+            }
+            BlockKey other = (BlockKey) o;
+            return x == other.x && y == other.y && z == other.z && Objects.equals(worldId, other.worldId);
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * (31 * (31 * Objects.hashCode(worldId) + x) + y) + z;
+        }
+    }
+    
+    /**
+     * Bonus drops rolled on block break, waiting for the block's drop event.
+     */
+    private static final class PendingDrops {
+        private final UUID playerId;
+        private final Collection<ItemStack> drops;
+        private final long createdNanos;
+        
+        private PendingDrops(UUID playerId, Collection<ItemStack> drops, long createdNanos) {
+            this.playerId = playerId;
+            this.drops = drops;
+            this.createdNanos = createdNanos;
+        }
+    }
+    
+    /**
+     * A player's Skill objects indexed by skill ordinal.
+     */
+    private static final class PlayerSkills {
+        private final Skill[] skills;
+        
+        private PlayerSkills(SkillProfile profile) {
+            SkillType[] types = SkillType.values();
+            this.skills = new Skill[types.length];
+            for (SkillType type : types) {
+                skills[type.ordinal()] = profile.getSkill(type);
+            }
+        }
+    }
+    
+    /**
+     * Bonus values for one bonus setting, indexed by level.
+     */
+    private static final class LevelTable {
+        private final double[] values;
+        private final double perLevel;
+        private final double cap;
+        private final DoubleUnaryOperator toValue;
+        
+        /**
+         * @param perLevel The configured percentage per level
+         * @param cap The highest total percentage
+         * @param toValue Converts the capped percentage into the stored value
+         */
+        private LevelTable(double perLevel, double cap, DoubleUnaryOperator toValue) {
+            this.perLevel = perLevel;
+            this.cap = cap;
+            this.toValue = toValue;
+            this.values = new double[TABLE_LEVELS];
+            for (int level = 0; level < TABLE_LEVELS; level++) {
+                values[level] = compute(level);
+            }
+        }
+        
+        private double compute(int level) {
+            return toValue.applyAsDouble(Math.min(level * perLevel, cap));
+        }
+        
+        private double get(int level) {
+            if (level >= 0 && level < TABLE_LEVELS) {
+                return values[level];
+            }
+            return compute(Math.max(level, 0));
+        }
+    }
+    
+    /**
+     * Every bonus setting's per-level table, rebuilt together on config load.
+     */
+    private static final class BonusTables {
+        private final LevelTable miningChance;
+        private final LevelTable woodcuttingChance;
+        private final LevelTable farmingChance;
+        private final LevelTable fishingChance;
+        private final LevelTable combatMultiplier;
+        private final LevelTable enchantingCostMultiplier;
+        private final LevelTable tradingMultiplier;
+        
+        private BonusTables(ConfigManager configManager) {
+            // Chances stay as percentages (capped at 100%, treasure at 50%)
+            miningChance = new LevelTable(configManager.getMiningDoubleDropChance(), 100.0, p -> p);
+            woodcuttingChance = new LevelTable(configManager.getWoodcuttingDoubleDropChance(), 100.0, p -> p);
+            farmingChance = new LevelTable(configManager.getFarmingDoubleCropChance(), 100.0, p -> p);
+            fishingChance = new LevelTable(configManager.getFishingTreasureChance(), 50.0, p -> p);
+            // Percentages become multipliers (e.g., 10% damage bonus = 1.10, 10% discount = 0.90)
+            combatMultiplier = new LevelTable(configManager.getCombatDamageBonus(), Double.MAX_VALUE, p -> 1.0 + (p / 100.0));
+            enchantingCostMultiplier = new LevelTable(configManager.getEnchantingCostReduction(), 80.0, p -> 1.0 - p / 100.0);
+            tradingMultiplier = new LevelTable(configManager.getTradingDiscount(), 50.0, p -> 1.0 - (p / 100.0));
+        }
+    }
 }
@@ -0,0 +1,435 @@
+package com.example.skillsplugin.skills;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Timed XP multipliers for events and purchases.
+ * Boosters apply globally, to one skill for everyone, or to one player (for one skill or all),
+ * and stack multiplicatively on top of the configured experience multipliers. The combined
+ * product for a (player, skill) is clamped to {@link #MAX_MULTIPLIER}, so stacking boosters
+ * can't exceed what a single booster is allowed.
+ *
+ * Expiry is driven by a single deadline heap: {@link #expire()} pops every booster whose
+ * deadline has passed, so one repeating task serves any number of boosters. The combined
+ * multiplier for each (player, skill) is cached in a per-player array that is only rebuilt
+ * after a booster is added, removed or expires, so {@link #getMultiplier} is a map lookup
+ * and an array read.
+ */
+public class BoosterManager {
+
+    private static final int SNAPSHOT_MAGIC = 0x534B4254; // "SKBT"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    /**
+     * The largest multiplier a booster may have, and the cap on the combined product of all
+     * boosters for a skill. Larger values would level a skill through hundreds of levels in
+     * one award.
+     */
+    public static final double MAX_MULTIPLIER = 100.0;
+
+    /**
+     * The longest a booster may last: one year.
+     */
+    public static final long MAX_DURATION_MILLIS = 365L * 24 * 60 * 60 * 1000;
+
+    /**
+     * Who a booster applies to.
+     */
+    public enum Scope {
+        GLOBAL,
+        SKILL,
+        PLAYER
+    }
+
+    private final LongSupplier clock;
+    private final Map<Integer, Booster> active;
+    private final PriorityQueue<Booster> deadlines;
+    private final Map<UUID, double[]> playerCache;
+    private volatile double[] sharedMultipliers;
+    private int nextId;
+
+    /**
+     * Creates an empty booster manager using the system clock.
+     */
+    public BoosterManager() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * Creates an empty booster manager.
+     *
+     * @param clock Source of the current time in epoch milliseconds
+     */
+    BoosterManager(LongSupplier clock) {
+        this.clock = clock;
+        this.active = new HashMap<>();
+        this.deadlines = new PriorityQueue<>(Comparator.comparingLong(Booster::getExpiresAt));
+        this.playerCache = new ConcurrentHashMap<>();
+        this.sharedMultipliers = identity();
+        this.nextId = 1;
+    }
+
+    /**
+     * Adds a booster for every player and skill.
+     *
+     * @param multiplier The XP multiplier
+     * @param durationMillis How long the booster lasts
+     * @return The new booster
+     * @throws IllegalArgumentException If the multiplier or duration is out of range
+     */
+    public Booster addGlobal(double multiplier, long durationMillis) {
+        return add(Scope.GLOBAL, null, null, multiplier, expiresAfter(durationMillis));
+    }
+
+    /**
+     * Adds a booster for one skill for every player.
+     *
+     * @param skillType The boosted skill
+     * @param multiplier The XP multiplier
+     * @param durationMillis How long the booster lasts
+     * @return The new booster
+     * @throws IllegalArgumentException If the multiplier or duration is out of range
+     */
+    public Booster addSkill(SkillType skillType, double multiplier, long durationMillis) {
+        return add(Scope.SKILL, null, skillType, multiplier, expiresAfter(durationMillis));
+    }
+
+    /**
+     * Adds a booster for one player.
+     *
+     * @param playerId The UUID of the boosted player
+     * @param skillType The boosted skill, or null for all skills
+     * @param multiplier The XP multiplier
+     * @param durationMillis How long the booster lasts
+     * @return The new booster
+     * @throws IllegalArgumentException If the multiplier or duration is out of range
+     */
+    public Booster addPlayer(UUID playerId, SkillType skillType, double multiplier, long durationMillis) {
+        return add(Scope.PLAYER, playerId, skillType, multiplier, expiresAfter(durationMillis));
+    }
+
+    private long expiresAfter(long durationMillis) {
+        if (durationMillis <= 0 || durationMillis > MAX_DURATION_MILLIS) {
+            throw new IllegalArgumentException("Booster duration must be between 1 ms and one year: " + durationMillis);
+        }
+        return clock.getAsLong() + durationMillis;
+    }
+
+    private synchronized Booster add(Scope scope, UUID playerId, SkillType skillType, double multiplier, long expiresAt) {
+        if (!isValidMultiplier(multiplier)) {
+            throw new IllegalArgumentException("Booster multiplier must be above 0 and at most " + MAX_MULTIPLIER + ": " + multiplier);
+        }
+        Booster booster = new Booster(nextId++, scope, playerId, skillType, multiplier, expiresAt);
+        active.put(booster.id, booster);
+        deadlines.add(booster);
+        invalidate(booster);
+        return booster;
+    }
+
+    /**
+     * Removes a booster before it expires.
+     *
+     * @param id The booster ID
+     * @return true if the booster was active
+     */
+    public synchronized boolean remove(int id) {
+        Booster booster = active.remove(id);
+        if (booster == null) {
+            return false;
+        }
+        deadlines.remove(booster);
+        invalidate(booster);
+        return true;
+    }
+
+    /**
+     * Removes every booster whose deadline has passed.
+     * Should be called periodically; only the boosters that actually expire are touched.
+     *
+     * @return The expired boosters
+     */
+    public synchronized List<Booster> expire() {
+        long now = clock.getAsLong();
+        List<Booster> expired = new ArrayList<>();
+        while (!deadlines.isEmpty() && deadlines.peek().expiresAt <= now) {
+            Booster booster = deadlines.poll();
+            active.remove(booster.id);
+            invalidate(booster);
+            expired.add(booster);
+        }
+        return expired;
+    }
+
+    /**
+     * Gets the combined booster multiplier for a player's skill.
+     *
+     * @param playerId The UUID of the player
+     * @param skillType The skill earning XP
+     * @return The product of every applicable booster, at most {@link #MAX_MULTIPLIER},
+     *         or 1.0 if none apply
+     */
+    public double getMultiplier(UUID playerId, SkillType skillType) {
+        double[] multipliers = playerCache.get(playerId);
+        if (multipliers == null) {
+            multipliers = computePlayer(playerId);
+        }
+        return multipliers[skillType.ordinal()];
+    }
+
+    /**
+     * Gets the active boosters ordered by expiry.
+     *
+     * @return A copy of the active boosters
+     */
+    public synchronized List<Booster> getActiveBoosters() {
+        List<Booster> result = new ArrayList<>(active.values());
+        result.sort(Comparator.comparingLong(Booster::getExpiresAt));
+        return result;
+    }
+
+    /**
+     * Drops a player's cached multipliers, typically when they leave the server.
+     *
+     * @param playerId The UUID of the player
+     */
+    public void forget(UUID playerId) {
+        playerCache.remove(playerId);
+    }
+
+    /**
+     * Writes the active boosters to a snapshot file.
+     *
+     * @param file The snapshot file
+     * @throws IOException if the snapshot can't be written
+     */
+    public void saveSnapshot(File file) throws IOException {
+        List<Booster> boosters = getActiveBoosters();
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Failed to create directory: " + parent.getAbsolutePath());
+        }
+
+        File tempFile = new File(file.getAbsolutePath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(boosters.size());
+            for (Booster booster : boosters) {
+                out.writeByte(booster.scope.ordinal());
+                out.writeBoolean(booster.playerId != null);
+                if (booster.playerId != null) {
+                    out.writeLong(booster.playerId.getMostSignificantBits());
+                    out.writeLong(booster.playerId.getLeastSignificantBits());
+                }
+                out.writeUTF(booster.skillType != null ? booster.skillType.name() : "");
+                out.writeDouble(booster.multiplier);
+                out.writeLong(booster.expiresAt);
+            }
+        } catch (IOException e) {
+            tempFile.delete();
+            throw e;
+        }
+
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Restores boosters from a snapshot file.
+     * Boosters that expired while the server was down and skills that no longer exist are skipped.
+     *
+     * @param file The snapshot file
+     * @return The number of boosters restored, or 0 if the file doesn't exist
+     * @throws IOException if the snapshot is unreadable or corrupt
+     */
+    public int loadSnapshot(File file) throws IOException {
+        if (!file.isFile()) {
+            return 0;
+        }
+
+        long now = clock.getAsLong();
+        int restored = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a booster snapshot: " + file.getAbsolutePath());
+            }
+            int version = in.readInt();
+            if (version != SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported booster snapshot version " + version);
+            }
+
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                int scopeIndex = in.readUnsignedByte();
+                UUID playerId = in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+                String skillName = in.readUTF();
+                double multiplier = in.readDouble();
+                long expiresAt = in.readLong();
+                if (scopeIndex >= Scope.values().length) {
+                    throw new IOException("Corrupt booster snapshot: unknown scope " + scopeIndex);
+                }
+                Scope scope = Scope.values()[scopeIndex];
+                if (scope == Scope.PLAYER && playerId == null) {
+                    throw new IOException("Corrupt booster snapshot: player booster without a player");
+                }
+
+                SkillType skillType = null;
+                if (!skillName.isEmpty()) {
+                    try {
+                        skillType = SkillType.valueOf(skillName);
+                    } catch (IllegalArgumentException e) {
+                        continue; // Skill was removed
+                    }
+                }
+                if (expiresAt <= now || expiresAt - now > MAX_DURATION_MILLIS || !isValidMultiplier(multiplier)) {
+                    continue;
+                }
+                add(scope, playerId, skillType, multiplier, expiresAt);
+                restored++;
+            }
+        }
+        return restored;
+    }
+
+    /**
+     * Drops the cached multipliers a booster change affects.
+     * Called with the lock held.
+     */
+    private void invalidate(Booster booster) {
+        if (booster.scope == Scope.PLAYER) {
+            playerCache.remove(booster.playerId);
+        } else {
+            sharedMultipliers = computeShared();
+            playerCache.clear();
+        }
+    }
+
+    /**
+     * Combines the global and per-skill boosters.
+     */
+    private double[] computeShared() {
+        double[] multipliers = identity();
+        for (Booster booster : active.values()) {
+            if (booster.scope != Scope.PLAYER) {
+                booster.applyTo(multipliers);
+            }
+        }
+        return multipliers;
+    }
+
+    /**
+     * Combines the shared multipliers with a player's own boosters, clamps the product to
+     * {@link #MAX_MULTIPLIER} and caches the result.
+     */
+    private synchronized double[] computePlayer(UUID playerId) {
+        double[] multipliers = sharedMultipliers.clone();
+        for (Booster booster : active.values()) {
+            if (booster.scope == Scope.PLAYER && booster.playerId.equals(playerId)) {
+                booster.applyTo(multipliers);
+            }
+        }
+        for (int i = 0; i < multipliers.length; i++) {
+            multipliers[i] = Math.min(multipliers[i], MAX_MULTIPLIER);
+        }
+        playerCache.put(playerId, multipliers);
+        return multipliers;
+    }
+
+    /**
+     * Checks that a multiplier is a finite number above 0 and at most {@link #MAX_MULTIPLIER}.
+     *
+     * @param multiplier The multiplier to check
+     * @return true if a booster may use it
+     */
+    public static boolean isValidMultiplier(double multiplier) {
+        return Double.isFinite(multiplier) && multiplier > 0 && multiplier <= MAX_MULTIPLIER;
+    }
+
+    private static double[] identity() {
+        double[] multipliers = new double[SkillType.values().length];
+        Arrays.fill(multipliers, 1.0);
+        return multipliers;
+    }
+
+    /**
+     * A single timed XP multiplier.
+     */
+    public static final class Booster {
+        private final int id;
+        private final Scope scope;
+        private final UUID playerId;
+        private final SkillType skillType;
+        private final double multiplier;
+        private final long expiresAt;
+
+        private Booster(int id, Scope scope, UUID playerId, SkillType skillType, double multiplier, long expiresAt) {
+            this.id = id;
+            this.scope = scope;
+            this.playerId = playerId;
+            this.skillType = skillType;
+            this.multiplier = multiplier;
+            this.expiresAt = expiresAt;
+        }
+
+        private void applyTo(double[] multipliers) {
+            if (skillType != null) {
+                multipliers[skillType.ordinal()] *= multiplier;
+            } else {
+                for (int i = 0; i < multipliers.length; i++) {
+                    multipliers[i] *= multiplier;
+                }
+            }
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public Scope getScope() {
+            return scope;
+        }
+
+        /**
+         * @return The boosted player, or null unless the scope is PLAYER
+         */
+        public UUID getPlayerId() {
+            return playerId;
+        }
+
+        /**
+         * @return The boosted skill, or null if every skill is boosted
+         */
+        public SkillType getSkillType() {
+            return skillType;
+        }
+
+        public double getMultiplier() {
+            return multiplier;
+        }
+
+        /**
+         * @return When the booster expires, in epoch milliseconds
+         */
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
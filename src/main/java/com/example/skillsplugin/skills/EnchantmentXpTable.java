@@ -0,0 +1,209 @@
+package com.example.skillsplugin.skills;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.enchantments.Enchantment;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Enchanting XP per enchantment level, compiled from config for every enchanting source.
+ * Enchantments are registry objects rather than an enum, so the weights are resolved once into
+ * an open-addressed array keyed by enchantment identity; a lookup on the event path is a hash
+ * and a short probe, with the weight for each source already multiplied in.
+ *
+ * Keys are enchantment keys ({@code sharpness} or {@code minecraft:sharpness}), or {@code *} to
+ * replace the default weight of every enchantment that isn't a curse. Curses give no XP unless
+ * named explicitly, and treasure enchantments default to twice the normal weight.
+ */
+public final class EnchantmentXpTable {
+
+    /**
+     * The ways a player can work with enchantments.
+     */
+    public enum Source {
+        /** Enchanting an item at an enchanting table */
+        TABLE,
+        /** Combining enchanted items or books at an anvil */
+        ANVIL,
+        /** Removing enchantments at a grindstone */
+        GRINDSTONE
+    }
+
+    public static final double DEFAULT_WEIGHT = 10.0;
+    public static final double DEFAULT_ANVIL_MULTIPLIER = 0.5;
+    public static final double DEFAULT_GRINDSTONE_MULTIPLIER = 0.25;
+
+    private static final int SOURCE_COUNT = Source.values().length;
+    private static final EnchantmentXpTable ZERO = new EnchantmentXpTable(new Enchantment[1], new double[SOURCE_COUNT][1], new double[SOURCE_COUNT]);
+
+    private final Enchantment[] slots;
+    private final double[][] weights;
+    private final double[] fallbackWeights;
+    private final int mask;
+
+    private EnchantmentXpTable(Enchantment[] slots, double[][] weights, double[] fallbackWeights) {
+        this.slots = slots;
+        this.weights = weights;
+        this.fallbackWeights = fallbackWeights;
+        this.mask = slots.length - 1;
+    }
+
+    /**
+     * Gets a table that gives 0 XP for every enchantment and source.
+     * Used while the Enchanting skill is disabled.
+     *
+     * @return The zero table
+     */
+    public static EnchantmentXpTable zero() {
+        return ZERO;
+    }
+
+    /**
+     * Gets a table with the built-in weights for every registered enchantment.
+     *
+     * @return The default table
+     */
+    public static EnchantmentXpTable defaults() {
+        return compile(registeredEnchantments(), null, DEFAULT_ANVIL_MULTIPLIER, DEFAULT_GRINDSTONE_MULTIPLIER, (key, reason) -> { });
+    }
+
+    /**
+     * Gets every enchantment registered with the server.
+     *
+     * @return The registered enchantments, empty if the registry isn't available
+     */
+    public static Collection<Enchantment> registeredEnchantments() {
+        Enchantment[] enchantments = Enchantment.values();
+        return enchantments != null ? Arrays.asList(enchantments) : Collections.emptyList();
+    }
+
+    /**
+     * Compiles configured weights into a table.
+     *
+     * @param enchantments Every registered enchantment
+     * @param entries Configured enchantment keys mapped to XP per level, or null for the defaults
+     * @param anvilMultiplier The share of the weight awarded for enchantments applied at an anvil
+     * @param grindstoneMultiplier The share of the weight awarded for enchantments removed at a grindstone
+     * @param warn Receives the offending key and a reason for entries that are skipped
+     * @return The compiled table
+     */
+    public static EnchantmentXpTable compile(Collection<Enchantment> enchantments, Map<String, Double> entries,
+                                             double anvilMultiplier, double grindstoneMultiplier,
+                                             BiConsumer<String, String> warn) {
+        Map<String, Double> weightsByKey = new HashMap<>();
+        double defaultWeight = DEFAULT_WEIGHT;
+        if (entries != null) {
+            for (Map.Entry<String, Double> entry : entries.entrySet()) {
+                Double xp = entry.getValue();
+                if (xp == null || xp < 0 || xp.isNaN() || xp.isInfinite()) {
+                    warn.accept(entry.getKey(), "XP must be a non-negative number");
+                } else if (entry.getKey().trim().equals("*")) {
+                    defaultWeight = xp;
+                } else {
+                    weightsByKey.put(normalize(entry.getKey()), xp);
+                }
+            }
+        }
+
+        double[] sourceMultipliers = {1.0, anvilMultiplier, grindstoneMultiplier};
+        int capacity = Integer.highestOneBit(Math.max(enchantments.size(), 1) * 2 - 1) << 1;
+        Enchantment[] slots = new Enchantment[capacity];
+        double[][] weights = new double[SOURCE_COUNT][capacity];
+        Set<String> matched = new HashSet<>();
+
+        for (Enchantment enchantment : enchantments) {
+            if (enchantment == null) {
+                continue;
+            }
+            double weight = enchantment.isCursed() ? 0.0
+                    : enchantment.isTreasure() ? defaultWeight * 2 : defaultWeight;
+            String key = keyOf(enchantment);
+            if (key != null && weightsByKey.containsKey(key)) {
+                weight = weightsByKey.get(key);
+                matched.add(key);
+            }
+
+            int slot = System.identityHashCode(enchantment) & (capacity - 1);
+            while (slots[slot] != null && slots[slot] != enchantment) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            slots[slot] = enchantment;
+            for (int source = 0; source < SOURCE_COUNT; source++) {
+                weights[source][slot] = weight * sourceMultipliers[source];
+            }
+        }
+
+        for (String key : weightsByKey.keySet()) {
+            if (!matched.contains(key)) {
+                warn.accept(key, "unknown enchantment");
+            }
+        }
+
+        // Enchantments registered after compiling (by other plugins) earn the default weight
+        double[] fallbackWeights = new double[SOURCE_COUNT];
+        for (int source = 0; source < SOURCE_COUNT; source++) {
+            fallbackWeights[source] = defaultWeight * sourceMultipliers[source];
+        }
+        return new EnchantmentXpTable(slots, weights, fallbackWeights);
+    }
+
+    private static String normalize(String key) {
+        String normalized = key.trim().toLowerCase();
+        return normalized.contains(":") ? normalized : NamespacedKey.MINECRAFT_NAMESPACE + ":" + normalized;
+    }
+
+    private static String keyOf(Enchantment enchantment) {
+        NamespacedKey key = enchantment.getKey();
+        return key != null ? key.getNamespace() + ":" + key.getKey() : null;
+    }
+
+    /**
+     * Gets the XP per level of an enchantment for a source.
+     *
+     * @param source Where the enchantment was applied or removed
+     * @param enchantment The enchantment
+     * @return The XP per enchantment level
+     */
+    public double getWeight(Source source, Enchantment enchantment) {
+        if (enchantment == null) {
+            return 0.0;
+        }
+        int slot = System.identityHashCode(enchantment) & mask;
+        Enchantment candidate;
+        while ((candidate = slots[slot]) != null) {
+            if (candidate == enchantment) {
+                return weights[source.ordinal()][slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return fallbackWeights[source.ordinal()];
+    }
+
+    /**
+     * Sums weight × level over a set of enchantments.
+     *
+     * @param source Where the enchantments were applied or removed
+     * @param enchantments The enchantments mapped to their levels
+     * @return The XP before the skill's experience multiplier
+     */
+    public double calculate(Source source, Map<Enchantment, Integer> enchantments) {
+        if (enchantments == null || enchantments.isEmpty()) {
+            return 0.0;
+        }
+        double xp = 0.0;
+        for (Map.Entry<Enchantment, Integer> entry : enchantments.entrySet()) {
+            Integer level = entry.getValue();
+            if (level != null && level > 0) {
+                xp += getWeight(source, entry.getKey()) * level;
+            }
+        }
+        return xp;
+    }
+}
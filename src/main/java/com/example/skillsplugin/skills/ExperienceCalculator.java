@@ -2,16 +2,22 @@ package com.example.skillsplugin.skills;
 
 import com.example.skillsplugin.config.ConfigManager;
 import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.EntityType;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.MerchantRecipe;
 
+import java.util.Map;
+
 /**
  * Calculates experience points for various skill-related actions.
  * All calculations are configurable through the ConfigManager.
+ * Values from the xp-sources config section take precedence over the built-in defaults below.
  */
 public class ExperienceCalculator {
     
+    private static final SkillType[] NO_SKILLS = new SkillType[0];
+    
     private final ConfigManager configManager;
     
     public ExperienceCalculator(ConfigManager configManager) {
@@ -28,6 +34,11 @@ public class ExperienceCalculator {
             return 0.0;
         }
         
+        double configured = configured(configManager.getBlockXpTable(SkillType.MINING), block);
+        if (!Double.isNaN(configured)) {
+            return configured * configManager.getExperienceMultiplier(SkillType.MINING);
+        }
+        
         double baseXP = 0.0;
         
         // Stone and basic materials
@@ -125,6 +136,11 @@ public class ExperienceCalculator {
             return 0.0;
         }
         
+        double configured = configured(configManager.getBlockXpTable(SkillType.WOODCUTTING), log);
+        if (!Double.isNaN(configured)) {
+            return configured * configManager.getExperienceMultiplier(SkillType.WOODCUTTING);
+        }
+        
         double baseXP = 0.0;
         
         switch (log) {
@@ -215,6 +231,11 @@ public class ExperienceCalculator {
             return 0.0;
         }
         
+        double configured = configured(configManager.getEntityXpTable(SkillType.COMBAT), mob);
+        if (!Double.isNaN(configured)) {
+            return configured * configManager.getExperienceMultiplier(SkillType.COMBAT);
+        }
+        
         double baseXP = 0.0;
         
         switch (mob) {
@@ -310,6 +331,11 @@ public class ExperienceCalculator {
             return 0.0;
         }
         
+        double configured = configured(configManager.getBlockXpTable(SkillType.FARMING), crop);
+        if (!Double.isNaN(configured)) {
+            return configured * configManager.getExperienceMultiplier(SkillType.FARMING);
+        }
+        
         double baseXP = 0.0;
         
         switch (crop) {
@@ -375,6 +401,10 @@ public class ExperienceCalculator {
         
         if (caughtItem != null) {
             Material material = caughtItem.getType();
+            double configured = configured(configManager.getItemXpTable(SkillType.FISHING), material);
+            if (!Double.isNaN(configured)) {
+                return configured * configManager.getExperienceMultiplier(SkillType.FISHING);
+            }
             
             // Bonus XP for treasure items
             switch (material) {
@@ -441,6 +471,22 @@ public class ExperienceCalculator {
         return baseXP * configManager.getExperienceMultiplier(SkillType.ENCHANTING);
     }
     
+    /**
+     * Calculates Enchanting XP from the enchantments a player applied or removed
+     * Each enchantment earns its configured weight times its level
+     * @param source Where the enchantments were applied or removed
+     * @param enchantments The enchantments mapped to their levels
+     * @return The experience points to award
+     */
+    public double calculateEnchantingXP(EnchantmentXpTable.Source source, Map<Enchantment, Integer> enchantments) {
+        EnchantmentXpTable table = configManager.getEnchantmentXpTable();
+        if (table == null || enchantments == null || enchantments.isEmpty()) {
+            return 0.0;
+        }
+        
+        return table.calculate(source, enchantments) * configManager.getExperienceMultiplier(SkillType.ENCHANTING);
+    }
+    
     /**
      * Calculates Trading XP based on trade value
      * @param trade The merchant recipe that was used
@@ -505,10 +551,64 @@ public class ExperienceCalculator {
                     baseXP = 10.0;
             }
             
+            double configured = configured(configManager.getItemXpTable(SkillType.TRADING), material);
+            if (!Double.isNaN(configured)) {
+                baseXP = configured;
+            }
+            
             // Multiply by quantity
             baseXP *= result.getAmount();
         }
         
         return baseXP * configManager.getExperienceMultiplier(SkillType.TRADING);
     }
+    
+    /**
+     * Calculates XP for a skill from breaking a block, using only the xp-sources config.
+     * Used for custom skills, which have no built-in values.
+     * @param skillType The skill earning XP
+     * @param block The material of the block that was broken
+     * @return The experience points to award, or 0 if none are configured
+     */
+    public double calculateBlockXP(SkillType skillType, Material block) {
+        double configured = configured(configManager.getBlockXpTable(skillType), block);
+        return Double.isNaN(configured) ? 0.0 : configured * configManager.getExperienceMultiplier(skillType);
+    }
+    
+    /**
+     * Calculates XP for a skill from killing an entity, using only the xp-sources config.
+     * Used for custom skills, which have no built-in values.
+     * @param skillType The skill earning XP
+     * @param entity The type of entity that was killed
+     * @return The experience points to award, or 0 if none are configured
+     */
+    public double calculateEntityXP(SkillType skillType, EntityType entity) {
+        double configured = configured(configManager.getEntityXpTable(skillType), entity);
+        return Double.isNaN(configured) ? 0.0 : configured * configManager.getExperienceMultiplier(skillType);
+    }
+    
+    /**
+     * Gets the custom skills that have block XP configured.
+     * @return The custom block skills, possibly empty
+     */
+    public SkillType[] getCustomBlockSkills() {
+        SkillType[] skills = configManager.getCustomBlockSkills();
+        return skills != null ? skills : NO_SKILLS;
+    }
+    
+    /**
+     * Gets the custom skills that have entity XP configured.
+     * @return The custom entity skills, possibly empty
+     */
+    public SkillType[] getCustomEntitySkills() {
+        SkillType[] skills = configManager.getCustomEntitySkills();
+        return skills != null ? skills : NO_SKILLS;
+    }
+    
+    /**
+     * Looks up a configured XP value, or NaN if there is no table or no matching entry.
+     */
+    private static <E extends Enum<E>> double configured(XpTable<E> table, E key) {
+        return table != null ? table.get(key) : Double.NaN;
+    }
 }
@@ -0,0 +1,214 @@
+package com.example.skillsplugin.skills;
+
+import com.example.skillsplugin.config.ConfigManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Applies diminishing returns to XP earned faster than a configured rate.
+ * Each (player, skill) pair keeps an exponentially decaying sum of recent XP; while that
+ * sum is above the skill's threshold, new XP is scaled down by threshold / sum, never
+ * below the configured minimum multiplier. Normal play stays under the threshold and is
+ * unaffected, while mob grinders and AFK fishing farms level off.
+ *
+ * Players are given a slot index on their first award and all state lives in primitive
+ * arrays indexed by slot and skill ordinal, so {@link #apply} does not allocate.
+ * Not thread-safe; only call from the main server thread.
+ */
+public class ExperienceRateLimiter {
+
+    private static final int INITIAL_SLOTS = 64;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final int skillCount;
+    private double[] thresholds;
+    private double decayNanos;
+    private double minimumMultiplier;
+    private final LongSupplier clock;
+
+    private final Map<UUID, Integer> slots;
+    private int[] freeSlots;
+    private int freeCount;
+    private int nextSlot;
+
+    // Indexed by slot * skillCount + skill ordinal
+    private double[] rates;
+    private long[] lastUpdate;
+
+    /**
+     * Creates a rate limiter from the anti-exploit configuration.
+     *
+     * @param configManager The configuration manager
+     */
+    public ExperienceRateLimiter(ConfigManager configManager) {
+        this(thresholdsFrom(configManager), configManager.getRateLimitWindowSeconds(),
+             configManager.getRateLimitMinimumMultiplier(), System::nanoTime);
+    }
+
+    /**
+     * Creates a rate limiter with explicit settings.
+     *
+     * @param thresholds XP per window allowed at full rate, by skill ordinal
+     * @param windowSeconds Time constant of the decaying XP sum, in seconds
+     * @param minimumMultiplier The lowest multiplier ever applied
+     * @param clock Source of the current time in nanoseconds
+     */
+    ExperienceRateLimiter(double[] thresholds, double windowSeconds, double minimumMultiplier, LongSupplier clock) {
+        this.skillCount = thresholds.length;
+        this.clock = clock;
+        reconfigure(thresholds, windowSeconds, minimumMultiplier);
+        this.slots = new HashMap<>();
+        this.freeSlots = new int[INITIAL_SLOTS];
+        this.rates = new double[INITIAL_SLOTS * skillCount];
+        this.lastUpdate = new long[INITIAL_SLOTS * skillCount];
+    }
+
+    /**
+     * Applies reloaded anti-exploit settings. Players keep their recent XP, so a reload
+     * does not let a running farm start over at full rate.
+     *
+     * @param configManager The configuration manager
+     */
+    public void reconfigure(ConfigManager configManager) {
+        reconfigure(thresholdsFrom(configManager), configManager.getRateLimitWindowSeconds(),
+                    configManager.getRateLimitMinimumMultiplier());
+    }
+
+    void reconfigure(double[] thresholds, double windowSeconds, double minimumMultiplier) {
+        if (thresholds.length != skillCount) {
+            throw new IllegalArgumentException("Expected " + skillCount + " thresholds, got " + thresholds.length);
+        }
+        this.thresholds = thresholds.clone();
+        this.decayNanos = Math.max(windowSeconds, 1.0) * NANOS_PER_SECOND;
+        this.minimumMultiplier = Math.min(Math.max(minimumMultiplier, 0.0), 1.0);
+    }
+
+    private static double[] thresholdsFrom(ConfigManager configManager) {
+        SkillType[] types = SkillType.values();
+        double[] thresholds = new double[types.length];
+        for (SkillType type : types) {
+            thresholds[type.ordinal()] = configManager.getRateLimitThreshold(type);
+        }
+        return thresholds;
+    }
+
+    /**
+     * Records an XP gain and returns the amount that should actually be awarded.
+     *
+     * @param playerId The UUID of the player
+     * @param skillType The skill earning XP
+     * @param amount The XP before rate limiting
+     * @return The XP after diminishing returns
+     */
+    public double apply(UUID playerId, SkillType skillType, double amount) {
+        if (amount <= 0) {
+            return amount;
+        }
+
+        int index = slotOf(playerId) * skillCount + skillType.ordinal();
+        long now = clock.getAsLong();
+        double rate = decayed(index, now);
+
+        double threshold = thresholds[skillType.ordinal()];
+        double multiplier = 1.0;
+        if (threshold > 0 && rate > threshold) {
+            multiplier = Math.max(threshold / rate, minimumMultiplier);
+        }
+
+        double awarded = amount * multiplier;
+        // Track the raw XP so a farm keeps being throttled while it runs
+        rates[index] = rate + amount;
+        lastUpdate[index] = now;
+        return awarded;
+    }
+
+    /**
+     * Gets the current multiplier for a player's skill without recording anything.
+     *
+     * @param playerId The UUID of the player
+     * @param skillType The skill type
+     * @return The multiplier the next gain would receive
+     */
+    public double getMultiplier(UUID playerId, SkillType skillType) {
+        Integer slot = slots.get(playerId);
+        double threshold = thresholds[skillType.ordinal()];
+        if (slot == null || threshold <= 0) {
+            return 1.0;
+        }
+        double rate = decayed(slot * skillCount + skillType.ordinal(), clock.getAsLong());
+        return rate > threshold ? Math.max(threshold / rate, minimumMultiplier) : 1.0;
+    }
+
+    /**
+     * Frees a player's slot, typically when they leave the server.
+     *
+     * @param playerId The UUID of the player
+     */
+    public void release(UUID playerId) {
+        Integer slot = slots.remove(playerId);
+        if (slot == null) {
+            return;
+        }
+
+        int base = slot * skillCount;
+        for (int i = 0; i < skillCount; i++) {
+            rates[base + i] = 0.0;
+            lastUpdate[base + i] = 0L;
+        }
+        if (freeCount == freeSlots.length) {
+            int[] grown = new int[freeSlots.length * 2];
+            System.arraycopy(freeSlots, 0, grown, 0, freeCount);
+            freeSlots = grown;
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Gets the number of players currently holding a slot.
+     *
+     * @return The tracked player count
+     */
+    public int getTrackedCount() {
+        return slots.size();
+    }
+
+    /**
+     * Decays the XP sum at an index up to the given time.
+     */
+    private double decayed(int index, long now) {
+        double rate = rates[index];
+        if (rate == 0.0) {
+            return 0.0;
+        }
+        long elapsed = now - lastUpdate[index];
+        return elapsed > 0 ? rate * Math.exp(-elapsed / decayNanos) : rate;
+    }
+
+    /**
+     * Gets a player's slot, assigning one on first use.
+     * Only the first lookup for a player (or growing the arrays) allocates.
+     */
+    private int slotOf(UUID playerId) {
+        Integer slot = slots.get(playerId);
+        if (slot != null) {
+            return slot;
+        }
+
+        int assigned = freeCount > 0 ? freeSlots[--freeCount] : nextSlot++;
+        int required = (assigned + 1) * skillCount;
+        if (required > rates.length) {
+            int capacity = Math.max(rates.length * 2, required);
+            double[] grownRates = new double[capacity];
+            long[] grownUpdates = new long[capacity];
+            System.arraycopy(rates, 0, grownRates, 0, rates.length);
+            System.arraycopy(lastUpdate, 0, grownUpdates, 0, lastUpdate.length);
+            rates = grownRates;
+            lastUpdate = grownUpdates;
+        }
+        slots.put(playerId, assigned);
+        return assigned;
+    }
+}
@@ -1,19 +1,27 @@
 package com.example.skillsplugin.skills;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
 
 /**
  * Represents a player's complete skill profile containing all their skills.
- * Each player has one SkillProfile that holds all 7 skills.
+ * Each player has one SkillProfile that holds every registered skill, indexed by
+ * {@link SkillType#ordinal()}.
+ *
+ * Stored skills that are not registered (a custom skill removed from config.yml, or one
+ * that failed to load) are kept as raw data so saving the profile does not erase them.
  */
 public class SkillProfile {
     private final UUID playerId;
-    private final Map<SkillType, Skill> skills;
+    private Skill[] skills;
+    private Map<String, String> unknownSkills = Collections.emptyMap();
     private boolean isNew;
     private SkillType displayedSkill; // The skill currently displayed in player's name
     private SkillType lastSkillXP; // The skill that most recently gained XP
+    private volatile long lastUpdated; // When the profile was last persisted, 0 if never
     
     /**
      * Creates a new skill profile for a player with all skills initialized at level 1.
@@ -22,7 +30,7 @@ public class SkillProfile {
      */
     public SkillProfile(UUID playerId) {
         this.playerId = playerId;
-        this.skills = new HashMap<>();
+        this.skills = new Skill[SkillType.count()];
         this.isNew = true;
         initializeSkills();
     }
@@ -35,8 +43,11 @@ public class SkillProfile {
      */
     public SkillProfile(UUID playerId, Map<SkillType, Skill> skills) {
         this.playerId = playerId;
-        this.skills = skills;
+        this.skills = new Skill[SkillType.count()];
         this.isNew = false;
+        for (Skill skill : skills.values()) {
+            addSkill(skill);
+        }
     }
     
     /**
@@ -44,7 +55,7 @@ public class SkillProfile {
      */
     private void initializeSkills() {
         for (SkillType type : SkillType.values()) {
-            skills.put(type, new Skill(type));
+            skills[type.ordinal()] = new Skill(type);
         }
     }
     
@@ -64,16 +75,24 @@ public class SkillProfile {
      * @return The skill, or null if not found
      */
     public Skill getSkill(SkillType type) {
-        return skills.get(type);
+        Skill[] current = skills;
+        int id = type.ordinal();
+        return id < current.length ? current[id] : null;
     }
     
     /**
      * Gets all skills in this profile.
      * 
-     * @return A map of all skills
+     * @return A new map of all skills in id order
      */
     public Map<SkillType, Skill> getSkills() {
-        return skills;
+        Map<SkillType, Skill> result = new LinkedHashMap<>();
+        for (Skill skill : skills) {
+            if (skill != null) {
+                result.put(skill.getType(), skill);
+            }
+        }
+        return result;
     }
     
     /**
@@ -82,7 +101,32 @@ public class SkillProfile {
      * @param skill The skill to add
      */
     public void addSkill(Skill skill) {
-        skills.put(skill.getType(), skill);
+        int id = skill.getType().ordinal();
+        if (id >= skills.length) {
+            // Only possible before the registry is frozen
+            skills = Arrays.copyOf(skills, SkillType.count());
+        }
+        skills[id] = skill;
+    }
+    
+    /**
+     * Gets the stored data of skills that are not registered, to be written back unchanged.
+     * 
+     * @return An unmodifiable map of raw skill data by skill name
+     */
+    public Map<String, String> getUnknownSkills() {
+        return unknownSkills;
+    }
+    
+    /**
+     * Sets the stored data of skills that are not registered (used when loading from storage).
+     * 
+     * @param unknownSkills Raw skill data by skill name
+     */
+    public void setUnknownSkills(Map<String, String> unknownSkills) {
+        this.unknownSkills = unknownSkills.isEmpty()
+                ? Collections.emptyMap()
+                : Collections.unmodifiableMap(new LinkedHashMap<>(unknownSkills));
     }
     
     /**
@@ -136,4 +180,22 @@ public class SkillProfile {
     public void setLastSkillXP(SkillType skillType) {
         this.lastSkillXP = skillType;
     }
+    
+    /**
+     * Gets when this profile was last written to storage.
+     * 
+     * @return The last persisted time in epoch milliseconds, or 0 if never persisted
+     */
+    public long getLastUpdated() {
+        return lastUpdated;
+    }
+    
+    /**
+     * Sets when this profile was last written to storage.
+     * 
+     * @param lastUpdated The last persisted time in epoch milliseconds
+     */
+    public void setLastUpdated(long lastUpdated) {
+        this.lastUpdated = lastUpdated;
+    }
 }
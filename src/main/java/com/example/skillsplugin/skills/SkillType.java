@@ -1,15 +1,236 @@
 package com.example.skillsplugin.skills;
 
+import org.bukkit.ChatColor;
+import org.bukkit.boss.BarColor;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
- * Enum representing all available skill types in the plugin.
+ * A skill type, as stored in the skill registry.
  * Each skill type corresponds to a different gameplay activity.
+ *
+ * The seven built-in skills are always registered first. Servers can declare further
+ * skills under {@code custom-skills} in config.yml; every skill gets a dense id from 0 in
+ * registration order, so per-skill data can live in arrays indexed by {@link #ordinal()}.
+ * The registry is frozen once the plugin has sized those arrays, so new skills need a restart.
  */
-public enum SkillType {
-    MINING,
-    WOODCUTTING,
-    COMBAT,
-    FARMING,
-    FISHING,
-    ENCHANTING,
-    TRADING
+public final class SkillType implements Comparable<SkillType> {
+
+    private static final Object LOCK = new Object();
+    private static final Map<String, SkillType> BY_NAME = new ConcurrentHashMap<>();
+    private static volatile SkillType[] registry = new SkillType[0];
+    private static volatile boolean frozen;
+
+    public static final SkillType MINING = builtIn("MINING", ChatColor.DARK_AQUA, BarColor.BLUE, "⛏");
+    public static final SkillType WOODCUTTING = builtIn("WOODCUTTING", ChatColor.DARK_GREEN, BarColor.GREEN, "🪓");
+    public static final SkillType COMBAT = builtIn("COMBAT", ChatColor.RED, BarColor.RED, "⚔");
+    public static final SkillType FARMING = builtIn("FARMING", ChatColor.GOLD, BarColor.YELLOW, "🌾");
+    public static final SkillType FISHING = builtIn("FISHING", ChatColor.AQUA, BarColor.BLUE, "🎣");
+    public static final SkillType ENCHANTING = builtIn("ENCHANTING", ChatColor.LIGHT_PURPLE, BarColor.PURPLE, "✨");
+    public static final SkillType TRADING = builtIn("TRADING", ChatColor.GREEN, BarColor.WHITE, "💰");
+
+    private final int id;
+    private final String name;
+    private final ChatColor chatColor;
+    private final BarColor barColor;
+    private final String icon;
+    private final boolean builtIn;
+
+    private SkillType(int id, String name, ChatColor chatColor, BarColor barColor, String icon, boolean builtIn) {
+        this.id = id;
+        this.name = name;
+        this.chatColor = chatColor;
+        this.barColor = barColor;
+        this.icon = icon;
+        this.builtIn = builtIn;
+    }
+
+    private static SkillType builtIn(String name, ChatColor chatColor, BarColor barColor, String icon) {
+        return add(name, chatColor, barColor, icon, true);
+    }
+
+    /**
+     * Registers a custom skill, or returns the existing skill with that name.
+     *
+     * @param name The skill name; stored upper-case
+     * @param chatColor The chat color for messages about this skill
+     * @param barColor The boss bar color for level-ups
+     * @param icon The icon shown next to the skill name
+     * @return The registered skill
+     * @throws IllegalArgumentException if the name is blank or not a valid identifier
+     * @throws IllegalStateException if the registry is frozen and the skill is new
+     */
+    public static SkillType register(String name, ChatColor chatColor, BarColor barColor, String icon) {
+        if (name == null || !name.trim().matches("[A-Za-z][A-Za-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid skill name: " + name);
+        }
+        SkillType existing = BY_NAME.get(name.trim().toUpperCase());
+        if (existing != null) {
+            return existing;
+        }
+        if (frozen) {
+            throw new IllegalStateException("Skill registry is frozen; restart the server to add " + name);
+        }
+        return add(name.trim().toUpperCase(), chatColor, barColor, icon, false);
+    }
+
+    private static SkillType add(String name, ChatColor chatColor, BarColor barColor, String icon, boolean builtIn) {
+        synchronized (LOCK) {
+            SkillType existing = BY_NAME.get(name);
+            if (existing != null) {
+                return existing;
+            }
+            SkillType[] current = registry;
+            SkillType type = new SkillType(current.length, name,
+                    chatColor != null ? chatColor : ChatColor.WHITE,
+                    barColor != null ? barColor : BarColor.WHITE,
+                    icon != null ? icon : "⭐", builtIn);
+            SkillType[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[type.id] = type;
+            BY_NAME.put(name, type);
+            registry = grown;
+            return type;
+        }
+    }
+
+    /**
+     * Stops further skills from being registered.
+     * Called once every component has sized its per-skill arrays.
+     */
+    public static void freeze() {
+        frozen = true;
+    }
+
+    /**
+     * Checks whether new skills can still be registered.
+     *
+     * @return true if the registry is frozen
+     */
+    public static boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Drops every custom skill and unfreezes the registry. Only for tests.
+     */
+    static void resetToBuiltIns() {
+        synchronized (LOCK) {
+            SkillType[] current = registry;
+            int builtInCount = 0;
+            while (builtInCount < current.length && current[builtInCount].builtIn) {
+                builtInCount++;
+            }
+            for (int i = builtInCount; i < current.length; i++) {
+                BY_NAME.remove(current[i].name);
+            }
+            registry = Arrays.copyOf(current, builtInCount);
+            frozen = false;
+        }
+    }
+
+    /**
+     * Gets every registered skill in id order.
+     *
+     * @return A new array of all skills
+     */
+    public static SkillType[] values() {
+        return registry.clone();
+    }
+
+    /**
+     * Gets the number of registered skills.
+     *
+     * @return The skill count, one more than the highest id
+     */
+    public static int count() {
+        return registry.length;
+    }
+
+    /**
+     * Gets a skill by its dense id.
+     *
+     * @param id The skill id
+     * @return The skill
+     * @throws IndexOutOfBoundsException if no skill has that id
+     */
+    public static SkillType byId(int id) {
+        return registry[id];
+    }
+
+    /**
+     * Gets a skill by its exact name.
+     *
+     * @param name The skill name
+     * @return The skill
+     * @throws IllegalArgumentException if no skill has that name
+     */
+    public static SkillType valueOf(String name) {
+        if (name == null) {
+            throw new NullPointerException("Name is null");
+        }
+        SkillType type = BY_NAME.get(name);
+        if (type == null) {
+            throw new IllegalArgumentException("No skill named " + name);
+        }
+        return type;
+    }
+
+    /**
+     * Checks whether a skill with the exact name is registered.
+     *
+     * @param name The skill name
+     * @return true if a skill has that name
+     */
+    public static boolean isRegistered(String name) {
+        return name != null && BY_NAME.containsKey(name);
+    }
+
+    /**
+     * Gets the dense id of this skill, usable as an array index.
+     *
+     * @return The skill id
+     */
+    public int ordinal() {
+        return id;
+    }
+
+    /**
+     * Gets the registered name of this skill.
+     *
+     * @return The upper-case skill name
+     */
+    public String name() {
+        return name;
+    }
+
+    public ChatColor getChatColor() {
+        return chatColor;
+    }
+
+    public BarColor getBarColor() {
+        return barColor;
+    }
+
+    public String getIcon() {
+        return icon;
+    }
+
+    /**
+     * @return true for the seven skills built into the plugin, false for config-declared skills
+     */
+    public boolean isBuiltIn() {
+        return builtIn;
+    }
+
+    @Override
+    public int compareTo(SkillType other) {
+        return Integer.compare(id, other.id);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
 }
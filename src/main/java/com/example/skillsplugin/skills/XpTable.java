@@ -0,0 +1,183 @@
+package com.example.skillsplugin.skills;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * XP values for one kind of source (blocks, entities or items), compiled from config.
+ * Entries are resolved once into an array indexed by the enum ordinal, so a lookup on
+ * the event path is a single array read regardless of how many patterns were configured.
+ *
+ * Keys may be an exact name ({@code DIAMOND_ORE}), a wildcard ({@code *_ORE}, or {@code *}
+ * for everything) or a tag prefixed with {@code #} ({@code #logs}). When several keys match,
+ * exact names win over tags, and tags win over wildcards; among wildcards the longer pattern wins.
+ *
+ * @param <E> The enum the table is keyed by, e.g. Material or EntityType
+ */
+public final class XpTable<E extends Enum<E>> {
+
+    private static final XpTable<?> EMPTY = new XpTable<>(new double[0], 0);
+
+    private final double[] values;
+    private final int size;
+
+    private XpTable(double[] values, int size) {
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * Gets a table with no configured values.
+     *
+     * @param <E> The enum type
+     * @return The empty table
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> XpTable<E> empty() {
+        return (XpTable<E>) EMPTY;
+    }
+
+    /**
+     * Gets a table that maps every key to 0 XP.
+     * Used for disabled skills, so their built-in values are overridden without a separate check.
+     *
+     * @param type The enum class the table is keyed by
+     * @param <E> The enum type
+     * @return A table with every key set to 0
+     */
+    public static <E extends Enum<E>> XpTable<E> zero(Class<E> type) {
+        int count = type.getEnumConstants().length;
+        return new XpTable<>(new double[count], count);
+    }
+
+    /**
+     * Compiles configured entries into a table.
+     *
+     * @param type The enum class the keys refer to
+     * @param entries Configured keys mapped to XP values
+     * @param tagResolver Resolves a tag name (without the #) to its members, or null if unknown
+     * @param warn Receives the offending key and a reason for entries that are skipped
+     * @param <E> The enum type
+     * @return The compiled table
+     */
+    public static <E extends Enum<E>> XpTable<E> compile(Class<E> type, Map<String, Double> entries,
+                                                         Function<String, Collection<E>> tagResolver,
+                                                         BiConsumer<String, String> warn) {
+        if (entries == null || entries.isEmpty()) {
+            return empty();
+        }
+
+        E[] constants = type.getEnumConstants();
+        double[] values = new double[constants.length];
+        Arrays.fill(values, Double.NaN);
+
+        List<Map.Entry<String, Double>> wildcards = new ArrayList<>();
+        List<Map.Entry<String, Double>> tags = new ArrayList<>();
+        List<Map.Entry<String, Double>> exact = new ArrayList<>();
+        for (Map.Entry<String, Double> entry : entries.entrySet()) {
+            Double xp = entry.getValue();
+            if (xp == null || xp < 0 || xp.isNaN() || xp.isInfinite()) {
+                warn.accept(entry.getKey(), "XP must be a non-negative number");
+            } else if (entry.getKey().startsWith("#")) {
+                tags.add(entry);
+            } else if (entry.getKey().contains("*")) {
+                wildcards.add(entry);
+            } else {
+                exact.add(entry);
+            }
+        }
+        // Apply the least specific entries first so more specific ones overwrite them
+        wildcards.sort((a, b) -> Integer.compare(a.getKey().length(), b.getKey().length()));
+
+        for (Map.Entry<String, Double> entry : wildcards) {
+            Pattern pattern = toPattern(entry.getKey());
+            boolean matched = false;
+            for (E constant : constants) {
+                if (pattern.matcher(constant.name()).matches()) {
+                    values[constant.ordinal()] = entry.getValue();
+                    matched = true;
+                }
+            }
+            if (!matched) {
+                warn.accept(entry.getKey(), "pattern matches nothing");
+            }
+        }
+
+        for (Map.Entry<String, Double> entry : tags) {
+            Collection<E> members = tagResolver != null ? tagResolver.apply(entry.getKey().substring(1).trim().toLowerCase()) : null;
+            if (members == null) {
+                warn.accept(entry.getKey(), "unknown tag");
+                continue;
+            }
+            for (E member : members) {
+                values[member.ordinal()] = entry.getValue();
+            }
+        }
+
+        for (Map.Entry<String, Double> entry : exact) {
+            try {
+                values[Enum.valueOf(type, entry.getKey().trim().toUpperCase()).ordinal()] = entry.getValue();
+            } catch (IllegalArgumentException e) {
+                warn.accept(entry.getKey(), "unknown " + type.getSimpleName());
+            }
+        }
+
+        int size = 0;
+        for (double value : values) {
+            if (!Double.isNaN(value)) {
+                size++;
+            }
+        }
+        return size == 0 ? empty() : new XpTable<>(values, size);
+    }
+
+    private static Pattern toPattern(String wildcard) {
+        String[] parts = wildcard.trim().toUpperCase().split("\\*", -1);
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(parts[i]));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Gets the configured XP for a key.
+     *
+     * @param key The block, entity or item type
+     * @return The XP, or NaN if nothing in the config matches the key
+     */
+    public double get(E key) {
+        if (key == null) {
+            return Double.NaN;
+        }
+        int index = key.ordinal();
+        return index < values.length ? values[index] : Double.NaN;
+    }
+
+    /**
+     * Checks whether anything was configured.
+     *
+     * @return true if no key has a configured value
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of keys with a configured value.
+     *
+     * @return The configured key count
+     */
+    public int size() {
+        return size;
+    }
+}
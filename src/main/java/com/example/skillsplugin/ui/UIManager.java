@@ -184,43 +184,8 @@ public class UIManager {
             
             for (int i = 0; i < entries.length; i++) {
                 com.example.skillsplugin.data.PlayerDataManager.LeaderboardEntry entry = entries[i];
-                int rank = i + 1;
                 
-                // Get player name (try to get from online players first, otherwise use UUID)
-                String playerName = null;
-                Player targetPlayer = Bukkit.getPlayer(entry.getPlayerId());
-                if (targetPlayer != null) {
-                    playerName = targetPlayer.getName();
-                } else {
-                    // Try to get from offline player
-                    org.bukkit.OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(entry.getPlayerId());
-                    if (offlinePlayer.hasPlayedBefore()) {
-                        playerName = offlinePlayer.getName();
-                    }
-                }
-                
-                // Fallback to UUID if name not found
-                if (playerName == null) {
-                    playerName = entry.getPlayerId().toString().substring(0, 8) + "...";
-                }
-                
-                // Format rank with medal emojis for top 3
-                String rankDisplay;
-                if (rank == 1) {
-                    rankDisplay = ChatColor.GOLD + "🥇 #1";
-                } else if (rank == 2) {
-                    rankDisplay = ChatColor.GRAY + "🥈 #2";
-                } else if (rank == 3) {
-                    rankDisplay = ChatColor.GOLD + "🥉 #3";
-                } else {
-                    rankDisplay = ChatColor.GRAY + "#" + rank;
-                }
-                
-                // Check if this is the viewing player
-                boolean isViewingPlayer = entry.getPlayerId().equals(player.getUniqueId());
-                ChatColor nameColor = isViewingPlayer ? ChatColor.YELLOW : ChatColor.WHITE;
-                
-                String line = rankDisplay + " " + nameColor + playerName + " " 
+                String line = formatLeaderboardPrefix(player, i + 1, entry.getPlayerId()) + " " 
                             + ChatColor.GRAY + "- " + skillColor + "Level " + entry.getLevel() 
                             + ChatColor.GRAY + " (" + String.format("%.0f", entry.getExperience()) + " XP)";
                 
@@ -235,6 +200,97 @@ public class UIManager {
         }
     }
     
+    /**
+     * Sends a formatted leaderboard of XP gained within a time window.
+     * 
+     * @param player The player to send the leaderboard to
+     * @param skillType The skill type for the leaderboard
+     * @param window The time window the entries cover
+     * @param entries Entries whose experience is the XP gained in the window
+     */
+    public void sendWindowedLeaderboard(Player player, SkillType skillType, com.example.skillsplugin.data.WindowedLeaderboard.Window window, com.example.skillsplugin.data.PlayerDataManager.LeaderboardEntry[] entries) {
+        try {
+            if (player == null || !player.isOnline()) {
+                return;
+            }
+            
+            ChatColor skillColor = getChatColorForSkill(skillType);
+            String skillIcon = getIconForSkill(skillType);
+            String period = window.getDays() == 1 ? "TODAY" : "LAST " + window.getDays() + " DAYS";
+            
+            player.sendMessage("");
+            player.sendMessage(skillColor + "" + ChatColor.BOLD + "=== " + skillIcon + " " + skillType.name() + " " + period + " ===");
+            player.sendMessage("");
+            
+            if (entries.length == 0) {
+                player.sendMessage(ChatColor.GRAY + "No XP gained in this period yet.");
+                player.sendMessage("");
+                return;
+            }
+            
+            for (int i = 0; i < entries.length; i++) {
+                com.example.skillsplugin.data.PlayerDataManager.LeaderboardEntry entry = entries[i];
+                
+                String line = formatLeaderboardPrefix(player, i + 1, entry.getPlayerId()) + " " 
+                            + ChatColor.GRAY + "- " + skillColor + "+" + String.format("%.0f", entry.getExperience()) + " XP";
+                
+                player.sendMessage(line);
+            }
+            
+            player.sendMessage("");
+            
+        } catch (Exception e) {
+            plugin.getLogger().warning("Error sending leaderboard to player " + player.getName() + ": " + e.getMessage());
+            player.sendMessage(ChatColor.RED + "An error occurred while displaying the leaderboard.");
+        }
+    }
+    
+    /**
+     * Formats the rank and player name at the start of a leaderboard line.
+     * 
+     * @param viewer The player viewing the leaderboard
+     * @param rank The 1-based rank
+     * @param playerId The ranked player's UUID
+     * @return The formatted rank and name
+     */
+    private String formatLeaderboardPrefix(Player viewer, int rank, UUID playerId) {
+        // Get player name (try to get from online players first, otherwise use UUID)
+        String playerName = null;
+        Player targetPlayer = Bukkit.getPlayer(playerId);
+        if (targetPlayer != null) {
+            playerName = targetPlayer.getName();
+        } else {
+            // Try to get from offline player
+            org.bukkit.OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerId);
+            if (offlinePlayer.hasPlayedBefore()) {
+                playerName = offlinePlayer.getName();
+            }
+        }
+        
+        // Fallback to UUID if name not found
+        if (playerName == null) {
+            playerName = playerId.toString().substring(0, 8) + "...";
+        }
+        
+        // Format rank with medal emojis for top 3
+        String rankDisplay;
+        if (rank == 1) {
+            rankDisplay = ChatColor.GOLD + "🥇 #1";
+        } else if (rank == 2) {
+            rankDisplay = ChatColor.GRAY + "🥈 #2";
+        } else if (rank == 3) {
+            rankDisplay = ChatColor.GOLD + "🥉 #3";
+        } else {
+            rankDisplay = ChatColor.GRAY + "#" + rank;
+        }
+        
+        // Check if this is the viewing player
+        boolean isViewingPlayer = playerId.equals(viewer.getUniqueId());
+        ChatColor nameColor = isViewingPlayer ? ChatColor.YELLOW : ChatColor.WHITE;
+        
+        return rankDisplay + " " + nameColor + playerName;
+    }
+    
     /**
      * Sends a formatted overview of all the player's skills.
      * 
@@ -693,24 +749,7 @@ public class UIManager {
      * @return The bar color for this skill
      */
     private BarColor getColorForSkill(SkillType skill) {
-        switch (skill) {
-            case MINING:
-                return BarColor.BLUE;
-            case WOODCUTTING:
-                return BarColor.GREEN;
-            case COMBAT:
-                return BarColor.RED;
-            case FARMING:
-                return BarColor.YELLOW;
-            case FISHING:
-                return BarColor.BLUE;
-            case ENCHANTING:
-                return BarColor.PURPLE;
-            case TRADING:
-                return BarColor.WHITE;
-            default:
-                return BarColor.WHITE;
-        }
+        return skill.getBarColor();
     }
     
     /**
@@ -720,24 +759,7 @@ public class UIManager {
      * @return The chat color for this skill
      */
     private ChatColor getChatColorForSkill(SkillType skill) {
-        switch (skill) {
-            case MINING:
-                return ChatColor.DARK_AQUA;
-            case WOODCUTTING:
-                return ChatColor.DARK_GREEN;
-            case COMBAT:
-                return ChatColor.RED;
-            case FARMING:
-                return ChatColor.GOLD;
-            case FISHING:
-                return ChatColor.AQUA;
-            case ENCHANTING:
-                return ChatColor.LIGHT_PURPLE;
-            case TRADING:
-                return ChatColor.GREEN;
-            default:
-                return ChatColor.WHITE;
-        }
+        return skill.getChatColor();
     }
     
     /**
@@ -747,23 +769,6 @@ public class UIManager {
      * @return The icon string for this skill
      */
     private String getIconForSkill(SkillType skill) {
-        switch (skill) {
-            case MINING:
-                return "⛏"; // Pickaxe
-            case WOODCUTTING:
-                return "🪓"; // Axe
-            case COMBAT:
-                return "⚔"; // Sword
-            case FARMING:
-                return "🌾"; // Wheat
-            case FISHING:
-                return "🎣"; // Fishing rod
-            case ENCHANTING:
-                return "✨"; // Sparkles
-            case TRADING:
-                return "💰"; // Money bag
-            default:
-                return "⭐"; // Star
-        }
+        return skill.getIcon();
     }
 }
@@ -3,10 +3,13 @@ package com.example.skillsplugin.commands;
 import com.example.skillsplugin.SkillsPlugin;
 import com.example.skillsplugin.config.ConfigManager;
 import com.example.skillsplugin.data.PlayerDataManager;
+import com.example.skillsplugin.metrics.MetricsRegistry;
+import com.example.skillsplugin.skills.BoosterManager;
 import com.example.skillsplugin.skills.Skill;
 import com.example.skillsplugin.skills.SkillProfile;
 import com.example.skillsplugin.skills.SkillType;
 import com.example.skillsplugin.ui.UIManager;
+import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -307,4 +310,61 @@ public class SkillsCommandTest {
         // Verify UI manager was called for each skill
         verify(uiManager, times(SkillType.values().length)).sendSkillDetails(eq(player), any(Skill.class));
     }
+    
+    @Test
+    public void testAdminBoosterRejectsInvalidMultiplierAndDuration() {
+        BoosterManager boosterManager = new BoosterManager();
+        when(plugin.getBoosterManager()).thenReturn(boosterManager);
+        when(consoleSender.hasPermission("skills.admin")).thenReturn(true);
+        
+        skillsCommand.onCommand(consoleSender, command, "skills", new String[]{"admin", "booster", "global", "NaN", "10"});
+        skillsCommand.onCommand(consoleSender, command, "skills", new String[]{"admin", "booster", "global", "Infinity", "10"});
+        skillsCommand.onCommand(consoleSender, command, "skills", new String[]{"admin", "booster", "global", "2", "999999999999999"});
+        
+        verify(consoleSender, times(2)).sendMessage(contains("Multiplier must be"));
+        verify(consoleSender).sendMessage(contains("Duration must be"));
+        assertTrue("No booster should be added", boosterManager.getActiveBoosters().isEmpty());
+    }
+    
+    @Test
+    public void testAdminStatsShowsCountersAndTimings() {
+        MetricsRegistry metrics = new MetricsRegistry(true);
+        metrics.counter("profile.cache.hit").increment();
+        metrics.counter("profile.cache.hit").increment();
+        metrics.counter("profile.cache.hit").increment();
+        metrics.counter("profile.cache.miss").increment();
+        metrics.histogram("storage.save").record(1_500_000);
+        when(plugin.getMetrics()).thenReturn(metrics);
+        when(consoleSender.hasPermission("skills.admin")).thenReturn(true);
+        
+        assertTrue(skillsCommand.onCommand(consoleSender, command, "skills", new String[]{"admin", "stats"}));
+        
+        verify(consoleSender).sendMessage(contains("profile.cache.hit: " + ChatColor.WHITE + "3"));
+        verify(consoleSender).sendMessage(contains("75.0%"));
+        verify(consoleSender).sendMessage(contains("storage.save: " + ChatColor.WHITE + "1, 1.5ms"));
+        verify(consoleSender, never()).sendMessage(contains("disabled"));
+    }
+    
+    @Test
+    public void testAdminStatsExplainsHowToEnable() {
+        when(plugin.getMetrics()).thenReturn(new MetricsRegistry(false));
+        when(consoleSender.hasPermission("skills.admin")).thenReturn(true);
+        
+        skillsCommand.onCommand(consoleSender, command, "skills", new String[]{"admin", "stats"});
+        
+        verify(consoleSender).sendMessage(contains("metrics.enabled: true"));
+    }
+    
+    @Test
+    public void testAdminStatsReset() {
+        MetricsRegistry metrics = new MetricsRegistry(true);
+        metrics.counter("profile.cache.miss").increment();
+        when(plugin.getMetrics()).thenReturn(metrics);
+        when(consoleSender.hasPermission("skills.admin")).thenReturn(true);
+        
+        skillsCommand.onCommand(consoleSender, command, "skills", new String[]{"admin", "stats", "reset"});
+        
+        assertEquals(0, metrics.counter("profile.cache.miss").get());
+        verify(consoleSender).sendMessage(contains("Metrics reset"));
+    }
 }
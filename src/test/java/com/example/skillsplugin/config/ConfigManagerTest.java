@@ -1,6 +1,7 @@
 package com.example.skillsplugin.config;
 
 import com.example.skillsplugin.SkillsPlugin;
+import com.example.skillsplugin.skills.ExperienceRateLimiter;
 import com.example.skillsplugin.skills.SkillType;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -11,6 +12,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
+import java.util.UUID;
 import java.util.logging.Logger;
 
 import static org.junit.Assert.*;
@@ -173,6 +175,22 @@ public class ConfigManagerTest {
         assertFalse("Bonuses should be disabled", configManager.areBonusesEnabled());
     }
     
+    @Test
+    public void testMetricsDisabledByDefault() {
+        configManager.loadConfig();
+        
+        assertFalse("Metrics should be disabled by default", configManager.isMetricsEnabled());
+    }
+    
+    @Test
+    public void testMetricsEnabled() {
+        testConfig.set("metrics.enabled", true);
+        
+        configManager.loadConfig();
+        
+        assertTrue("Metrics should be enabled", configManager.isMetricsEnabled());
+    }
+    
     @Test
     public void testDefaultBonusSettings() {
         configManager.loadConfig();
@@ -198,6 +216,21 @@ public class ConfigManagerTest {
             0.8, configManager.getBonusSetting("fishing.treasure-chance-per-level"), 0.001);
     }
     
+    @Test
+    public void testBonusSettingsCompiledIntoNamedFields() {
+        testConfig.set("bonuses.combat.damage-bonus-per-level", 1.5);
+        testConfig.set("bonuses.trading.discount-per-level", -1.0);
+        
+        configManager.loadConfig();
+        
+        assertEquals(1.5, configManager.getCombatDamageBonus(), 0.001);
+        assertEquals("Negative values should fall back to the default",
+            0.3, configManager.getTradingDiscount(), 0.001);
+        assertEquals(0.5, configManager.getMiningDoubleDropChance(), 0.001);
+        assertEquals("Path lookups should read the same fields",
+            configManager.getCombatDamageBonus(), configManager.getBonusSetting("combat.damage-bonus-per-level"), 0.0);
+    }
+    
     @Test
     public void testDefaultUISettings() {
         configManager.loadConfig();
@@ -305,6 +338,24 @@ public class ConfigManagerTest {
         verify(mockPlugin, times(2)).reloadConfig();
     }
     
+    @Test
+    public void testReloadedRateLimitReachesLimiter() {
+        testConfig.set("anti-exploit.rate-limit.thresholds.combat", 100.0);
+        configManager.loadConfig();
+        ExperienceRateLimiter limiter = new ExperienceRateLimiter(configManager);
+        UUID playerId = UUID.randomUUID();
+        for (int i = 0; i < 20; i++) {
+            limiter.apply(playerId, SkillType.COMBAT, 10.0);
+        }
+        
+        testConfig.set("anti-exploit.rate-limit.thresholds.combat", 50.0);
+        configManager.reloadConfig();
+        limiter.reconfigure(configManager);
+        
+        assertEquals("The limiter should use the reloaded threshold",
+            50.0 / 200.0, limiter.getMultiplier(playerId, SkillType.COMBAT), 0.01);
+    }
+    
     @Test
     public void testMissingConfigValuesUseDefaults() {
         // Create config with missing values
@@ -361,4 +412,39 @@ public class ConfigManagerTest {
         assertTrue("Combat should be enabled when list is empty", 
             configManager.isSkillEnabled(SkillType.COMBAT));
     }
+    
+    @Test
+    public void testReloadPublishesNewSnapshotAndLeavesOldOneIntact() {
+        configManager.loadConfig();
+        ConfigSnapshot before = configManager.getSnapshot();
+        
+        testConfig.set("experience.mining", 2.0);
+        testConfig.set("enabled-skills", java.util.Arrays.asList("COMBAT"));
+        configManager.reloadConfig();
+        ConfigSnapshot after = configManager.getSnapshot();
+        
+        assertNotSame("Reload should publish a new snapshot", before, after);
+        assertEquals("Old snapshot must not change", 1.0, before.getExperienceMultiplier(SkillType.MINING), 0.001);
+        assertTrue(before.isSkillEnabled(SkillType.MINING));
+        assertEquals(2.0, after.getExperienceMultiplier(SkillType.MINING), 0.001);
+        assertFalse(after.isSkillEnabled(SkillType.MINING));
+        assertTrue(after.isSkillEnabled(SkillType.COMBAT));
+    }
+    
+    @Test
+    public void testDisabledSkillsGetZeroedXpTables() {
+        testConfig.set("enabled-skills", java.util.Arrays.asList("MINING"));
+        
+        configManager.loadConfig();
+        
+        assertTrue("Enabled skills keep their tables", configManager.getBlockXpTable(SkillType.MINING).isEmpty());
+        assertEquals("Disabled skills give 0 XP for every block", 
+            0.0, configManager.getBlockXpTable(SkillType.WOODCUTTING).get(org.bukkit.Material.OAK_LOG), 0.001);
+        assertEquals("Disabled skills give 0 XP for every entity", 
+            0.0, configManager.getEntityXpTable(SkillType.COMBAT).get(org.bukkit.entity.EntityType.ZOMBIE), 0.001);
+        assertEquals("Disabled skills give 0 XP for every item", 
+            0.0, configManager.getItemXpTable(SkillType.TRADING).get(org.bukkit.Material.EMERALD), 0.001);
+        assertSame("Disabled enchanting gives 0 XP for every enchantment", 
+            com.example.skillsplugin.skills.EnchantmentXpTable.zero(), configManager.getEnchantmentXpTable());
+    }
 }
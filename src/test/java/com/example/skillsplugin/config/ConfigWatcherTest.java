@@ -0,0 +1,83 @@
+package com.example.skillsplugin.config;
+
+import com.example.skillsplugin.SkillsPlugin;
+import com.example.skillsplugin.skills.SkillType;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for ConfigWatcher.
+ * Verifies that changed files are published, unchanged or invalid files are not,
+ * and that the watcher can be started and stopped.
+ */
+public class ConfigWatcherTest {
+
+    private File configFile;
+    private ConfigManager configManager;
+    private ConfigWatcher watcher;
+    private final AtomicInteger reloads = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+        SkillsPlugin plugin = mock(SkillsPlugin.class);
+        when(plugin.getLogger()).thenReturn(Logger.getLogger("TestLogger"));
+        when(plugin.getConfig()).thenReturn(new YamlConfiguration());
+        configManager = new ConfigManager(plugin);
+
+        configFile = File.createTempFile("config", ".yml");
+        configFile.deleteOnExit();
+        watcher = new ConfigWatcher(configManager, configFile, 50L, Logger.getLogger("TestLogger"), reloads::incrementAndGet);
+    }
+
+    @After
+    public void tearDown() {
+        watcher.stop();
+    }
+
+    private void write(String yaml) throws IOException {
+        Files.write(configFile.toPath(), yaml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testChangedFileIsPublished() throws IOException {
+        write("experience:\n  mining: 2.5\n");
+        ConfigSnapshot before = configManager.getSnapshot();
+
+        assertTrue(watcher.reloadNow());
+
+        assertNotSame(before, configManager.getSnapshot());
+        assertEquals(2.5, configManager.getExperienceMultiplier(SkillType.MINING), 0.0001);
+        assertEquals(1, reloads.get());
+    }
+
+    @Test
+    public void testUnchangedFileIsSkipped() throws IOException {
+        write("experience:\n  mining: 2.5\n");
+        assertTrue(watcher.reloadNow());
+
+        assertFalse("Same content should not be parsed again", watcher.reloadNow());
+        assertEquals(1, reloads.get());
+    }
+
+    @Test
+    public void testStartAndStop() throws IOException {
+        write("experience:\n  mining: 1.0\n");
+        watcher.start();
+        assertTrue(watcher.isRunning());
+
+        watcher.stop();
+        assertFalse(watcher.isRunning());
+    }
+}
@@ -1,16 +1,32 @@
 package com.example.skillsplugin.data;
 
+import com.example.skillsplugin.metrics.MetricsRegistry;
 import com.example.skillsplugin.skills.Skill;
 import com.example.skillsplugin.skills.SkillProfile;
 import com.example.skillsplugin.skills.SkillType;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.management.UnixOperatingSystemMXBean;
 import org.junit.After;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -187,6 +203,29 @@ public class JsonDataStorageTest {
         }
     }
     
+    @Test
+    public void testUnregisteredSkillsSurviveSave() throws Exception {
+        UUID playerId = UUID.randomUUID();
+        File file = new File(dataDirectory, playerId + ".json");
+        String archery = "{\"level\":12,\"experience\":345.5,\"prestige\":2}";
+        Files.write(file.toPath(), ("{\"playerId\":\"" + playerId + "\",\"skills\":{"
+                + "\"MINING\":{\"level\":3,\"experience\":10.0},"
+                + "\"ARCHERY\":" + archery + "}}").getBytes(StandardCharsets.UTF_8));
+        
+        // A custom skill that is no longer registered must not be erased by the next save
+        SkillProfile profile = storage.load(playerId);
+        assertEquals(3, profile.getSkill(SkillType.MINING).getLevel());
+        profile.getSkill(SkillType.MINING).setLevel(4);
+        storage.save(playerId, profile);
+        
+        JsonObject skills = JsonParser.parseString(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8))
+                .getAsJsonObject().getAsJsonObject("skills");
+        assertEquals("Unregistered skill should be written back unchanged",
+                     JsonParser.parseString(archery), skills.get("ARCHERY"));
+        assertEquals(4, skills.getAsJsonObject("MINING").get("level").getAsInt());
+        assertEquals(1, storage.load(playerId).getUnknownSkills().size());
+    }
+    
     @Test
     public void testSaveWithHighLevelAndExperience() throws DataStorageException {
         UUID playerId = UUID.randomUUID();
@@ -239,4 +278,191 @@ public class JsonDataStorageTest {
         assertEquals(player2, loaded2.getPlayerId());
         assertEquals(player3, loaded3.getPlayerId());
     }
+    
+    @Test
+    public void testShardedSaveUsesPrefixDirectories() throws DataStorageException {
+        JsonDataStorage shardedStorage = new JsonDataStorage(dataDirectory, true);
+        UUID playerId = UUID.fromString("abcdef01-2345-6789-abcd-ef0123456789");
+        SkillProfile profile = new SkillProfile(playerId);
+        profile.getSkill(SkillType.MINING).setExperience(12.0);
+        
+        shardedStorage.save(playerId, profile);
+        
+        File expected = new File(new File(new File(dataDirectory, "ab"), "cd"), playerId + ".json");
+        assertTrue("Profile should be stored in its shard", expected.exists());
+        assertFalse("No flat-layout file should be written", new File(dataDirectory, playerId + ".json").exists());
+        assertEquals("Profile should load from the shard", 12.0,
+                     shardedStorage.load(playerId).getSkill(SkillType.MINING).getExperience(), 0.01);
+    }
+    
+    @Test
+    public void testShardedStorageReadsAndMigratesFlatLayout() throws DataStorageException {
+        UUID playerId = UUID.randomUUID();
+        SkillProfile profile = new SkillProfile(playerId);
+        profile.getSkill(SkillType.FARMING).setExperience(30.0);
+        storage.save(playerId, profile);
+        
+        JsonDataStorage shardedStorage = new JsonDataStorage(dataDirectory, true);
+        assertTrue("Unmigrated profile should exist", shardedStorage.exists(playerId));
+        assertNotNull("Unmigrated profile should load from the flat layout", shardedStorage.load(playerId));
+        
+        assertEquals("One profile should be migrated", 1, shardedStorage.migrateToShards());
+        assertFalse("Flat-layout file should be moved", new File(dataDirectory, playerId + ".json").exists());
+        assertEquals("Migrated profile should keep its data", 30.0,
+                     shardedStorage.load(playerId).getSkill(SkillType.FARMING).getExperience(), 0.01);
+        assertEquals("Nothing left to migrate", 0, shardedStorage.migrateToShards());
+    }
+    
+    @Test
+    public void testMigrationDoesNotOverwriteNewerShardedSave() throws DataStorageException {
+        UUID playerId = UUID.randomUUID();
+        SkillProfile oldProfile = new SkillProfile(playerId);
+        oldProfile.getSkill(SkillType.COMBAT).setExperience(5.0);
+        storage.save(playerId, oldProfile);
+        
+        // Simulate a save landing in the shard while the stale flat file is still around
+        JsonDataStorage shardedStorage = new JsonDataStorage(dataDirectory, true);
+        SkillProfile newProfile = new SkillProfile(playerId);
+        newProfile.getSkill(SkillType.COMBAT).setExperience(50.0);
+        shardedStorage.save(playerId, newProfile);
+        storage.save(playerId, oldProfile);
+        
+        assertEquals("Stale file should not be counted as migrated", 0, shardedStorage.migrateToShards());
+        assertEquals("Newer sharded save should win", 50.0,
+                     shardedStorage.load(playerId).getSkill(SkillType.COMBAT).getExperience(), 0.01);
+        assertFalse("Stale flat-layout file should be removed", new File(dataDirectory, playerId + ".json").exists());
+    }
+    
+    @Test
+    public void testShardedGetAllPlayerIdsIncludesShardsAndFlatFiles() throws DataStorageException {
+        JsonDataStorage shardedStorage = new JsonDataStorage(dataDirectory, true);
+        Set<UUID> expected = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            UUID playerId = UUID.randomUUID();
+            shardedStorage.save(playerId, new SkillProfile(playerId));
+            expected.add(playerId);
+        }
+        UUID legacyId = UUID.randomUUID();
+        storage.save(legacyId, new SkillProfile(legacyId));
+        expected.add(legacyId);
+        
+        UUID[] ids = shardedStorage.getAllPlayerIds();
+        
+        assertEquals("All profiles should be listed once", expected.size(), ids.length);
+        assertEquals("Listed IDs should match", expected, new HashSet<>(Arrays.asList(ids)));
+    }
+    
+    @Test
+    public void testForEachProfileVisitsEveryProfile() throws DataStorageException {
+        Set<UUID> expected = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            UUID playerId = UUID.randomUUID();
+            storage.save(playerId, new SkillProfile(playerId));
+            expected.add(playerId);
+        }
+        
+        Set<UUID> visited = new HashSet<>();
+        storage.forEachProfile(profile -> visited.add(profile.getPlayerId()));
+        
+        assertEquals("Every profile should be visited once", expected, visited);
+    }
+    
+    @Test
+    public void testParallelProfileStreamOverShardedStorage() throws DataStorageException {
+        JsonDataStorage shardedStorage = new JsonDataStorage(dataDirectory, true);
+        Set<UUID> expected = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            UUID playerId = UUID.randomUUID();
+            SkillProfile profile = new SkillProfile(playerId);
+            profile.getSkill(SkillType.MINING).setExperience(1.0);
+            shardedStorage.save(playerId, profile);
+            expected.add(playerId);
+        }
+        UUID legacyId = UUID.randomUUID();
+        storage.save(legacyId, new SkillProfile(legacyId));
+        expected.add(legacyId);
+        
+        Set<UUID> visited = shardedStorage.streamProfiles(true)
+                .map(SkillProfile::getPlayerId)
+                .collect(Collectors.toSet());
+        
+        assertEquals("Parallel scan should visit every profile once", expected, visited);
+    }
+    
+    @Test
+    public void testEarlyExitReleasesDirectoryListings() throws DataStorageException {
+        Object os = ManagementFactory.getOperatingSystemMXBean();
+        Assume.assumeTrue("Needs an open file count", os instanceof UnixOperatingSystemMXBean);
+        UnixOperatingSystemMXBean unix = (UnixOperatingSystemMXBean) os;
+        JsonDataStorage shardedStorage = new JsonDataStorage(dataDirectory, true);
+        for (int i = 0; i < 5; i++) {
+            UUID playerId = UUID.randomUUID();
+            shardedStorage.save(playerId, new SkillProfile(playerId));
+        }
+        
+        long before = unix.getOpenFileDescriptorCount();
+        for (int i = 0; i < 200; i++) {
+            try {
+                shardedStorage.forEachProfile(profile -> {
+                    throw new IllegalStateException("Stop early");
+                });
+                fail("The visitor's exception should propagate");
+            } catch (IllegalStateException expected) {
+                // Stopped after the first profile
+            }
+            try (Stream<SkillProfile> profiles = shardedStorage.streamProfiles(false)) {
+                assertTrue(profiles.findFirst().isPresent());
+            }
+        }
+        
+        assertTrue("Abandoned scans should not leak directory handles",
+            unix.getOpenFileDescriptorCount() - before < 50);
+    }
+    
+    @Test
+    public void testProfileSpliteratorIsNotDistinct() throws DataStorageException {
+        // A profile can sit in both layouts while migration runs
+        assertFalse(new JsonDataStorage(dataDirectory, true).profileSpliterator().hasCharacteristics(Spliterator.DISTINCT));
+    }
+    
+    @Test
+    public void testForEachProfileSkipsCorruptFiles() throws Exception {
+        UUID playerId = UUID.randomUUID();
+        storage.save(playerId, new SkillProfile(playerId));
+        Files.write(new File(dataDirectory, UUID.randomUUID() + ".json").toPath(), "not json".getBytes());
+        
+        List<SkillProfile> visited = new ArrayList<>();
+        storage.forEachProfile(visited::add);
+        
+        assertEquals("Only the readable profile should be visited", 1, visited.size());
+        assertEquals("Visited profile should match", playerId, visited.get(0).getPlayerId());
+    }
+    
+    @Test
+    public void testForEachProfileSavedSinceSkipsOlderFiles() throws DataStorageException {
+        UUID oldId = UUID.randomUUID();
+        UUID newId = UUID.randomUUID();
+        storage.save(oldId, new SkillProfile(oldId));
+        storage.save(newId, new SkillProfile(newId));
+        assertTrue(new File(dataDirectory, oldId + ".json").setLastModified(1000L));
+        
+        List<UUID> visited = new ArrayList<>();
+        storage.forEachProfileSavedSince(5000L, profile -> visited.add(profile.getPlayerId()));
+        
+        assertEquals("Only the recently saved profile should be read", Arrays.asList(newId), visited);
+    }
+    
+    @Test
+    public void testMetricsTimeSavesAndLoads() throws DataStorageException {
+        MetricsRegistry metrics = new MetricsRegistry(true);
+        storage.setMetrics(metrics);
+        UUID playerId = UUID.randomUUID();
+        
+        storage.save(playerId, new SkillProfile(playerId));
+        storage.load(playerId);
+        storage.load(UUID.randomUUID());
+        
+        assertEquals(1, metrics.histogram("storage.save").getCount());
+        assertEquals("Missing profiles should be timed too", 2, metrics.histogram("storage.load").getCount());
+    }
 }
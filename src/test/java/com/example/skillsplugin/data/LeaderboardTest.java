@@ -0,0 +1,103 @@
+package com.example.skillsplugin.data;
+
+import com.example.skillsplugin.skills.SkillProfile;
+import com.example.skillsplugin.skills.SkillType;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for Leaderboard.
+ * Verifies ordering, stale update handling and snapshot round trips.
+ */
+public class LeaderboardTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private Leaderboard leaderboard;
+
+    @Before
+    public void setUp() {
+        leaderboard = new Leaderboard();
+    }
+
+    private SkillProfile profile(int miningLevel, double miningXP) {
+        SkillProfile profile = new SkillProfile(UUID.randomUUID());
+        profile.getSkill(SkillType.MINING).setLevel(miningLevel);
+        profile.getSkill(SkillType.MINING).setExperience(miningXP);
+        return profile;
+    }
+
+    @Test
+    public void testGetTopOrdersByLevelThenExperience() {
+        SkillProfile first = profile(10, 5.0);
+        SkillProfile second = profile(10, 1.0);
+        SkillProfile third = profile(3, 99.0);
+        leaderboard.update(third, 1L);
+        leaderboard.update(first, 1L);
+        leaderboard.update(second, 1L);
+
+        PlayerDataManager.LeaderboardEntry[] top = leaderboard.getTop(SkillType.MINING, 10);
+
+        assertEquals("All players should be ranked", 3, top.length);
+        assertEquals(first.getPlayerId(), top[0].getPlayerId());
+        assertEquals(second.getPlayerId(), top[1].getPlayerId());
+        assertEquals(third.getPlayerId(), top[2].getPlayerId());
+        assertEquals("Limit should be respected", 2, leaderboard.getTop(SkillType.MINING, 2).length);
+    }
+
+    @Test
+    public void testOlderUpdateIsIgnored() {
+        SkillProfile profile = profile(20, 0.0);
+        assertTrue("First update should change the ranking", leaderboard.update(profile, 200L));
+
+        profile.getSkill(SkillType.MINING).setLevel(5);
+        assertFalse("Older data should be ignored", leaderboard.update(profile, 100L));
+
+        assertEquals("Newer level should be kept", 20, leaderboard.getTop(SkillType.MINING, 1)[0].getLevel());
+        assertEquals("Player should be ranked once", 1, leaderboard.size(SkillType.MINING));
+    }
+
+    @Test
+    public void testSnapshotRoundTrip() throws IOException {
+        SkillProfile high = profile(30, 12.5);
+        SkillProfile low = profile(2, 0.0);
+        leaderboard.update(high, 1000L);
+        leaderboard.update(low, 2000L);
+
+        File file = new File(tempFolder.getRoot(), "leaderboard.dat");
+        leaderboard.saveSnapshot(file);
+
+        Leaderboard restored = new Leaderboard();
+        assertEquals("Every skill entry should be read", 2 * SkillType.values().length, restored.loadSnapshot(file));
+
+        PlayerDataManager.LeaderboardEntry[] top = restored.getTop(SkillType.MINING, 10);
+        assertEquals(high.getPlayerId(), top[0].getPlayerId());
+        assertEquals(30, top[0].getLevel());
+        assertEquals(12.5, top[0].getExperience(), 0.001);
+        assertEquals(2000L, restored.getLastUpdated(low.getPlayerId(), SkillType.MINING));
+    }
+
+    @Test
+    public void testMissingSnapshotLoadsNothing() throws IOException {
+        assertEquals(0, leaderboard.loadSnapshot(new File(tempFolder.getRoot(), "missing.dat")));
+        assertFalse("Leaderboard should not be ready", leaderboard.isReady());
+    }
+
+    @Test(expected = IOException.class)
+    public void testCorruptSnapshotThrows() throws IOException {
+        File file = tempFolder.newFile("leaderboard.dat");
+        Files.write(file.toPath(), new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+
+        leaderboard.loadSnapshot(file);
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.skillsplugin.data;
+
+import org.bukkit.Server;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+import java.io.File;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for PlacedBlockTracker.
+ * Verifies bit bookkeeping across sections, persistence through chunk unload and reload,
+ * and that region reads run off the main thread.
+ */
+public class PlacedBlockTrackerTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private Plugin mockPlugin;
+    private File directory;
+    private UUID worldId;
+    private PlacedBlockTracker tracker;
+
+    @Before
+    public void setUp() throws Exception {
+        mockPlugin = mock(Plugin.class);
+        when(mockPlugin.getLogger()).thenReturn(mock(Logger.class));
+        when(mockPlugin.isEnabled()).thenReturn(false); // Writes run on the calling thread
+
+        directory = tempFolder.newFolder("placed");
+        worldId = UUID.randomUUID();
+        tracker = new PlacedBlockTracker(mockPlugin, directory);
+    }
+
+    @Test
+    public void testMarkAndClear() {
+        assertFalse("Block should not start placed", tracker.isPlaced(worldId, 5, 64, 7));
+
+        tracker.markPlaced(worldId, 5, 64, 7);
+        assertTrue("Block should be placed", tracker.isPlaced(worldId, 5, 64, 7));
+        assertFalse("Neighbour should not be placed", tracker.isPlaced(worldId, 5, 65, 7));
+
+        assertTrue("Clear should report the block was placed", tracker.clear(worldId, 5, 64, 7));
+        assertFalse("Block should no longer be placed", tracker.isPlaced(worldId, 5, 64, 7));
+        assertFalse("Second clear should report nothing", tracker.clear(worldId, 5, 64, 7));
+    }
+
+    @Test
+    public void testNegativeCoordinatesAndSections() {
+        tracker.markPlaced(worldId, -1, -64, -1);
+        tracker.markPlaced(worldId, -16, 319, -16);
+
+        assertTrue(tracker.isPlaced(worldId, -1, -64, -1));
+        assertTrue(tracker.isPlaced(worldId, -16, 319, -16));
+        assertFalse(tracker.isPlaced(worldId, -16, 318, -16));
+        assertFalse(tracker.isPlaced(worldId, 15, -64, 15));
+    }
+
+    @Test
+    public void testUnloadAndReloadKeepsPlacedBlocks() {
+        tracker.markPlaced(worldId, 3, 10, 4);
+        tracker.markPlaced(worldId, 40, 100, 40); // Another chunk in the same region
+
+        tracker.unloadChunk(worldId, 0, 0);
+        tracker.unloadChunk(worldId, 2, 2);
+        assertEquals("No chunks should be held in memory", 0, tracker.getLoadedChunkCount());
+
+        PlacedBlockTracker restarted = new PlacedBlockTracker(mockPlugin, directory);
+        restarted.loadChunk(worldId, 0, 0);
+        assertTrue(restarted.isPlaced(worldId, 3, 10, 4));
+        assertTrue(restarted.isPlaced(worldId, 40, 100, 40));
+        assertFalse(restarted.isPlaced(worldId, 3, 11, 4));
+    }
+
+    @Test
+    public void testClearedChunkRemovesRegionFile() {
+        tracker.markPlaced(worldId, 1, 1, 1);
+        tracker.saveAll(false);
+
+        File regionFile = new File(new File(directory, worldId.toString()), "r.0.0.dat");
+        assertTrue("Region file should be written", regionFile.isFile());
+
+        tracker.clear(worldId, 1, 1, 1);
+        tracker.unloadChunk(worldId, 0, 0);
+        assertFalse("Empty region file should be deleted", regionFile.exists());
+    }
+
+    @Test
+    public void testCleanChunkUnloadWritesNothing() {
+        tracker.loadChunk(worldId, 0, 0);
+        tracker.unloadChunk(worldId, 0, 0);
+
+        assertFalse("Nothing should be written for an unchanged chunk",
+                    new File(directory, worldId.toString()).exists());
+    }
+
+    @Test
+    public void testChunkLoadReadsRegionOnceOffMainThread() {
+        tracker.markPlaced(worldId, 3, 10, 4);
+        tracker.markPlaced(worldId, 40, 100, 40);
+        tracker.saveAll(false);
+
+        BukkitScheduler scheduler = enableScheduler();
+        PlacedBlockTracker restarted = new PlacedBlockTracker(mockPlugin, directory);
+        restarted.loadChunk(worldId, 0, 0);
+        restarted.loadChunk(worldId, 2, 2);
+
+        ArgumentCaptor<Runnable> read = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(1)).runTaskAsynchronously(eq(mockPlugin), read.capture());
+        assertFalse("Blocks should count as not placed until the region is read",
+                    restarted.isPlaced(worldId, 3, 10, 4));
+
+        read.getValue().run();
+        ArgumentCaptor<Runnable> merge = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).runTask(eq(mockPlugin), merge.capture());
+        merge.getValue().run();
+
+        assertTrue(restarted.isPlaced(worldId, 3, 10, 4));
+        assertTrue(restarted.isPlaced(worldId, 40, 100, 40));
+    }
+
+    @Test
+    public void testChangesWhileReadingAreKept() {
+        tracker.markPlaced(worldId, 1, 1, 1);
+        tracker.markPlaced(worldId, 2, 2, 2);
+        tracker.saveAll(false);
+
+        BukkitScheduler scheduler = enableScheduler();
+        PlacedBlockTracker restarted = new PlacedBlockTracker(mockPlugin, directory);
+        restarted.loadChunk(worldId, 0, 0);
+        assertFalse("Clear before the read should report not placed", restarted.clear(worldId, 1, 1, 1));
+        restarted.markPlaced(worldId, 3, 3, 3);
+
+        ArgumentCaptor<Runnable> read = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).runTaskAsynchronously(eq(mockPlugin), read.capture());
+        read.getValue().run();
+        ArgumentCaptor<Runnable> merge = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).runTask(eq(mockPlugin), merge.capture());
+        merge.getValue().run();
+
+        assertFalse("Cleared block should stay cleared", restarted.isPlaced(worldId, 1, 1, 1));
+        assertTrue("Stored block should be read", restarted.isPlaced(worldId, 2, 2, 2));
+        assertTrue("Block placed while reading should be kept", restarted.isPlaced(worldId, 3, 3, 3));
+    }
+
+    @Test
+    public void testUnloadBeforeReadMergesWithStoredBlocks() {
+        tracker.markPlaced(worldId, 1, 1, 1);
+        tracker.markPlaced(worldId, 2, 2, 2);
+        tracker.saveAll(false);
+
+        enableScheduler();
+        PlacedBlockTracker restarted = new PlacedBlockTracker(mockPlugin, directory);
+        restarted.loadChunk(worldId, 0, 0);
+        restarted.clear(worldId, 1, 1, 1);
+        restarted.markPlaced(worldId, 3, 3, 3);
+
+        // Shutting down before the read runs writes the changes over the stored blocks
+        when(mockPlugin.isEnabled()).thenReturn(false);
+        restarted.unloadChunk(worldId, 0, 0);
+
+        PlacedBlockTracker reloaded = new PlacedBlockTracker(mockPlugin, directory);
+        assertFalse(reloaded.isPlaced(worldId, 1, 1, 1));
+        assertTrue(reloaded.isPlaced(worldId, 2, 2, 2));
+        assertTrue(reloaded.isPlaced(worldId, 3, 3, 3));
+    }
+
+    private BukkitScheduler enableScheduler() {
+        Server server = mock(Server.class);
+        BukkitScheduler scheduler = mock(BukkitScheduler.class);
+        when(mockPlugin.getServer()).thenReturn(server);
+        when(server.getScheduler()).thenReturn(scheduler);
+        when(mockPlugin.isEnabled()).thenReturn(true);
+        return scheduler;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.skillsplugin.data;
 
+import com.example.skillsplugin.metrics.MetricsRegistry;
 import com.example.skillsplugin.skills.Skill;
 import com.example.skillsplugin.skills.SkillProfile;
 import com.example.skillsplugin.skills.SkillType;
@@ -8,17 +9,22 @@ import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitScheduler;
 import org.bukkit.scheduler.BukkitTask;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.ArgumentCaptor;
 
+import java.io.File;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -27,6 +33,9 @@ import static org.mockito.Mockito.*;
  */
 public class PlayerDataManagerTest {
     
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+    
     private Plugin mockPlugin;
     private DataStorage mockStorage;
     private BukkitScheduler mockScheduler;
@@ -523,4 +532,284 @@ public class PlayerDataManagerTest {
                         50.0, skill.getExperience(), 0.01);
         }
     }
+    
+    @Test
+    public void testRemoveDuringPendingSaveKeepsProfileUntilSaveLands() throws Exception {
+        UUID playerId = UUID.randomUUID();
+        SkillProfile profile = new SkillProfile(playerId);
+        when(mockStorage.load(playerId)).thenReturn(profile);
+        manager.getProfile(playerId);
+        
+        CountDownLatch saveStarted = new CountDownLatch(1);
+        CountDownLatch releaseSave = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            saveStarted.countDown();
+            releaseSave.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(mockStorage).save(eq(playerId), any());
+        
+        Thread saver = new Thread(() -> manager.saveProfileSync(playerId));
+        saver.start();
+        assertTrue("Save should start", saveStarted.await(5, TimeUnit.SECONDS));
+        
+        // Player quits while the write is still in flight
+        manager.removeFromCache(playerId);
+        assertEquals("Profile should be unloading", PlayerDataManager.ProfileState.UNLOADING,
+                     manager.getProfileState(playerId));
+        assertTrue("Profile should stay cached until the save lands", manager.isCached(playerId));
+        
+        releaseSave.countDown();
+        saver.join(5000);
+        
+        assertFalse("Profile should be evicted after the save lands", manager.isCached(playerId));
+    }
+    
+    @Test
+    public void testRejoinDuringUnloadReusesInMemoryProfile() throws Exception {
+        UUID playerId = UUID.randomUUID();
+        SkillProfile profile = new SkillProfile(playerId);
+        when(mockStorage.load(playerId)).thenReturn(profile);
+        manager.getProfile(playerId);
+        
+        CountDownLatch saveStarted = new CountDownLatch(1);
+        CountDownLatch releaseSave = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            saveStarted.countDown();
+            releaseSave.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(mockStorage).save(eq(playerId), any());
+        
+        Thread saver = new Thread(() -> manager.saveProfileSync(playerId));
+        saver.start();
+        assertTrue("Save should start", saveStarted.await(5, TimeUnit.SECONDS));
+        
+        manager.removeFromCache(playerId);
+        
+        // Player rejoins before the write lands
+        SkillProfile rejoined = manager.activateProfile(playerId);
+        assertSame("Rejoin should reuse the in-memory profile", profile, rejoined);
+        assertEquals("Profile should be active again", PlayerDataManager.ProfileState.ACTIVE,
+                     manager.getProfileState(playerId));
+        
+        releaseSave.countDown();
+        saver.join(5000);
+        
+        assertTrue("Reactivated profile should not be evicted", manager.isCached(playerId));
+        verify(mockStorage, times(1)).load(playerId);
+    }
+    
+    @Test
+    public void testLookupDuringUnloadDoesNotReactivate() throws Exception {
+        UUID playerId = UUID.randomUUID();
+        SkillProfile profile = new SkillProfile(playerId);
+        when(mockStorage.load(playerId)).thenReturn(profile);
+        manager.getProfile(playerId);
+        
+        CountDownLatch saveStarted = new CountDownLatch(1);
+        CountDownLatch releaseSave = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            saveStarted.countDown();
+            releaseSave.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(mockStorage).save(eq(playerId), any());
+        
+        Thread saver = new Thread(() -> manager.saveProfileSync(playerId));
+        saver.start();
+        assertTrue("Save should start", saveStarted.await(5, TimeUnit.SECONDS));
+        
+        manager.removeFromCache(playerId);
+        
+        // A leaderboard or command lookup for the offline player
+        assertSame("Lookup should see the in-memory profile", profile, manager.getProfile(playerId));
+        assertEquals("Lookup should not reactivate the profile", PlayerDataManager.ProfileState.UNLOADING,
+                     manager.getProfileState(playerId));
+        
+        releaseSave.countDown();
+        saver.join(5000);
+        
+        assertFalse("Profile should be evicted after the save lands", manager.isCached(playerId));
+    }
+    
+    @Test
+    public void testDeadLetteredFinalSaveEvictsUnloadingProfile() throws Exception {
+        when(mockPlugin.getDataFolder()).thenReturn(tempFolder.newFolder("SkillsPlugin"));
+        manager = new PlayerDataManager(mockPlugin, mockStorage);
+        
+        UUID playerId = UUID.randomUUID();
+        SkillProfile profile = new SkillProfile(playerId);
+        when(mockStorage.load(playerId)).thenReturn(profile);
+        manager.getProfile(playerId).getSkill(SkillType.MINING).setExperience(42.0);
+        
+        CountDownLatch saveStarted = new CountDownLatch(1);
+        CountDownLatch releaseSave = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            saveStarted.countDown();
+            releaseSave.await(5, TimeUnit.SECONDS);
+            throw new DataStorageException("Test exception");
+        }).when(mockStorage).save(eq(playerId), any());
+        
+        // The plugin is disabled, so every attempt runs back-to-back and the save is dead-lettered
+        Thread saver = new Thread(() -> manager.saveProfileSync(playerId));
+        saver.start();
+        assertTrue("Save should start", saveStarted.await(5, TimeUnit.SECONDS));
+        
+        manager.removeFromCache(playerId);
+        releaseSave.countDown();
+        saver.join(5000);
+        
+        assertFalse("Dead-lettered profile should be evicted", manager.isCached(playerId));
+        
+        // Storage still holds the data from before the failed saves
+        when(mockStorage.load(playerId)).thenReturn(new SkillProfile(playerId));
+        SkillProfile rejoined = manager.activateProfile(playerId);
+        assertEquals("Rejoin should load the dead-lettered profile", 42.0,
+                     rejoined.getSkill(SkillType.MINING).getExperience(), 0.001);
+    }
+    
+    @Test
+    public void testOutOfOrderSaveIsRejected() throws DataStorageException {
+        UUID playerId = UUID.randomUUID();
+        SkillProfile profile = new SkillProfile(playerId);
+        when(mockStorage.load(playerId)).thenReturn(profile);
+        manager.getProfile(playerId);
+        
+        // The first write fails after a newer save has already been written
+        doAnswer(invocation -> {
+            manager.saveProfileSync(playerId);
+            throw new DataStorageException("Test exception");
+        }).doNothing().when(mockStorage).save(eq(playerId), any());
+        
+        manager.saveProfileSync(playerId);
+        
+        // Only the failed first write and the newer write reach storage; the stale retry is dropped
+        verify(mockStorage, times(2)).save(eq(playerId), any());
+    }
+    
+    @Test
+    public void testGetTopPlayersKeepsBestEntriesAndPrefersCachedProfiles() throws DataStorageException {
+        UUID cachedId = UUID.randomUUID();
+        SkillProfile cachedProfile = new SkillProfile(cachedId);
+        when(mockStorage.load(cachedId)).thenReturn(cachedProfile);
+        manager.getProfile(cachedId).getSkill(SkillType.MINING).setLevel(50);
+        
+        // Stored copy of the cached player is stale
+        SkillProfile staleCopy = new SkillProfile(cachedId);
+        SkillProfile low = new SkillProfile(UUID.randomUUID());
+        low.getSkill(SkillType.MINING).setLevel(2);
+        SkillProfile mid = new SkillProfile(UUID.randomUUID());
+        mid.getSkill(SkillType.MINING).setLevel(10);
+        SkillProfile high = new SkillProfile(UUID.randomUUID());
+        high.getSkill(SkillType.MINING).setLevel(20);
+        
+        doAnswer(invocation -> {
+            Consumer<SkillProfile> visitor = invocation.getArgument(0);
+            visitor.accept(low);
+            visitor.accept(staleCopy);
+            visitor.accept(high);
+            visitor.accept(mid);
+            return null;
+        }).when(mockStorage).forEachProfile(any());
+        
+        PlayerDataManager.LeaderboardEntry[] top = manager.getTopPlayers(SkillType.MINING, 3);
+        
+        assertEquals("Should return the limit", 3, top.length);
+        assertEquals("Cached profile should rank first", cachedId, top[0].getPlayerId());
+        assertEquals("Cached level should be used", 50, top[0].getLevel());
+        assertEquals("Second place", high.getPlayerId(), top[1].getPlayerId());
+        assertEquals("Third place", mid.getPlayerId(), top[2].getPlayerId());
+        assertFalse("Leaderboard should not load profiles into the cache", manager.isCached(high.getPlayerId()));
+    }
+    
+    @Test
+    public void testGetTopPlayersServedFromWarmSnapshot() throws Exception {
+        Leaderboard snapshot = new Leaderboard();
+        SkillProfile stored = new SkillProfile(UUID.randomUUID());
+        stored.getSkill(SkillType.FISHING).setLevel(15);
+        snapshot.update(stored, 1000L);
+        File file = File.createTempFile("leaderboard", ".dat");
+        file.deleteOnExit();
+        snapshot.saveSnapshot(file);
+        
+        assertTrue("Snapshot should load", manager.loadLeaderboardSnapshot(file));
+        PlayerDataManager.LeaderboardEntry[] top = manager.getTopPlayers(SkillType.FISHING, 10);
+        
+        assertEquals("Snapshot entry should be served", 1, top.length);
+        assertEquals(stored.getPlayerId(), top[0].getPlayerId());
+        verify(mockStorage, never()).forEachProfile(any());
+    }
+    
+    @Test
+    public void testReconcileLeaderboardAppliesNewerProfiles() throws Exception {
+        UUID playerId = UUID.randomUUID();
+        SkillProfile old = new SkillProfile(playerId);
+        old.getSkill(SkillType.COMBAT).setLevel(3);
+        manager.getLeaderboard().update(old, 1000L);
+        
+        SkillProfile newer = new SkillProfile(playerId);
+        newer.getSkill(SkillType.COMBAT).setLevel(8);
+        newer.setLastUpdated(2000L);
+        doAnswer(invocation -> {
+            Consumer<SkillProfile> visitor = invocation.getArgument(1);
+            visitor.accept(newer);
+            return null;
+        }).when(mockStorage).forEachProfileSavedSince(anyLong(), any());
+        
+        assertEquals("One player should be updated", 1, manager.reconcileLeaderboard());
+        verify(mockStorage).forEachProfileSavedSince(eq(Long.MIN_VALUE), any());
+        assertTrue("Leaderboard should be ready", manager.getLeaderboard().isReady());
+        assertEquals(8, manager.getTopPlayers(SkillType.COMBAT, 1)[0].getLevel());
+    }
+    
+    @Test
+    public void testReconcileAfterSnapshotOnlyReadsNewerProfiles() throws Exception {
+        Leaderboard snapshot = new Leaderboard();
+        SkillProfile stored = new SkillProfile(UUID.randomUUID());
+        snapshot.update(stored, 1000L);
+        File file = File.createTempFile("leaderboard", ".dat");
+        file.deleteOnExit();
+        long before = System.currentTimeMillis();
+        snapshot.saveSnapshot(file);
+        
+        assertTrue("Snapshot should load", manager.loadLeaderboardSnapshot(file));
+        manager.reconcileLeaderboard();
+        
+        ArgumentCaptor<Long> since = ArgumentCaptor.forClass(Long.class);
+        verify(mockStorage).forEachProfileSavedSince(since.capture(), any());
+        assertTrue("Only profiles saved around or after the snapshot should be read",
+                   since.getValue() >= before - 60_000L && since.getValue() <= System.currentTimeMillis());
+        verify(mockStorage, never()).forEachProfile(any());
+    }
+    
+    @Test
+    public void testMetricsCountCacheHitsMissesAndSaves() throws DataStorageException {
+        MetricsRegistry metrics = new MetricsRegistry(true);
+        manager.setMetrics(metrics);
+        UUID playerId = UUID.randomUUID();
+        when(mockStorage.load(playerId)).thenReturn(new SkillProfile(playerId));
+        
+        manager.getProfile(playerId);
+        manager.getProfile(playerId);
+        manager.getProfile(playerId);
+        manager.saveProfileSync(playerId);
+        manager.getTopPlayers(SkillType.MINING, 3);
+        
+        assertEquals("First lookup should miss", 1, metrics.counter("profile.cache.miss").get());
+        assertEquals("Later lookups should hit", 2, metrics.counter("profile.cache.hit").get());
+        assertEquals(1, metrics.histogram("profile.save").getCount());
+        assertEquals(0, metrics.counter("profile.save.failed").get());
+        assertEquals(1, metrics.histogram("leaderboard.top").getCount());
+    }
+    
+    @Test
+    public void testMetricsCountFailedSaves() throws DataStorageException {
+        MetricsRegistry metrics = new MetricsRegistry(true);
+        manager.setMetrics(metrics);
+        UUID playerId = UUID.randomUUID();
+        manager.getProfile(playerId);
+        doThrow(new DataStorageException("Test exception")).when(mockStorage).save(eq(playerId), any());
+        
+        manager.saveProfileSync(playerId);
+        
+        assertEquals(1, metrics.counter("profile.save.failed").get());
+    }
 }
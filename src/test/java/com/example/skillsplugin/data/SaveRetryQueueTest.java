@@ -0,0 +1,149 @@
+package com.example.skillsplugin.data;
+
+import com.example.skillsplugin.skills.SkillProfile;
+import com.example.skillsplugin.skills.SkillType;
+import org.bukkit.plugin.Plugin;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for SaveRetryQueue.
+ * Verifies immediate retries while the scheduler is unavailable, dead-lettering and replay.
+ */
+public class SaveRetryQueueTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private Plugin mockPlugin;
+    private DataStorage mockStorage;
+    private File dataFolder;
+    private SaveRetryQueue queue;
+
+    @Before
+    public void setUp() throws Exception {
+        mockPlugin = mock(Plugin.class);
+        mockStorage = mock(DataStorage.class);
+        dataFolder = tempFolder.newFolder("SkillsPlugin");
+
+        when(mockPlugin.getLogger()).thenReturn(mock(Logger.class));
+        when(mockPlugin.getDataFolder()).thenReturn(dataFolder);
+        when(mockPlugin.isEnabled()).thenReturn(false);
+
+        queue = new SaveRetryQueue(mockPlugin, mockStorage);
+    }
+
+    @Test
+    public void testSuccessfulSaveMakesSingleAttempt() throws DataStorageException {
+        UUID playerId = UUID.randomUUID();
+        SkillProfile profile = new SkillProfile(playerId);
+
+        assertTrue("Save should succeed", queue.save(playerId, profile, 3));
+
+        verify(mockStorage, times(1)).save(playerId, profile);
+        assertEquals("Nothing should be pending", 0, queue.getPendingCount());
+    }
+
+    @Test
+    public void testRetriesImmediatelyWhenSchedulerUnavailable() throws DataStorageException {
+        UUID playerId = UUID.randomUUID();
+        SkillProfile profile = new SkillProfile(playerId);
+
+        doThrow(new DataStorageException("Test exception"))
+            .doNothing()
+            .when(mockStorage).save(eq(playerId), any());
+
+        assertTrue("Second attempt should succeed", queue.save(playerId, profile, 3));
+        verify(mockStorage, times(2)).save(playerId, profile);
+        assertFalse("Profile should not be dead-lettered", queue.isDeadLettered(playerId));
+    }
+
+    @Test
+    public void testExhaustedSaveIsDeadLettered() throws DataStorageException {
+        UUID playerId = UUID.randomUUID();
+        SkillProfile profile = new SkillProfile(playerId);
+        profile.getSkill(SkillType.MINING).setExperience(42.0);
+
+        doThrow(new DataStorageException("Test exception"))
+            .when(mockStorage).save(eq(playerId), any());
+
+        assertFalse("Save should fail", queue.save(playerId, profile, 3));
+
+        verify(mockStorage, times(3)).save(eq(playerId), any());
+        assertTrue("Profile should be dead-lettered", queue.isDeadLettered(playerId));
+        assertTrue("Dead-letter file should exist",
+                   new File(new File(dataFolder, "deadletter"), playerId + ".json").exists());
+    }
+
+    @Test
+    public void testLaterSuccessfulSaveClearsDeadLetter() throws DataStorageException {
+        UUID playerId = UUID.randomUUID();
+        SkillProfile profile = new SkillProfile(playerId);
+
+        doThrow(new DataStorageException("Test exception"))
+            .doThrow(new DataStorageException("Test exception"))
+            .doThrow(new DataStorageException("Test exception"))
+            .doNothing()
+            .when(mockStorage).save(eq(playerId), any());
+
+        queue.save(playerId, profile, 3);
+        assertTrue("Profile should be dead-lettered", queue.isDeadLettered(playerId));
+
+        assertTrue("Later save should succeed", queue.save(playerId, profile, 3));
+        assertFalse("Dead letter should be cleared", queue.isDeadLettered(playerId));
+        assertFalse("Dead-letter file should be removed",
+                    new File(new File(dataFolder, "deadletter"), playerId + ".json").exists());
+    }
+
+    @Test
+    public void testReplayDeadLettersRestoresProfiles() throws DataStorageException {
+        UUID playerId = UUID.randomUUID();
+        SkillProfile profile = new SkillProfile(playerId);
+        profile.getSkill(SkillType.COMBAT).setExperience(75.0);
+
+        doThrow(new DataStorageException("Test exception"))
+            .doThrow(new DataStorageException("Test exception"))
+            .doThrow(new DataStorageException("Test exception"))
+            .doNothing()
+            .when(mockStorage).save(eq(playerId), any());
+
+        queue.save(playerId, profile, 3);
+
+        // Simulate a restart with a fresh queue
+        SaveRetryQueue restarted = new SaveRetryQueue(mockPlugin, mockStorage);
+        assertEquals("One profile should be recovered", 1, restarted.replayDeadLetters());
+
+        verify(mockStorage, times(4)).save(eq(playerId), any(SkillProfile.class));
+        assertFalse("Dead-letter file should be removed after replay",
+                    new File(new File(dataFolder, "deadletter"), playerId + ".json").exists());
+    }
+
+    @Test
+    public void testFlushWithNothingPending() throws DataStorageException {
+        queue.flush();
+
+        verify(mockStorage, never()).save(any(), any());
+    }
+
+    @Test
+    public void testRetryDelayGrowsAndIsCapped() {
+        for (int i = 0; i < 20; i++) {
+            long first = SaveRetryQueue.getRetryDelayTicks(2);
+            assertTrue("First retry delay should be 1-2 ticks", first >= 1 && first <= 2);
+
+            long capped = SaveRetryQueue.getRetryDelayTicks(30);
+            assertTrue("Delay should be capped at 200 ticks", capped >= 100 && capped <= 200);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.skillsplugin.data;
+
+import com.example.skillsplugin.skills.SkillType;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for WindowedLeaderboard.
+ * Verifies window sums, day rollover, ranking order and snapshot round trips.
+ */
+public class WindowedLeaderboardTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private AtomicLong day;
+    private WindowedLeaderboard leaderboard;
+
+    @Before
+    public void setUp() {
+        day = new AtomicLong(20000L);
+        leaderboard = new WindowedLeaderboard(day::get);
+    }
+
+    @Test
+    public void testRecordAddsToEveryWindow() {
+        UUID playerId = UUID.randomUUID();
+        leaderboard.record(playerId, SkillType.MINING, 10.0);
+        leaderboard.record(playerId, SkillType.MINING, 5.0);
+
+        for (WindowedLeaderboard.Window window : WindowedLeaderboard.Window.values()) {
+            assertEquals("XP should count in " + window, 15.0,
+                         leaderboard.getExperience(playerId, SkillType.MINING, window), 0.001);
+        }
+        assertEquals("Other skills should be untouched", 0.0,
+                     leaderboard.getExperience(playerId, SkillType.FISHING, WindowedLeaderboard.Window.WEEK), 0.001);
+    }
+
+    @Test
+    public void testWindowsRollOverByDay() {
+        UUID playerId = UUID.randomUUID();
+        leaderboard.record(playerId, SkillType.MINING, 10.0);
+
+        day.addAndGet(1);
+        leaderboard.record(playerId, SkillType.MINING, 3.0);
+        assertEquals(3.0, leaderboard.getExperience(playerId, SkillType.MINING, WindowedLeaderboard.Window.DAY), 0.001);
+        assertEquals(13.0, leaderboard.getExperience(playerId, SkillType.MINING, WindowedLeaderboard.Window.WEEK), 0.001);
+
+        // Day 0 leaves the weekly window on day 7
+        day.addAndGet(6);
+        assertEquals(3.0, leaderboard.getExperience(playerId, SkillType.MINING, WindowedLeaderboard.Window.WEEK), 0.001);
+        assertEquals(13.0, leaderboard.getExperience(playerId, SkillType.MINING, WindowedLeaderboard.Window.SEASON), 0.001);
+    }
+
+    @Test
+    public void testInactiveRingsAreDropped() {
+        leaderboard.record(UUID.randomUUID(), SkillType.COMBAT, 10.0);
+        assertEquals(1, leaderboard.getTrackedCount());
+
+        day.addAndGet(WindowedLeaderboard.Window.SEASON.getDays());
+        assertEquals("No entries should remain", 0,
+                     leaderboard.getTop(WindowedLeaderboard.Window.SEASON, SkillType.COMBAT, 10).length);
+        assertEquals("Ring should be released", 0, leaderboard.getTrackedCount());
+    }
+
+    @Test
+    public void testGetTopRanksByWindowedExperience() {
+        UUID veteran = UUID.randomUUID();
+        UUID newcomer = UUID.randomUUID();
+        leaderboard.record(veteran, SkillType.FARMING, 100.0);
+
+        day.addAndGet(7);
+        leaderboard.record(newcomer, SkillType.FARMING, 20.0);
+
+        PlayerDataManager.LeaderboardEntry[] weekly = leaderboard.getTop(WindowedLeaderboard.Window.WEEK, SkillType.FARMING, 10);
+        assertEquals("Only this week's earner should rank weekly", 1, weekly.length);
+        assertEquals(newcomer, weekly[0].getPlayerId());
+
+        PlayerDataManager.LeaderboardEntry[] season = leaderboard.getTop(WindowedLeaderboard.Window.SEASON, SkillType.FARMING, 10);
+        assertEquals(2, season.length);
+        assertEquals(veteran, season[0].getPlayerId());
+        assertEquals(100.0, season[0].getExperience(), 0.001);
+    }
+
+    @Test
+    public void testRecordAfterDayChangeOnlyTouchesOwnRing() {
+        leaderboard.record(UUID.randomUUID(), SkillType.MINING, 10.0);
+
+        day.addAndGet(WindowedLeaderboard.Window.SEASON.getDays());
+        leaderboard.record(UUID.randomUUID(), SkillType.MINING, 5.0);
+        assertEquals("The expired ring should not be touched by an award", 2, leaderboard.getTrackedCount());
+
+        assertEquals(1, leaderboard.getTop(WindowedLeaderboard.Window.SEASON, SkillType.MINING, 10).length);
+        assertEquals("Reading the board should release the expired ring", 1, leaderboard.getTrackedCount());
+    }
+
+    @Test
+    public void testBoardRefillsWhenRankedXpLeavesWindow() {
+        UUID veteran = UUID.randomUUID();
+        leaderboard.record(veteran, SkillType.MINING, 100.0);
+
+        day.addAndGet(1);
+        UUID lowest = UUID.randomUUID();
+        leaderboard.record(lowest, SkillType.MINING, 1.0);
+        for (int i = 2; i <= 10; i++) {
+            leaderboard.record(UUID.randomUUID(), SkillType.MINING, i);
+        }
+        PlayerDataManager.LeaderboardEntry[] before = leaderboard.getTop(WindowedLeaderboard.Window.WEEK, SkillType.MINING, 10);
+        assertEquals(veteran, before[0].getPlayerId());
+        assertEquals("The smallest earner should not fit on the board", 2.0, before[9].getExperience(), 0.001);
+
+        // The veteran's XP leaves the weekly window, making room for the smallest earner
+        day.addAndGet(6);
+        PlayerDataManager.LeaderboardEntry[] after = leaderboard.getTop(WindowedLeaderboard.Window.WEEK, SkillType.MINING, 10);
+        assertEquals(10, after.length);
+        assertEquals(10.0, after[0].getExperience(), 0.001);
+        assertEquals(lowest, after[9].getPlayerId());
+    }
+
+    @Test
+    public void testSnapshotRoundTripRollsForward() throws IOException {
+        UUID playerId = UUID.randomUUID();
+        leaderboard.record(playerId, SkillType.TRADING, 8.0);
+        day.addAndGet(1);
+        leaderboard.record(playerId, SkillType.TRADING, 2.0);
+
+        File file = new File(tempFolder.getRoot(), "xphistory.dat");
+        leaderboard.saveSnapshot(file);
+
+        // Restart two days later
+        day.addAndGet(2);
+        WindowedLeaderboard restored = new WindowedLeaderboard(day::get);
+        assertEquals(1, restored.loadSnapshot(file));
+
+        assertEquals(0.0, restored.getExperience(playerId, SkillType.TRADING, WindowedLeaderboard.Window.DAY), 0.001);
+        assertEquals(10.0, restored.getExperience(playerId, SkillType.TRADING, WindowedLeaderboard.Window.WEEK), 0.001);
+        PlayerDataManager.LeaderboardEntry[] weekly = restored.getTop(WindowedLeaderboard.Window.WEEK, SkillType.TRADING, 10);
+        assertEquals("Restored rings should be ranked", 1, weekly.length);
+        assertEquals(playerId, weekly[0].getPlayerId());
+    }
+
+    @Test
+    public void testWindowFromName() {
+        assertEquals(WindowedLeaderboard.Window.WEEK, WindowedLeaderboard.Window.fromName("week"));
+        assertEquals(WindowedLeaderboard.Window.WEEK, WindowedLeaderboard.Window.fromName("Weekly"));
+        assertEquals(WindowedLeaderboard.Window.DAY, WindowedLeaderboard.Window.fromName("day"));
+        assertEquals(WindowedLeaderboard.Window.SEASON, WindowedLeaderboard.Window.fromName("season"));
+        assertNull(WindowedLeaderboard.Window.fromName("month"));
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.skillsplugin.events;
+
+import com.example.skillsplugin.data.PlacedBlockTracker;
+import com.example.skillsplugin.data.PlayerDataManager;
+import com.example.skillsplugin.skills.BonusManager;
+import com.example.skillsplugin.skills.ExperienceCalculator;
+import com.example.skillsplugin.skills.Skill;
+import com.example.skillsplugin.skills.SkillProfile;
+import com.example.skillsplugin.skills.SkillType;
+import com.example.skillsplugin.ui.UIManager;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.Ageable;
+import org.bukkit.entity.Player;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for BlockBreakListener.
+ * Tests the complete flow from a broken block to XP award to UI feedback.
+ */
+public class BlockBreakListenerTest {
+    
+    private BlockBreakListener listener;
+    private PlayerDataManager playerDataManager;
+    private ExperienceCalculator experienceCalculator;
+    private UIManager uiManager;
+    private BonusManager bonusManager;
+    private Logger logger;
+    
+    private Player mockPlayer;
+    private UUID playerId;
+    private SkillProfile mockProfile;
+    
+    @Before
+    public void setUp() {
+        playerDataManager = mock(PlayerDataManager.class);
+        experienceCalculator = mock(ExperienceCalculator.class);
+        uiManager = mock(UIManager.class);
+        bonusManager = mock(BonusManager.class);
+        logger = mock(Logger.class);
+        
+        listener = new BlockBreakListener(experienceCalculator, bonusManager, null,
+            new ExperienceAwarder(playerDataManager, uiManager, logger), logger);
+        
+        // Set up mock player
+        mockPlayer = mock(Player.class);
+        playerId = UUID.randomUUID();
+        when(mockPlayer.getUniqueId()).thenReturn(playerId);
+        
+        // Set up mock profile
+        mockProfile = mock(SkillProfile.class);
+        when(playerDataManager.getProfile(playerId)).thenReturn(mockProfile);
+    }
+    
+    @Test
+    public void testMiningXPAward() {
+        // Arrange
+        Block mockBlock = mock(Block.class);
+        when(mockBlock.getType()).thenReturn(Material.DIAMOND_ORE);
+        
+        BlockBreakEvent event = new BlockBreakEvent(mockBlock, mockPlayer);
+        
+        when(experienceCalculator.calculateMiningXP(Material.DIAMOND_ORE)).thenReturn(25.0);
+        
+        PlayerDataManager.ExperienceResult result = 
+            new PlayerDataManager.ExperienceResult(SkillType.MINING, 25.0, 0, false);
+        when(playerDataManager.awardExperience(mockPlayer, SkillType.MINING, 25.0))
+            .thenReturn(result);
+        
+        // Act
+        listener.onBlockBreak(event);
+        
+        // Assert
+        verify(experienceCalculator).calculateMiningXP(Material.DIAMOND_ORE);
+        verify(playerDataManager).awardExperience(mockPlayer, SkillType.MINING, 25.0);
+        verify(uiManager).sendXPGainMessage(mockPlayer, SkillType.MINING, 25.0);
+        verify(uiManager, never()).showLevelUpBossBar(any(), any(), anyInt());
+    }
+    
+    @Test
+    public void testPlayerPlacedBlockAwardsNoXP() {
+        // Arrange
+        PlacedBlockTracker tracker = mock(PlacedBlockTracker.class);
+        BlockBreakListener trackingListener = new BlockBreakListener(
+            experienceCalculator, bonusManager, tracker, new ExperienceAwarder(playerDataManager, uiManager, logger), logger);
+        
+        Block mockBlock = mock(Block.class);
+        when(mockBlock.getType()).thenReturn(Material.DIAMOND_ORE);
+        when(tracker.clear(mockBlock)).thenReturn(true);
+        when(experienceCalculator.calculateMiningXP(Material.DIAMOND_ORE)).thenReturn(25.0);
+        
+        BlockBreakEvent event = new BlockBreakEvent(mockBlock, mockPlayer);
+        
+        // Act
+        trackingListener.onBlockBreak(event);
+        
+        // Assert
+        verify(tracker).clear(mockBlock);
+        verify(playerDataManager, never()).awardExperience(any(), any(), anyDouble());
+        verify(bonusManager, never()).applyMiningBonus(any(), any());
+    }
+    
+    @Test
+    public void testWoodcuttingXPAward() {
+        // Arrange
+        Block mockBlock = mock(Block.class);
+        when(mockBlock.getType()).thenReturn(Material.OAK_LOG);
+        
+        BlockBreakEvent event = new BlockBreakEvent(mockBlock, mockPlayer);
+        
+        when(experienceCalculator.calculateMiningXP(Material.OAK_LOG)).thenReturn(0.0);
+        when(experienceCalculator.calculateWoodcuttingXP(Material.OAK_LOG)).thenReturn(5.0);
+        
+        PlayerDataManager.ExperienceResult result = 
+            new PlayerDataManager.ExperienceResult(SkillType.WOODCUTTING, 5.0, 0, false);
+        when(playerDataManager.awardExperience(mockPlayer, SkillType.WOODCUTTING, 5.0))
+            .thenReturn(result);
+        
+        // Act
+        listener.onBlockBreak(event);
+        
+        // Assert
+        verify(experienceCalculator).calculateWoodcuttingXP(Material.OAK_LOG);
+        verify(playerDataManager).awardExperience(mockPlayer, SkillType.WOODCUTTING, 5.0);
+        verify(uiManager).sendXPGainMessage(mockPlayer, SkillType.WOODCUTTING, 5.0);
+    }
+    
+    @Test
+    public void testFarmingXPAwardForMatureCrop() {
+        // Arrange
+        Block mockBlock = mock(Block.class);
+        Ageable mockAgeable = mock(Ageable.class);
+        
+        when(mockBlock.getType()).thenReturn(Material.WHEAT);
+        when(mockBlock.getBlockData()).thenReturn(mockAgeable);
+        when(mockAgeable.getAge()).thenReturn(7);
+        when(mockAgeable.getMaximumAge()).thenReturn(7);
+        
+        BlockBreakEvent event = new BlockBreakEvent(mockBlock, mockPlayer);
+        
+        when(experienceCalculator.calculateMiningXP(Material.WHEAT)).thenReturn(0.0);
+        when(experienceCalculator.calculateWoodcuttingXP(Material.WHEAT)).thenReturn(0.0);
+        when(experienceCalculator.calculateFarmingXP(Material.WHEAT)).thenReturn(5.0);
+        
+        PlayerDataManager.ExperienceResult result = 
+            new PlayerDataManager.ExperienceResult(SkillType.FARMING, 5.0, 0, false);
+        when(playerDataManager.awardExperience(mockPlayer, SkillType.FARMING, 5.0))
+            .thenReturn(result);
+        
+        // Act
+        listener.onBlockBreak(event);
+        
+        // Assert
+        verify(experienceCalculator).calculateFarmingXP(Material.WHEAT);
+        verify(playerDataManager).awardExperience(mockPlayer, SkillType.FARMING, 5.0);
+        verify(uiManager).sendXPGainMessage(mockPlayer, SkillType.FARMING, 5.0);
+    }
+    
+    @Test
+    public void testFarmingNoXPForImmatureCrop() {
+        // Arrange
+        Block mockBlock = mock(Block.class);
+        Ageable mockAgeable = mock(Ageable.class);
+        
+        when(mockBlock.getType()).thenReturn(Material.WHEAT);
+        when(mockBlock.getBlockData()).thenReturn(mockAgeable);
+        when(mockAgeable.getAge()).thenReturn(3);
+        when(mockAgeable.getMaximumAge()).thenReturn(7);
+        
+        BlockBreakEvent event = new BlockBreakEvent(mockBlock, mockPlayer);
+        
+        when(experienceCalculator.calculateMiningXP(Material.WHEAT)).thenReturn(0.0);
+        when(experienceCalculator.calculateWoodcuttingXP(Material.WHEAT)).thenReturn(0.0);
+        
+        // Act
+        listener.onBlockBreak(event);
+        
+        // Assert
+        verify(experienceCalculator, never()).calculateFarmingXP(any());
+        verify(playerDataManager, never()).awardExperience(any(), eq(SkillType.FARMING), anyDouble());
+    }
+    
+    @Test
+    public void testLevelUpTriggersUIFeedback() {
+        // Arrange
+        Block mockBlock = mock(Block.class);
+        when(mockBlock.getType()).thenReturn(Material.DIAMOND_ORE);
+        
+        BlockBreakEvent event = new BlockBreakEvent(mockBlock, mockPlayer);
+        
+        when(experienceCalculator.calculateMiningXP(Material.DIAMOND_ORE)).thenReturn(25.0);
+        
+        // Simulate level-up
+        PlayerDataManager.ExperienceResult result = 
+            new PlayerDataManager.ExperienceResult(SkillType.MINING, 25.0, 1, true);
+        when(playerDataManager.awardExperience(mockPlayer, SkillType.MINING, 25.0))
+            .thenReturn(result);
+        
+        Skill mockSkill = mock(Skill.class);
+        when(mockSkill.getLevel()).thenReturn(5);
+        when(mockProfile.getSkill(SkillType.MINING)).thenReturn(mockSkill);
+        
+        // Act
+        listener.onBlockBreak(event);
+        
+        // Assert
+        verify(uiManager).sendXPGainMessage(mockPlayer, SkillType.MINING, 25.0);
+        verify(uiManager).showLevelUpBossBar(mockPlayer, SkillType.MINING, 5);
+    }
+    
+    @Test
+    public void testMultipleLevelUpTriggersUIFeedback() {
+        // Arrange
+        Block mockBlock = mock(Block.class);
+        when(mockBlock.getType()).thenReturn(Material.DIAMOND_ORE);
+        
+        BlockBreakEvent event = new BlockBreakEvent(mockBlock, mockPlayer);
+        
+        when(experienceCalculator.calculateMiningXP(Material.DIAMOND_ORE)).thenReturn(1000.0);
+        
+        // Simulate multiple level-ups
+        PlayerDataManager.ExperienceResult result = 
+            new PlayerDataManager.ExperienceResult(SkillType.MINING, 1000.0, 3, true);
+        when(playerDataManager.awardExperience(mockPlayer, SkillType.MINING, 1000.0))
+            .thenReturn(result);
+        
+        Skill mockSkill = mock(Skill.class);
+        when(mockSkill.getLevel()).thenReturn(8);
+        when(mockProfile.getSkill(SkillType.MINING)).thenReturn(mockSkill);
+        
+        // Act
+        listener.onBlockBreak(event);
+        
+        // Assert
+        verify(uiManager).sendXPGainMessage(mockPlayer, SkillType.MINING, 1000.0);
+        verify(uiManager).showLevelUpBossBar(mockPlayer, SkillType.MINING, 8);
+    }
+    
+    @Test
+    public void testEventErrorHandlingDoesNotCrash() {
+        // Arrange
+        Block mockBlock = mock(Block.class);
+        when(mockBlock.getType()).thenThrow(new RuntimeException("Test exception"));
+        
+        BlockBreakEvent event = new BlockBreakEvent(mockBlock, mockPlayer);
+        
+        // Act - should not throw exception
+        listener.onBlockBreak(event);
+        
+        // Assert - error should be logged
+        verify(logger).log(any(), anyString(), any(Exception.class));
+    }
+    
+    @Test
+    public void testNoXPAwardedForZeroXP() {
+        // Arrange
+        Block mockBlock = mock(Block.class);
+        when(mockBlock.getType()).thenReturn(Material.DIRT);
+        
+        BlockBreakEvent event = new BlockBreakEvent(mockBlock, mockPlayer);
+        
+        when(experienceCalculator.calculateMiningXP(Material.DIRT)).thenReturn(0.0);
+        when(experienceCalculator.calculateWoodcuttingXP(Material.DIRT)).thenReturn(0.0);
+        
+        // Act
+        listener.onBlockBreak(event);
+        
+        // Assert
+        verify(playerDataManager, never()).awardExperience(any(), any(), anyDouble());
+        verify(uiManager, never()).sendXPGainMessage(any(), any(), anyDouble());
+    }
+    
+    @Test
+    public void testMelonBlockAwardsFarmingXP() {
+        // Arrange
+        Block mockBlock = mock(Block.class);
+        when(mockBlock.getType()).thenReturn(Material.MELON);
+        when(mockBlock.getBlockData()).thenReturn(mock(org.bukkit.block.data.BlockData.class));
+        
+        BlockBreakEvent event = new BlockBreakEvent(mockBlock, mockPlayer);
+        
+        when(experienceCalculator.calculateMiningXP(Material.MELON)).thenReturn(0.0);
+        when(experienceCalculator.calculateWoodcuttingXP(Material.MELON)).thenReturn(0.0);
+        when(experienceCalculator.calculateFarmingXP(Material.MELON)).thenReturn(3.0);
+        
+        PlayerDataManager.ExperienceResult result = 
+            new PlayerDataManager.ExperienceResult(SkillType.FARMING, 3.0, 0, false);
+        when(playerDataManager.awardExperience(mockPlayer, SkillType.FARMING, 3.0))
+            .thenReturn(result);
+        
+        // Act
+        listener.onBlockBreak(event);
+        
+        // Assert
+        verify(experienceCalculator).calculateFarmingXP(Material.MELON);
+        verify(playerDataManager).awardExperience(mockPlayer, SkillType.FARMING, 3.0);
+    }
+}
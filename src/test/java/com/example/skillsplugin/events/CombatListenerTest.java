@@ -0,0 +1,98 @@
+package com.example.skillsplugin.events;
+
+import com.example.skillsplugin.data.PlayerDataManager;
+import com.example.skillsplugin.skills.BonusManager;
+import com.example.skillsplugin.skills.ExperienceCalculator;
+import com.example.skillsplugin.skills.SkillProfile;
+import com.example.skillsplugin.skills.SkillType;
+import com.example.skillsplugin.ui.UIManager;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Zombie;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for CombatListener.
+ */
+public class CombatListenerTest {
+    
+    private CombatListener listener;
+    private PlayerDataManager playerDataManager;
+    private ExperienceCalculator experienceCalculator;
+    private UIManager uiManager;
+    private BonusManager bonusManager;
+    private Logger logger;
+    
+    private Player mockPlayer;
+    private UUID playerId;
+    private SkillProfile mockProfile;
+    
+    @Before
+    public void setUp() {
+        playerDataManager = mock(PlayerDataManager.class);
+        experienceCalculator = mock(ExperienceCalculator.class);
+        uiManager = mock(UIManager.class);
+        bonusManager = mock(BonusManager.class);
+        logger = mock(Logger.class);
+        
+        listener = new CombatListener(experienceCalculator,
+            new ExperienceAwarder(playerDataManager, uiManager, logger), logger);
+        
+        // Set up mock player
+        mockPlayer = mock(Player.class);
+        playerId = UUID.randomUUID();
+        when(mockPlayer.getUniqueId()).thenReturn(playerId);
+        
+        // Set up mock profile
+        mockProfile = mock(SkillProfile.class);
+        when(playerDataManager.getProfile(playerId)).thenReturn(mockProfile);
+    }
+    
+    @Test
+    public void testCombatXPAward() {
+        // Arrange
+        Zombie mockZombie = mock(Zombie.class);
+        when(mockZombie.getKiller()).thenReturn(mockPlayer);
+        when(mockZombie.getType()).thenReturn(EntityType.ZOMBIE);
+        
+        EntityDeathEvent event = new EntityDeathEvent(mockZombie, null);
+        
+        when(experienceCalculator.calculateCombatXP(EntityType.ZOMBIE)).thenReturn(10.0);
+        
+        PlayerDataManager.ExperienceResult result = 
+            new PlayerDataManager.ExperienceResult(SkillType.COMBAT, 10.0, 0, false);
+        when(playerDataManager.awardExperience(mockPlayer, SkillType.COMBAT, 10.0))
+            .thenReturn(result);
+        
+        // Act
+        listener.onEntityDeath(event);
+        
+        // Assert
+        verify(experienceCalculator).calculateCombatXP(EntityType.ZOMBIE);
+        verify(playerDataManager).awardExperience(mockPlayer, SkillType.COMBAT, 10.0);
+        verify(uiManager).sendXPGainMessage(mockPlayer, SkillType.COMBAT, 10.0);
+    }
+    
+    @Test
+    public void testCombatNoXPWhenNotKilledByPlayer() {
+        // Arrange
+        Zombie mockZombie = mock(Zombie.class);
+        when(mockZombie.getKiller()).thenReturn(null);
+        
+        EntityDeathEvent event = new EntityDeathEvent(mockZombie, null);
+        
+        // Act
+        listener.onEntityDeath(event);
+        
+        // Assert
+        verify(experienceCalculator, never()).calculateCombatXP(any());
+        verify(playerDataManager, never()).awardExperience(any(), any(), anyDouble());
+    }
+}
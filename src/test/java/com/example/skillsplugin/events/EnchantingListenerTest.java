@@ -0,0 +1,241 @@
+package com.example.skillsplugin.events;
+
+import com.example.skillsplugin.data.PlayerDataManager;
+import com.example.skillsplugin.skills.BonusManager;
+import com.example.skillsplugin.skills.EnchantmentXpTable;
+import com.example.skillsplugin.skills.ExperienceCalculator;
+import com.example.skillsplugin.skills.SkillType;
+import com.example.skillsplugin.ui.UIManager;
+import org.bukkit.GameMode;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.Player;
+import org.bukkit.event.enchantment.EnchantItemEvent;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.AnvilInventory;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.EnchantmentStorageMeta;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for EnchantingListener.
+ */
+public class EnchantingListenerTest {
+    
+    private EnchantingListener listener;
+    private PlayerDataManager playerDataManager;
+    private ExperienceCalculator experienceCalculator;
+    private UIManager uiManager;
+    private BonusManager bonusManager;
+    private Logger logger;
+    private Player mockPlayer;
+    
+    @Before
+    public void setUp() {
+        playerDataManager = mock(PlayerDataManager.class);
+        experienceCalculator = mock(ExperienceCalculator.class);
+        uiManager = mock(UIManager.class);
+        logger = mock(Logger.class);
+        
+        bonusManager = mock(BonusManager.class);
+        listener = new EnchantingListener(experienceCalculator, bonusManager,
+            new ExperienceAwarder(playerDataManager, uiManager, logger), logger);
+        
+        mockPlayer = mock(Player.class);
+        when(mockPlayer.getUniqueId()).thenReturn(UUID.randomUUID());
+    }
+    
+    @Test
+    public void testEnchantingXPAward() {
+        // Arrange
+        EnchantItemEvent event = mock(EnchantItemEvent.class);
+        when(event.getEnchanter()).thenReturn(mockPlayer);
+        when(event.getExpLevelCost()).thenReturn(15);
+        Map<Enchantment, Integer> enchants = new HashMap<>();
+        enchants.put(mock(Enchantment.class), 3);
+        when(event.getEnchantsToAdd()).thenReturn(enchants);
+        
+        when(experienceCalculator.calculateEnchantingXP(EnchantmentXpTable.Source.TABLE, enchants)).thenReturn(75.0);
+        
+        PlayerDataManager.ExperienceResult result = 
+            new PlayerDataManager.ExperienceResult(SkillType.ENCHANTING, 75.0, 0, false);
+        when(playerDataManager.awardExperience(mockPlayer, SkillType.ENCHANTING, 75.0))
+            .thenReturn(result);
+        
+        // Act
+        listener.onEnchantItem(event);
+        
+        // Assert
+        verify(experienceCalculator).calculateEnchantingXP(EnchantmentXpTable.Source.TABLE, enchants);
+        verify(playerDataManager).awardExperience(mockPlayer, SkillType.ENCHANTING, 75.0);
+        verify(uiManager).sendXPGainMessage(mockPlayer, SkillType.ENCHANTING, 75.0);
+    }
+    
+    @Test
+    public void testAnvilAwardsEnchantmentsOfSecondItem() {
+        AnvilInventory inventory = mock(AnvilInventory.class);
+        when(inventory.getType()).thenReturn(InventoryType.ANVIL);
+        when(inventory.getRepairCost()).thenReturn(5);
+        when(mockPlayer.getLevel()).thenReturn(10);
+        ItemStack sword = mock(ItemStack.class);
+        when(sword.getType()).thenReturn(Material.DIAMOND_SWORD);
+        when(sword.getAmount()).thenReturn(1);
+        Map<Enchantment, Integer> enchants = new HashMap<>();
+        enchants.put(mock(Enchantment.class), 4);
+        when(sword.getEnchantments()).thenReturn(enchants);
+        when(inventory.getItem(1)).thenReturn(sword);
+        
+        when(experienceCalculator.calculateEnchantingXP(EnchantmentXpTable.Source.ANVIL, enchants)).thenReturn(20.0);
+        when(playerDataManager.awardExperience(mockPlayer, SkillType.ENCHANTING, 20.0))
+            .thenReturn(new PlayerDataManager.ExperienceResult(SkillType.ENCHANTING, 20.0, 0, false));
+        
+        listener.onInventoryClick(resultClick(inventory));
+        
+        verify(playerDataManager).awardExperience(mockPlayer, SkillType.ENCHANTING, 20.0);
+    }
+    
+    @Test
+    public void testAnvilNoXPWhenPlayerCannotAffordRepair() {
+        AnvilInventory inventory = mock(AnvilInventory.class);
+        when(inventory.getType()).thenReturn(InventoryType.ANVIL);
+        when(inventory.getRepairCost()).thenReturn(30);
+        when(mockPlayer.getLevel()).thenReturn(10);
+        when(mockPlayer.getGameMode()).thenReturn(GameMode.SURVIVAL);
+        
+        listener.onInventoryClick(resultClick(inventory));
+        
+        verify(experienceCalculator, never()).calculateEnchantingXP(any(EnchantmentXpTable.Source.class), any());
+        verify(playerDataManager, never()).awardExperience(any(), any(), anyDouble());
+    }
+    
+    @Test
+    public void testGrindstoneAwardsRemovedEnchantmentsOfBothInputs() {
+        listener.onInventoryClick(resultClick(enchantedBookGrindstone()));
+        
+        verify(playerDataManager).awardExperience(mockPlayer, SkillType.ENCHANTING, 5.0);
+    }
+    
+    @Test
+    public void testShiftClickAwardsWhenResultFits() {
+        InventoryClickEvent event = resultClick(enchantedBookGrindstone());
+        when(event.getClick()).thenReturn(ClickType.SHIFT_LEFT);
+        givePlayerInventory(new ItemStack[36]);
+        
+        listener.onInventoryClick(event);
+        
+        verify(playerDataManager).awardExperience(mockPlayer, SkillType.ENCHANTING, 5.0);
+    }
+    
+    @Test
+    public void testShiftClickWithFullInventoryAwardsNothing() {
+        InventoryClickEvent event = resultClick(enchantedBookGrindstone());
+        when(event.getClick()).thenReturn(ClickType.SHIFT_LEFT);
+        ItemStack[] full = new ItemStack[36];
+        for (int i = 0; i < full.length; i++) {
+            full[i] = new ItemStack(Material.DIRT, 64);
+        }
+        givePlayerInventory(full);
+        
+        // The result stays in place and nothing is consumed, so repeating the click must not pay
+        listener.onInventoryClick(event);
+        listener.onInventoryClick(event);
+        
+        verify(playerDataManager, never()).awardExperience(any(), any(), anyDouble());
+    }
+    
+    @Test
+    public void testCloneAndHeldItemClicksAwardNothing() {
+        Inventory inventory = enchantedBookGrindstone();
+        InventoryClickEvent creative = resultClick(inventory);
+        when(creative.getClick()).thenReturn(ClickType.CREATIVE);
+        InventoryClickEvent middle = resultClick(inventory);
+        when(middle.getClick()).thenReturn(ClickType.MIDDLE);
+        InventoryClickEvent holding = resultClick(inventory);
+        when(holding.getCursor()).thenReturn(new ItemStack(Material.DIRT));
+        
+        listener.onInventoryClick(creative);
+        listener.onInventoryClick(middle);
+        listener.onInventoryClick(holding);
+        
+        verify(playerDataManager, never()).awardExperience(any(), any(), anyDouble());
+    }
+    
+    @Test
+    public void testNumberKeyAwardsOnlyIntoEmptyHotbarSlot() {
+        InventoryClickEvent event = resultClick(enchantedBookGrindstone());
+        when(event.getClick()).thenReturn(ClickType.NUMBER_KEY);
+        when(event.getHotbarButton()).thenReturn(2);
+        PlayerInventory playerInventory = givePlayerInventory(new ItemStack[36]);
+        when(playerInventory.getItem(2)).thenReturn(new ItemStack(Material.DIRT));
+        
+        listener.onInventoryClick(event);
+        verify(playerDataManager, never()).awardExperience(any(), any(), anyDouble());
+        
+        when(playerInventory.getItem(2)).thenReturn(null);
+        listener.onInventoryClick(event);
+        verify(playerDataManager).awardExperience(mockPlayer, SkillType.ENCHANTING, 5.0);
+    }
+    
+    @Test
+    public void testNonResultSlotIgnored() {
+        Inventory inventory = mock(Inventory.class);
+        when(inventory.getType()).thenReturn(InventoryType.GRINDSTONE);
+        InventoryClickEvent event = resultClick(inventory);
+        when(event.getSlotType()).thenReturn(InventoryType.SlotType.CRAFTING);
+        
+        listener.onInventoryClick(event);
+        
+        verify(experienceCalculator, never()).calculateEnchantingXP(any(EnchantmentXpTable.Source.class), any());
+    }
+    
+    /**
+     * Creates a grindstone removing an enchanted book's enchantments, worth 5 XP.
+     */
+    private Inventory enchantedBookGrindstone() {
+        Inventory inventory = mock(Inventory.class);
+        when(inventory.getType()).thenReturn(InventoryType.GRINDSTONE);
+        ItemStack book = mock(ItemStack.class);
+        when(book.getType()).thenReturn(Material.ENCHANTED_BOOK);
+        when(book.getAmount()).thenReturn(1);
+        EnchantmentStorageMeta meta = mock(EnchantmentStorageMeta.class);
+        Map<Enchantment, Integer> stored = new HashMap<>();
+        stored.put(mock(Enchantment.class), 2);
+        when(meta.getStoredEnchants()).thenReturn(stored);
+        when(book.getItemMeta()).thenReturn(meta);
+        when(inventory.getItem(0)).thenReturn(book);
+        
+        when(experienceCalculator.calculateEnchantingXP(EnchantmentXpTable.Source.GRINDSTONE, stored)).thenReturn(5.0);
+        when(playerDataManager.awardExperience(mockPlayer, SkillType.ENCHANTING, 5.0))
+            .thenReturn(new PlayerDataManager.ExperienceResult(SkillType.ENCHANTING, 5.0, 0, false));
+        return inventory;
+    }
+    
+    private PlayerInventory givePlayerInventory(ItemStack[] storage) {
+        PlayerInventory playerInventory = mock(PlayerInventory.class);
+        when(playerInventory.getStorageContents()).thenReturn(storage);
+        when(mockPlayer.getInventory()).thenReturn(playerInventory);
+        return playerInventory;
+    }
+    
+    private InventoryClickEvent resultClick(Inventory inventory) {
+        InventoryClickEvent event = mock(InventoryClickEvent.class);
+        when(event.getInventory()).thenReturn(inventory);
+        when(event.getSlotType()).thenReturn(InventoryType.SlotType.RESULT);
+        when(event.getClick()).thenReturn(ClickType.LEFT);
+        when(event.getCurrentItem()).thenReturn(new ItemStack(Material.DIAMOND_SWORD));
+        when(event.getWhoClicked()).thenReturn(mockPlayer);
+        return event;
+    }
+}
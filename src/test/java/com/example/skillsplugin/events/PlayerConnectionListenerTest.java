@@ -49,14 +49,14 @@ public class PlayerConnectionListenerTest {
         PlayerJoinEvent event = new PlayerJoinEvent(mockPlayer, "TestPlayer joined");
         SkillProfile mockProfile = mock(SkillProfile.class);
         when(mockProfile.isNew()).thenReturn(false);
-        when(playerDataManager.getProfile(playerId)).thenReturn(mockProfile);
+        when(playerDataManager.activateProfile(playerId)).thenReturn(mockProfile);
         when(playerDataManager.isCached(playerId)).thenReturn(true);
         
         // Act
         listener.onPlayerJoin(event);
         
         // Assert
-        verify(playerDataManager).getProfile(playerId);
+        verify(playerDataManager).activateProfile(playerId);
         verify(logger).log(any(), contains("Player joined"));
     }
     
@@ -66,14 +66,14 @@ public class PlayerConnectionListenerTest {
         PlayerJoinEvent event = new PlayerJoinEvent(mockPlayer, "TestPlayer joined");
         SkillProfile mockProfile = mock(SkillProfile.class);
         when(mockProfile.isNew()).thenReturn(true);
-        when(playerDataManager.getProfile(playerId)).thenReturn(mockProfile);
+        when(playerDataManager.activateProfile(playerId)).thenReturn(mockProfile);
         when(playerDataManager.isCached(playerId)).thenReturn(false);
         
         // Act
         listener.onPlayerJoin(event);
         
         // Assert
-        verify(playerDataManager).getProfile(playerId);
+        verify(playerDataManager).activateProfile(playerId);
         verify(logger).log(any(), contains("First-time player joined"));
     }
     
@@ -81,7 +81,7 @@ public class PlayerConnectionListenerTest {
     public void testPlayerJoinHandlesException() {
         // Arrange
         PlayerJoinEvent event = new PlayerJoinEvent(mockPlayer, "TestPlayer joined");
-        when(playerDataManager.getProfile(playerId)).thenThrow(new RuntimeException("Test exception"));
+        when(playerDataManager.activateProfile(playerId)).thenThrow(new RuntimeException("Test exception"));
         
         // Act - should not throw exception
         listener.onPlayerJoin(event);
@@ -175,8 +175,8 @@ public class PlayerConnectionListenerTest {
         when(profile1.isNew()).thenReturn(false);
         when(profile2.isNew()).thenReturn(false);
         
-        when(playerDataManager.getProfile(id1)).thenReturn(profile1);
-        when(playerDataManager.getProfile(id2)).thenReturn(profile2);
+        when(playerDataManager.activateProfile(id1)).thenReturn(profile1);
+        when(playerDataManager.activateProfile(id2)).thenReturn(profile2);
         when(playerDataManager.isCached(id1)).thenReturn(true);
         when(playerDataManager.isCached(id2)).thenReturn(true);
         
@@ -192,8 +192,8 @@ public class PlayerConnectionListenerTest {
         listener.onPlayerQuit(quitEvent2);
         
         // Assert
-        verify(playerDataManager).getProfile(id1);
-        verify(playerDataManager).getProfile(id2);
+        verify(playerDataManager).activateProfile(id1);
+        verify(playerDataManager).activateProfile(id2);
         verify(playerDataManager).saveProfile(id1);
         verify(playerDataManager).saveProfile(id2);
         verify(playerDataManager).removeFromCache(id1);
@@ -1,454 +1,162 @@
 package com.example.skillsplugin.events;
 
+import com.example.skillsplugin.config.ConfigManager;
 import com.example.skillsplugin.data.PlayerDataManager;
+import com.example.skillsplugin.metrics.MetricsRegistry;
 import com.example.skillsplugin.skills.BonusManager;
+import com.example.skillsplugin.skills.BoosterManager;
 import com.example.skillsplugin.skills.ExperienceCalculator;
-import com.example.skillsplugin.skills.Skill;
-import com.example.skillsplugin.skills.SkillProfile;
+import com.example.skillsplugin.skills.ExperienceRateLimiter;
 import com.example.skillsplugin.skills.SkillType;
 import com.example.skillsplugin.ui.UIManager;
-import org.bukkit.Material;
-import org.bukkit.block.Block;
-import org.bukkit.block.data.Ageable;
-import org.bukkit.entity.EntityType;
-import org.bukkit.entity.Item;
+import org.bukkit.Server;
 import org.bukkit.entity.Player;
-import org.bukkit.entity.Zombie;
-import org.bukkit.event.block.BlockBreakEvent;
-import org.bukkit.event.enchantment.EnchantItemEvent;
-import org.bukkit.event.entity.EntityDeathEvent;
-import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerFishEvent;
-import org.bukkit.inventory.Inventory;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.MerchantInventory;
-import org.bukkit.inventory.MerchantRecipe;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 import java.util.logging.Logger;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
-import static org.mockito.Mockito.doReturn;
 
 /**
- * Integration tests for SkillEventListener.
- * Tests the complete flow from event to XP award to UI feedback.
+ * Tests for SkillEventListener.
+ * Verifies that only the modules for enabled skills and bonuses are registered,
+ * that registering again replaces the previous modules, and quit cleanup.
  */
 public class SkillEventListenerTest {
-    
+
     private SkillEventListener listener;
-    private PlayerDataManager playerDataManager;
     private ExperienceCalculator experienceCalculator;
-    private UIManager uiManager;
     private BonusManager bonusManager;
-    private Logger logger;
-    
-    private Player mockPlayer;
-    private UUID playerId;
-    private SkillProfile mockProfile;
-    
+    private ConfigManager configManager;
+    private Plugin plugin;
+    private PluginManager pluginManager;
+
     @Before
     public void setUp() {
-        playerDataManager = mock(PlayerDataManager.class);
         experienceCalculator = mock(ExperienceCalculator.class);
-        uiManager = mock(UIManager.class);
+        when(experienceCalculator.getCustomBlockSkills()).thenReturn(new SkillType[0]);
+        when(experienceCalculator.getCustomEntitySkills()).thenReturn(new SkillType[0]);
         bonusManager = mock(BonusManager.class);
-        logger = mock(Logger.class);
-        
-        listener = new SkillEventListener(playerDataManager, experienceCalculator, uiManager, bonusManager, logger);
-        
-        // Set up mock player
-        mockPlayer = mock(Player.class);
-        playerId = UUID.randomUUID();
-        when(mockPlayer.getUniqueId()).thenReturn(playerId);
-        
-        // Set up mock profile
-        mockProfile = mock(SkillProfile.class);
-        when(playerDataManager.getProfile(playerId)).thenReturn(mockProfile);
-    }
-    
-    @Test
-    public void testMiningXPAward() {
-        // Arrange
-        Block mockBlock = mock(Block.class);
-        when(mockBlock.getType()).thenReturn(Material.DIAMOND_ORE);
-        
-        BlockBreakEvent event = new BlockBreakEvent(mockBlock, mockPlayer);
-        
-        when(experienceCalculator.calculateMiningXP(Material.DIAMOND_ORE)).thenReturn(25.0);
-        
-        PlayerDataManager.ExperienceResult result = 
-            new PlayerDataManager.ExperienceResult(SkillType.MINING, 25.0, 0, false);
-        when(playerDataManager.awardExperience(mockPlayer, SkillType.MINING, 25.0))
-            .thenReturn(result);
-        
-        // Act
-        listener.onBlockBreak(event);
-        
-        // Assert
-        verify(experienceCalculator).calculateMiningXP(Material.DIAMOND_ORE);
-        verify(playerDataManager).awardExperience(mockPlayer, SkillType.MINING, 25.0);
-        verify(uiManager).sendXPGainMessage(mockPlayer, SkillType.MINING, 25.0);
-        verify(uiManager, never()).showLevelUpBossBar(any(), any(), anyInt());
-    }
-    
-    @Test
-    public void testWoodcuttingXPAward() {
-        // Arrange
-        Block mockBlock = mock(Block.class);
-        when(mockBlock.getType()).thenReturn(Material.OAK_LOG);
-        
-        BlockBreakEvent event = new BlockBreakEvent(mockBlock, mockPlayer);
-        
-        when(experienceCalculator.calculateMiningXP(Material.OAK_LOG)).thenReturn(0.0);
-        when(experienceCalculator.calculateWoodcuttingXP(Material.OAK_LOG)).thenReturn(5.0);
-        
-        PlayerDataManager.ExperienceResult result = 
-            new PlayerDataManager.ExperienceResult(SkillType.WOODCUTTING, 5.0, 0, false);
-        when(playerDataManager.awardExperience(mockPlayer, SkillType.WOODCUTTING, 5.0))
-            .thenReturn(result);
-        
-        // Act
-        listener.onBlockBreak(event);
-        
-        // Assert
-        verify(experienceCalculator).calculateWoodcuttingXP(Material.OAK_LOG);
-        verify(playerDataManager).awardExperience(mockPlayer, SkillType.WOODCUTTING, 5.0);
-        verify(uiManager).sendXPGainMessage(mockPlayer, SkillType.WOODCUTTING, 5.0);
-    }
-    
-    @Test
-    public void testFarmingXPAwardForMatureCrop() {
-        // Arrange
-        Block mockBlock = mock(Block.class);
-        Ageable mockAgeable = mock(Ageable.class);
-        
-        when(mockBlock.getType()).thenReturn(Material.WHEAT);
-        when(mockBlock.getBlockData()).thenReturn(mockAgeable);
-        when(mockAgeable.getAge()).thenReturn(7);
-        when(mockAgeable.getMaximumAge()).thenReturn(7);
-        
-        BlockBreakEvent event = new BlockBreakEvent(mockBlock, mockPlayer);
-        
-        when(experienceCalculator.calculateMiningXP(Material.WHEAT)).thenReturn(0.0);
-        when(experienceCalculator.calculateWoodcuttingXP(Material.WHEAT)).thenReturn(0.0);
-        when(experienceCalculator.calculateFarmingXP(Material.WHEAT)).thenReturn(5.0);
-        
-        PlayerDataManager.ExperienceResult result = 
-            new PlayerDataManager.ExperienceResult(SkillType.FARMING, 5.0, 0, false);
-        when(playerDataManager.awardExperience(mockPlayer, SkillType.FARMING, 5.0))
-            .thenReturn(result);
-        
-        // Act
-        listener.onBlockBreak(event);
-        
-        // Assert
-        verify(experienceCalculator).calculateFarmingXP(Material.WHEAT);
-        verify(playerDataManager).awardExperience(mockPlayer, SkillType.FARMING, 5.0);
-        verify(uiManager).sendXPGainMessage(mockPlayer, SkillType.FARMING, 5.0);
-    }
-    
-    @Test
-    public void testFarmingNoXPForImmatureCrop() {
-        // Arrange
-        Block mockBlock = mock(Block.class);
-        Ageable mockAgeable = mock(Ageable.class);
-        
-        when(mockBlock.getType()).thenReturn(Material.WHEAT);
-        when(mockBlock.getBlockData()).thenReturn(mockAgeable);
-        when(mockAgeable.getAge()).thenReturn(3);
-        when(mockAgeable.getMaximumAge()).thenReturn(7);
-        
-        BlockBreakEvent event = new BlockBreakEvent(mockBlock, mockPlayer);
-        
-        when(experienceCalculator.calculateMiningXP(Material.WHEAT)).thenReturn(0.0);
-        when(experienceCalculator.calculateWoodcuttingXP(Material.WHEAT)).thenReturn(0.0);
-        
-        // Act
-        listener.onBlockBreak(event);
-        
-        // Assert
-        verify(experienceCalculator, never()).calculateFarmingXP(any());
-        verify(playerDataManager, never()).awardExperience(any(), eq(SkillType.FARMING), anyDouble());
-    }
-    
-    @Test
-    public void testCombatXPAward() {
-        // Arrange
-        Zombie mockZombie = mock(Zombie.class);
-        when(mockZombie.getKiller()).thenReturn(mockPlayer);
-        when(mockZombie.getType()).thenReturn(EntityType.ZOMBIE);
-        
-        EntityDeathEvent event = new EntityDeathEvent(mockZombie, null);
-        
-        when(experienceCalculator.calculateCombatXP(EntityType.ZOMBIE)).thenReturn(10.0);
-        
-        PlayerDataManager.ExperienceResult result = 
-            new PlayerDataManager.ExperienceResult(SkillType.COMBAT, 10.0, 0, false);
-        when(playerDataManager.awardExperience(mockPlayer, SkillType.COMBAT, 10.0))
-            .thenReturn(result);
-        
-        // Act
-        listener.onEntityDeath(event);
-        
-        // Assert
-        verify(experienceCalculator).calculateCombatXP(EntityType.ZOMBIE);
-        verify(playerDataManager).awardExperience(mockPlayer, SkillType.COMBAT, 10.0);
-        verify(uiManager).sendXPGainMessage(mockPlayer, SkillType.COMBAT, 10.0);
-    }
-    
-    @Test
-    public void testCombatNoXPWhenNotKilledByPlayer() {
-        // Arrange
-        Zombie mockZombie = mock(Zombie.class);
-        when(mockZombie.getKiller()).thenReturn(null);
-        
-        EntityDeathEvent event = new EntityDeathEvent(mockZombie, null);
-        
-        // Act
-        listener.onEntityDeath(event);
-        
-        // Assert
-        verify(experienceCalculator, never()).calculateCombatXP(any());
-        verify(playerDataManager, never()).awardExperience(any(), any(), anyDouble());
-    }
-    
-    @Test
-    public void testFishingXPCalculation() {
-        // Note: PlayerFishEvent has final methods and cannot be easily mocked
-        // This test verifies the XP calculation logic works correctly
-        // Integration testing with actual events would be done in a server environment
-        
-        // Arrange
-        ItemStack caughtItem = new ItemStack(Material.COD);
-        
-        when(experienceCalculator.calculateFishingXP(any())).thenReturn(10.0);
-        
-        // Act
-        double xp = experienceCalculator.calculateFishingXP(caughtItem);
-        
-        // Assert
-        assertEquals(10.0, xp, 0.01);
-    }
-    
-    @Test
-    public void testFishingXPForTreasure() {
-        // Test that treasure items give more XP
-        ItemStack treasure = new ItemStack(Material.ENCHANTED_BOOK);
-        
-        when(experienceCalculator.calculateFishingXP(treasure)).thenReturn(25.0);
-        
-        // Act
-        double xp = experienceCalculator.calculateFishingXP(treasure);
-        
-        // Assert
-        assertEquals(25.0, xp, 0.01);
-    }
-    
-    @Test
-    public void testEnchantingXPAward() {
-        // Arrange
-        EnchantItemEvent event = mock(EnchantItemEvent.class);
-        when(event.getEnchanter()).thenReturn(mockPlayer);
-        when(event.getExpLevelCost()).thenReturn(15);
-        
-        when(experienceCalculator.calculateEnchantingXP(15)).thenReturn(75.0);
-        
-        PlayerDataManager.ExperienceResult result = 
-            new PlayerDataManager.ExperienceResult(SkillType.ENCHANTING, 75.0, 0, false);
-        when(playerDataManager.awardExperience(mockPlayer, SkillType.ENCHANTING, 75.0))
-            .thenReturn(result);
-        
-        // Act
-        listener.onEnchantItem(event);
-        
-        // Assert
-        verify(experienceCalculator).calculateEnchantingXP(15);
-        verify(playerDataManager).awardExperience(mockPlayer, SkillType.ENCHANTING, 75.0);
-        verify(uiManager).sendXPGainMessage(mockPlayer, SkillType.ENCHANTING, 75.0);
-    }
-    
-    @Test
-    public void testTradingXPAward() {
-        // Arrange
-        MerchantInventory mockInventory = mock(MerchantInventory.class);
-        MerchantRecipe mockRecipe = mock(MerchantRecipe.class);
-        ItemStack result = new ItemStack(Material.EMERALD, 3);
-        
-        when(mockRecipe.getResult()).thenReturn(result);
-        when(mockInventory.getSelectedRecipe()).thenReturn(mockRecipe);
-        
-        InventoryClickEvent event = mock(InventoryClickEvent.class);
-        when(event.getInventory()).thenReturn(mockInventory);
-        when(event.getRawSlot()).thenReturn(2); // Result slot
-        when(event.getWhoClicked()).thenReturn(mockPlayer);
-        
-        when(experienceCalculator.calculateTradingXP(mockRecipe)).thenReturn(25.0);
-        
-        PlayerDataManager.ExperienceResult xpResult = 
-            new PlayerDataManager.ExperienceResult(SkillType.TRADING, 25.0, 0, false);
-        when(playerDataManager.awardExperience(mockPlayer, SkillType.TRADING, 25.0))
-            .thenReturn(xpResult);
-        
-        // Act
-        listener.onInventoryClick(event);
-        
-        // Assert
-        verify(experienceCalculator).calculateTradingXP(mockRecipe);
-        verify(playerDataManager).awardExperience(mockPlayer, SkillType.TRADING, 25.0);
-        verify(uiManager).sendXPGainMessage(mockPlayer, SkillType.TRADING, 25.0);
+
+        listener = new SkillEventListener(mock(PlayerDataManager.class), experienceCalculator,
+            mock(UIManager.class), bonusManager, mock(Logger.class));
+
+        configManager = mock(ConfigManager.class);
+        when(configManager.areBonusesEnabled()).thenReturn(true);
+        when(configManager.isSkillEnabled(any(SkillType.class))).thenReturn(true);
+
+        pluginManager = mock(PluginManager.class);
+        Server server = mock(Server.class);
+        when(server.getPluginManager()).thenReturn(pluginManager);
+        plugin = mock(Plugin.class);
+        when(plugin.getServer()).thenReturn(server);
     }
-    
+
     @Test
-    public void testTradingNoXPForNonMerchantInventory() {
-        // Arrange
-        Inventory mockInventory = mock(Inventory.class);
-        
-        InventoryClickEvent event = mock(InventoryClickEvent.class);
-        when(event.getInventory()).thenReturn(mockInventory);
-        
-        // Act
-        listener.onInventoryClick(event);
-        
-        // Assert
-        verify(experienceCalculator, never()).calculateTradingXP(any());
-        verify(playerDataManager, never()).awardExperience(any(), any(), anyDouble());
+    public void testAllModulesRegisteredWhenEverythingEnabled() {
+        List<String> modules = listener.registerModules(plugin, configManager);
+
+        assertEquals(Arrays.asList("BlockBreakListener", "BonusDropListener", "CombatListener", "CombatBonusListener",
+            "FishingListener", "EnchantingListener", "TradingListener", "TradingDiscountListener"), modules);
+        verify(pluginManager, times(8)).registerEvents(any(Listener.class), eq(plugin));
     }
-    
+
     @Test
-    public void testTradingNoXPForWrongSlot() {
-        // Arrange
-        MerchantInventory mockInventory = mock(MerchantInventory.class);
-        
-        InventoryClickEvent event = mock(InventoryClickEvent.class);
-        when(event.getInventory()).thenReturn(mockInventory);
-        when(event.getRawSlot()).thenReturn(0); // Not the result slot
-        
-        // Act
-        listener.onInventoryClick(event);
-        
-        // Assert
-        verify(experienceCalculator, never()).calculateTradingXP(any());
-        verify(playerDataManager, never()).awardExperience(any(), any(), anyDouble());
+    public void testDisabledTradingRegistersNoInventoryClickHandler() {
+        when(configManager.isSkillEnabled(SkillType.TRADING)).thenReturn(false);
+
+        List<String> modules = listener.registerModules(plugin, configManager);
+
+        assertFalse(modules.contains("TradingListener"));
+        assertFalse(modules.contains("TradingDiscountListener"));
+        verify(pluginManager, never()).registerEvents(any(TradingListener.class), any());
     }
-    
+
     @Test
-    public void testLevelUpTriggersUIFeedback() {
-        // Arrange
-        Block mockBlock = mock(Block.class);
-        when(mockBlock.getType()).thenReturn(Material.DIAMOND_ORE);
-        
-        BlockBreakEvent event = new BlockBreakEvent(mockBlock, mockPlayer);
-        
-        when(experienceCalculator.calculateMiningXP(Material.DIAMOND_ORE)).thenReturn(25.0);
-        
-        // Simulate level-up
-        PlayerDataManager.ExperienceResult result = 
-            new PlayerDataManager.ExperienceResult(SkillType.MINING, 25.0, 1, true);
-        when(playerDataManager.awardExperience(mockPlayer, SkillType.MINING, 25.0))
-            .thenReturn(result);
-        
-        Skill mockSkill = mock(Skill.class);
-        when(mockSkill.getLevel()).thenReturn(5);
-        when(mockProfile.getSkill(SkillType.MINING)).thenReturn(mockSkill);
-        
-        // Act
-        listener.onBlockBreak(event);
-        
-        // Assert
-        verify(uiManager).sendXPGainMessage(mockPlayer, SkillType.MINING, 25.0);
-        verify(uiManager).showLevelUpBossBar(mockPlayer, SkillType.MINING, 5);
+    public void testBonusModulesFollowBonusesAndSkills() {
+        when(configManager.areBonusesEnabled()).thenReturn(false);
+        when(configManager.isSkillEnabled(SkillType.MINING)).thenReturn(false);
+        when(configManager.isSkillEnabled(SkillType.WOODCUTTING)).thenReturn(false);
+        when(configManager.isSkillEnabled(SkillType.FARMING)).thenReturn(false);
+
+        List<String> modules = listener.registerModules(plugin, configManager);
+
+        assertFalse("No block skill is enabled", modules.contains("BlockBreakListener"));
+        assertFalse(modules.contains("BonusDropListener"));
+        assertFalse(modules.contains("CombatBonusListener"));
+        assertFalse(modules.contains("TradingDiscountListener"));
+        assertTrue(modules.contains("CombatListener"));
     }
-    
+
     @Test
-    public void testMultipleLevelUpTriggersUIFeedback() {
-        // Arrange
-        Block mockBlock = mock(Block.class);
-        when(mockBlock.getType()).thenReturn(Material.DIAMOND_ORE);
-        
-        BlockBreakEvent event = new BlockBreakEvent(mockBlock, mockPlayer);
-        
-        when(experienceCalculator.calculateMiningXP(Material.DIAMOND_ORE)).thenReturn(1000.0);
-        
-        // Simulate multiple level-ups
-        PlayerDataManager.ExperienceResult result = 
-            new PlayerDataManager.ExperienceResult(SkillType.MINING, 1000.0, 3, true);
-        when(playerDataManager.awardExperience(mockPlayer, SkillType.MINING, 1000.0))
-            .thenReturn(result);
-        
-        Skill mockSkill = mock(Skill.class);
-        when(mockSkill.getLevel()).thenReturn(8);
-        when(mockProfile.getSkill(SkillType.MINING)).thenReturn(mockSkill);
-        
-        // Act
-        listener.onBlockBreak(event);
-        
-        // Assert
-        verify(uiManager).sendXPGainMessage(mockPlayer, SkillType.MINING, 1000.0);
-        verify(uiManager).showLevelUpBossBar(mockPlayer, SkillType.MINING, 8);
+    public void testCustomBlockSkillKeepsBlockModuleRegistered() {
+        when(configManager.isSkillEnabled(SkillType.MINING)).thenReturn(false);
+        when(configManager.isSkillEnabled(SkillType.WOODCUTTING)).thenReturn(false);
+        when(configManager.isSkillEnabled(SkillType.FARMING)).thenReturn(false);
+        when(experienceCalculator.getCustomBlockSkills()).thenReturn(new SkillType[] {SkillType.MINING});
+
+        assertTrue(listener.registerModules(plugin, configManager).contains("BlockBreakListener"));
     }
-    
+
     @Test
-    public void testEventErrorHandlingDoesNotCrash() {
-        // Arrange
-        Block mockBlock = mock(Block.class);
-        when(mockBlock.getType()).thenThrow(new RuntimeException("Test exception"));
-        
-        BlockBreakEvent event = new BlockBreakEvent(mockBlock, mockPlayer);
-        
-        // Act - should not throw exception
-        listener.onBlockBreak(event);
-        
-        // Assert - error should be logged
-        verify(logger).log(any(), anyString(), any(Exception.class));
+    public void testRegisteringAgainReplacesModules() {
+        listener.registerModules(plugin, configManager);
+        when(configManager.isSkillEnabled(SkillType.FISHING)).thenReturn(false);
+
+        List<String> modules = listener.registerModules(plugin, configManager);
+
+        assertEquals(7, modules.size());
+        assertFalse(modules.contains("FishingListener"));
     }
-    
+
     @Test
-    public void testNoXPAwardedForZeroXP() {
-        // Arrange
-        Block mockBlock = mock(Block.class);
-        when(mockBlock.getType()).thenReturn(Material.DIRT);
-        
-        BlockBreakEvent event = new BlockBreakEvent(mockBlock, mockPlayer);
-        
-        when(experienceCalculator.calculateMiningXP(Material.DIRT)).thenReturn(0.0);
-        when(experienceCalculator.calculateWoodcuttingXP(Material.DIRT)).thenReturn(0.0);
-        
-        // Act
-        listener.onBlockBreak(event);
-        
-        // Assert
-        verify(playerDataManager, never()).awardExperience(any(), any(), anyDouble());
-        verify(uiManager, never()).sendXPGainMessage(any(), any(), anyDouble());
+    public void testMetricsRegisterTimedHandlers() throws Exception {
+        MetricsRegistry metrics = new MetricsRegistry(true);
+        listener.setMetrics(metrics);
+
+        listener.registerModules(plugin, configManager);
+
+        verify(pluginManager, never()).registerEvents(any(Listener.class), any());
+        ArgumentCaptor<EventExecutor> executor = ArgumentCaptor.forClass(EventExecutor.class);
+        verify(pluginManager).registerEvent(eq(PlayerFishEvent.class), any(FishingListener.class),
+            eq(EventPriority.MONITOR), executor.capture(), eq(plugin), eq(true));
+
+        PlayerFishEvent event = mock(PlayerFishEvent.class);
+        executor.getValue().execute(mock(FishingListener.class), event);
+        executor.getValue().execute(mock(FishingListener.class), mock(PlayerQuitEvent.class));
+
+        assertEquals("Only the matching event should be timed",
+            1, metrics.histogram("handler.FishingListener.onPlayerFish").getCount());
     }
-    
+
     @Test
-    public void testMelonBlockAwardsFarmingXP() {
-        // Arrange
-        Block mockBlock = mock(Block.class);
-        when(mockBlock.getType()).thenReturn(Material.MELON);
-        when(mockBlock.getBlockData()).thenReturn(mock(org.bukkit.block.data.BlockData.class));
-        
-        BlockBreakEvent event = new BlockBreakEvent(mockBlock, mockPlayer);
-        
-        when(experienceCalculator.calculateMiningXP(Material.MELON)).thenReturn(0.0);
-        when(experienceCalculator.calculateWoodcuttingXP(Material.MELON)).thenReturn(0.0);
-        when(experienceCalculator.calculateFarmingXP(Material.MELON)).thenReturn(3.0);
-        
-        PlayerDataManager.ExperienceResult result = 
-            new PlayerDataManager.ExperienceResult(SkillType.FARMING, 3.0, 0, false);
-        when(playerDataManager.awardExperience(mockPlayer, SkillType.FARMING, 3.0))
-            .thenReturn(result);
-        
-        // Act
-        listener.onBlockBreak(event);
-        
-        // Assert
-        verify(experienceCalculator).calculateFarmingXP(Material.MELON);
-        verify(playerDataManager).awardExperience(mockPlayer, SkillType.FARMING, 3.0);
+    public void testQuitReleasesRateLimiterAndBoosters() {
+        ExperienceRateLimiter rateLimiter = mock(ExperienceRateLimiter.class);
+        BoosterManager boosterManager = mock(BoosterManager.class);
+        listener.setRateLimiter(rateLimiter);
+        listener.setBoosterManager(boosterManager);
+
+        Player player = mock(Player.class);
+        UUID playerId = UUID.randomUUID();
+        when(player.getUniqueId()).thenReturn(playerId);
+
+        listener.onPlayerQuit(new PlayerQuitEvent(player, "left"));
+
+        verify(bonusManager).invalidate(playerId);
+        verify(rateLimiter).release(playerId);
+        verify(boosterManager).forget(playerId);
     }
 }
@@ -0,0 +1,134 @@
+package com.example.skillsplugin.events;
+
+import com.example.skillsplugin.skills.BonusManager;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Villager;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.MerchantInventory;
+import org.bukkit.inventory.MerchantRecipe;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for TradingDiscountListener.
+ */
+public class TradingDiscountListenerTest {
+
+    private TradingDiscountListener listener;
+    private BonusManager bonusManager;
+    private Player player;
+    private Villager villager;
+    private MerchantInventory inventory;
+    private MerchantRecipe bread;
+    private MerchantRecipe book;
+
+    @Before
+    public void setUp() {
+        bonusManager = mock(BonusManager.class);
+        listener = new TradingDiscountListener(bonusManager, mock(Logger.class));
+
+        player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+
+        bread = recipe(Material.BREAD, 10);
+        book = recipe(Material.BOOK, 3);
+        villager = mock(Villager.class);
+        when(villager.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(villager.getRecipeCount()).thenReturn(2);
+        when(villager.getRecipe(0)).thenReturn(bread);
+        when(villager.getRecipe(1)).thenReturn(book);
+
+        inventory = mock(MerchantInventory.class);
+        when(inventory.getType()).thenReturn(InventoryType.MERCHANT);
+        when(inventory.getMerchant()).thenReturn(villager);
+    }
+
+    @Test
+    public void testDiscountAppliedOnOpenAndRestoredOnClose() {
+        bread.setSpecialPrice(1);
+        when(bonusManager.getTradingDiscount(player)).thenReturn(0.8);
+
+        listener.onInventoryOpen(openEvent());
+
+        assertEquals("20% off 10 emeralds on top of the existing price", -1, bread.getSpecialPrice());
+        assertEquals("20% of 3 emeralds rounds down to nothing", 0, book.getSpecialPrice());
+        assertEquals(1, listener.getOpenTradeCount());
+
+        listener.onInventoryClose(closeEvent());
+
+        assertEquals(1, bread.getSpecialPrice());
+        assertEquals(0, book.getSpecialPrice());
+        assertEquals(0, listener.getOpenTradeCount());
+    }
+
+    @Test
+    public void testPriceCutsCachedPerVillagerAndTier() {
+        when(bonusManager.getTradingDiscount(player)).thenReturn(0.8);
+        listener.onInventoryOpen(openEvent());
+        listener.onInventoryClose(closeEvent());
+
+        // The cached cuts are reused rather than recomputed from the ingredients
+        bread.getIngredients().get(0).setAmount(20);
+        listener.onInventoryOpen(openEvent());
+        assertEquals(-2, bread.getSpecialPrice());
+        listener.onInventoryClose(closeEvent());
+
+        // A different tier computes its own cuts
+        when(bonusManager.getTradingDiscount(player)).thenReturn(0.5);
+        listener.onInventoryOpen(openEvent());
+        assertEquals(-10, bread.getSpecialPrice());
+    }
+
+    @Test
+    public void testNoDiscountLeavesPricesUntouched() {
+        when(bonusManager.getTradingDiscount(player)).thenReturn(1.0);
+
+        listener.onInventoryOpen(openEvent());
+
+        assertEquals(0, bread.getSpecialPrice());
+        assertEquals(0, listener.getOpenTradeCount());
+        verify(villager, never()).getRecipe(anyInt());
+    }
+
+    @Test
+    public void testRestoreAllPutsBackOpenTrades() {
+        when(bonusManager.getTradingDiscount(player)).thenReturn(0.5);
+        listener.onInventoryOpen(openEvent());
+        assertEquals(-5, bread.getSpecialPrice());
+
+        listener.restoreAll();
+
+        assertEquals(0, bread.getSpecialPrice());
+        assertEquals(0, listener.getOpenTradeCount());
+    }
+
+    private MerchantRecipe recipe(Material result, int emeralds) {
+        MerchantRecipe recipe = new MerchantRecipe(new ItemStack(result, 1), 12);
+        recipe.addIngredient(new ItemStack(Material.EMERALD, emeralds));
+        return recipe;
+    }
+
+    private InventoryOpenEvent openEvent() {
+        InventoryOpenEvent event = mock(InventoryOpenEvent.class);
+        when(event.getInventory()).thenReturn(inventory);
+        when(event.getPlayer()).thenReturn(player);
+        return event;
+    }
+
+    private InventoryCloseEvent closeEvent() {
+        InventoryCloseEvent event = mock(InventoryCloseEvent.class);
+        when(event.getInventory()).thenReturn(inventory);
+        when(event.getPlayer()).thenReturn(player);
+        return event;
+    }
+}
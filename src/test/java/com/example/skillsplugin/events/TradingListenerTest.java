@@ -0,0 +1,195 @@
+package com.example.skillsplugin.events;
+
+import com.example.skillsplugin.data.PlayerDataManager;
+import com.example.skillsplugin.skills.ExperienceCalculator;
+import com.example.skillsplugin.skills.SkillType;
+import com.example.skillsplugin.ui.UIManager;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.MerchantInventory;
+import org.bukkit.inventory.MerchantRecipe;
+import org.bukkit.inventory.PlayerInventory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for TradingListener.
+ */
+public class TradingListenerTest {
+    
+    private TradingListener listener;
+    private PlayerDataManager playerDataManager;
+    private ExperienceCalculator experienceCalculator;
+    private UIManager uiManager;
+    private Logger logger;
+    private Player mockPlayer;
+    
+    @Before
+    public void setUp() {
+        playerDataManager = mock(PlayerDataManager.class);
+        experienceCalculator = mock(ExperienceCalculator.class);
+        uiManager = mock(UIManager.class);
+        logger = mock(Logger.class);
+        
+        listener = new TradingListener(experienceCalculator,
+            new ExperienceAwarder(playerDataManager, uiManager, logger), logger);
+        
+        mockPlayer = mock(Player.class);
+        when(mockPlayer.getUniqueId()).thenReturn(UUID.randomUUID());
+    }
+    
+    @Test
+    public void testTradingXPAward() {
+        // Arrange
+        MerchantInventory mockInventory = mock(MerchantInventory.class);
+        MerchantRecipe mockRecipe = mock(MerchantRecipe.class);
+        ItemStack result = new ItemStack(Material.EMERALD, 3);
+        
+        when(mockRecipe.getResult()).thenReturn(result);
+        when(mockInventory.getSelectedRecipe()).thenReturn(mockRecipe);
+        
+        when(mockInventory.getType()).thenReturn(InventoryType.MERCHANT);
+        
+        InventoryClickEvent event = mock(InventoryClickEvent.class);
+        when(event.getInventory()).thenReturn(mockInventory);
+        when(event.getSlotType()).thenReturn(InventoryType.SlotType.RESULT);
+        when(event.getCurrentItem()).thenReturn(result);
+        when(event.getWhoClicked()).thenReturn(mockPlayer);
+        
+        when(experienceCalculator.calculateTradingXP(mockRecipe)).thenReturn(25.0);
+        
+        PlayerDataManager.ExperienceResult xpResult = 
+            new PlayerDataManager.ExperienceResult(SkillType.TRADING, 25.0, 0, false);
+        when(playerDataManager.awardExperience(mockPlayer, SkillType.TRADING, 25.0))
+            .thenReturn(xpResult);
+        
+        // Act
+        listener.onInventoryClick(event);
+        
+        // Assert
+        verify(experienceCalculator).calculateTradingXP(mockRecipe);
+        verify(playerDataManager).awardExperience(mockPlayer, SkillType.TRADING, 25.0);
+        verify(uiManager).sendXPGainMessage(mockPlayer, SkillType.TRADING, 25.0);
+    }
+    
+    @Test
+    public void testTradingNoXPForNonMerchantInventory() {
+        // Arrange
+        Inventory mockInventory = mock(Inventory.class);
+        
+        InventoryClickEvent event = mock(InventoryClickEvent.class);
+        when(event.getInventory()).thenReturn(mockInventory);
+        
+        // Act
+        listener.onInventoryClick(event);
+        
+        // Assert
+        verify(experienceCalculator, never()).calculateTradingXP(any());
+        verify(playerDataManager, never()).awardExperience(any(), any(), anyDouble());
+    }
+    
+    @Test
+    public void testTradingNoXPForWrongSlot() {
+        // Arrange
+        MerchantInventory mockInventory = mock(MerchantInventory.class);
+        when(mockInventory.getType()).thenReturn(InventoryType.MERCHANT);
+        
+        InventoryClickEvent event = mock(InventoryClickEvent.class);
+        when(event.getInventory()).thenReturn(mockInventory);
+        when(event.getSlotType()).thenReturn(InventoryType.SlotType.CRAFTING); // Ingredient slot, not the result
+        
+        // Act
+        listener.onInventoryClick(event);
+        
+        // Assert
+        verify(experienceCalculator, never()).calculateTradingXP(any());
+        verify(playerDataManager, never()).awardExperience(any(), any(), anyDouble());
+    }
+    
+    @Test
+    public void testShiftClickAwardsEveryTradeInOneBatch() {
+        // 9 emeralds at 2 per trade pay for 4 trades; the recipe has 10 uses left
+        MerchantRecipe recipe = shiftClickRecipe(2, 12);
+        InventoryClickEvent event = shiftClickEvent(recipe, new ItemStack(Material.EMERALD, 9));
+        
+        when(experienceCalculator.calculateTradingXP(recipe)).thenReturn(10.0);
+        when(playerDataManager.awardExperience(mockPlayer, SkillType.TRADING, 40.0))
+            .thenReturn(new PlayerDataManager.ExperienceResult(SkillType.TRADING, 40.0, 0, false));
+        
+        listener.onInventoryClick(event);
+        
+        verify(playerDataManager, times(1)).awardExperience(any(), any(), anyDouble());
+        verify(playerDataManager).awardExperience(mockPlayer, SkillType.TRADING, 40.0);
+    }
+    
+    @Test
+    public void testShiftClickLimitedByRemainingUses() {
+        MerchantRecipe recipe = shiftClickRecipe(11, 12);
+        InventoryClickEvent event = shiftClickEvent(recipe, new ItemStack(Material.EMERALD, 64));
+        
+        when(experienceCalculator.calculateTradingXP(recipe)).thenReturn(10.0);
+        when(playerDataManager.awardExperience(mockPlayer, SkillType.TRADING, 10.0))
+            .thenReturn(new PlayerDataManager.ExperienceResult(SkillType.TRADING, 10.0, 0, false));
+        
+        listener.onInventoryClick(event);
+        
+        verify(playerDataManager).awardExperience(mockPlayer, SkillType.TRADING, 10.0);
+    }
+    
+    @Test
+    public void testShiftClickWithFullInventoryAwardsNothing() {
+        MerchantRecipe recipe = shiftClickRecipe(0, 12);
+        InventoryClickEvent event = shiftClickEvent(recipe, new ItemStack(Material.EMERALD, 64));
+        ItemStack[] full = new ItemStack[36];
+        for (int i = 0; i < full.length; i++) {
+            full[i] = new ItemStack(Material.DIRT, 64);
+        }
+        when(mockPlayer.getInventory().getStorageContents()).thenReturn(full);
+        
+        listener.onInventoryClick(event);
+        
+        verify(playerDataManager, never()).awardExperience(any(), any(), anyDouble());
+    }
+    
+    /**
+     * Creates a recipe selling bread for 2 emeralds.
+     */
+    private MerchantRecipe shiftClickRecipe(int uses, int maxUses) {
+        MerchantRecipe recipe = mock(MerchantRecipe.class);
+        when(recipe.getResult()).thenReturn(new ItemStack(Material.BREAD, 1));
+        when(recipe.getIngredients()).thenReturn(Collections.singletonList(new ItemStack(Material.EMERALD, 2)));
+        when(recipe.getAdjustedIngredient1()).thenReturn(new ItemStack(Material.EMERALD, 2));
+        when(recipe.getUses()).thenReturn(uses);
+        when(recipe.getMaxUses()).thenReturn(maxUses);
+        return recipe;
+    }
+    
+    private InventoryClickEvent shiftClickEvent(MerchantRecipe recipe, ItemStack payment) {
+        MerchantInventory inventory = mock(MerchantInventory.class);
+        when(inventory.getType()).thenReturn(InventoryType.MERCHANT);
+        when(inventory.getSelectedRecipe()).thenReturn(recipe);
+        when(inventory.getItem(0)).thenReturn(payment);
+        
+        PlayerInventory playerInventory = mock(PlayerInventory.class);
+        when(playerInventory.getStorageContents()).thenReturn(new ItemStack[36]);
+        when(mockPlayer.getInventory()).thenReturn(playerInventory);
+        
+        InventoryClickEvent event = mock(InventoryClickEvent.class);
+        when(event.getInventory()).thenReturn(inventory);
+        when(event.getSlotType()).thenReturn(InventoryType.SlotType.RESULT);
+        when(event.getCurrentItem()).thenReturn(new ItemStack(Material.BREAD, 1));
+        when(event.getWhoClicked()).thenReturn(mockPlayer);
+        when(event.isShiftClick()).thenReturn(true);
+        return event;
+    }
+}
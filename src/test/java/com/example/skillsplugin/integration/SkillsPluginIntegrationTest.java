@@ -6,7 +6,9 @@ import com.example.skillsplugin.data.DataStorage;
 import com.example.skillsplugin.data.DataStorageException;
 import com.example.skillsplugin.data.JsonDataStorage;
 import com.example.skillsplugin.data.PlayerDataManager;
-import com.example.skillsplugin.events.SkillEventListener;
+import com.example.skillsplugin.events.BlockBreakListener;
+import com.example.skillsplugin.events.CombatListener;
+import com.example.skillsplugin.events.ExperienceAwarder;
 import com.example.skillsplugin.skills.*;
 import com.example.skillsplugin.ui.UIManager;
 import org.bukkit.Material;
@@ -53,7 +55,8 @@ public class SkillsPluginIntegrationTest {
     private LevelFormula levelFormula;
     private BonusManager bonusManager;
     private UIManager uiManager;
-    private SkillEventListener eventListener;
+    private BlockBreakListener blockListener;
+    private CombatListener combatListener;
     
     @Before
     public void setUp() throws IOException, DataStorageException {
@@ -87,13 +90,9 @@ public class SkillsPluginIntegrationTest {
         bonusManager = new BonusManager(playerDataManager, configManager);
         uiManager = mock(UIManager.class); // Mock UI for verification
         
-        eventListener = new SkillEventListener(
-            playerDataManager,
-            experienceCalculator,
-            uiManager,
-            bonusManager,
-            mockLogger
-        );
+        ExperienceAwarder awarder = new ExperienceAwarder(playerDataManager, uiManager, mockLogger);
+        blockListener = new BlockBreakListener(experienceCalculator, bonusManager, null, awarder, mockLogger);
+        combatListener = new CombatListener(experienceCalculator, awarder, mockLogger);
     }
     
     @After
@@ -132,7 +131,7 @@ public class SkillsPluginIntegrationTest {
         BlockBreakEvent event = new BlockBreakEvent(mockBlock, mockPlayer);
         
         // Act
-        eventListener.onBlockBreak(event);
+        blockListener.onBlockBreak(event);
         
         // Assert
         SkillProfile profile = playerDataManager.getProfile(playerId);
@@ -163,7 +162,7 @@ public class SkillsPluginIntegrationTest {
         BlockBreakEvent event = new BlockBreakEvent(mockBlock, mockPlayer);
         
         // Act
-        eventListener.onBlockBreak(event);
+        blockListener.onBlockBreak(event);
         
         // Assert
         assertEquals("Mining skill should be level 2", 2, miningSkill.getLevel());
@@ -185,20 +184,20 @@ public class SkillsPluginIntegrationTest {
         // Mining
         Block stoneBlock = mock(Block.class);
         when(stoneBlock.getType()).thenReturn(Material.STONE);
-        eventListener.onBlockBreak(new BlockBreakEvent(stoneBlock, mockPlayer));
+        blockListener.onBlockBreak(new BlockBreakEvent(stoneBlock, mockPlayer));
         assertTrue("Mining should have XP", profile.getSkill(SkillType.MINING).getExperience() > 0);
         
         // Woodcutting
         Block logBlock = mock(Block.class);
         when(logBlock.getType()).thenReturn(Material.OAK_LOG);
-        eventListener.onBlockBreak(new BlockBreakEvent(logBlock, mockPlayer));
+        blockListener.onBlockBreak(new BlockBreakEvent(logBlock, mockPlayer));
         assertTrue("Woodcutting should have XP", profile.getSkill(SkillType.WOODCUTTING).getExperience() > 0);
         
         // Combat
         Zombie zombie = mock(Zombie.class);
         when(zombie.getKiller()).thenReturn(mockPlayer);
         when(zombie.getType()).thenReturn(EntityType.ZOMBIE);
-        eventListener.onEntityDeath(new EntityDeathEvent(zombie, null));
+        combatListener.onEntityDeath(new EntityDeathEvent(zombie, null));
         assertTrue("Combat should have XP", profile.getSkill(SkillType.COMBAT).getExperience() > 0);
     }
     
@@ -352,7 +351,7 @@ public class SkillsPluginIntegrationTest {
                     Block mockBlock = mock(Block.class);
                     when(mockBlock.getType()).thenReturn(Material.DIAMOND_ORE);
                     BlockBreakEvent event = new BlockBreakEvent(mockBlock, player);
-                    eventListener.onBlockBreak(event);
+                    blockListener.onBlockBreak(event);
                     
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
@@ -0,0 +1,72 @@
+package com.example.skillsplugin.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for LatencyHistogram.
+ */
+public class LatencyHistogramTest {
+    
+    private LatencyHistogram histogram;
+    
+    @Before
+    public void setUp() {
+        histogram = new MetricsRegistry(true).histogram("test");
+    }
+    
+    @Test
+    public void testBucketsArePowersOfTwoMicroseconds() {
+        assertEquals("Under 1 \u00b5s", 0, LatencyHistogram.bucketFor(999));
+        assertEquals(1, LatencyHistogram.bucketFor(1_000));
+        assertEquals(2, LatencyHistogram.bucketFor(2_000));
+        assertEquals(2, LatencyHistogram.bucketFor(3_999));
+        assertEquals(3, LatencyHistogram.bucketFor(4_000));
+        assertEquals("Slow latencies share the last bucket",
+            LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketFor(Long.MAX_VALUE));
+        assertEquals(4_000, LatencyHistogram.upperBoundNanos(2));
+    }
+    
+    @Test
+    public void testEmptyHistogramReportsZero() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMeanNanos());
+        assertEquals(0, histogram.getMaxNanos());
+        assertEquals(0, histogram.getPercentileNanos(99));
+    }
+    
+    @Test
+    public void testCountMeanAndMax() {
+        histogram.record(1_000);
+        histogram.record(3_000);
+        histogram.record(-5);
+        
+        assertEquals(3, histogram.getCount());
+        assertEquals("Negative latencies should count as zero", 4_000 / 3, histogram.getMeanNanos());
+        assertEquals(3_000, histogram.getMaxNanos());
+    }
+    
+    @Test
+    public void testPercentilesReportBucketUpperBound() {
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1_500); // [1, 2) \u00b5s
+        }
+        histogram.record(50_000_000); // 50 ms
+        
+        assertEquals(2_000, histogram.getPercentileNanos(50));
+        assertEquals(2_000, histogram.getPercentileNanos(99));
+        assertEquals("The top percentile is capped at the maximum", 50_000_000, histogram.getPercentileNanos(100));
+    }
+    
+    @Test
+    public void testStopRecordsElapsedTime() {
+        long start = histogram.start();
+        
+        histogram.stop(start);
+        histogram.stop(LatencyHistogram.NOT_STARTED);
+        
+        assertEquals("Only the started timing should be recorded", 1, histogram.getCount());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.skillsplugin.metrics;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for MetricsRegistry and Counter.
+ */
+public class MetricsRegistryTest {
+    
+    @Test
+    public void testCounterCountsWhileEnabled() {
+        MetricsRegistry registry = new MetricsRegistry(true);
+        Counter counter = registry.counter("profile.cache.hit");
+        
+        counter.increment();
+        counter.increment();
+        
+        assertEquals(2, counter.get());
+        assertSame("Lookups should return the same counter", counter, registry.counter("profile.cache.hit"));
+    }
+    
+    @Test
+    public void testDisabledRegistryRecordsNothing() {
+        MetricsRegistry registry = new MetricsRegistry(false);
+        Counter counter = registry.counter("profile.cache.miss");
+        LatencyHistogram histogram = registry.histogram("storage.save");
+        
+        counter.increment();
+        long start = histogram.start();
+        histogram.stop(start);
+        
+        assertEquals(LatencyHistogram.NOT_STARTED, start);
+        assertEquals(0, counter.get());
+        assertEquals(0, histogram.getCount());
+    }
+    
+    @Test
+    public void testSetEnabledKeepsValues() {
+        MetricsRegistry registry = new MetricsRegistry(true);
+        Counter counter = registry.counter("profile.save.failed");
+        counter.increment();
+        
+        registry.setEnabled(false);
+        counter.increment();
+        
+        assertFalse(registry.isEnabled());
+        assertEquals("Disabling should stop counting but keep the value", 1, counter.get());
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testSharedDisabledRegistryCannotBeEnabled() {
+        MetricsRegistry.DISABLED.setEnabled(true);
+    }
+    
+    @Test
+    public void testMetricsAreListedByName() {
+        MetricsRegistry registry = new MetricsRegistry(true);
+        registry.counter("profile.cache.miss");
+        registry.counter("leaderboard.top");
+        registry.histogram("storage.save");
+        registry.histogram("handler.BlockBreakListener.onBlockBreak");
+        
+        assertEquals(Arrays.asList("leaderboard.top", "profile.cache.miss"),
+            new ArrayList<>(registry.getCounters().keySet()));
+        assertEquals(Arrays.asList("handler.BlockBreakListener.onBlockBreak", "storage.save"),
+            new ArrayList<>(registry.getHistograms().keySet()));
+    }
+    
+    @Test
+    public void testResetClearsEverything() {
+        MetricsRegistry registry = new MetricsRegistry(true);
+        registry.counter("profile.cache.hit").increment();
+        registry.histogram("storage.load").record(5_000);
+        long before = registry.getResetAtMillis();
+        
+        registry.reset();
+        
+        assertEquals(0, registry.counter("profile.cache.hit").get());
+        assertEquals(0, registry.histogram("storage.load").getCount());
+        assertEquals(0, registry.histogram("storage.load").getMaxNanos());
+        assertTrue(registry.getResetAtMillis() >= before);
+    }
+    
+    @Test
+    public void testConcurrentIncrementsAreNotLost() throws InterruptedException {
+        MetricsRegistry registry = new MetricsRegistry(true);
+        Counter counter = registry.counter("profile.cache.hit");
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    counter.increment();
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertEquals(40_000, counter.get());
+    }
+}
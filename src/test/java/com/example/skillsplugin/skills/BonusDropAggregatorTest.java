@@ -0,0 +1,143 @@
+package com.example.skillsplugin.skills;
+
+import com.example.skillsplugin.config.ConfigManager;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for BonusDropAggregator.
+ * Verifies merging per cell, stack splitting and each drop policy.
+ */
+public class BonusDropAggregatorTest {
+
+    private ConfigManager configManager;
+    private BukkitScheduler scheduler;
+    private World world;
+    private Player player;
+    private BonusDropAggregator aggregator;
+
+    @Before
+    public void setUp() {
+        configManager = mock(ConfigManager.class);
+        scheduler = mock(BukkitScheduler.class);
+        world = mock(World.class);
+        player = mock(Player.class);
+        when(world.getUID()).thenReturn(UUID.randomUUID());
+        when(configManager.getBonusDropPolicy()).thenReturn(BonusDropAggregator.Policy.MERGE);
+
+        Plugin plugin = mock(Plugin.class);
+        Server server = mock(Server.class);
+        when(plugin.isEnabled()).thenReturn(true);
+        when(plugin.getServer()).thenReturn(server);
+        when(server.getScheduler()).thenReturn(scheduler);
+
+        aggregator = new BonusDropAggregator(plugin, configManager);
+    }
+
+    private Location location(int x, int y, int z) {
+        Location location = mock(Location.class);
+        when(location.getWorld()).thenReturn(world);
+        when(location.getBlockX()).thenReturn(x);
+        when(location.getBlockY()).thenReturn(y);
+        when(location.getBlockZ()).thenReturn(z);
+        return location;
+    }
+
+    @Test
+    public void testMergesDropsPerCellUntilFlush() {
+        Location first = location(1, 64, 1);
+        for (int i = 0; i < 100; i++) {
+            aggregator.drop(player, first, new ItemStack(Material.WHEAT));
+        }
+        aggregator.drop(player, location(1, 64, 1), new ItemStack(Material.WHEAT_SEEDS));
+        aggregator.drop(player, location(4, 64, 1), new ItemStack(Material.WHEAT)); // Next cell
+
+        verify(world, never()).dropItemNaturally(any(Location.class), any(ItemStack.class));
+        verify(scheduler, times(1)).runTask(any(Plugin.class), any(Runnable.class));
+        assertEquals(2, aggregator.getPendingCount());
+
+        aggregator.flush();
+
+        ArgumentCaptor<ItemStack> spawned = ArgumentCaptor.forClass(ItemStack.class);
+        verify(world, times(4)).dropItemNaturally(any(Location.class), spawned.capture());
+        List<ItemStack> stacks = spawned.getAllValues();
+        assertEquals("100 wheat should be split into full stacks", 64, stacks.get(0).getAmount());
+        assertEquals(36, stacks.get(1).getAmount());
+        assertEquals(Material.WHEAT_SEEDS, stacks.get(2).getType());
+        assertEquals(1, stacks.get(3).getAmount());
+        assertEquals(0, aggregator.getPendingCount());
+    }
+
+    @Test
+    public void testMergesAdjacentBlocksIntoOneDrop() {
+        Location first = location(0, 64, 0);
+        aggregator.drop(player, first, new ItemStack(Material.WHEAT));
+        aggregator.drop(player, location(1, 64, 0), new ItemStack(Material.WHEAT));
+        aggregator.drop(player, location(1, 64, 1), new ItemStack(Material.WHEAT));
+        aggregator.drop(player, location(3, 65, 3), new ItemStack(Material.WHEAT));
+        aggregator.drop(player, location(-1, 64, 0), new ItemStack(Material.WHEAT)); // Across the cell edge
+
+        assertEquals(2, aggregator.getPendingCount());
+        aggregator.flush();
+
+        ArgumentCaptor<ItemStack> spawned = ArgumentCaptor.forClass(ItemStack.class);
+        verify(world).dropItemNaturally(eq(first), spawned.capture());
+        assertEquals("Adjacent harvests should share one entity", 4, spawned.getValue().getAmount());
+        verify(world, times(2)).dropItemNaturally(any(Location.class), any(ItemStack.class));
+    }
+
+    @Test
+    public void testInventoryPolicyQueuesOnlyLeftovers() {
+        when(configManager.getBonusDropPolicy()).thenReturn(BonusDropAggregator.Policy.INVENTORY);
+        PlayerInventory inventory = mock(PlayerInventory.class);
+        when(player.getInventory()).thenReturn(inventory);
+        HashMap<Integer, ItemStack> leftover = new HashMap<>();
+        leftover.put(0, new ItemStack(Material.CARROT, 3));
+        when(inventory.addItem(any(ItemStack[].class))).thenReturn(new HashMap<>(), leftover);
+
+        aggregator.drop(player, location(0, 0, 0), new ItemStack(Material.CARROT));
+        assertEquals("Items that fit go straight to the inventory", 0, aggregator.getPendingCount());
+
+        aggregator.drop(player, location(0, 0, 0), new ItemStack(Material.CARROT, 3));
+        aggregator.flush();
+        verify(world).dropItemNaturally(any(Location.class), eq(new ItemStack(Material.CARROT, 3)));
+    }
+
+    @Test
+    public void testSpawnPolicyAndDisabledPluginSpawnImmediately() {
+        when(configManager.getBonusDropPolicy()).thenReturn(BonusDropAggregator.Policy.SPAWN);
+        aggregator.drop(player, location(0, 0, 0), new ItemStack(Material.POTATO));
+        verify(world, times(1)).dropItemNaturally(any(Location.class), any(ItemStack.class));
+
+        BonusDropAggregator unscheduled = new BonusDropAggregator(null, configManager);
+        when(configManager.getBonusDropPolicy()).thenReturn(BonusDropAggregator.Policy.MERGE);
+        unscheduled.drop(player, location(0, 0, 0), new ItemStack(Material.POTATO));
+        verify(world, times(2)).dropItemNaturally(any(Location.class), any(ItemStack.class));
+        assertEquals(0, unscheduled.getPendingCount());
+    }
+
+    @Test
+    public void testPolicyNamesParseIgnoringCase() {
+        assertEquals(BonusDropAggregator.Policy.INVENTORY, BonusDropAggregator.Policy.fromName(" inventory "));
+        assertNull(BonusDropAggregator.Policy.fromName("stack"));
+    }
+}
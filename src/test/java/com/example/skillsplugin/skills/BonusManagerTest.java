@@ -6,14 +6,17 @@ import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.block.Block;
+import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Collections;
 import java.util.UUID;
 
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -43,13 +46,13 @@ public class BonusManagerTest {
         
         // Setup default config values
         when(configManager.areBonusesEnabled()).thenReturn(true);
-        when(configManager.getBonusSetting("mining.double-drop-chance-per-level")).thenReturn(0.5);
-        when(configManager.getBonusSetting("woodcutting.double-drop-chance-per-level")).thenReturn(0.5);
-        when(configManager.getBonusSetting("combat.damage-bonus-per-level")).thenReturn(0.5);
-        when(configManager.getBonusSetting("farming.double-crop-chance-per-level")).thenReturn(0.5);
-        when(configManager.getBonusSetting("fishing.treasure-chance-per-level")).thenReturn(0.3);
-        when(configManager.getBonusSetting("enchanting.cost-reduction-per-level")).thenReturn(0.5);
-        when(configManager.getBonusSetting("trading.discount-per-level")).thenReturn(0.3);
+        when(configManager.getMiningDoubleDropChance()).thenReturn(0.5);
+        when(configManager.getWoodcuttingDoubleDropChance()).thenReturn(0.5);
+        when(configManager.getCombatDamageBonus()).thenReturn(0.5);
+        when(configManager.getFarmingDoubleCropChance()).thenReturn(0.5);
+        when(configManager.getFishingTreasureChance()).thenReturn(0.3);
+        when(configManager.getEnchantingCostReduction()).thenReturn(0.5);
+        when(configManager.getTradingDiscount()).thenReturn(0.3);
         
         bonusManager = new BonusManager(playerDataManager, configManager);
     }
@@ -105,17 +108,78 @@ public class BonusManagerTest {
         Block block = mock(Block.class);
         World world = mock(World.class);
         Location location = mock(Location.class);
+        when(world.getUID()).thenReturn(UUID.randomUUID());
         when(block.getType()).thenReturn(Material.OAK_LOG);
         when(block.getWorld()).thenReturn(world);
         when(block.getLocation()).thenReturn(location);
+        when(block.getDrops(any(), any())).thenAnswer(invocation -> 
+            Collections.singletonList(new ItemStack(Material.OAK_LOG)));
         
-        // Apply bonus multiple times
+        Item droppedLog = mock(Item.class);
+        ItemStack droppedStack = new ItemStack(Material.OAK_LOG);
+        when(droppedLog.getItemStack()).thenReturn(droppedStack);
+        
+        // Apply bonus multiple times, merging into the block's own drop each time
         for (int i = 0; i < 100; i++) {
             bonusManager.applyWoodcuttingBonus(player, block);
+            bonusManager.mergeBonusDrops(player, block, Collections.singletonList(droppedLog));
         }
         
-        // Should have triggered at least once with 50% chance over 100 iterations
-        verify(world, atLeast(1)).dropItemNaturally(any(Location.class), any(ItemStack.class));
+        // Should have triggered at least once with 50% chance over 100 iterations,
+        // merging into the existing drop instead of spawning another item
+        assertTrue("Bonus logs should be merged into the dropped stack", droppedStack.getAmount() > 1);
+        verify(world, never()).dropItemNaturally(any(Location.class), any(ItemStack.class));
+        assertEquals("Nothing should be left pending", 0, bonusManager.getPendingDropCount());
+    }
+    
+    @Test
+    public void testMiningBonusUsesToolDropsAndOverflows() {
+        Skill miningSkill = mock(Skill.class);
+        when(miningSkill.getLevel()).thenReturn(200); // 100% chance
+        when(skillProfile.getSkill(SkillType.MINING)).thenReturn(miningSkill);
+        
+        Block block = mock(Block.class);
+        World world = mock(World.class);
+        Location location = mock(Location.class);
+        when(world.getUID()).thenReturn(UUID.randomUUID());
+        when(block.getType()).thenReturn(Material.DIAMOND_ORE);
+        when(block.getWorld()).thenReturn(world);
+        when(block.getLocation()).thenReturn(location);
+        when(block.getDrops(any(), eq(player))).thenReturn(
+            Collections.singletonList(new ItemStack(Material.DIAMOND, 3)));
+        
+        // The dropped stack only has room for one more diamond
+        Item droppedDiamonds = mock(Item.class);
+        ItemStack droppedStack = new ItemStack(Material.DIAMOND, 63);
+        when(droppedDiamonds.getItemStack()).thenReturn(droppedStack);
+        
+        bonusManager.applyMiningBonus(player, block);
+        bonusManager.mergeBonusDrops(player, block, Collections.singletonList(droppedDiamonds));
+        
+        assertEquals(64, droppedStack.getAmount());
+        verify(world, times(1)).dropItemNaturally(eq(location), eq(new ItemStack(Material.DIAMOND, 2)));
+    }
+    
+    @Test
+    public void testMiningBonusNotMergedForOtherPlayer() {
+        Skill miningSkill = mock(Skill.class);
+        when(miningSkill.getLevel()).thenReturn(200);
+        when(skillProfile.getSkill(SkillType.MINING)).thenReturn(miningSkill);
+        
+        Block block = mock(Block.class);
+        World world = mock(World.class);
+        when(block.getWorld()).thenReturn(world);
+        when(block.getDrops(any(), any())).thenReturn(
+            Collections.singletonList(new ItemStack(Material.COBBLESTONE)));
+        
+        Player other = mock(Player.class);
+        when(other.getUniqueId()).thenReturn(UUID.randomUUID());
+        Item dropped = mock(Item.class);
+        
+        bonusManager.applyMiningBonus(player, block);
+        bonusManager.mergeBonusDrops(other, block, Collections.singletonList(dropped));
+        
+        verify(dropped, never()).setItemStack(any());
     }
     
     @Test
@@ -354,7 +418,7 @@ public class BonusManagerTest {
     @Test
     public void testBonusCalculationsWithCustomConfigValues() {
         // Test with different config values
-        when(configManager.getBonusSetting("combat.damage-bonus-per-level")).thenReturn(1.0);
+        when(configManager.getCombatDamageBonus()).thenReturn(1.0);
         
         Skill combatSkill = mock(Skill.class);
         when(combatSkill.getLevel()).thenReturn(10);
@@ -366,4 +430,64 @@ public class BonusManagerTest {
         // Level 10 with 1.0% per level = 10% bonus = 1.10 multiplier
         assertEquals(1.10, multiplier, 0.001);
     }
+    
+    @Test
+    public void testLevelUpAppliesWithoutInvalidation() {
+        Skill combatSkill = mock(Skill.class);
+        when(combatSkill.getLevel()).thenReturn(10);
+        when(skillProfile.getSkill(SkillType.COMBAT)).thenReturn(combatSkill);
+        
+        assertEquals(1.05, bonusManager.getCombatDamageMultiplier(player), 0.001);
+        
+        when(combatSkill.getLevel()).thenReturn(20);
+        assertEquals(1.10, bonusManager.getCombatDamageMultiplier(player), 0.001);
+        
+        // The profile is only looked up once while cached
+        verify(playerDataManager, times(1)).getProfile(playerId);
+    }
+    
+    @Test
+    public void testReloadRebuildsTables() {
+        Skill combatSkill = mock(Skill.class);
+        when(combatSkill.getLevel()).thenReturn(10);
+        when(skillProfile.getSkill(SkillType.COMBAT)).thenReturn(combatSkill);
+        
+        assertEquals(1.05, bonusManager.getCombatDamageMultiplier(player), 0.001);
+        
+        when(configManager.getCombatDamageBonus()).thenReturn(2.0);
+        bonusManager.reload();
+        assertEquals(1.20, bonusManager.getCombatDamageMultiplier(player), 0.001);
+    }
+    
+    @Test
+    public void testLevelsBeyondTableUseFormula() {
+        Skill tradingSkill = mock(Skill.class);
+        when(tradingSkill.getLevel()).thenReturn(5000);
+        when(skillProfile.getSkill(SkillType.TRADING)).thenReturn(tradingSkill);
+        
+        assertEquals("Discount should stay capped at 50%", 0.5, bonusManager.getTradingDiscount(player), 0.001);
+    }
+    
+    @Test
+    public void testSeededRollsAreReproducible() {
+        Skill fishingSkill = mock(Skill.class);
+        when(fishingSkill.getLevel()).thenReturn(100); // 30% chance
+        when(skillProfile.getSkill(SkillType.FISHING)).thenReturn(fishingSkill);
+        
+        BonusManager first = new BonusManager(playerDataManager, configManager, 42L);
+        BonusManager second = new BonusManager(playerDataManager, configManager, 42L);
+        ItemStack caught = mock(ItemStack.class);
+        
+        int treasures = 0;
+        for (int i = 0; i < 200; i++) {
+            ItemStack a = first.applyFishingBonus(player, caught);
+            ItemStack b = second.applyFishingBonus(player, caught);
+            assertEquals("Same seed should give the same outcome", a == caught, b == caught);
+            if (a != caught) {
+                treasures++;
+                assertEquals(a.getType(), b.getType());
+            }
+        }
+        assertTrue("Some rolls should succeed at 30%", treasures > 0);
+    }
 }
@@ -0,0 +1,182 @@
+package com.example.skillsplugin.skills;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for BoosterManager.
+ * Uses a manual clock to verify stacking, cache invalidation, expiry and snapshots.
+ */
+public class BoosterManagerTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private long now;
+    private BoosterManager manager;
+    private UUID playerId;
+
+    @Before
+    public void setUp() {
+        now = 1_700_000_000_000L;
+        manager = new BoosterManager(() -> now);
+        playerId = UUID.randomUUID();
+    }
+
+    @Test
+    public void testNoBoostersIsIdentity() {
+        for (SkillType type : SkillType.values()) {
+            assertEquals(1.0, manager.getMultiplier(playerId, type), 0.0001);
+        }
+    }
+
+    @Test
+    public void testBoostersStackMultiplicatively() {
+        manager.addGlobal(2.0, 10 * MINUTE);
+        manager.addSkill(SkillType.MINING, 1.5, 10 * MINUTE);
+        manager.addPlayer(playerId, null, 1.25, 10 * MINUTE);
+
+        assertEquals(2.0 * 1.5 * 1.25, manager.getMultiplier(playerId, SkillType.MINING), 0.0001);
+        assertEquals(2.0 * 1.25, manager.getMultiplier(playerId, SkillType.COMBAT), 0.0001);
+        assertEquals("Other players only get shared boosters",
+                     2.0 * 1.5, manager.getMultiplier(UUID.randomUUID(), SkillType.MINING), 0.0001);
+    }
+
+    @Test
+    public void testCombinedMultiplierIsClamped() {
+        manager.addGlobal(BoosterManager.MAX_MULTIPLIER, 10 * MINUTE);
+        manager.addSkill(SkillType.MINING, BoosterManager.MAX_MULTIPLIER, 10 * MINUTE);
+        manager.addPlayer(playerId, SkillType.MINING, BoosterManager.MAX_MULTIPLIER, 10 * MINUTE);
+        manager.addPlayer(playerId, SkillType.COMBAT, 0.5, 10 * MINUTE);
+
+        assertEquals(BoosterManager.MAX_MULTIPLIER, manager.getMultiplier(playerId, SkillType.MINING), 0.0001);
+        assertEquals("Products under the cap are unchanged",
+                     BoosterManager.MAX_MULTIPLIER * 0.5, manager.getMultiplier(playerId, SkillType.COMBAT), 0.0001);
+    }
+
+    @Test
+    public void testCachedMultiplierInvalidatedOnChange() {
+        assertEquals(1.0, manager.getMultiplier(playerId, SkillType.FISHING), 0.0001);
+
+        BoosterManager.Booster booster = manager.addSkill(SkillType.FISHING, 3.0, 10 * MINUTE);
+        assertEquals(3.0, manager.getMultiplier(playerId, SkillType.FISHING), 0.0001);
+
+        assertTrue(manager.remove(booster.getId()));
+        assertEquals(1.0, manager.getMultiplier(playerId, SkillType.FISHING), 0.0001);
+        assertFalse("Removing twice should fail", manager.remove(booster.getId()));
+    }
+
+    @Test
+    public void testExpireRemovesOnlyDueBoosters() {
+        manager.addGlobal(2.0, 5 * MINUTE);
+        manager.addPlayer(playerId, SkillType.COMBAT, 3.0, 20 * MINUTE);
+        assertEquals(6.0, manager.getMultiplier(playerId, SkillType.COMBAT), 0.0001);
+
+        assertTrue("Nothing should expire yet", manager.expire().isEmpty());
+
+        now += 5 * MINUTE;
+        List<BoosterManager.Booster> expired = manager.expire();
+        assertEquals(1, expired.size());
+        assertEquals(BoosterManager.Scope.GLOBAL, expired.get(0).getScope());
+        assertEquals(3.0, manager.getMultiplier(playerId, SkillType.COMBAT), 0.0001);
+
+        now += 15 * MINUTE;
+        assertEquals(1, manager.expire().size());
+        assertEquals(1.0, manager.getMultiplier(playerId, SkillType.COMBAT), 0.0001);
+        assertTrue(manager.getActiveBoosters().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveMultiplierRejected() {
+        manager.addGlobal(0.0, MINUTE);
+    }
+
+    @Test
+    public void testNonFiniteAndHugeMultipliersRejected() {
+        for (double multiplier : new double[] {Double.NaN, Double.POSITIVE_INFINITY, 1e308, BoosterManager.MAX_MULTIPLIER + 1}) {
+            try {
+                manager.addGlobal(multiplier, MINUTE);
+                fail("Multiplier " + multiplier + " should be rejected");
+            } catch (IllegalArgumentException expected) {
+                // Rejected
+            }
+        }
+        assertTrue(manager.getActiveBoosters().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOverlongDurationRejected() {
+        manager.addGlobal(2.0, Long.MAX_VALUE);
+    }
+
+    @Test
+    public void testSnapshotSkipsInvalidMultipliers() throws Exception {
+        File file = new File(tempFolder.getRoot(), "boosters.dat");
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            out.writeInt(0x534B4254);
+            out.writeInt(1);
+            out.writeInt(2);
+            for (double multiplier : new double[] {Double.NaN, Double.POSITIVE_INFINITY}) {
+                out.writeByte(BoosterManager.Scope.GLOBAL.ordinal());
+                out.writeBoolean(false);
+                out.writeUTF("");
+                out.writeDouble(multiplier);
+                out.writeLong(now + MINUTE);
+            }
+        }
+
+        assertEquals(0, manager.loadSnapshot(file));
+        assertEquals(1.0, manager.getMultiplier(playerId, SkillType.MINING), 0.0001);
+    }
+
+    @Test
+    public void testSnapshotRejectsPlayerBoosterWithoutPlayer() throws Exception {
+        File file = new File(tempFolder.getRoot(), "boosters.dat");
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            out.writeInt(0x534B4254);
+            out.writeInt(1);
+            out.writeInt(1);
+            out.writeByte(BoosterManager.Scope.PLAYER.ordinal());
+            out.writeBoolean(false);
+            out.writeUTF("");
+            out.writeDouble(2.0);
+            out.writeLong(now + MINUTE);
+        }
+
+        try {
+            manager.loadSnapshot(file);
+            fail("A player booster without a player should be rejected");
+        } catch (IOException expected) {
+            // Corrupt
+        }
+        assertTrue(manager.getActiveBoosters().isEmpty());
+        assertEquals(1.0, manager.getMultiplier(playerId, SkillType.MINING), 0.0001);
+    }
+
+    @Test
+    public void testSnapshotRoundTripSkipsExpired() throws Exception {
+        manager.addPlayer(playerId, SkillType.TRADING, 2.0, 30 * MINUTE);
+        manager.addGlobal(1.5, 5 * MINUTE);
+        File file = new File(tempFolder.getRoot(), "boosters.dat");
+        manager.saveSnapshot(file);
+
+        now += 10 * MINUTE;
+        BoosterManager restored = new BoosterManager(() -> now);
+        assertEquals("Only the unexpired booster should be restored", 1, restored.loadSnapshot(file));
+        assertEquals(2.0, restored.getMultiplier(playerId, SkillType.TRADING), 0.0001);
+        assertEquals(1.0, restored.getMultiplier(playerId, SkillType.MINING), 0.0001);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.skillsplugin.skills;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.enchantments.Enchantment;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for EnchantmentXpTable.
+ * Verifies the default weights, configured keys, source multipliers and unknown enchantments.
+ */
+public class EnchantmentXpTableTest {
+
+    private final List<String> warnings = new ArrayList<>();
+    private Enchantment sharpness;
+    private Enchantment mending;
+    private Enchantment vanishing;
+    private List<Enchantment> registered;
+
+    @Before
+    public void setUp() {
+        sharpness = enchantment("sharpness", false, false);
+        mending = enchantment("mending", true, false);
+        vanishing = enchantment("vanishing_curse", true, true);
+        registered = Arrays.asList(sharpness, mending, vanishing);
+    }
+
+    private Enchantment enchantment(String key, boolean treasure, boolean cursed) {
+        Enchantment enchantment = mock(Enchantment.class);
+        when(enchantment.getKey()).thenReturn(NamespacedKey.minecraft(key));
+        when(enchantment.isTreasure()).thenReturn(treasure);
+        when(enchantment.isCursed()).thenReturn(cursed);
+        return enchantment;
+    }
+
+    private EnchantmentXpTable compile(Map<String, Double> entries) {
+        return EnchantmentXpTable.compile(registered, entries, 0.5, 0.25, (key, reason) -> warnings.add(key));
+    }
+
+    @Test
+    public void testDefaultWeights() {
+        EnchantmentXpTable table = compile(null);
+
+        assertEquals(10.0, table.getWeight(EnchantmentXpTable.Source.TABLE, sharpness), 0.0001);
+        assertEquals("Treasure is worth double", 20.0, table.getWeight(EnchantmentXpTable.Source.TABLE, mending), 0.0001);
+        assertEquals("Curses give nothing", 0.0, table.getWeight(EnchantmentXpTable.Source.TABLE, vanishing), 0.0001);
+        assertTrue(warnings.isEmpty());
+    }
+
+    @Test
+    public void testConfiguredKeysOverrideDefaults() {
+        Map<String, Double> entries = new LinkedHashMap<>();
+        entries.put("*", 4.0);
+        entries.put("Mending", 50.0);
+        entries.put("minecraft:vanishing_curse", 1.0);
+        EnchantmentXpTable table = compile(entries);
+
+        assertEquals(4.0, table.getWeight(EnchantmentXpTable.Source.TABLE, sharpness), 0.0001);
+        assertEquals(50.0, table.getWeight(EnchantmentXpTable.Source.TABLE, mending), 0.0001);
+        assertEquals(1.0, table.getWeight(EnchantmentXpTable.Source.TABLE, vanishing), 0.0001);
+    }
+
+    @Test
+    public void testSourceMultipliersArePrecomputed() {
+        EnchantmentXpTable table = compile(null);
+
+        assertEquals(5.0, table.getWeight(EnchantmentXpTable.Source.ANVIL, sharpness), 0.0001);
+        assertEquals(2.5, table.getWeight(EnchantmentXpTable.Source.GRINDSTONE, sharpness), 0.0001);
+    }
+
+    @Test
+    public void testCalculateSumsWeightTimesLevel() {
+        EnchantmentXpTable table = compile(null);
+        Map<Enchantment, Integer> enchantments = new HashMap<>();
+        enchantments.put(sharpness, 5);
+        enchantments.put(mending, 1);
+        enchantments.put(vanishing, 1);
+
+        assertEquals(70.0, table.calculate(EnchantmentXpTable.Source.TABLE, enchantments), 0.0001);
+        assertEquals(0.0, table.calculate(EnchantmentXpTable.Source.TABLE, null), 0.0001);
+    }
+
+    @Test
+    public void testUnknownAndInvalidEntriesWarn() {
+        Map<String, Double> entries = new LinkedHashMap<>();
+        entries.put("not_an_enchantment", 5.0);
+        entries.put("sharpness", -1.0);
+        EnchantmentXpTable table = compile(entries);
+
+        assertEquals(2, warnings.size());
+        assertEquals(10.0, table.getWeight(EnchantmentXpTable.Source.TABLE, sharpness), 0.0001);
+    }
+
+    @Test
+    public void testEnchantmentRegisteredLaterUsesDefaultWeight() {
+        EnchantmentXpTable table = compile(null);
+        Enchantment custom = enchantment("custom", false, false);
+
+        assertEquals(10.0, table.getWeight(EnchantmentXpTable.Source.TABLE, custom), 0.0001);
+        assertEquals(0.0, EnchantmentXpTable.zero().getWeight(EnchantmentXpTable.Source.TABLE, sharpness), 0.0001);
+    }
+}
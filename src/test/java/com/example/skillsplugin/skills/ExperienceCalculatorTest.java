@@ -2,6 +2,7 @@ package com.example.skillsplugin.skills;
 
 import com.example.skillsplugin.config.ConfigManager;
 import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.EntityType;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.MerchantRecipe;
@@ -11,6 +12,9 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
@@ -368,6 +372,24 @@ public class ExperienceCalculatorTest {
         assertEquals(0.0, xp, 0.01);
     }
     
+    @Test
+    public void testCalculateEnchantingXP_FromEnchantments() {
+        Enchantment sharpness = mock(Enchantment.class);
+        when(sharpness.getKey()).thenReturn(org.bukkit.NamespacedKey.minecraft("sharpness"));
+        Map<String, Double> weights = new HashMap<>();
+        weights.put("sharpness", 6.0);
+        EnchantmentXpTable table = EnchantmentXpTable.compile(
+            java.util.Collections.singletonList(sharpness), weights, 0.5, 0.25, (key, reason) -> { });
+        when(configManager.getEnchantmentXpTable()).thenReturn(table);
+        when(configManager.getExperienceMultiplier(SkillType.ENCHANTING)).thenReturn(2.0);
+        
+        Map<Enchantment, Integer> enchantments = new HashMap<>();
+        enchantments.put(sharpness, 3);
+        
+        assertEquals(36.0, calculator.calculateEnchantingXP(EnchantmentXpTable.Source.TABLE, enchantments), 0.01);
+        assertEquals(18.0, calculator.calculateEnchantingXP(EnchantmentXpTable.Source.ANVIL, enchantments), 0.01);
+    }
+    
     @Test
     public void testCalculateEnchantingXP_NegativeLevel() {
         double xp = calculator.calculateEnchantingXP(-5);
@@ -478,4 +500,35 @@ public class ExperienceCalculatorTest {
         when(trade.getResult()).thenReturn(new ItemStack(Material.BREAD));
         assertEquals(11.0, calculator.calculateTradingXP(trade), 0.01);
     }
+    
+    // ========== Config-Defined XP Tests ==========
+    
+    @Test
+    public void testConfiguredBlockXPOverridesBuiltIn() {
+        Map<String, Double> entries = new HashMap<>();
+        entries.put("DIAMOND_ORE", 80.0);
+        XpTable<Material> table = XpTable.compile(Material.class, entries, null, (key, reason) -> { });
+        when(configManager.getBlockXpTable(SkillType.MINING)).thenReturn(table);
+        
+        assertEquals(80.0, calculator.calculateMiningXP(Material.DIAMOND_ORE), 0.01);
+        assertEquals("Unconfigured blocks keep built-in XP", 1.0, calculator.calculateMiningXP(Material.STONE), 0.01);
+    }
+    
+    @Test
+    public void testConfiguredXPForCustomSkill() {
+        SkillType.resetToBuiltIns();
+        SkillType excavation = SkillType.register("EXCAVATION_TEST", null, null, null);
+        try {
+            Map<String, Double> entries = new HashMap<>();
+            entries.put("*", 2.0);
+            XpTable<EntityType> table = XpTable.compile(EntityType.class, entries, null, (key, reason) -> { });
+            when(configManager.getEntityXpTable(excavation)).thenReturn(table);
+            when(configManager.getBlockXpTable(excavation)).thenReturn(XpTable.empty());
+            
+            assertEquals(2.0, calculator.calculateEntityXP(excavation, EntityType.ZOMBIE), 0.01);
+            assertEquals(0.0, calculator.calculateBlockXP(excavation, Material.DIRT), 0.01);
+        } finally {
+            SkillType.resetToBuiltIns();
+        }
+    }
 }
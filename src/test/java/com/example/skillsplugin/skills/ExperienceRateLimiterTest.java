@@ -0,0 +1,119 @@
+package com.example.skillsplugin.skills;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for ExperienceRateLimiter.
+ * Uses a manual clock to verify diminishing returns, decay and slot reuse.
+ */
+public class ExperienceRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private long now;
+    private ExperienceRateLimiter limiter;
+
+    @Before
+    public void setUp() {
+        now = 1_000L * SECOND;
+        double[] thresholds = new double[SkillType.values().length];
+        thresholds[SkillType.COMBAT.ordinal()] = 100.0;
+        limiter = new ExperienceRateLimiter(thresholds, 60.0, 0.1, () -> now);
+    }
+
+    @Test
+    public void testUnderThresholdAwardsFullXP() {
+        UUID playerId = UUID.randomUUID();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(10.0, limiter.apply(playerId, SkillType.COMBAT, 10.0), 0.0001);
+        }
+    }
+
+    @Test
+    public void testAboveThresholdDiminishes() {
+        UUID playerId = UUID.randomUUID();
+        for (int i = 0; i < 20; i++) {
+            limiter.apply(playerId, SkillType.COMBAT, 10.0);
+        }
+
+        double awarded = limiter.apply(playerId, SkillType.COMBAT, 10.0);
+        assertEquals("XP should be scaled by threshold / recent XP", 10.0 * 100.0 / 200.0, awarded, 0.0001);
+    }
+
+    @Test
+    public void testMultiplierNeverBelowMinimum() {
+        UUID playerId = UUID.randomUUID();
+        for (int i = 0; i < 1000; i++) {
+            limiter.apply(playerId, SkillType.COMBAT, 10.0);
+        }
+
+        assertEquals(1.0, limiter.apply(playerId, SkillType.COMBAT, 10.0), 0.0001);
+    }
+
+    @Test
+    public void testReconfigureKeepsRecentXP() {
+        UUID playerId = UUID.randomUUID();
+        for (int i = 0; i < 20; i++) {
+            limiter.apply(playerId, SkillType.COMBAT, 10.0);
+        }
+        double[] thresholds = new double[SkillType.values().length];
+
+        thresholds[SkillType.COMBAT.ordinal()] = 400.0;
+        limiter.reconfigure(thresholds, 60.0, 0.1);
+        assertEquals("A raised threshold should apply at once", 1.0, limiter.getMultiplier(playerId, SkillType.COMBAT), 0.0001);
+
+        thresholds[SkillType.COMBAT.ordinal()] = 50.0;
+        limiter.reconfigure(thresholds, 60.0, 0.1);
+        assertEquals("Recent XP should survive the reload", 50.0 / 200.0, limiter.getMultiplier(playerId, SkillType.COMBAT), 0.0001);
+    }
+
+    @Test
+    public void testRecentXPDecaysOverTime() {
+        UUID playerId = UUID.randomUUID();
+        for (int i = 0; i < 30; i++) {
+            limiter.apply(playerId, SkillType.COMBAT, 10.0);
+        }
+        assertTrue(limiter.getMultiplier(playerId, SkillType.COMBAT) < 1.0);
+
+        now += 300 * SECOND;
+        assertEquals("Limit should lift after a few windows", 1.0, limiter.getMultiplier(playerId, SkillType.COMBAT), 0.0001);
+    }
+
+    @Test
+    public void testUnlimitedSkillAndSeparatePlayers() {
+        UUID farmer = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        for (int i = 0; i < 100; i++) {
+            limiter.apply(farmer, SkillType.COMBAT, 10.0);
+            assertEquals("Skills without a threshold are unlimited", 10.0, limiter.apply(farmer, SkillType.MINING, 10.0), 0.0001);
+        }
+
+        assertEquals("Other players are unaffected", 10.0, limiter.apply(other, SkillType.COMBAT, 10.0), 0.0001);
+    }
+
+    @Test
+    public void testReleasedSlotIsReset() {
+        UUID first = UUID.randomUUID();
+        for (int i = 0; i < 100; i++) {
+            limiter.apply(first, SkillType.COMBAT, 10.0);
+        }
+        limiter.release(first);
+        assertEquals(0, limiter.getTrackedCount());
+
+        UUID second = UUID.randomUUID();
+        assertEquals("Reused slot should start clean", 10.0, limiter.apply(second, SkillType.COMBAT, 10.0), 0.0001);
+    }
+
+    @Test
+    public void testManyPlayersGrowArrays() {
+        for (int i = 0; i < 500; i++) {
+            assertEquals(5.0, limiter.apply(UUID.randomUUID(), SkillType.COMBAT, 5.0), 0.0001);
+        }
+        assertEquals(500, limiter.getTrackedCount());
+    }
+}
@@ -106,6 +106,28 @@ public class SkillProfileTest {
         assertEquals("Fishing skill should have 150 XP", 150.0, retrievedSkill.getExperience(), 0.001);
     }
     
+    @Test
+    public void testSkillsAreIndexedByOrdinal() {
+        Map<SkillType, Skill> skills = profile.getSkills();
+        SkillType[] types = SkillType.values();
+        int i = 0;
+        for (SkillType type : skills.keySet()) {
+            assertSame("Skills should be listed in id order", types[i++], type);
+        }
+        assertSame(profile.getSkill(SkillType.TRADING), skills.get(SkillType.TRADING));
+    }
+    
+    @Test
+    public void testUnknownSkillsAreKept() {
+        Map<String, String> unknown = new HashMap<>();
+        unknown.put("ARCHERY", "{\"level\":2,\"experience\":5.0}");
+        profile.setUnknownSkills(unknown);
+        unknown.clear();
+        
+        assertEquals("Profile should keep its own copy", 1, profile.getUnknownSkills().size());
+        assertEquals("{\"level\":2,\"experience\":5.0}", profile.getUnknownSkills().get("ARCHERY"));
+    }
+    
     @Test
     public void testSkillModificationPersistsInProfile() {
         // Get a skill and modify it
@@ -0,0 +1,78 @@
+package com.example.skillsplugin.skills;
+
+import org.bukkit.ChatColor;
+import org.bukkit.boss.BarColor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the SkillType registry.
+ * Verifies dense ids, name lookup, custom registration and freezing.
+ */
+public class SkillTypeTest {
+
+    @Before
+    public void setUp() {
+        SkillType.resetToBuiltIns();
+    }
+
+    @After
+    public void tearDown() {
+        SkillType.resetToBuiltIns();
+    }
+
+    @Test
+    public void testBuiltInsHaveDenseIds() {
+        SkillType[] values = SkillType.values();
+        assertEquals(7, values.length);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(i, values[i].ordinal());
+            assertSame(values[i], SkillType.byId(i));
+            assertSame(values[i], SkillType.valueOf(values[i].name()));
+            assertTrue(values[i].isBuiltIn());
+        }
+        assertEquals(ChatColor.DARK_AQUA, SkillType.MINING.getChatColor());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownNameRejected() {
+        SkillType.valueOf("ARCHERY");
+    }
+
+    @Test
+    public void testCustomSkillGetsNextIdAndJoinsProfiles() {
+        SkillType archery = SkillType.register("archery", ChatColor.YELLOW, BarColor.YELLOW, "🏹");
+
+        assertEquals("ARCHERY", archery.name());
+        assertEquals(7, archery.ordinal());
+        assertFalse(archery.isBuiltIn());
+        assertSame(archery, SkillType.valueOf("ARCHERY"));
+        assertSame("Registering twice returns the same skill", archery, SkillType.register("ARCHERY", null, null, null));
+        assertEquals(8, SkillType.count());
+
+        SkillProfile profile = new SkillProfile(UUID.randomUUID());
+        assertNotNull("New profiles should include custom skills", profile.getSkill(archery));
+    }
+
+    @Test
+    public void testFrozenRegistryRejectsNewSkills() {
+        SkillType.freeze();
+        assertSame(SkillType.MINING, SkillType.register("mining", null, null, null));
+        try {
+            SkillType.register("EXCAVATION", null, null, null);
+            fail("Frozen registry should reject new skills");
+        } catch (IllegalStateException e) {
+            assertEquals(7, SkillType.count());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidNameRejected() {
+        SkillType.register("bad name", null, null, null);
+    }
+}
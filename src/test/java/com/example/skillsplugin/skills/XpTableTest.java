@@ -0,0 +1,70 @@
+package com.example.skillsplugin.skills;
+
+import org.bukkit.Material;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for XpTable.
+ * Verifies exact, wildcard and tag keys, their precedence and invalid entries.
+ */
+public class XpTableTest {
+
+    private final List<String> warnings = new ArrayList<>();
+
+    private XpTable<Material> compile(Map<String, Double> entries) {
+        return XpTable.compile(Material.class, entries, this::resolveTag, (key, reason) -> warnings.add(key));
+    }
+
+    private Collection<Material> resolveTag(String name) {
+        return name.equals("logs") ? Arrays.asList(Material.OAK_LOG, Material.BIRCH_LOG) : null;
+    }
+
+    @Test
+    public void testEmptyEntriesGiveEmptyTable() {
+        XpTable<Material> table = compile(new LinkedHashMap<>());
+        assertTrue(table.isEmpty());
+        assertTrue(Double.isNaN(table.get(Material.STONE)));
+    }
+
+    @Test
+    public void testPrecedenceExactOverTagOverWildcard() {
+        Map<String, Double> entries = new LinkedHashMap<>();
+        entries.put("OAK_LOG", 9.0);
+        entries.put("#logs", 6.0);
+        entries.put("*_LOG", 2.0);
+        entries.put("*", 0.5);
+        XpTable<Material> table = compile(entries);
+
+        assertEquals(9.0, table.get(Material.OAK_LOG), 0.0001);
+        assertEquals(6.0, table.get(Material.BIRCH_LOG), 0.0001);
+        assertEquals("Longer wildcard beats *", 2.0, table.get(Material.CHERRY_LOG), 0.0001);
+        assertEquals(0.5, table.get(Material.STONE), 0.0001);
+        assertEquals(Material.values().length, table.size());
+        assertTrue(warnings.isEmpty());
+    }
+
+    @Test
+    public void testInvalidEntriesAreSkippedWithWarning() {
+        Map<String, Double> entries = new LinkedHashMap<>();
+        entries.put("NOT_A_BLOCK", 5.0);
+        entries.put("#unknown_tag", 5.0);
+        entries.put("*_NOTHING", 5.0);
+        entries.put("stone", -1.0);
+        entries.put("diamond_ore", 50.0);
+        XpTable<Material> table = compile(entries);
+
+        assertEquals(1, table.size());
+        assertEquals("Keys are case-insensitive", 50.0, table.get(Material.DIAMOND_ORE), 0.0001);
+        assertTrue(Double.isNaN(table.get(Material.STONE)));
+        assertEquals(4, warnings.size());
+    }
+}